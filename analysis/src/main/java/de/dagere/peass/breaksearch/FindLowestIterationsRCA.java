@@ -6,7 +6,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
@@ -24,6 +23,7 @@ import de.dagere.peass.dependency.traces.KiekerFolderUtil;
 import de.dagere.peass.folders.CauseSearchFolders;
 import de.dagere.peass.measurement.rca.data.CallTreeNode;
 import de.dagere.peass.measurement.rca.data.CallTreeStatistics;
+import de.dagere.peass.measurement.rca.data.DurationColumn;
 import de.dagere.peass.measurement.rca.data.OneVMResult;
 import de.dagere.peass.measurement.rca.kieker.KiekerResultReader;
 import de.dagere.peass.measurement.statistics.data.TestcaseStatistic;
@@ -32,12 +32,11 @@ import kieker.analysis.exception.AnalysisConfigurationException;
 import net.kieker.sourceinstrumentation.AllowedKiekerRecord;
 
 class ValueVMResult implements OneVMResult {
-   List<Long> values = new LinkedList<Long>();
+   final DurationColumn values = new DurationColumn();
 
    @Override
    public double getAverage() {
-      final double average = values.stream().mapToLong(l -> l).average().getAsDouble();
-      return average;
+      return values.getAverage(values.size());
    }
 
    public double getMedian(final int iterations) {
@@ -51,17 +50,15 @@ class ValueVMResult implements OneVMResult {
    }
 
    private DescriptiveStatistics getStatistic(final int iterations) {
-      final DescriptiveStatistics stat = new DescriptiveStatistics();
-      values.subList(0, iterations).forEach(value -> stat.addValue(value));
-      return stat;
+      return new DescriptiveStatistics(values.toDoubleArray(iterations));
    }
 
-   public void add(final Long duration) {
+   public void add(final long duration) {
       values.add(duration);
    }
 
-   public List<Long> subList(final int i, final int iterations) {
-      return values.subList(i, iterations);
+   public double getAverage(final int iterations) {
+      return values.getAverage(iterations);
    }
 
    @Override
@@ -88,7 +85,7 @@ class FullCallTreeStatistic extends CallTreeStatistics {
    }
 
    @Override
-   public void addMeasurement(final Long duration) {
+   public void addMeasurement(final long duration) {
       results.get(results.size() - 1).add(duration);
    }
 
@@ -127,8 +124,7 @@ class FullCallTreeStatistic extends CallTreeStatistics {
    public SummaryStatistics getStatistics(final int iterations) {
       final SummaryStatistics statistics = new SummaryStatistics();
       for (final ValueVMResult vals : results) {
-         final List<Long> shortenedList = vals.subList(0, iterations);
-         final double average = shortenedList.stream().mapToLong(l -> l).average().getAsDouble();
+         final double average = vals.getAverage(iterations);
          statistics.addValue(average);
       }
       return statistics;
@@ -23,6 +23,7 @@ import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.dependency.analysis.data.TestSet;
 import de.dagere.peass.dependency.persistence.StaticTestSelection;
 import de.dagere.peass.dependency.persistence.ExecutionData;
+import de.dagere.peass.dependency.persistence.SelectionJournal;
 import de.dagere.peass.dependency.persistence.VersionStaticSelection;
 import de.dagere.peass.dependency.reader.DependencyReader;
 import de.dagere.peass.dependency.reader.VersionKeeper;
@@ -129,6 +130,7 @@ public class ContinuousDependencyReader {
          } else {
             LOG.debug("Partially loading dependencies");
             dependencies = Constants.OBJECTMAPPER.readValue(resultsFolders.getStaticTestSelectionFile(), StaticTestSelection.class);
+            SelectionJournal.replay(resultsFolders.getSelectionJournalFile(), dependencies, null, null, null);
             VersionComparator.setDependencies(dependencies);
             
             if (iterator != null) {
@@ -177,6 +179,8 @@ public class ContinuousDependencyReader {
             }
          }
 
+         SelectionJournal.replay(resultsFolders.getSelectionJournalFile(), null, reader.getExecutionResult(), reader.getCoverageBasedSelection(), reader.getCoverageInfo());
+
          reader.readDependencies();
       } catch (IOException e) {
          throw new RuntimeException(e);
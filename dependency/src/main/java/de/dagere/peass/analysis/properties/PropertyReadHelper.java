@@ -219,6 +219,8 @@ public class PropertyReadHelper {
       List<GitCommit> commits = Arrays.asList(new GitCommit[] { new GitCommit(version, null, null, null), firstCommit });
       final VersionIteratorGit iterator = new VersionIteratorGit(projectFolder, commits, firstCommit);
       final ChangeManager changeManager = new ChangeManager(folders, iterator, config, testExecutor);
+      // The method sources are read from the old sources and the working tree, so both are needed even if the changes are read from the repository
+      changeManager.saveOldClasses(versionOld, version);
       final Map<ChangedEntity, ClazzChangeData> changes = changeManager.getChanges(versionOld, version);
       return changes;
    }
@@ -37,6 +37,8 @@ public class ExecutionConfig implements Serializable {
    private String pl;
    private boolean createDefaultConstructor = true;
    private int kiekerWaitTime = 10;
+   private int testBatchSize = 1;
+   private int traceThreads = 1;
 
    private boolean redirectSubprocessOutputToFile = true;
    private boolean useTieredCompilation = false;
@@ -82,6 +84,8 @@ public class ExecutionConfig implements Serializable {
       this.endversion = other.getEndversion();
       this.createDefaultConstructor = other.isCreateDefaultConstructor();
       this.kiekerWaitTime = other.kiekerWaitTime;
+      this.testBatchSize = other.testBatchSize;
+      this.traceThreads = other.traceThreads;
       this.redirectSubprocessOutputToFile = other.isRedirectSubprocessOutputToFile();
       this.removeSnapshots = other.removeSnapshots;
       this.useAlternativeBuildfile = other.useAlternativeBuildfile;
@@ -217,6 +221,28 @@ public class ExecutionConfig implements Serializable {
       this.kiekerWaitTime = kiekerWaitTime;
    }
 
+   /**
+    * Maximum count of tests that are executed by one build tool call when traces are collected; every test is still executed in its own JVM.
+    */
+   public int getTestBatchSize() {
+      return testBatchSize;
+   }
+
+   public void setTestBatchSize(final int testBatchSize) {
+      this.testBatchSize = testBatchSize;
+   }
+
+   /**
+    * Count of isolated copies of the project that are used for collecting traces in parallel.
+    */
+   public int getTraceThreads() {
+      return traceThreads;
+   }
+
+   public void setTraceThreads(final int traceThreads) {
+      this.traceThreads = traceThreads;
+   }
+
    public String getPl() {
       return pl;
    }
@@ -25,6 +25,7 @@ public class KiekerConfig implements Serializable {
    private boolean extractMethod = false;
    private long traceSizeInMb = 100;
    private long kiekerQueueSize = DEFAULT_KIEKER_QUEUE_SIZE;
+   private boolean narrowWeavingScope = false;
    
    // We want a set that preserves insertion order, so we require a LinkedHashSet
    private LinkedHashSet<String> excludeForTracing = new LinkedHashSet<>();
@@ -50,6 +51,7 @@ public class KiekerConfig implements Serializable {
       this.extractMethod = other.extractMethod;
       this.traceSizeInMb = other.traceSizeInMb;
       this.kiekerQueueSize = other.kiekerQueueSize;
+      this.narrowWeavingScope = other.narrowWeavingScope;
       this.excludeForTracing = other.excludeForTracing;
    }
    
@@ -60,6 +62,9 @@ public class KiekerConfig implements Serializable {
       if (!useSourceInstrumentation && extractMethod) {
          throw new RuntimeException("Deactivated source instrumentation and usage of extraction is not possible!");
       }
+      if (useSourceInstrumentation && !onlyOneCallRecording && narrowWeavingScope) {
+         throw new RuntimeException("Narrowing the weaving scope is only possible with AspectJ instrumentation, so source instrumentation needs to be deactivated!");
+      }
       if (traceSizeInMb < 1) {
          throw new RuntimeException("Trace size in MB need to be at least 1, but was " + traceSizeInMb);
       }
@@ -173,6 +178,18 @@ public class KiekerConfig implements Serializable {
       this.kiekerQueueSize = kiekerQueueSize;
    }
 
+   /**
+    * If activated, the AspectJ weaving scope of the tests of a version update is narrowed to the classes the tests called in the previous version, the changed classes and the
+    * test classes. Since unchanged classes that are called for the first time are not traced, this is not activated by default.
+    */
+   public boolean isNarrowWeavingScope() {
+      return narrowWeavingScope;
+   }
+
+   public void setNarrowWeavingScope(final boolean narrowWeavingScope) {
+      this.narrowWeavingScope = narrowWeavingScope;
+   }
+
    public LinkedHashSet<String> getExcludeForTracing() {
       return excludeForTracing;
    }
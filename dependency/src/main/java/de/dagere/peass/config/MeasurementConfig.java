@@ -37,6 +37,10 @@ public class MeasurementConfig implements Serializable {
    private String javaVersion = System.getProperty("java.version");
 
    private MeasurementStrategy measurementStrategy = MeasurementStrategy.SEQUENTIAL;
+   @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+   private int parallelVMPairs = 1;
+   @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+   private boolean pinToCpuSets = false;
 
    private StatisticsConfig statisticsConfig = new StatisticsConfig();
    private final ExecutionConfig executionConfig;
@@ -75,6 +79,8 @@ public class MeasurementConfig implements Serializable {
       setRepetitions(mixin.getRepetitions());
       setUseGC(mixin.isUseGC());
       setMeasurementStrategy(mixin.getMeasurementStrategy());
+      setParallelVMPairs(mixin.getParallelVMPairs());
+      setPinToCpuSets(mixin.isPinToCpuSets());
       setShowStart(mixin.isShowStart());
 
       saveAll = !mixin.isSaveNothing();
@@ -117,6 +123,8 @@ public class MeasurementConfig implements Serializable {
       this.useGC = other.useGC;
       this.javaVersion = other.javaVersion;
       this.measurementStrategy = other.measurementStrategy;
+      this.parallelVMPairs = other.parallelVMPairs;
+      this.pinToCpuSets = other.pinToCpuSets;
       this.saveAll = other.saveAll;
       this.waitTimeBetweenVMs = other.waitTimeBetweenVMs;
    }
@@ -233,6 +241,31 @@ public class MeasurementConfig implements Serializable {
    public void setMeasurementStrategy(final MeasurementStrategy measurementStrategy) {
       this.measurementStrategy = measurementStrategy;
    }
+   /**
+    * Count of VM pairs (one VM of each version) that are executed concurrently if the measurement strategy is PARALLEL
+    */
+   public int getParallelVMPairs() {
+      return parallelVMPairs;
+   }
+
+   public void setParallelVMPairs(final int parallelVMPairs) {
+      if (parallelVMPairs < 1) {
+         throw new RuntimeException("At least one VM pair needs to be executed, but was " + parallelVMPairs);
+      }
+      this.parallelVMPairs = parallelVMPairs;
+   }
+
+   /**
+    * Whether every concurrently executed VM should be pinned to its own set of CPUs (using taskset, only on Linux)
+    */
+   public boolean isPinToCpuSets() {
+      return pinToCpuSets;
+   }
+
+   public void setPinToCpuSets(final boolean pinToCpuSets) {
+      this.pinToCpuSets = pinToCpuSets;
+   }
+
 
    public boolean isCallSyncBetweenVMs() {
       return callSyncBetweenVMs;
@@ -67,6 +67,12 @@ public class ExecutionConfigMixin {
    @Option(names = { "-kiekerWaitTime", "--kiekerWaitTime" }, description = "Time that KoPeMe should wait until Kieker writing is finshed in seconds (default: 10)")
    protected int kiekerWaitTime = 5;
 
+   @Option(names = { "-testBatchSize", "--testBatchSize" }, description = "Maximum count of tests executed by one build tool call during trace collection, each in its own JVM (default: 1)")
+   protected int testBatchSize = 1;
+
+   @Option(names = { "-traceThreads", "--traceThreads" }, description = "Count of isolated project copies used for collecting traces in parallel (default: 1)")
+   protected int traceThreads = 1;
+
    @Option(names = { "-classFolder", "--classFolder" }, description = "Folder that contains java classes")
    protected String clazzFolder;
 
@@ -224,6 +230,22 @@ public class ExecutionConfigMixin {
       this.kiekerWaitTime = kiekerWaitTime;
    }
 
+   public int getTestBatchSize() {
+      return testBatchSize;
+   }
+
+   public void setTestBatchSize(final int testBatchSize) {
+      this.testBatchSize = testBatchSize;
+   }
+
+   public int getTraceThreads() {
+      return traceThreads;
+   }
+
+   public void setTraceThreads(final int traceThreads) {
+      this.traceThreads = traceThreads;
+   }
+
    public String getClazzFolder() {
       return clazzFolder;
    }
@@ -296,6 +318,8 @@ public class ExecutionConfigMixin {
       config.setCreateDefaultConstructor(!skipDefaultConstructor);
       config.setExecuteBeforeClassInMeasurement(executeBeforeClassInMeasurement);
       config.setKiekerWaitTime(kiekerWaitTime);
+      config.setTestBatchSize(testBatchSize);
+      config.setTraceThreads(traceThreads);
 
       if (getClazzFolder() != null) {
          List<String> clazzFolders = ExecutionConfig.buildFolderList(getClazzFolder());
@@ -42,6 +42,10 @@ public class KiekerConfigMixin {
          "--onlyOneCallRecording" }, description = "Only record calls once (ONLY allowed for regression test selection)")
    public boolean onlyOneCallRecording = false;
    
+   @Option(names = { "-narrowWeavingScope",
+         "--narrowWeavingScope" }, description = "Only weave the classes called by a test in the previous version and the changed classes (ONLY allowed with AspectJ instrumentation)")
+   public boolean narrowWeavingScope = false;
+   
    @Option(names = { "-excludeForTracing", "--excludeForTracing" }, description = "Methods that are excluded for tracing in RTS and RCA (default: empty, excludes no method)")
    protected String[] excludeForTracing;
 
@@ -73,6 +77,10 @@ public class KiekerConfigMixin {
       return enableAdaptiveInstrumentation;
    }
 
+   public boolean isNarrowWeavingScope() {
+      return narrowWeavingScope;
+   }
+
    public long getTraceSizeInMb() {
       return traceSizeInMb;
    }
@@ -92,6 +100,7 @@ public class KiekerConfigMixin {
       kiekerConfig.setKiekerQueueSize(kiekerQueueSize);
       kiekerConfig.setTraceSizeInMb(traceSizeInMb);
       kiekerConfig.setOnlyOneCallRecording(onlyOneCallRecording);
+      kiekerConfig.setNarrowWeavingScope(narrowWeavingScope);
       if (excludeForTracing != null) {
          LinkedHashSet<String> excludedForTracing = new LinkedHashSet<>();
          for (String exclude : excludeForTracing) {
@@ -41,6 +41,12 @@ public class MeasurementConfigurationMixin {
    @Option(names = { "-measurementStrategy", "--measurementStrategy" }, description = "Measurement strategy (Default: SEQUENTIAL) ")
    protected MeasurementStrategy measurementStrategy = MeasurementStrategy.SEQUENTIAL;
 
+   @Option(names = { "-parallelVMPairs", "--parallelVMPairs" }, description = "Count of VM pairs that are executed concurrently with measurement strategy PARALLEL (Default: 1)")
+   protected int parallelVMPairs = 1;
+
+   @Option(names = { "-pinToCpuSets", "--pinToCpuSets" }, description = "Pin every concurrently executed VM to its own set of CPUs using taskset (only Linux, default false)")
+   protected boolean pinToCpuSets = false;
+
    @Option(names = { "-showStart",
          "--showStart" }, description = "Activates showing of start of each iteration (for debug purposes primarily)")
    protected boolean showStart = false;
@@ -136,4 +142,20 @@ public class MeasurementConfigurationMixin {
    public MeasurementStrategy getMeasurementStrategy() {
       return measurementStrategy;
    }
+
+   public int getParallelVMPairs() {
+      return parallelVMPairs;
+   }
+
+   public void setParallelVMPairs(final int parallelVMPairs) {
+      this.parallelVMPairs = parallelVMPairs;
+   }
+
+   public boolean isPinToCpuSets() {
+      return pinToCpuSets;
+   }
+
+   public void setPinToCpuSets(final boolean pinToCpuSets) {
+      this.pinToCpuSets = pinToCpuSets;
+   }
 }
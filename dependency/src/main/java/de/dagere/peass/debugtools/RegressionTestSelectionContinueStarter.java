@@ -30,6 +30,7 @@ import de.dagere.peass.config.ExecutionConfig;
 import de.dagere.peass.config.parameters.TestSelectionConfigMixin;
 import de.dagere.peass.config.parameters.ExecutionConfigMixin;
 import de.dagere.peass.config.parameters.KiekerConfigMixin;
+import de.dagere.peass.dependency.persistence.SelectionJournal;
 import de.dagere.peass.dependency.persistence.StaticTestSelection;
 import de.dagere.peass.dependency.persistence.VersionStaticSelection;
 import de.dagere.peass.dependency.reader.DependencyReader;
@@ -91,6 +92,8 @@ public class RegressionTestSelectionContinueStarter implements Callable<Void> {
       final File dependencyFileIn = getDependencyInFile();
 
       final StaticTestSelection dependencies = Constants.OBJECTMAPPER.readValue(dependencyFileIn, StaticTestSelection.class);
+      ResultsFolders resultsFolders = new ResultsFolders(config.getResultBaseFolder(), config.getProjectFolder().getName() + "_out");
+      SelectionJournal.replay(resultsFolders.getSelectionJournalFile(), dependencies, null, null, null);
       VersionComparator.setVersions(GitUtils.getCommits(projectFolder, false));
 
       String previousVersion = getPreviousVersion(executionConfigMixin.getStartversion(), projectFolder, dependencies);
@@ -100,7 +103,6 @@ public class RegressionTestSelectionContinueStarter implements Callable<Void> {
       LOG.debug("Lese {}", projectFolder.getAbsolutePath());
       final VersionControlSystem vcs = VersionControlSystem.getVersionControlSystem(projectFolder);
 
-      ResultsFolders resultsFolders = new ResultsFolders(config.getResultBaseFolder(), config.getProjectFolder().getName() + "_out");
       final DependencyReader reader = createReader(config, resultsFolders, dependencies, previousVersion, timeout, vcs);
       reader.readCompletedVersions(dependencies);
       reader.readDependencies();
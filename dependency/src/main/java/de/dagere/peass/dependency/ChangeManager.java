@@ -23,10 +23,12 @@ import de.dagere.peass.dependency.analysis.data.ChangedEntity;
 import de.dagere.peass.dependency.analysis.data.VersionDiff;
 import de.dagere.peass.dependency.changesreading.ClazzChangeData;
 import de.dagere.peass.dependency.changesreading.FileComparisonUtil;
+import de.dagere.peass.dependency.changesreading.RepositoryChangeReader;
 import de.dagere.peass.execution.utils.TestExecutor;
 import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.vcs.GitUtils;
 import de.dagere.peass.vcs.VersionIterator;
+import de.dagere.peass.vcs.VersionIteratorGit;
 import difflib.DiffUtils;
 import difflib.Patch;
 
@@ -41,7 +43,7 @@ public class ChangeManager {
    private static final Logger LOG = LogManager.getLogger(ChangeManager.class);
 
    private final PeassFolders folders;
-   private final VersionIterator iterator;
+   private VersionIterator iterator;
    private final ExecutionConfig config;
    private final TestExecutor testExecutor;
 
@@ -52,6 +54,17 @@ public class ChangeManager {
       this.testExecutor = testExecutor;
    }
 
+   public void setIterator(final VersionIterator iterator) {
+      this.iterator = iterator;
+   }
+
+   /**
+    * Returns whether the changes are read from the repository; in this case, the old sources are neither needed nor saved, unless reading from the repository fails.
+    */
+   public boolean isReadFromRepository() {
+      return iterator instanceof VersionIteratorGit;
+   }
+
    /**
     * Returns a set of the full qualified names of all classes that have been changed in the current revision.
     * 
@@ -113,11 +126,29 @@ public class ChangeManager {
       }
    }
 
+   /**
+    * Returns the changes between both versions. If they can not be read from the repository, the old sources of version1 are saved and version2 is checked out, so the working
+    * tree can be compared to them.
+    */
    public Map<ChangedEntity, ClazzChangeData> getChanges(final String version1, final String version2) {
-      GitUtils.goToTag(version1, folders.getProjectFolder());
+      if (isReadFromRepository()) {
+         try {
+            return getChangesFromRepository(version1, version2);
+         } catch (IOException e) {
+            LOG.info("Could not read changes from repository, comparing working tree", e);
+         }
+      }
+      saveOldClasses(version1, version2);
+      return getWorkingTreeChanges(version1);
+   }
+
+   /**
+    * Saves the sources of the old version as old sources and checks out the new version afterwards.
+    */
+   public void saveOldClasses(final String oldVersion, final String newVersion) {
+      GitUtils.goToTag(oldVersion, folders.getProjectFolder());
       saveOldClasses();
-      GitUtils.goToTag(version2, folders.getProjectFolder());
-      return getChanges(version1);
+      GitUtils.goToTag(newVersion, folders.getProjectFolder());
    }
 
    /**
@@ -142,6 +173,28 @@ public class ChangeManager {
     * @return
     */
    public Map<ChangedEntity, ClazzChangeData> getChanges(final String lastRunningVersion) {
+      if (isReadFromRepository() && lastRunningVersion != null) {
+         try {
+            return getChangesFromRepository(lastRunningVersion, iterator.getTag());
+         } catch (IOException e) {
+            LOG.info("Could not read changes from repository, comparing working tree", e);
+            // The old sources are not saved while reading from the repository
+            saveOldClasses(lastRunningVersion, iterator.getTag());
+         }
+      }
+      return getWorkingTreeChanges(lastRunningVersion);
+   }
+
+   /**
+    * Returns the changes between both versions, reading them from the repository; the project folder and the old sources are not used, so none of the versions needs to be
+    * checked out.
+    */
+   public Map<ChangedEntity, ClazzChangeData> getChangesFromRepository(final String lastRunningVersion, final String version) throws IOException {
+      final RepositoryChangeReader reader = new RepositoryChangeReader(folders.getProjectFolder(), config);
+      return reader.getChanges(lastRunningVersion, version, testExecutor.getModules().getModules());
+   }
+
+   private Map<ChangedEntity, ClazzChangeData> getWorkingTreeChanges(final String lastRunningVersion) {
       final Map<ChangedEntity, ClazzChangeData> changedClassesMethods = new TreeMap<>();
       try {
          final List<ChangedEntity> changedClasses = getChangedClasses(lastRunningVersion);
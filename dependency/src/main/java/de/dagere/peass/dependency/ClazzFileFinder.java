@@ -14,14 +14,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.github.javaparser.ParseProblemException;
-import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.Node;
 
 import de.dagere.peass.config.ExecutionConfig;
 import de.dagere.peass.dependency.analysis.data.ChangedEntity;
 import de.dagere.peass.dependency.analysis.data.TestCase;
-import de.dagere.peass.dependency.changesreading.ClazzFinder;
-import de.dagere.peass.dependency.changesreading.JavaParserProvider;
+import de.dagere.peass.dependency.changesreading.ParsedSourceCache;
 import de.dagere.peass.dependency.traces.TraceElementContent;
 import de.dagere.peass.dependency.traces.TraceReadUtils;
 
@@ -106,10 +103,8 @@ public class ClazzFileFinder {
          final String packageName = clazz.lastIndexOf('.') != -1 ? clazz.substring(0, clazz.lastIndexOf('.')) : clazz;
 
          try {
-            final CompilationUnit cu = JavaParserProvider.parse(clazzFile);
-            for (final Node node : cu.getChildNodes()) {
-               final List<String> nodeChildClazzes = ClazzFinder.getClazzes(node, packageName, ".");
-               clazzes.addAll(nodeChildClazzes);
+            for (final String fileClazz : ParsedSourceCache.getSourceInfo(clazzFile).getClazzes()) {
+               clazzes.add(packageName + "." + fileClazz);
             }
          } catch (final ParseProblemException e) {
             throw new RuntimeException("Problem parsing " + clazz + " from " + clazzFile.getAbsolutePath() + " Existing: " + clazzFile.exists(), e);
@@ -22,6 +22,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -115,6 +117,53 @@ public class DependencyManager extends KiekerResultManager {
       }
    }
 
+   /**
+    * Runs the trace tests of a version update; if the weaving scope should be narrowed, only the classes each test called in the previous version, the changed classes and the
+    * test class are woven for the test.
+    */
+   public void runTraceTests(final TestSet testsToUpdate, final String version, final Set<ChangedEntity> changedClazzes)
+         throws IOException, XmlPullParserException, InterruptedException {
+      if (testTransformer.getConfig().getKiekerConfig().isNarrowWeavingScope()) {
+         executor.setWeavingScope(getWeavingScope(changedClazzes));
+      }
+      try {
+         runTraceTests(testsToUpdate, version);
+      } finally {
+         executor.setWeavingScope(null);
+      }
+   }
+
+   /**
+    * Returns the classes that need to be woven for every known test, i.e. the classes it called in the previous version, the changed classes and the test class itself. Tests
+    * whose test class changed and tests without previous trace are not contained, so all classes are woven for them: they may call classes they did not call before, and
+    * these calls would be missing in all later versions otherwise.
+    */
+   public Map<TestCase, Set<String>> getWeavingScope(final Set<ChangedEntity> changedClazzes) {
+      final Set<String> changedClazzNames = new HashSet<>();
+      for (final ChangedEntity changedClazz : changedClazzes) {
+         changedClazzNames.add(changedClazz.getSourceContainingClazz().getClazz());
+      }
+      final Map<TestCase, Set<String>> weavingScope = new HashMap<>();
+      for (final Map.Entry<TestCase, CalledMethods> testDependencies : dependencies.getDependencyMap().entrySet()) {
+         final String testClazz = testDependencies.getKey().toEntity().getSourceContainingClazz().getClazz();
+         final Set<String> calledClazzes = new HashSet<>();
+         for (final ChangedEntity calledClazz : testDependencies.getValue().getCalledClasses()) {
+            calledClazzes.add(calledClazz.getSourceContainingClazz().getClazz());
+         }
+         calledClazzes.remove(testClazz);
+         // Every known test has its own class as dependency, so a test without previous trace has no other called class
+         if (changedClazzNames.contains(testClazz) || calledClazzes.isEmpty()) {
+            LOG.debug("Test class changed or no previous trace for {}, weaving all classes", testDependencies.getKey());
+            continue;
+         }
+         final Set<String> clazzes = new HashSet<>(changedClazzNames);
+         clazzes.add(testClazz);
+         clazzes.addAll(calledClazzes);
+         weavingScope.put(testDependencies.getKey(), clazzes);
+      }
+      return weavingScope;
+   }
+
    private TestSet findIncludedTests(final ModuleClassMapping mapping) throws IOException, XmlPullParserException {
       List<String> includedModules = getIncludedModules();
 
@@ -303,7 +352,7 @@ public class DependencyManager extends KiekerResultManager {
       for (final Entry<TestCase, Set<String>> className : testsToUpdate.entrySet()) {
          for (final String method : className.getValue()) {
             final TestCase entity = new TestCase(className.getKey().getClazz(), method, className.getKey().getModule());
-            dependencies.getDependencyMap().remove(entity);
+            dependencies.removeTest(entity);
          }
       }
 
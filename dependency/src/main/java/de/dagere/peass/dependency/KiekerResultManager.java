@@ -31,7 +31,6 @@ import de.dagere.kopeme.parsing.BuildtoolProjectNameReader;
 import de.dagere.peass.config.ExecutionConfig;
 import de.dagere.peass.config.KiekerConfig;
 import de.dagere.peass.config.MeasurementConfig;
-import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.dependency.analysis.data.TestSet;
 import de.dagere.peass.execution.utils.EnvironmentVariables;
 import de.dagere.peass.execution.utils.TestExecutor;
@@ -120,9 +119,11 @@ public class KiekerResultManager {
          logVersionFolder.mkdir();
       }
 
-      executor.prepareKoPeMeExecution(new File(logVersionFolder, "clean.txt"));
-      for (final TestCase testcase : testsToUpdate.getTests()) {
-         executor.executeTest(testcase, logVersionFolder, testTransformer.getConfig().getTimeoutInSeconds());
+      if (testTransformer.getConfig().getExecutionConfig().getTraceThreads() > 1 && testsToUpdate.classCount() > 1) {
+         new ParallelTraceCollector(folders, executor, testTransformer.getConfig()).executeTests(testsToUpdate, version, logVersionFolder);
+      } else {
+         executor.prepareKoPeMeExecution(new File(logVersionFolder, "clean.txt"));
+         executor.executeTests(testsToUpdate.getTests(), logVersionFolder, testTransformer.getConfig().getTimeoutInSeconds());
       }
       cleanAboveSize(logVersionFolder, 100, "txt");
 
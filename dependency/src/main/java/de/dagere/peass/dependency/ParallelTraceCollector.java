@@ -0,0 +1,189 @@
+package de.dagere.peass.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.dependency.analysis.data.TestSet;
+import de.dagere.peass.execution.utils.EnvironmentVariables;
+import de.dagere.peass.execution.utils.TestExecutor;
+import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.testtransformation.TestTransformer;
+import de.dagere.peass.vcs.GitUtils;
+
+/**
+ * Collects the traces of tests in parallel. Every thread uses its own copy of the project from the workspace pool, which has its own KOPEME_HOME and Kieker temp folder. All
+ * methods of one test class are executed by the same thread, so the result folders of the threads never overlap; when a thread finished, its results are moved to the
+ * KOPEME_HOME of the original project, where they are read like the results of a sequential run. If threads fail, the results of all other threads are kept and the first
+ * failure is thrown after all threads finished.
+ *
+ * @author reichelt
+ *
+ */
+public class ParallelTraceCollector {
+
+   private static final Logger LOG = LogManager.getLogger(ParallelTraceCollector.class);
+
+   private final PeassFolders folders;
+   private final TestExecutor executor;
+   private final MeasurementConfig config;
+
+   public ParallelTraceCollector(final PeassFolders folders, final TestExecutor executor, final MeasurementConfig config) {
+      this.folders = folders;
+      this.executor = executor;
+      this.config = config;
+   }
+
+   public void executeTests(final TestSet tests, final String version, final File logVersionFolder) throws IOException, XmlPullParserException, InterruptedException {
+      final List<TestSet> parts = splitByClass(tests, config.getExecutionConfig().getTraceThreads());
+      LOG.info("Collecting traces of {} test classes with {} threads", tests.classCount(), parts.size());
+
+      final ExecutorService pool = Executors.newFixedThreadPool(parts.size());
+      final List<Future<?>> workers = new LinkedList<>();
+      for (int i = 0; i < parts.size(); i++) {
+         final TestSet part = parts.get(i);
+         final int worker = i;
+         workers.add(pool.submit(() -> {
+            executePart(part, version, logVersionFolder, worker);
+            return null;
+         }));
+      }
+      pool.shutdown();
+
+      Throwable firstFailure = null;
+      for (final Future<?> worker : workers) {
+         try {
+            worker.get();
+         } catch (ExecutionException e) {
+            LOG.error("Trace collection of a worker failed", e.getCause());
+            if (firstFailure == null) {
+               firstFailure = e.getCause();
+            }
+         }
+      }
+      if (firstFailure != null) {
+         rethrow(firstFailure);
+      }
+   }
+
+   /**
+    * Runs the part in a leased workspace; the results, also the partial results of a failed part, are merged before the workspace is given back.
+    */
+   private void executePart(final TestSet part, final String version, final File logVersionFolder, final int worker)
+         throws IOException, InterruptedException, XmlPullParserException {
+      final PeassFolders workerFolders = folders.getWorkspacePool().lease(version);
+      try {
+         runPart(part, version, logVersionFolder, worker, workerFolders);
+      } finally {
+         try {
+            mergeResults(workerFolders);
+         } finally {
+            folders.getWorkspacePool().giveBack(workerFolders);
+         }
+      }
+   }
+
+   private synchronized void mergeResults(final PeassFolders workerFolders) throws IOException {
+      mergeFolder(workerFolders.getTempMeasurementFolder(), folders.getTempMeasurementFolder());
+   }
+
+   private void runPart(final TestSet part, final String version, final File logVersionFolder, final int worker, final PeassFolders workerFolders)
+         throws IOException, InterruptedException, XmlPullParserException {
+      GitUtils.goToTag(version, workerFolders.getProjectFolder());
+
+      final TestTransformer workerTransformer = ExecutorCreator.createTestTransformer(workerFolders, config.getExecutionConfig(), config);
+      final TestExecutor workerExecutor = ExecutorCreator.createExecutor(workerFolders, workerTransformer, new EnvironmentVariables(executor.getEnv()));
+      workerExecutor.setIncludedMethods(executor.getIncludedMethods());
+      workerExecutor.setExistingClasses(executor.getExistingClasses());
+      workerExecutor.setWeavingScope(executor.getWeavingScope());
+      workerExecutor.setJDKVersion(executor.getJDKVersion());
+
+      workerExecutor.prepareKoPeMeExecution(new File(logVersionFolder, "clean_" + worker + ".txt"));
+      workerExecutor.executeTests(part.getTests(), logVersionFolder, config.getTimeoutInSeconds());
+   }
+
+   private void rethrow(final Throwable cause) throws IOException, XmlPullParserException, InterruptedException {
+      if (cause instanceof IOException) {
+         throw (IOException) cause;
+      } else if (cause instanceof XmlPullParserException) {
+         throw (XmlPullParserException) cause;
+      } else if (cause instanceof InterruptedException) {
+         throw (InterruptedException) cause;
+      } else {
+         throw new RuntimeException(cause);
+      }
+   }
+
+   /**
+    * Splits the tests into at most the given count of parts; all methods of one class are in the same part, and the classes with most methods are distributed first, so the
+    * parts contain roughly the same count of methods.
+    */
+   public static List<TestSet> splitByClass(final TestSet tests, final int maximumParts) {
+      final int partCount = Math.max(1, Math.min(maximumParts, tests.classCount()));
+      final List<TestSet> parts = new ArrayList<>(partCount);
+      final int[] partSizes = new int[partCount];
+      for (int i = 0; i < partCount; i++) {
+         parts.add(new TestSet());
+      }
+
+      final List<Entry<TestCase, Set<String>>> classes = new ArrayList<>(tests.entrySet());
+      classes.sort(Comparator.comparingInt((Entry<TestCase, Set<String>> clazz) -> clazz.getValue().size()).reversed());
+      for (final Entry<TestCase, Set<String>> clazz : classes) {
+         int smallestPart = 0;
+         for (int i = 1; i < partCount; i++) {
+            if (partSizes[i] < partSizes[smallestPart]) {
+               smallestPart = i;
+            }
+         }
+         if (clazz.getValue().isEmpty()) {
+            parts.get(smallestPart).addTest(clazz.getKey(), null);
+         } else {
+            for (final String method : clazz.getValue()) {
+               parts.get(smallestPart).addTest(clazz.getKey(), method);
+            }
+         }
+         partSizes[smallestPart] += Math.max(1, clazz.getValue().size());
+      }
+      return parts;
+   }
+
+   /**
+    * Moves the content of the source folder to the destination folder; existing folders are merged.
+    */
+   public static void mergeFolder(final File source, final File destination) throws IOException {
+      if (!source.exists()) {
+         return;
+      }
+      if (!destination.exists()) {
+         destination.getParentFile().mkdirs();
+         Files.move(source.toPath(), destination.toPath());
+         return;
+      }
+      for (final File child : source.listFiles()) {
+         final File destinationChild = new File(destination, child.getName());
+         if (!destinationChild.exists()) {
+            Files.move(child.toPath(), destinationChild.toPath());
+         } else if (child.isDirectory() && destinationChild.isDirectory()) {
+            mergeFolder(child, destinationChild);
+         } else {
+            LOG.warn("{} has been created by several threads, keeping {}", child.getName(), destinationChild);
+         }
+      }
+   }
+}
@@ -0,0 +1,84 @@
+package de.dagere.peass.dependency.analysis.data;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse index of {@link TestDependencies}, i.e. a map from called class and from called method (name with parameters) to the tests calling it. Needs to be updated on every
+ * change of the dependencies, which is done by {@link TestDependencies}.
+ *
+ * @author reichelt
+ *
+ */
+class CalledEntityIndex {
+
+   private final Map<ChangedEntity, Set<TestCase>> testsByClass = new HashMap<>();
+   private final Map<ChangedEntity, Map<String, Set<TestCase>>> testsByMethod = new HashMap<>();
+
+   public void addCalls(final TestCase test, final ChangedEntity calledClass, final Set<String> calledMethods) {
+      testsByClass.computeIfAbsent(calledClass, clazz -> new HashSet<>()).add(test);
+      final Map<String, Set<TestCase>> methodTests = testsByMethod.computeIfAbsent(calledClass, clazz -> new HashMap<>());
+      for (final String method : calledMethods) {
+         methodTests.computeIfAbsent(method, name -> new HashSet<>()).add(test);
+      }
+   }
+
+   public void addAllCalls(final TestCase test, final CalledMethods calledMethods) {
+      for (final Map.Entry<ChangedEntity, Set<String>> calledClass : calledMethods.getCalledMethods().entrySet()) {
+         addCalls(test, calledClass.getKey(), calledClass.getValue());
+      }
+   }
+
+   public void removeAllCalls(final TestCase test, final CalledMethods calledMethods) {
+      for (final Map.Entry<ChangedEntity, Set<String>> calledClass : calledMethods.getCalledMethods().entrySet()) {
+         final ChangedEntity clazz = calledClass.getKey();
+         removeFromIndex(testsByClass, clazz, test);
+
+         final Map<String, Set<TestCase>> methodTests = testsByMethod.get(clazz);
+         if (methodTests != null) {
+            for (final String method : calledClass.getValue()) {
+               removeFromIndex(methodTests, method, test);
+            }
+            if (methodTests.isEmpty()) {
+               testsByMethod.remove(clazz);
+            }
+         }
+      }
+   }
+
+   private <T> void removeFromIndex(final Map<T, Set<TestCase>> index, final T key, final TestCase test) {
+      final Set<TestCase> tests = index.get(key);
+      if (tests != null) {
+         tests.remove(test);
+         if (tests.isEmpty()) {
+            index.remove(key);
+         }
+      }
+   }
+
+   public Set<TestCase> getTestsCallingClass(final ChangedEntity clazz) {
+      final Set<TestCase> tests = testsByClass.get(clazz);
+      return tests != null ? tests : Collections.emptySet();
+   }
+
+   /**
+    * Returns the tests calling the given method of the given class; the method needs to be given with parameters, e.g. method(int), if it has parameters.
+    */
+   public Set<TestCase> getTestsCallingMethod(final ChangedEntity clazz, final String methodWithParameters) {
+      final Map<String, Set<TestCase>> methodTests = testsByMethod.get(clazz);
+      if (methodTests != null) {
+         final Set<TestCase> tests = methodTests.get(methodWithParameters);
+         return tests != null ? tests : Collections.emptySet();
+      } else {
+         return Collections.emptySet();
+      }
+   }
+
+   public void clear() {
+      testsByClass.clear();
+      testsByMethod.clear();
+   }
+}
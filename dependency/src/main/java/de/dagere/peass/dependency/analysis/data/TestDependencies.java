@@ -16,10 +16,10 @@
  */
 package de.dagere.peass.dependency.analysis.data;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
@@ -42,6 +42,12 @@ public class TestDependencies {
     */
    private final Map<TestCase, CalledMethods> dependencyMap = new HashMap<>();
 
+   /**
+    * Reverse index of the dependencyMap, so the tests calling a changed class or method can be found without iterating all tests. Therefore, the dependencyMap may only be changed
+    * using the methods of this class.
+    */
+   private final CalledEntityIndex index = new CalledEntityIndex();
+
    public TestDependencies() {
 
    }
@@ -68,13 +74,35 @@ public class TestDependencies {
             method += "(" + test.getParams() + ")";
          }
          calledMethods.add(method);
+         index.addCalls(test, onlyClass, calledMethods);
       }
       return tests.getCalledMethods();
    }
    
    public void setDependencies(final TestCase testClassName, final Map<ChangedEntity, Set<String>> allCalledClasses) {
       final Map<ChangedEntity, Set<String>> testDependencies = getOrAddDependenciesForTest(testClassName);
+      final CalledMethods calledMethods = dependencyMap.get(testClassName);
+      index.removeAllCalls(testClassName, calledMethods);
       testDependencies.putAll(allCalledClasses);
+      index.addAllCalls(testClassName, calledMethods);
+   }
+
+   /**
+    * Adds one called method to the dependencies of the given test
+    * 
+    * @param testClassName
+    * @param calledClass Class containing the called method, without method
+    * @param calledMethod Name of the method, including parameters if the method has parameters
+    */
+   public void addDependency(final TestCase testClassName, final ChangedEntity calledClass, final String calledMethod) {
+      final Map<ChangedEntity, Set<String>> testDependencies = getOrAddDependenciesForTest(testClassName);
+      Set<String> methods = testDependencies.get(calledClass);
+      if (methods == null) {
+         methods = new HashSet<>();
+         testDependencies.put(calledClass, methods);
+      }
+      methods.add(calledMethod);
+      index.addCalls(testClassName, calledClass, Collections.singleton(calledMethod));
    }
    
    /**
@@ -95,11 +123,15 @@ public class TestDependencies {
          } else {
             testDependencies.put(calledEntity.getKey(), calledEntity.getValue());
          }
+         index.addCalls(testClassName, calledEntity.getKey(), calledEntity.getValue());
       }
    }
 
    public void removeTest(final TestCase entity) {
-      dependencyMap.remove(entity);
+      final CalledMethods removed = dependencyMap.remove(entity);
+      if (removed != null) {
+         index.removeAllCalls(entity, removed);
+      }
    }
 
    public int size() {
@@ -127,7 +159,7 @@ public class TestDependencies {
 
    /**
     * Returns a list of all tests that changed based on given changed classes and the dependencies of the current version. So the result mapping is changedclass to a set of tests,
-    * that could have been changed by this changed class.
+    * that could have been changed by this changed class. Since the tests are looked up in the reverse index, the effort only depends on the size of the changes.
     * 
     * @param staticTestSelection
     * @param changes
@@ -135,17 +167,10 @@ public class TestDependencies {
     */
    public ChangeTestMapping getChangeTestMap(final Map<ChangedEntity, ClazzChangeData> changes) {
       final ChangeTestMapping changeTestMap = new ChangeTestMapping();
-      for (final Entry<TestCase, CalledMethods> dependencyEntry : dependencyMap.entrySet()) {
-         final TestCase currentTestcase = dependencyEntry.getKey();
-         final CalledMethods currentTestDependencies = dependencyEntry.getValue();
-         for (ClazzChangeData changedEntry : changes.values()) {
-            for (ChangedEntity change : changedEntry.getChanges()) {
-               final ChangedEntity changedClass = change.onlyClazz();
-               final Set<ChangedEntity> calledClasses = currentTestDependencies.getCalledClasses();
-               if (calledClasses.contains(changedClass)) {
-                  addCall(changeTestMap, currentTestcase, currentTestDependencies, changedEntry, change, changedClass);
-               }
-            }
+      for (ClazzChangeData changedEntry : changes.values()) {
+         for (ChangedEntity change : changedEntry.getChanges()) {
+            final ChangedEntity changedClass = change.onlyClazz();
+            addCalls(changeTestMap, changedEntry, change, changedClass);
          }
       }
       for (final Map.Entry<ChangedEntity, Set<TestCase>> element : changeTestMap.getChanges().entrySet()) {
@@ -155,17 +180,16 @@ public class TestDependencies {
       return changeTestMap;
    }
 
-   private void addCall(final ChangeTestMapping changeTestMap, final TestCase currentTestcase, final CalledMethods currentTestDependencies,
-         final ClazzChangeData changedEntry, final ChangedEntity change, final ChangedEntity changedClass) {
+   private void addCalls(final ChangeTestMapping changeTestMap, final ClazzChangeData changedEntry, final ChangedEntity change, final ChangedEntity changedClass) {
       boolean clazzLevelChange = !changedEntry.isOnlyMethodChange();
       if (clazzLevelChange) {
-         changeTestMap.addChangeEntry(change, currentTestcase);
-         changeTestMap.addChangeEntry(change.onlyClazz(), currentTestcase);
-      } else { 
+         for (final TestCase currentTestcase : index.getTestsCallingClass(changedClass)) {
+            changeTestMap.addChangeEntry(change, currentTestcase);
+            changeTestMap.addChangeEntry(change.onlyClazz(), currentTestcase);
+         }
+      } else {
          String method = change.getMethod() + change.getParameterString();
-         final Map<ChangedEntity, Set<String>> calledMethods = currentTestDependencies.getCalledMethods();
-         final Set<String> calledMethodsInChangeClass = calledMethods.get(changedClass);
-         if (calledMethodsInChangeClass.contains(method)) {
+         for (final TestCase currentTestcase : index.getTestsCallingMethod(changedClass, method)) {
             final ChangedEntity classWithMethod = new ChangedEntity(changedClass.getClazz(), changedClass.getModule(), method);
             changeTestMap.addChangeEntry(classWithMethod, currentTestcase);
          }
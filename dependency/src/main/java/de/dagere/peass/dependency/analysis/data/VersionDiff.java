@@ -67,7 +67,14 @@ public class VersionDiff {
       return changedClasses;
    }
 
-   public void addChange(final String currentFileName, final ExecutionConfig config) {
+   /**
+    * Adds the change of the file to the diff.
+    * 
+    * @param currentFileName Path of the changed file, relative to the project folder
+    * @return The changed class, or null if the file is no class of a known module
+    */
+   public ChangedEntity addChange(final String currentFileName, final ExecutionConfig config) {
+      ChangedEntity addedEntity = null;
       if (currentFileName.endsWith("pom.xml")) {
          setPomChanged(true);
       } else {
@@ -86,7 +93,7 @@ public class VersionDiff {
                if (indexOf == -1) {
                   LOG.error("Did not find any of the class pathes in the changed filename: {} classpathes: {} ", currentFileName, config.getAllClazzFolders());
                } else {
-                  addChange(currentFileName, containedPath, indexOf);
+                  addedEntity = addChange(currentFileName, containedPath, indexOf);
                }
             } else {
                LOG.info("Did not find matching class folder for file {}", containedPath);
@@ -94,9 +101,10 @@ public class VersionDiff {
 
          }
       }
+      return addedEntity;
    }
 
-   private void addChange(final String currentFileName, final String containedPath, final int indexOf) {
+   private ChangedEntity addChange(final String currentFileName, final String containedPath, final int indexOf) {
       if (indexOf != 0) {
          final String pathWithFolder = currentFileName.substring(indexOf);
          final String classPath = replaceClazzFolderFromName(pathWithFolder, containedPath);
@@ -107,6 +115,7 @@ public class VersionDiff {
             final ChangedEntity changedEntity = new ChangedEntity(classPath, modulePath);
             if (!changedEntity.getJavaClazzName().contains(File.separator)) {
                changedClasses.add(changedEntity);
+               return changedEntity;
             } else {
                LOG.error("Sourcefoldernot found: {} Ignoring {}", modulePath, currentFileName);
             }
@@ -120,10 +129,12 @@ public class VersionDiff {
          final ChangedEntity changedEntity = new ChangedEntity(classPath, "");
          if (!changedEntity.getJavaClazzName().contains(File.separator)) {
             changedClasses.add(changedEntity);
+            return changedEntity;
          } else {
             LOG.error("Sourcefoldernot found: {}", currentFileName);
          }
       }
+      return null;
    }
 
    public static String replaceClazzFolderFromName(final String fileName, final String classFolderName) {
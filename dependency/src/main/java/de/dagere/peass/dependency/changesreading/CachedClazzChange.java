@@ -0,0 +1,92 @@
+package de.dagere.peass.dependency.changesreading;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import de.dagere.peass.dependency.analysis.data.ChangedEntity;
+
+/**
+ * Result of comparing two source file versions, independent of the containing file, so it can be cached by {@link ParsedSourceCache} and added to the {@link ClazzChangeData} of
+ * every later comparison of the same versions.
+ * 
+ * @author reichelt
+ *
+ */
+public class CachedClazzChange {
+   private boolean change;
+   private boolean onlyMethodChange = true;
+   private Map<String, Set<String>> changedMethods = new HashMap<>();
+   private Set<String> importChanges = new HashSet<>();
+
+   public CachedClazzChange() {
+   }
+
+   public CachedClazzChange(final ClazzChangeData changeData) {
+      change = changeData.isChange();
+      onlyMethodChange = changeData.isOnlyMethodChange();
+      changedMethods.putAll(changeData.getChangedMethods());
+      for (ChangedEntity importChange : changeData.getImportChanges()) {
+         importChanges.add(importChange.getClazz());
+      }
+   }
+
+   public void addTo(final ClazzChangeData changeData) {
+      if (change) {
+         changeData.setChange(true);
+      }
+      if (!onlyMethodChange) {
+         changeData.setOnlyMethodChange(false);
+      }
+      for (Map.Entry<String, Set<String>> changedClazz : changedMethods.entrySet()) {
+         Set<String> methods = changedClazz.getValue();
+         if (methods != null) {
+            Set<String> existing = changeData.getChangedMethods().get(changedClazz.getKey());
+            if (existing != null) {
+               existing.addAll(methods);
+            } else if (!changeData.getChangedMethods().containsKey(changedClazz.getKey())) {
+               changeData.getChangedMethods().put(changedClazz.getKey(), new HashSet<>(methods));
+            }
+         } else {
+            changeData.getChangedMethods().put(changedClazz.getKey(), null);
+         }
+      }
+      // The cache key only consists of blob ids, so the module is taken from the file the change is added to
+      for (String importChange : importChanges) {
+         changeData.getImportChanges().add(new ChangedEntity(importChange, changeData.getContainingFile().getModule()));
+      }
+   }
+
+   public boolean isChange() {
+      return change;
+   }
+
+   public void setChange(final boolean change) {
+      this.change = change;
+   }
+
+   public boolean isOnlyMethodChange() {
+      return onlyMethodChange;
+   }
+
+   public void setOnlyMethodChange(final boolean onlyMethodChange) {
+      this.onlyMethodChange = onlyMethodChange;
+   }
+
+   public Map<String, Set<String>> getChangedMethods() {
+      return changedMethods;
+   }
+
+   public void setChangedMethods(final Map<String, Set<String>> changedMethods) {
+      this.changedMethods = changedMethods;
+   }
+
+   public Set<String> getImportChanges() {
+      return importChanges;
+   }
+
+   public void setImportChanges(final Set<String> importChanges) {
+      this.importChanges = importChanges;
+   }
+}
@@ -65,6 +65,11 @@ public class ClazzChangeData {
       }
    }
 
+   @JsonIgnore
+   public ChangedEntity getContainingFile() {
+      return containingFile;
+   }
+
    public boolean isChange() {
       return isChange;
    }
@@ -185,7 +190,7 @@ public class ClazzChangeData {
    }
 
    public void addImportChange(final String name, final List<ChangedEntity> entities) {
-      importChanges.add(new ChangedEntity(name, ""));
+      importChanges.add(new ChangedEntity(name, containingFile.getModule()));
       isChange = true;
       isOnlyMethodChange = false;
 
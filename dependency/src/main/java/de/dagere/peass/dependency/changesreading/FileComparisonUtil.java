@@ -166,9 +166,10 @@ public final class FileComparisonUtil {
       final File file = finder.getSourceFile(projectFolder, entity);
       if (file != null) {
          LOG.debug("Found:  {} {}", file, file.exists());
-         final CompilationUnit cu = JavaParserProvider.parse(file);
-
-         return getMethodSource(entity, method, cu);
+         String[] parameters = entity.getParameters().toArray(new String[0]);
+         TraceElementContent traceElement = new TraceElementContent(entity.getJavaClazzName(), method, entity.getModule(), parameters, 0);
+         final String source = ParsedSourceCache.getMethodSource(file, traceElement).getSource();
+         return source != null ? source : "";
       } else {
          return "";
       }
@@ -197,10 +198,48 @@ public final class FileComparisonUtil {
     * @throws IOException If class can't be read
     */
    public static void getChangedMethods(final File newFile, final File oldFile, final ClazzChangeData changedata) throws ParseException, IOException {
+      ParsedSourceCache.addChangedMethods(newFile, oldFile, changedata);
+   }
+
+   /**
+    * Compares the files without using the {@link ParsedSourceCache}
+    */
+   static void compareFiles(final File newFile, final File oldFile, final ClazzChangeData changedata) throws ParseException, IOException {
+      final CompilationUnit newCu;
+      final CompilationUnit oldCu;
+      try {
+         newCu = JavaParserProvider.parse(newFile);
+         oldCu = JavaParserProvider.parse(oldFile);
+      } catch (final Exception e) {
+         throw handleParseException(changedata, e);
+      }
+      compareUnits(newCu, oldCu, changedata);
+   }
+
+   /**
+    * Compares the sources without using the {@link ParsedSourceCache}
+    */
+   static void compareSources(final String newSource, final String oldSource, final ClazzChangeData changedata) throws ParseException {
+      final CompilationUnit newCu;
+      final CompilationUnit oldCu;
+      try {
+         newCu = JavaParserProvider.parse(newSource);
+         oldCu = JavaParserProvider.parse(oldSource);
+      } catch (final Exception e) {
+         throw handleParseException(changedata, e);
+      }
+      compareUnits(newCu, oldCu, changedata);
+   }
+
+   private static ParseException handleParseException(final ClazzChangeData changedata, final Exception e) {
+      e.printStackTrace();
+      LOG.info("Found full-class change");
+      changedata.setOnlyMethodChange(false);
+      return new ParseException("Parsing was not successfull");
+   }
+
+   private static void compareUnits(final CompilationUnit newCu, final CompilationUnit oldCu, final ClazzChangeData changedata) throws ParseException {
       try {
-         final CompilationUnit newCu = JavaParserProvider.parse(newFile);
-         final CompilationUnit oldCu = JavaParserProvider.parse(oldFile);
-         
          new CommentRemover(newCu);
          new CommentRemover(oldCu);
 
@@ -223,13 +262,8 @@ public final class FileComparisonUtil {
             ChangeAdder.addChange(changedata, node, oldCu);
          }
       } catch (final Exception e) {
-         e.printStackTrace();
-         LOG.info("Found full-class change");
-         changedata.setOnlyMethodChange(false);
-         throw new ParseException("Parsing was not successfull");
+         throw handleParseException(changedata, e);
       }
-
-      return;
    }
    
    private static boolean checkOnlyLineCommentChange(final List<Node> changes) {
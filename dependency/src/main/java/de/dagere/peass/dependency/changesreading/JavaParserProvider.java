@@ -26,4 +26,10 @@ public class JavaParserProvider {
       return result.get();
    }
 
+   public synchronized static CompilationUnit parse(final String source) {
+      final JavaParser parser = javaParser.get();
+      final Optional<CompilationUnit> result = parser.parse(source).getResult();
+      return result.get();
+   }
+
 }
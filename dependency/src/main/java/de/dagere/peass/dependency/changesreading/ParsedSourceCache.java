@@ -0,0 +1,297 @@
+package de.dagere.peass.dependency.changesreading;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+
+import de.dagere.peass.dependency.analysis.data.ChangedEntity;
+import de.dagere.peass.dependency.changesreading.ParsedSourceInfo.MethodSource;
+import de.dagere.peass.dependency.traces.TraceElementContent;
+import de.dagere.peass.dependency.traces.TraceReadUtils;
+import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.utils.Constants;
+import de.dagere.peass.vcs.GitObjectReader;
+
+/**
+ * Caches the data derived from parsing source files, so unchanged files do not need to be parsed again for every version. Entries are identified by the git blob id of the file
+ * content, so they are valid independent of the version and the folder the file is contained in. If a cache folder is set for the project containing a file, entries are also
+ * stored in this folder and reused by later runs; otherwise, only the in-memory cache is used.
+ * 
+ * @author reichelt
+ *
+ */
+public final class ParsedSourceCache {
+
+   private static final Logger LOG = LogManager.getLogger(ParsedSourceCache.class);
+
+   /**
+    * Maximum count of entries kept in memory; if it is exceeded, the in-memory cache is cleared (entries are still available on disk if a cache folder is set)
+    */
+   private static final int MAX_MEMORY_ENTRIES = 20000;
+
+   private static final String CHANGE_FOLDER = "changes";
+
+   private static final Map<String, ParsedSourceInfo> SOURCES = new ConcurrentHashMap<>();
+   private static final Map<String, CachedClazzChange> CHANGES = new ConcurrentHashMap<>();
+
+   private static final Map<Path, File> CACHE_FOLDERS = new ConcurrentHashMap<>();
+
+   /**
+    * Util class should not be initialized
+    */
+   private ParsedSourceCache() {
+
+   }
+
+   /**
+    * Sets the folder where cache entries of files in the project folder and its peass folder (e.g. the old sources) are stored on disk.
+    */
+   public static void setCacheFolder(final PeassFolders folders, final File cacheFolder) {
+      setCacheFolder(folders.getProjectFolder(), cacheFolder);
+      setCacheFolder(folders.getPeassFolder(), cacheFolder);
+   }
+
+   /**
+    * Sets the folder where cache entries of files below the given folder are stored on disk; null deactivates the disk cache for the folder.
+    */
+   public static void setCacheFolder(final File folder, final File cacheFolder) {
+      final Path key = getKey(folder);
+      if (cacheFolder != null) {
+         if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+         }
+         CACHE_FOLDERS.put(key, cacheFolder);
+      } else {
+         CACHE_FOLDERS.remove(key);
+      }
+   }
+
+   /**
+    * Returns the cache folder of the innermost folder containing the file, or null if no cache folder is set for any of them.
+    */
+   public static File getCacheFolder(final File file) {
+      final Path path = getKey(file);
+      Path matchingFolder = null;
+      for (final Path folder : CACHE_FOLDERS.keySet()) {
+         if (path.startsWith(folder) && (matchingFolder == null || folder.getNameCount() > matchingFolder.getNameCount())) {
+            matchingFolder = folder;
+         }
+      }
+      return matchingFolder != null ? CACHE_FOLDERS.get(matchingFolder) : null;
+   }
+
+   private static Path getKey(final File file) {
+      return file.toPath().toAbsolutePath().normalize();
+   }
+
+   public static void clearMemory() {
+      SOURCES.clear();
+      CHANGES.clear();
+   }
+
+   /**
+    * Returns the git blob id of the file, i.e. the SHA-1 hash of the content prefixed by the blob header, which is the same id git uses for the file content.
+    */
+   public static String getBlobId(final File file) throws IOException {
+      final byte[] content = Files.readAllBytes(file.toPath());
+      try {
+         final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+         digest.update(("blob " + content.length + "\0").getBytes(StandardCharsets.US_ASCII));
+         digest.update(content);
+         final StringBuilder hex = new StringBuilder();
+         for (final byte hashByte : digest.digest()) {
+            hex.append(String.format("%02x", hashByte));
+         }
+         return hex.toString();
+      } catch (NoSuchAlgorithmException e) {
+         throw new RuntimeException(e);
+      }
+   }
+
+   /**
+    * Returns the cached information of the file; the classes are packageless and in the format of {@link ClazzFinder#getClazzes(CompilationUnit)}.
+    */
+   public static ParsedSourceInfo getSourceInfo(final File file) throws FileNotFoundException {
+      return getSourceInfo(file, getBlobIdUnchecked(file));
+   }
+
+   private static ParsedSourceInfo getSourceInfo(final File file, final String blobId) throws FileNotFoundException {
+      ParsedSourceInfo info = SOURCES.get(blobId);
+      if (info == null) {
+         info = readFromDisk(getSourceFile(file, blobId), ParsedSourceInfo.class);
+         if (info == null) {
+            LOG.trace("Parsing {}", file);
+            final CompilationUnit cu = JavaParserProvider.parse(file);
+            info = new ParsedSourceInfo();
+            info.getClazzes().addAll(ClazzFinder.getClazzes(cu));
+            writeToDisk(getSourceFile(file, blobId), info);
+         }
+         putLimited(SOURCES, blobId, info);
+      }
+      return info;
+   }
+
+   /**
+    * Returns the source of the method of the trace element contained in the given file; the sources are null if the file does not contain the method.
+    */
+   public static MethodSource getMethodSource(final File file, final TraceElementContent traceElement) throws FileNotFoundException {
+      return getMethodSources(file, Collections.singletonList(traceElement)).get(0);
+   }
+
+   /**
+    * Returns the sources of the methods of all trace elements contained in the given file, in the order of the trace elements. The file is hashed once, parsed at most once for
+    * all methods which are not cached yet, and its cache entry is written at most once.
+    */
+   public static List<MethodSource> getMethodSources(final File file, final List<TraceElementContent> traceElements) throws FileNotFoundException {
+      final String blobId = getBlobIdUnchecked(file);
+      final ParsedSourceInfo info = getSourceInfo(file, blobId);
+      final List<MethodSource> sources = new ArrayList<>(traceElements.size());
+      CompilationUnit cu = null;
+      for (final TraceElementContent traceElement : traceElements) {
+         final String key = getMethodKey(traceElement);
+         MethodSource source = info.getMethods().get(key);
+         if (source == null) {
+            if (cu == null) {
+               cu = JavaParserProvider.parse(file);
+            }
+            source = readMethodSource(cu, traceElement);
+            info.getMethods().put(key, source);
+         }
+         sources.add(source);
+      }
+      if (cu != null) {
+         writeToDisk(getSourceFile(file, blobId), info);
+      }
+      return sources;
+   }
+
+   private static MethodSource readMethodSource(final CompilationUnit cu, final TraceElementContent traceElement) {
+      // The method is read from a copy, since removing its comment would change the unit for later methods
+      final Node method = TraceReadUtils.getMethod(traceElement, cu);
+      if (method != null) {
+         final String commentedMethod = method.toString();
+         final Node copy = method.clone();
+         copy.setComment(null);
+         final String noCommentMethod = copy.toString();
+         return new MethodSource(commentedMethod, noCommentMethod);
+      } else {
+         return new MethodSource(null, null);
+      }
+   }
+
+   private static String getMethodKey(final TraceElementContent traceElement) {
+      return traceElement.getClazz() + ChangedEntity.METHOD_SEPARATOR + traceElement.getMethod() + "(" + String.join(",", traceElement.getParameterTypes()) + ")";
+   }
+
+   /**
+    * Adds the changes between the two files to the change data, using the cached comparison result if the same file versions have been compared before.
+    */
+   public static void addChangedMethods(final File newFile, final File oldFile, final ClazzChangeData changedata) throws ParseException, IOException {
+      final String changeKey = getBlobId(newFile) + "_" + getBlobId(oldFile);
+      addChangedMethods(getCacheFolder(newFile), changeKey, changedata, freshData -> FileComparisonUtil.compareFiles(newFile, oldFile, freshData));
+   }
+
+   /**
+    * Adds the changes between the two blobs to the change data like {@link #addChangedMethods(File, File, ClazzChangeData)}; the blobs are only read from the repository if
+    * their comparison is not cached.
+    */
+   public static void addChangedMethods(final String newBlobId, final String oldBlobId, final GitObjectReader reader, final ClazzChangeData changedata)
+         throws ParseException, IOException {
+      final String changeKey = newBlobId + "_" + oldBlobId;
+      addChangedMethods(getCacheFolder(reader.getProjectFolder()), changeKey, changedata, freshData -> FileComparisonUtil.compareSources(reader.readBlob(newBlobId), reader.readBlob(oldBlobId), freshData));
+   }
+
+   private static void addChangedMethods(final File cacheFolder, final String changeKey, final ClazzChangeData changedata, final Comparison comparison)
+         throws ParseException, IOException {
+      CachedClazzChange change = CHANGES.get(changeKey);
+      if (change == null) {
+         change = readFromDisk(getChangeFile(cacheFolder, changeKey), CachedClazzChange.class);
+         if (change == null) {
+            final ClazzChangeData freshData = new ClazzChangeData(changedata.getContainingFile());
+            try {
+               comparison.compare(freshData);
+            } catch (ParseException e) {
+               changedata.setOnlyMethodChange(false);
+               throw e;
+            }
+            change = new CachedClazzChange(freshData);
+            writeToDisk(getChangeFile(cacheFolder, changeKey), change);
+         }
+         putLimited(CHANGES, changeKey, change);
+      }
+      change.addTo(changedata);
+   }
+
+   private interface Comparison {
+      void compare(ClazzChangeData freshData) throws ParseException, IOException;
+   }
+
+   private static String getBlobIdUnchecked(final File file) throws FileNotFoundException {
+      try {
+         return getBlobId(file);
+      } catch (FileNotFoundException e) {
+         throw e;
+      } catch (IOException e) {
+         throw new RuntimeException(e);
+      }
+   }
+
+   private static <T> void putLimited(final Map<String, T> map, final String key, final T value) {
+      if (map.size() >= MAX_MEMORY_ENTRIES) {
+         LOG.debug("Clearing in-memory source cache");
+         map.clear();
+      }
+      map.put(key, value);
+   }
+
+   private static File getSourceFile(final File file, final String blobId) {
+      final File folder = getCacheFolder(file);
+      return folder != null ? new File(folder, blobId.substring(0, 2) + File.separator + blobId + ".json") : null;
+   }
+
+   private static File getChangeFile(final File cacheFolder, final String changeKey) {
+      return cacheFolder != null ? new File(cacheFolder, CHANGE_FOLDER + File.separator + changeKey.substring(0, 2) + File.separator + changeKey + ".json") : null;
+   }
+
+   private static <T> T readFromDisk(final File cacheFile, final Class<T> clazz) {
+      if (cacheFile != null && cacheFile.exists()) {
+         try {
+            return Constants.OBJECTMAPPER.readValue(cacheFile, clazz);
+         } catch (IOException e) {
+            LOG.warn("Could not read cache entry {}, ignoring it: {}", cacheFile, e.getMessage());
+         }
+      }
+      return null;
+   }
+
+   private static void writeToDisk(final File cacheFile, final Object value) {
+      if (cacheFile != null) {
+         try {
+            cacheFile.getParentFile().mkdirs();
+            final File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheFile.getParentFile());
+            Constants.OBJECTMAPPER.writeValue(tempFile, value);
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         } catch (IOException e) {
+            LOG.warn("Could not write cache entry {}: {}", cacheFile, e.getMessage());
+         }
+      }
+   }
+}
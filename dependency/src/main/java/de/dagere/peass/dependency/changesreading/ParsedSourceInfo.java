@@ -0,0 +1,67 @@
+package de.dagere.peass.dependency.changesreading;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data that is derived from parsing one source file version and cached by {@link ParsedSourceCache}, i.e. the classes of the file and the sources of the methods that have been
+ * requested so far.
+ * 
+ * @author reichelt
+ *
+ */
+public class ParsedSourceInfo {
+
+   /**
+    * Source of one method, with and without comments; both are null if the method is not contained in the file.
+    */
+   public static class MethodSource {
+      private String source;
+      private String sourceNoComment;
+
+      public MethodSource() {
+      }
+
+      public MethodSource(final String source, final String sourceNoComment) {
+         this.source = source;
+         this.sourceNoComment = sourceNoComment;
+      }
+
+      public String getSource() {
+         return source;
+      }
+
+      public void setSource(final String source) {
+         this.source = source;
+      }
+
+      public String getSourceNoComment() {
+         return sourceNoComment;
+      }
+
+      public void setSourceNoComment(final String sourceNoComment) {
+         this.sourceNoComment = sourceNoComment;
+      }
+   }
+
+   private List<String> clazzes = new LinkedList<>();
+   private Map<String, MethodSource> methods = new ConcurrentHashMap<>();
+
+   public List<String> getClazzes() {
+      return clazzes;
+   }
+
+   public void setClazzes(final List<String> clazzes) {
+      this.clazzes = clazzes;
+   }
+
+   public Map<String, MethodSource> getMethods() {
+      return methods;
+   }
+
+   public void setMethods(final Map<String, MethodSource> methods) {
+      this.methods = new ConcurrentHashMap<>(methods);
+   }
+}
@@ -0,0 +1,117 @@
+package de.dagere.peass.dependency.changesreading;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.javaparser.ParseException;
+
+import de.dagere.peass.config.ExecutionConfig;
+import de.dagere.peass.dependency.ClazzFileFinder;
+import de.dagere.peass.dependency.analysis.data.ChangedEntity;
+import de.dagere.peass.dependency.analysis.data.VersionDiff;
+import de.dagere.peass.vcs.GitObjectReader;
+import de.dagere.peass.vcs.GitObjectReader.ChangedFile;
+
+/**
+ * Determines the changed classes and methods between two versions like the comparison of the old sources and the working tree, but reads both versions from the object
+ * database of the repository, so neither of them needs to be checked out.
+ *
+ * @author reichelt
+ *
+ */
+public class RepositoryChangeReader {
+
+   private static final Logger LOG = LogManager.getLogger(RepositoryChangeReader.class);
+
+   private final File projectFolder;
+   private final ExecutionConfig config;
+
+   public RepositoryChangeReader(final File projectFolder, final ExecutionConfig config) {
+      this.projectFolder = projectFolder;
+      this.config = config;
+   }
+
+   /**
+    * Returns all changed classes with the corresponding changed methods. If the set of a class is empty, the whole class was changed and all tests using any method of the class
+    * need to be re-evaluated.
+    */
+   public Map<ChangedEntity, ClazzChangeData> getChanges(final String oldVersion, final String newVersion, final List<File> modules) throws IOException {
+      final Map<ChangedEntity, ClazzChangeData> changedClassesMethods = new TreeMap<>();
+      try (GitObjectReader reader = new GitObjectReader(projectFolder)) {
+         final VersionDiff diff = new VersionDiff(modules, projectFolder);
+         final Map<ChangedEntity, ChangedFile> clazzFiles = new TreeMap<>();
+         for (final ChangedFile changedFile : reader.getChangedFiles(oldVersion, newVersion)) {
+            final ChangedEntity clazz = diff.addChange(changedFile.getPath(), config);
+            if (clazz != null) {
+               clazzFiles.put(clazz, changedFile);
+            }
+         }
+         LOG.debug("Before Cleaning: {}", diff.getChangedClasses());
+         for (final Iterator<ChangedEntity> clazzIterator = diff.getChangedClasses().iterator(); clazzIterator.hasNext();) {
+            final ChangedEntity clazz = clazzIterator.next();
+            compareClazz(reader, newVersion, clazz, clazzFiles.get(clazz), changedClassesMethods);
+         }
+      }
+      LOG.debug("After cleaning: {}", changedClassesMethods);
+      return changedClassesMethods;
+   }
+
+   private void compareClazz(final GitObjectReader reader, final String newVersion, final ChangedEntity clazz, final ChangedFile changedFile,
+         final Map<ChangedEntity, ClazzChangeData> changedClassesMethods) throws IOException {
+      final ClazzChangeData changeData = new ClazzChangeData(clazz);
+      if (changedFile.getNewBlobId() == null || changedFile.getOldBlobId() == null) {
+         LOG.info("Class did not exist in both versions: {}", clazz);
+         changeData.addClazzChange(clazz);
+         changedClassesMethods.put(clazz, changeData);
+         return;
+      }
+      try {
+         ParsedSourceCache.addChangedMethods(changedFile.getNewBlobId(), changedFile.getOldBlobId(), reader, changeData);
+         boolean isImportChange = false;
+         for (final ChangedEntity entity : changeData.getImportChanges()) {
+            if (existsSource(reader, newVersion, entity)) {
+               isImportChange = true;
+               changeData.setChange(true);
+               changeData.setOnlyMethodChange(false);
+               changeData.addClazzChange(clazz);
+            }
+         }
+         if (changeData.isChange() || isImportChange) {
+            changedClassesMethods.put(clazz, changeData);
+         } else {
+            LOG.debug("Files equal: {}", clazz);
+         }
+      } catch (final ParseException | NoSuchElementException e) {
+         LOG.info("Class is unparsable for java parser, so to be sure it is added to the changed classes: {}", clazz);
+         changeData.addClazzChange(clazz);
+         changedClassesMethods.put(clazz, changeData);
+         e.printStackTrace();
+      }
+   }
+
+   /**
+    * Checks whether the source of the class is part of the version, searching the same candidates as {@link ClazzFileFinder#getSourceFile(File, ChangedEntity)}.
+    */
+   private boolean existsSource(final GitObjectReader reader, final String version, final ChangedEntity entity) throws IOException {
+      final ChangedEntity sourceContainingClazz = entity.getSourceContainingClazz();
+      final String modulePrefix = sourceContainingClazz.getModule() != null && sourceContainingClazz.getModule().length() > 0 ? sourceContainingClazz.getModule() + "/" : "";
+      final String clazzFileName = ClazzFileFinder.getOuterClass(sourceContainingClazz.getClazz()).replace('.', '/') + VersionDiff.JAVA_ENDING;
+      if (reader.exists(version, modulePrefix + clazzFileName)) {
+         return true;
+      }
+      for (final String clazzFolder : config.getAllClazzFolders()) {
+         if (reader.exists(version, modulePrefix + clazzFolder + "/" + clazzFileName)) {
+            return true;
+         }
+      }
+      return false;
+   }
+}
@@ -0,0 +1,53 @@
+package de.dagere.peass.dependency.parallel;
+
+import java.util.List;
+
+import de.dagere.peass.vcs.GitCommit;
+
+/**
+ * Part of the commit list that is analyzed by one {@link OneReader}. The last commit of a chunk is the first commit of the following chunk, and the reserve commits are used if
+ * the chunk did not reach the minimum commit (e.g. because versions were not running), so the partial results can be merged by {@link PartialDependenciesMerger}.
+ *
+ * @author reichelt
+ *
+ */
+public class CommitChunk {
+   private final int index;
+   private final List<GitCommit> commits;
+   private final List<GitCommit> reserveCommits;
+   private final GitCommit minimumCommit;
+   private final long estimatedCost;
+
+   public CommitChunk(final int index, final List<GitCommit> commits, final List<GitCommit> reserveCommits, final GitCommit minimumCommit, final long estimatedCost) {
+      this.index = index;
+      this.commits = commits;
+      this.reserveCommits = reserveCommits;
+      this.minimumCommit = minimumCommit;
+      this.estimatedCost = estimatedCost;
+   }
+
+   public int getIndex() {
+      return index;
+   }
+
+   public List<GitCommit> getCommits() {
+      return commits;
+   }
+
+   public List<GitCommit> getReserveCommits() {
+      return reserveCommits;
+   }
+
+   public GitCommit getMinimumCommit() {
+      return minimumCommit;
+   }
+
+   public long getEstimatedCost() {
+      return estimatedCost;
+   }
+
+   @Override
+   public String toString() {
+      return "Chunk " + index + ": " + commits.get(0).getTag() + " - " + commits.get(commits.size() - 1).getTag() + " (Cost: " + estimatedCost + ")";
+   }
+}
@@ -0,0 +1,120 @@
+package de.dagere.peass.dependency.parallel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.vcs.GitCommit;
+
+/**
+ * Splits the commit list into more chunks than threads and hands them out on demand, so a thread that finished a cheap chunk takes over remaining work instead of going idle.
+ * The chunks are created so their estimated cost (1 + count of changed files per commit) is roughly equal, and the most expensive chunks are handed out first. Since the first
+ * commit of every chunk needs an expensive initial analysis, a thread should continue with the directly following chunk if it has not been started yet (see
+ * {@link #pollSuccessor(CommitChunk)}); therefore, the additional initial analyses are only done if another thread would be idle otherwise.
+ *
+ * @author reichelt
+ *
+ */
+public class CommitChunkScheduler {
+
+   private static final Logger LOG = LogManager.getLogger(CommitChunkScheduler.class);
+
+   public static final int CHUNKS_PER_THREAD = 3;
+
+   /**
+    * Every chunk needs to contain at least two commits, since its first commit is only analyzed as initial version
+    */
+   private static final int MINIMAL_CHUNK_SIZE = 2;
+
+   private final List<CommitChunk> chunks;
+   private final PriorityBlockingQueue<CommitChunk> openChunks;
+
+   public CommitChunkScheduler(final List<GitCommit> commits, final int threads, final Map<String, Integer> changedFileCounts) {
+      final int chunkCount = getChunkCount(commits.size(), threads);
+      final long[] costs = new long[commits.size()];
+      long totalCost = 0;
+      for (int i = 0; i < commits.size(); i++) {
+         final Integer changedFiles = changedFileCounts.get(commits.get(i).getTag());
+         costs[i] = 1 + (changedFiles != null ? changedFiles : 0);
+         totalCost += costs[i];
+      }
+
+      chunks = createChunks(commits, costs, totalCost, chunkCount);
+      openChunks = new PriorityBlockingQueue<>(Math.max(chunks.size(), 1), Comparator.comparingLong(CommitChunk::getEstimatedCost).reversed()
+            .thenComparingInt(CommitChunk::getIndex));
+      openChunks.addAll(chunks);
+      LOG.debug("Commits: {} Threads: {} Chunks: {}", commits.size(), threads, chunks);
+   }
+
+   static int getChunkCount(final int commitCount, final int threads) {
+      if (commitCount > MINIMAL_CHUNK_SIZE * threads) {
+         return Math.min(threads * CHUNKS_PER_THREAD, commitCount / MINIMAL_CHUNK_SIZE);
+      } else {
+         return 1;
+      }
+   }
+
+   private static List<CommitChunk> createChunks(final List<GitCommit> commits, final long[] costs, final long totalCost, final int chunkCount) {
+      final List<CommitChunk> chunks = new ArrayList<>();
+      if (commits.isEmpty()) {
+         return chunks;
+      }
+      final List<Integer> starts = new ArrayList<>();
+      starts.add(0);
+      final double costPerChunk = (double) totalCost / chunkCount;
+      long currentCost = 0;
+      for (int i = 0; i < commits.size(); i++) {
+         currentCost += costs[i];
+         final int currentStart = starts.get(starts.size() - 1);
+         final boolean enoughCommits = i + 1 - currentStart >= MINIMAL_CHUNK_SIZE && commits.size() - (i + 1) >= MINIMAL_CHUNK_SIZE;
+         if (starts.size() < chunkCount && enoughCommits && currentCost >= costPerChunk * starts.size()) {
+            starts.add(i + 1);
+         }
+      }
+
+      for (int chunkIndex = 0; chunkIndex < starts.size(); chunkIndex++) {
+         final int min = starts.get(chunkIndex);
+         final int max = chunkIndex + 1 < starts.size() ? starts.get(chunkIndex + 1) + 1 : commits.size();
+         long chunkCost = 0;
+         for (int i = min; i < max; i++) {
+            chunkCost += costs[i];
+         }
+         final List<GitCommit> chunkCommits = commits.subList(min, max);
+         final List<GitCommit> reserveCommits = commits.subList(max - 1, commits.size());
+         final GitCommit minimumCommit = commits.get(Math.min(max, commits.size() - 1));
+         chunks.add(new CommitChunk(chunkIndex, chunkCommits, reserveCommits, minimumCommit, chunkCost));
+      }
+      return chunks;
+   }
+
+   /**
+    * Returns the most expensive chunk that has not been started yet, or null if all chunks have been handed out.
+    */
+   public CommitChunk poll() {
+      return openChunks.poll();
+   }
+
+   /**
+    * Returns the chunk directly following the given chunk and marks it as started, or null if it does not exist or has already been handed out. The following chunk starts with
+    * the last commit of the given chunk, so it can be read by the reader of the given chunk without analyzing its first commit again.
+    */
+   public CommitChunk pollSuccessor(final CommitChunk chunk) {
+      final int successorIndex = chunk.getIndex() + 1;
+      if (successorIndex < chunks.size()) {
+         final CommitChunk successor = chunks.get(successorIndex);
+         if (openChunks.remove(successor)) {
+            return successor;
+         }
+      }
+      return null;
+   }
+
+   public List<CommitChunk> getChunks() {
+      return chunks;
+   }
+}
@@ -43,13 +43,34 @@ public final class OneReader implements Runnable {
                LOG.error("Analyzing first version was not possible");
             } else {
                final boolean readingSuccess = reader.readDependencies();
-               if (readingSuccess) {
-                  readRemaining(reader);
+               if (!readingSuccess) {
+                  throw new RuntimeException("Reading dependencies failed after " + reader.getDependencies().getNewestVersion());
                }
+               readRemaining(reader);
             }
          }
-      } catch (final Throwable e) {
-         e.printStackTrace();
+      } catch (IOException | XmlPullParserException | InterruptedException | ParseException | ViewNotFoundException e) {
+         throw new RuntimeException(e);
+      }
+   }
+
+   /**
+    * Continues reading with the commits of the directly following chunk; its first commit, which is the last commit of the previous chunk, has already been read by the reader,
+    * so it is not analyzed again.
+    *
+    * @param followingIterator Iterator over the commits of the following chunk, starting at its first commit
+    */
+   public void readFollowing(final VersionIterator followingIterator) {
+      try {
+         reader.setIterator(followingIterator);
+         while (followingIterator.hasNextCommit()) {
+            followingIterator.goToNextCommit();
+            LOG.debug("Following: {} This: {}", followingIterator.getTag(), this);
+            reader.readVersion();
+         }
+         readRemaining(reader);
+      } catch (IOException | XmlPullParserException | InterruptedException | ParseException | ViewNotFoundException e) {
+         throw new RuntimeException(e);
       }
    }
 
@@ -62,5 +83,6 @@ public final class OneReader implements Runnable {
          reader.readVersion();
          newest = reader.getDependencies().getNewestVersion();
       }
+      reader.flushJournal();
    }
 }
\ No newline at end of file
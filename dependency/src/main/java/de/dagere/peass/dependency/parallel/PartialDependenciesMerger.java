@@ -48,6 +48,10 @@ public class PartialDependenciesMerger {
    static List<StaticTestSelection> readDependencies(final File[] partFiles) {
       final List<StaticTestSelection> deps = new LinkedList<>();
       for (int i = 0; i < partFiles.length; i++) {
+         if (!partFiles[i].exists()) {
+            LOG.info("{} does not exist, since the chunk was read together with its previous chunk or could not be read", partFiles[i]);
+            continue;
+         }
          try {
             LOG.debug("Reading: {}", partFiles[i]);
             final StaticTestSelection currentDependencies = Constants.OBJECTMAPPER.readValue(partFiles[i], StaticTestSelection.class);
@@ -0,0 +1,180 @@
+package de.dagere.peass.dependency.persistence;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import de.dagere.peass.config.TestSelectionConfig;
+import de.dagere.peass.dependency.traces.coverage.CoverageSelectionInfo;
+import de.dagere.peass.folders.ResultsFolders;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Append-only persistence of the regression test selection results. Instead of rewriting the complete selection files after every version, one line per analyzed version is
+ * appended to the journal. Every compactionInterval versions (and when reading is finished), the full selection files are written in their regular JSON format and the journal is
+ * truncated.
+ *
+ * Since every journal line is written completely before the next version is analyzed, the state after a crash can be recovered by loading the last compacted files and replaying
+ * the journal using {@link #replay(File, StaticTestSelection, ExecutionData, ExecutionData, CoverageSelectionInfo)}.
+ *
+ * @author reichelt
+ *
+ */
+public class SelectionJournal {
+
+   private static final Logger LOG = LogManager.getLogger(SelectionJournal.class);
+
+   public static final int DEFAULT_COMPACTION_INTERVAL = 50;
+
+   private static final ObjectWriter LINE_WRITER = Constants.OBJECTMAPPER.writer().without(SerializationFeature.INDENT_OUTPUT);
+
+   private final TestSelectionConfig config;
+   private final ResultsFolders resultsFolders;
+   private final int compactionInterval;
+
+   private final StaticTestSelection staticSelection;
+   private final ExecutionData traceSelection;
+   private final ExecutionData coverageSelection;
+   private final CoverageSelectionInfo coverageInfo;
+
+   private int pendingEntries = 0;
+
+   public SelectionJournal(final TestSelectionConfig config, final ResultsFolders resultsFolders, final int compactionInterval, final StaticTestSelection staticSelection,
+         final ExecutionData traceSelection, final ExecutionData coverageSelection, final CoverageSelectionInfo coverageInfo) {
+      if (compactionInterval < 1) {
+         throw new RuntimeException("Compaction interval needs to be at least 1, but was " + compactionInterval);
+      }
+      this.config = config;
+      this.resultsFolders = resultsFolders;
+      this.compactionInterval = compactionInterval;
+      this.staticSelection = staticSelection;
+      this.traceSelection = traceSelection;
+      this.coverageSelection = coverageSelection;
+      this.coverageInfo = coverageInfo;
+   }
+
+   /**
+    * Appends the current state of the given version to the journal; if compactionInterval versions have been appended since the last compaction, the selection files are
+    * rewritten.
+    */
+   public void append(final String version) throws IOException {
+      SelectionJournalEntry entry = new SelectionJournalEntry(version, staticSelection.getVersions().get(version));
+      if (config.isGenerateTraces()) {
+         entry.setTraceSelection(traceSelection.getVersions().get(version));
+         if (config.isGenerateCoverageSelection()) {
+            entry.setCoverageSelection(coverageSelection.getVersions().get(version));
+            entry.setCoverageInfo(coverageInfo.getVersions().get(version));
+         }
+      }
+
+      File journalFile = resultsFolders.getSelectionJournalFile();
+      byte[] line = (LINE_WRITER.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+      try (FileOutputStream journalStream = new FileOutputStream(journalFile, true)) {
+         journalStream.write(line);
+         journalStream.getFD().sync();
+      }
+      pendingEntries++;
+
+      if (pendingEntries >= compactionInterval) {
+         compact();
+      }
+   }
+
+   /**
+    * Writes the selection files if versions have been appended since the last compaction.
+    */
+   public void flush() throws IOException {
+      if (pendingEntries > 0) {
+         compact();
+      }
+   }
+
+   /**
+    * Writes the complete selection files and truncates the journal afterwards. Every file is written to a temporary file and moved to its target afterwards, so a crash during
+    * compaction leaves either the old or the new file and the journal in place.
+    */
+   public void compact() throws IOException {
+      LOG.debug("Compacting selection journal, {} pending entries", pendingEntries);
+      writeAtomically(resultsFolders.getStaticTestSelectionFile(), staticSelection);
+      if (config.isGenerateTraces()) {
+         writeAtomically(resultsFolders.getTraceTestSelectionFile(), traceSelection);
+         if (config.isGenerateCoverageSelection()) {
+            writeAtomically(resultsFolders.getCoverageSelectionFile(), coverageSelection);
+            writeAtomically(resultsFolders.getCoverageInfoFile(), coverageInfo);
+         }
+      }
+      Files.deleteIfExists(resultsFolders.getSelectionJournalFile().toPath());
+      pendingEntries = 0;
+   }
+
+   private void writeAtomically(final File goal, final Object value) throws IOException {
+      File tempFile = new File(goal.getParentFile(), goal.getName() + ".tmp");
+      Constants.OBJECTMAPPER.writeValue(tempFile, value);
+      Files.move(tempFile.toPath(), goal.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+   }
+
+   public int getPendingEntries() {
+      return pendingEntries;
+   }
+
+   /**
+    * Adds all versions contained in the journal file to the given (already loaded) selection data. Every selection data parameter may be null if it is not of interest. An
+    * incomplete last line, which is left over if the process was killed while appending, is ignored.
+    *
+    * @return Count of versions that have been recovered from the journal
+    */
+   public static int replay(final File journalFile, final StaticTestSelection staticSelection, final ExecutionData traceSelection, final ExecutionData coverageSelection,
+         final CoverageSelectionInfo coverageInfo) throws IOException {
+      if (!journalFile.exists()) {
+         return 0;
+      }
+      int recovered = 0;
+      try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+               continue;
+            }
+            final SelectionJournalEntry entry;
+            try {
+               entry = Constants.OBJECTMAPPER.readValue(line, SelectionJournalEntry.class);
+            } catch (JsonProcessingException e) {
+               LOG.warn("Journal {} contains incomplete entry, ignoring it: {}", journalFile, e.getMessage());
+               continue;
+            }
+            addEntry(entry, staticSelection, traceSelection, coverageSelection, coverageInfo);
+            recovered++;
+         }
+      }
+      LOG.info("Recovered {} versions from {}", recovered, journalFile);
+      return recovered;
+   }
+
+   private static void addEntry(final SelectionJournalEntry entry, final StaticTestSelection staticSelection, final ExecutionData traceSelection,
+         final ExecutionData coverageSelection, final CoverageSelectionInfo coverageInfo) {
+      String version = entry.getVersion();
+      if (staticSelection != null && entry.getStaticSelection() != null) {
+         staticSelection.getVersions().put(version, entry.getStaticSelection());
+      }
+      if (traceSelection != null && entry.getTraceSelection() != null) {
+         traceSelection.getVersions().put(version, entry.getTraceSelection());
+      }
+      if (coverageSelection != null && entry.getCoverageSelection() != null) {
+         coverageSelection.getVersions().put(version, entry.getCoverageSelection());
+      }
+      if (coverageInfo != null && entry.getCoverageInfo() != null) {
+         coverageInfo.getVersions().put(version, entry.getCoverageInfo());
+      }
+   }
+}
@@ -0,0 +1,71 @@
+package de.dagere.peass.dependency.persistence;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import de.dagere.peass.dependency.analysis.data.TestSet;
+import de.dagere.peass.dependency.traces.coverage.CoverageSelectionVersion;
+
+/**
+ * One line of the {@link SelectionJournal}, containing everything the regression test selection found out about one version.
+ *
+ * @author reichelt
+ *
+ */
+@JsonInclude(Include.NON_NULL)
+public class SelectionJournalEntry {
+
+   private String version;
+   private VersionStaticSelection staticSelection;
+   private TestSet traceSelection;
+   private TestSet coverageSelection;
+   private CoverageSelectionVersion coverageInfo;
+
+   public SelectionJournalEntry() {
+   }
+
+   public SelectionJournalEntry(final String version, final VersionStaticSelection staticSelection) {
+      this.version = version;
+      this.staticSelection = staticSelection;
+   }
+
+   public String getVersion() {
+      return version;
+   }
+
+   public void setVersion(final String version) {
+      this.version = version;
+   }
+
+   public VersionStaticSelection getStaticSelection() {
+      return staticSelection;
+   }
+
+   public void setStaticSelection(final VersionStaticSelection staticSelection) {
+      this.staticSelection = staticSelection;
+   }
+
+   public TestSet getTraceSelection() {
+      return traceSelection;
+   }
+
+   public void setTraceSelection(final TestSet traceSelection) {
+      this.traceSelection = traceSelection;
+   }
+
+   public TestSet getCoverageSelection() {
+      return coverageSelection;
+   }
+
+   public void setCoverageSelection(final TestSet coverageSelection) {
+      this.coverageSelection = coverageSelection;
+   }
+
+   public CoverageSelectionVersion getCoverageInfo() {
+      return coverageInfo;
+   }
+
+   public void setCoverageInfo(final CoverageSelectionVersion coverageInfo) {
+      this.coverageInfo = coverageInfo;
+   }
+}
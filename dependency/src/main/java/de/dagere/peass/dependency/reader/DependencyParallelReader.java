@@ -2,9 +2,14 @@ package de.dagere.peass.dependency.reader;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
@@ -14,6 +19,9 @@ import org.apache.logging.log4j.Logger;
 import de.dagere.peass.config.TestSelectionConfig;
 import de.dagere.peass.config.ExecutionConfig;
 import de.dagere.peass.config.KiekerConfig;
+import de.dagere.peass.dependency.changesreading.ParsedSourceCache;
+import de.dagere.peass.dependency.parallel.CommitChunk;
+import de.dagere.peass.dependency.parallel.CommitChunkScheduler;
 import de.dagere.peass.dependency.parallel.OneReader;
 import de.dagere.peass.execution.utils.EnvironmentVariables;
 import de.dagere.peass.folders.PeassFolders;
@@ -23,6 +31,15 @@ import de.dagere.peass.vcs.GitUtils;
 import de.dagere.peass.vcs.VersionIterator;
 import de.dagere.peass.vcs.VersionIteratorGit;
 
+/**
+ * Reads the dependencies of a commit list in parallel. The commit list is split into {@link CommitChunk}s by the {@link CommitChunkScheduler}; every thread has its own clone of
+ * the project and continues with the directly following chunk if it is still open, or takes the next open chunk otherwise. Every chunk that is started by a thread is written to
+ * its own {@link ResultsFolders}, which are merged by the {@link de.dagere.peass.dependency.parallel.PartialDependenciesMerger} afterwards; chunks that were continued by the
+ * reader of their previous chunk are written to the folder of the previous chunk.
+ * 
+ * @author reichelt
+ *
+ */
 public class DependencyParallelReader {
    private static final Logger LOG = LogManager.getLogger(DependencyParallelReader.class);
 
@@ -30,15 +47,16 @@ public class DependencyParallelReader {
    private final String url;
    private final VersionKeeper nonRunning;
    private final VersionKeeper nonChanges;
-   private final List<GitCommit> commits;
    private final PeassFolders folders;
-   private final int sizePerThread;
+   private final CommitChunkScheduler scheduler;
+   private final int threadCount;
    private final ResultsFolders[] outFolders;
    private final File tempResultFolder;
    private final String project;
    private final ExecutionConfig executionConfig;
    private final KiekerConfig kiekerConfig;
    private final EnvironmentVariables env;
+   private final File sourceCacheFolder;
 
    public DependencyParallelReader(final File projectFolder, final File resultBaseFolder, final String project, final List<GitCommit> commits,
          final TestSelectionConfig dependencyConfig, final ExecutionConfig executionConfig, final KiekerConfig kiekerConfig, final EnvironmentVariables env) {
@@ -48,7 +66,6 @@ public class DependencyParallelReader {
       this.kiekerConfig = kiekerConfig;
       LOG.debug(url);
       folders = new PeassFolders(projectFolder);
-      this.commits = commits;
       this.project = project;
       this.env = env;
 
@@ -58,17 +75,22 @@ public class DependencyParallelReader {
       }
       LOG.info("Writing to: {}", tempResultFolder.getAbsolutePath());
 
+      sourceCacheFolder = new ResultsFolders(resultBaseFolder, project).getParsedSourceCacheFolder();
+
       nonRunning = new VersionKeeper(new File(tempResultFolder, "nonRunning_" + project + ".json"));
       nonChanges = new VersionKeeper(new File(tempResultFolder, "nonChanges_" + project + ".json"));
 
-      sizePerThread = commits.size() > 2 * dependencyConfig.getThreads() ? commits.size() / dependencyConfig.getThreads() : 2;
-      outFolders = commits.size() > 2 * dependencyConfig.getThreads() ? new ResultsFolders[dependencyConfig.getThreads()] : new ResultsFolders[1];
+      final Map<String, Integer> changedFileCounts = commits.isEmpty() ? new HashMap<>()
+            : GitUtils.getChangedFileCounts(projectFolder, commits.get(0).getTag(), commits.get(commits.size() - 1).getTag());
+      scheduler = new CommitChunkScheduler(commits, dependencyConfig.getThreads(), changedFileCounts);
+      outFolders = new ResultsFolders[scheduler.getChunks().size()];
+      threadCount = Math.min(dependencyConfig.getThreads(), Math.max(outFolders.length, 1));
 
-      LOG.debug("Threads: {} Size per Thread: {} OutFile: {}", dependencyConfig.getThreads(), sizePerThread, outFolders.length);
+      LOG.debug("Threads: {} Chunks: {}", threadCount, outFolders.length);
    }
 
    public ResultsFolders[] readDependencies() throws InterruptedException, IOException {
-      final ExecutorService service = Executors.newFixedThreadPool(outFolders.length, new ThreadFactory() {
+      final ExecutorService service = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
 
          int threadcount = 0;
 
@@ -79,20 +101,57 @@ public class DependencyParallelReader {
          }
       });
 
-      startAllProcesses(service);
+      for (CommitChunk chunk : scheduler.getChunks()) {
+         final int readableIndex = chunk.getIndex() + 1;
+         outFolders[chunk.getIndex()] = new ResultsFolders(new File(tempResultFolder, "temp_" + project + "_" + readableIndex), project);
+      }
+
+      final List<Future<?>> futures = startAllProcesses(service);
       service.shutdown();
       waitForAll(service);
+      checkFailures(futures);
 
       return outFolders;
    }
 
-   private void startAllProcesses(final ExecutorService service) throws IOException, InterruptedException {
-      for (int outfileIndex = 0; outfileIndex < outFolders.length; outfileIndex++) {
-         final int readableIndex = outfileIndex + 1;
-         outFolders[outfileIndex] = new ResultsFolders(new File(tempResultFolder, "temp_" + project + "_" + readableIndex), project);
-         PeassFolders foldersTemp = folders.getTempFolder("" + readableIndex);
-         final ResultsFolders currentOutFile = outFolders[outfileIndex];
-         startPartProcess(currentOutFile, service, outfileIndex, foldersTemp);
+   private List<Future<?>> startAllProcesses(final ExecutorService service) throws IOException, InterruptedException {
+      final List<Future<?>> futures = new LinkedList<>();
+      for (int threadIndex = 0; threadIndex < threadCount; threadIndex++) {
+         final int readableIndex = threadIndex + 1;
+         final PeassFolders foldersTemp = folders.getWorkspacePool().lease(null);
+         futures.add(service.submit(() -> {
+            try {
+               CommitChunk chunk;
+               while ((chunk = scheduler.poll()) != null) {
+                  LOG.info("Thread {} starts {}", readableIndex, chunk);
+                  processChunk(chunk, foldersTemp);
+               }
+            } finally {
+               folders.getWorkspacePool().giveBack(foldersTemp);
+            }
+         }));
+         Thread.sleep(5);
+      }
+      return futures;
+   }
+
+   /**
+    * Rethrows the first exception of a reading thread; the exceptions of all threads are logged, since all threads have finished before.
+    */
+   private void checkFailures(final List<Future<?>> futures) throws InterruptedException {
+      Throwable firstFailure = null;
+      for (Future<?> future : futures) {
+         try {
+            future.get();
+         } catch (final ExecutionException e) {
+            LOG.error("Reading thread failed", e.getCause());
+            if (firstFailure == null) {
+               firstFailure = e.getCause();
+            }
+         }
+      }
+      if (firstFailure != null) {
+         throw new RuntimeException("Reading dependencies in parallel failed", firstFailure);
       }
    }
 
@@ -106,31 +165,44 @@ public class DependencyParallelReader {
       }
    }
 
-   public void startPartProcess(final ResultsFolders currentOutFolders, final ExecutorService service, final int outfileIndex, final PeassFolders foldersTemp)
-         throws InterruptedException {
-      final int min = outfileIndex * sizePerThread;
-      final int max = Math.min((outfileIndex + 1) * sizePerThread + 1, commits.size());
-      LOG.debug("Min: {} Max: {} Size: {}", min, max, commits.size());
-      final List<GitCommit> currentCommits = commits.subList(min, max);
-      final List<GitCommit> reserveCommits = commits.subList(max - 1, commits.size());
-      final GitCommit minimumCommit = commits.get(Math.min(max, commits.size() - 1));
-
-      if (currentCommits.size() > 0) {
-         processCommits(currentOutFolders, service, foldersTemp, currentCommits, reserveCommits, minimumCommit);
-      }
-   }
-
-   void processCommits(final ResultsFolders currentOutFolders, final ExecutorService service, final PeassFolders foldersTemp, final List<GitCommit> currentCommits,
-         final List<GitCommit> reserveCommits, final GitCommit minimumCommit) throws InterruptedException {
+   void processChunk(final CommitChunk chunk, final PeassFolders foldersTemp) {
+      final List<GitCommit> currentCommits = chunk.getCommits();
       LOG.debug("Start: {} End: {}", currentCommits.get(0), currentCommits.get(currentCommits.size() - 1));
       LOG.debug(currentCommits);
+      final ResultsFolders currentOutFolders = outFolders[chunk.getIndex()];
       final VersionIterator iterator = new VersionIteratorGit(foldersTemp.getProjectFolder(), currentCommits, null);
       FirstRunningVersionFinder finder = new FirstRunningVersionFinder(foldersTemp, nonRunning, iterator, executionConfig, env);
       final DependencyReader reader = new DependencyReader(dependencyConfig, foldersTemp, currentOutFolders, url, iterator, nonChanges, executionConfig, kiekerConfig, env);
-      final VersionIteratorGit reserveIterator = new VersionIteratorGit(foldersTemp.getProjectFolder(), reserveCommits, null);
-      final Runnable current = new OneReader(minimumCommit, reserveIterator, reader, finder);
-      service.submit(current);
-      Thread.sleep(5);
+      // All chunks share the cache of the project instead of the cache in their temporary result folder
+      ParsedSourceCache.setCacheFolder(foldersTemp, sourceCacheFolder);
+      final VersionIteratorGit reserveIterator = new VersionIteratorGit(foldersTemp.getProjectFolder(), chunk.getReserveCommits(), null);
+      final OneReader current = new OneReader(chunk.getMinimumCommit(), reserveIterator, reader, finder);
+      current.run();
+
+      continueWithSuccessors(chunk, foldersTemp, reader, finder);
+   }
+
+   /**
+    * Continues reading with the directly following chunks as long as they have not been started by another thread, so their first commit does not need to be analyzed as initial
+    * version again. This is only possible if the reader ended exactly at the first commit of the following chunk; if it needed to read reserve commits, the chunks would overlap.
+    */
+   private void continueWithSuccessors(final CommitChunk chunk, final PeassFolders foldersTemp, final DependencyReader reader, final FirstRunningVersionFinder finder) {
+      CommitChunk current = chunk;
+      CommitChunk successor;
+      while (isLastCommitRead(current, reader) && (successor = scheduler.pollSuccessor(current)) != null) {
+         LOG.info("Continuing {} with {}", current, successor);
+         final VersionIterator iterator = new VersionIteratorGit(foldersTemp.getProjectFolder(), successor.getCommits(), null);
+         final VersionIteratorGit reserveIterator = new VersionIteratorGit(foldersTemp.getProjectFolder(), successor.getReserveCommits(), null);
+         final OneReader following = new OneReader(successor.getMinimumCommit(), reserveIterator, reader, finder);
+         following.readFollowing(iterator);
+         current = successor;
+      }
+   }
+
+   private boolean isLastCommitRead(final CommitChunk chunk, final DependencyReader reader) {
+      final List<GitCommit> commits = chunk.getCommits();
+      final String lastCommit = commits.get(commits.size() - 1).getTag();
+      return lastCommit.equals(reader.getDependencies().getNewestVersion());
    }
 
 }
@@ -18,8 +18,10 @@ import de.dagere.peass.config.KiekerConfig;
 import de.dagere.peass.dependency.ChangeManager;
 import de.dagere.peass.dependency.DependencyManager;
 import de.dagere.peass.dependency.analysis.data.TestSet;
+import de.dagere.peass.dependency.changesreading.ParsedSourceCache;
 import de.dagere.peass.dependency.persistence.StaticTestSelection;
 import de.dagere.peass.dependency.persistence.ExecutionData;
+import de.dagere.peass.dependency.persistence.SelectionJournal;
 import de.dagere.peass.dependency.persistence.VersionStaticSelection;
 import de.dagere.peass.dependency.traces.DiffFileGenerator;
 import de.dagere.peass.dependency.traces.TraceFileMapping;
@@ -30,8 +32,12 @@ import de.dagere.peass.execution.utils.EnvironmentVariables;
 import de.dagere.peass.execution.utils.TestExecutor;
 import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.folders.ResultsFolders;
+import de.dagere.peass.testtransformation.JUnitTestTransformer;
+import de.dagere.peass.testtransformation.RepositoryTestReader;
 import de.dagere.peass.utils.Constants;
+import de.dagere.peass.vcs.GitUtils;
 import de.dagere.peass.vcs.VersionIterator;
+import de.dagere.peass.vcs.VersionIteratorGit;
 
 /**
  * Shared functions for dependency reading, which are both used if dependencies are read fully or if one continues a dependency reading process.
@@ -49,6 +55,7 @@ public class DependencyReader {
    private final ExecutionData coverageBasedSelection = new ExecutionData();
    private final CoverageSelectionInfo coverageSelectionInfo = new CoverageSelectionInfo();
    private final CoverageSelectionExecutor coverageExecutor;
+   private final SelectionJournal journal;
    
    protected final ResultsFolders resultsFolders;
    
@@ -82,6 +89,9 @@ public class DependencyReader {
 
       setURLs(url);
       coverageExecutor = new CoverageSelectionExecutor(mapping, coverageBasedSelection, coverageSelectionInfo);
+      journal = new SelectionJournal(dependencyConfig, resultsFolders, SelectionJournal.DEFAULT_COMPACTION_INTERVAL, dependencyResult, executionResult, coverageBasedSelection,
+            coverageSelectionInfo);
+      initSourceCache();
 
       this.changeManager = changeManager;
 
@@ -90,6 +100,12 @@ public class DependencyReader {
       }
    }
 
+   private void initSourceCache() {
+      if (resultsFolders != null) {
+         ParsedSourceCache.setCacheFolder(folders, resultsFolders.getParsedSourceCacheFolder());
+      }
+   }
+
    private void setURLs(final String url) {
       dependencyResult.setUrl(url);
       executionResult.setUrl(url);
@@ -118,6 +134,9 @@ public class DependencyReader {
 
       setURLs(url);
       coverageExecutor = new CoverageSelectionExecutor(mapping, coverageBasedSelection, coverageSelectionInfo);
+      journal = new SelectionJournal(dependencyConfig, resultsFolders, SelectionJournal.DEFAULT_COMPACTION_INTERVAL, dependencyResult, executionResult, coverageBasedSelection,
+            coverageSelectionInfo);
+      initSourceCache();
 
       if (!kiekerConfig.isUseKieker()) {
          throw new RuntimeException("Dependencies may only be read if Kieker is enabled!");
@@ -132,31 +151,78 @@ public class DependencyReader {
          LOG.debug("Analysing {} entries", iterator.getRemainingSize());
          sizeRecorder.setPrunedSize(dependencyManager.getDependencyMap().size());
 
-         changeManager.saveOldClasses();
          lastRunningVersion = iterator.getTag();
-         while (iterator.hasNextCommit()) {
-            iterator.goToNextCommit();
-            readVersion();
+         if (isCheckoutFreeReadingPossible()) {
+            readVersionsFromRepository();
+         } else {
+            if (!changeManager.isReadFromRepository()) {
+               changeManager.saveOldClasses();
+            }
+            while (iterator.hasNextCommit()) {
+               iterator.goToNextCommit();
+               readVersion();
+            }
          }
 
          LOG.debug("Finished dependency-reading");
+         flushJournal();
          return true;
       } catch (IOException | XmlPullParserException | InterruptedException | ParseException | ViewNotFoundException e) {
          e.printStackTrace();
+         flushJournal();
          return false;
       }
    }
 
-   public void readVersion() throws IOException, FileNotFoundException, XmlPullParserException, InterruptedException, ParseException, ViewNotFoundException {
-      final int tests = analyseVersion(changeManager);
-      DependencyReaderUtil.write(dependencyResult, resultsFolders.getStaticTestSelectionFile());
-      if (dependencyConfig.isGenerateTraces()) {
-         Constants.OBJECTMAPPER.writeValue(resultsFolders.getTraceTestSelectionFile(), executionResult);
-         if (dependencyConfig.isGenerateCoverageSelection()) {
-            Constants.OBJECTMAPPER.writeValue(resultsFolders.getCoverageSelectionFile(), coverageBasedSelection);
-            Constants.OBJECTMAPPER.writeValue(resultsFolders.getCoverageInfoFile(), coverageSelectionInfo);
+   /**
+    * Static selection without running the tests or the build only needs the sources of both versions, which can be read from the repository if it is a git repository and the
+    * JUnit test classes can be read by the {@link RepositoryTestReader}.
+    */
+   private boolean isCheckoutFreeReadingPossible() {
+      return dependencyConfig.isDoNotUpdateDependencies() && dependencyConfig.isSkipProcessSuccessRuns() && iterator instanceof VersionIteratorGit
+            && dependencyManager.getTestTransformer() instanceof JUnitTestTransformer;
+   }
+
+   /**
+    * Reads the static selection of all remaining versions from the repository; only the last version is checked out at the end, so the project folder has the same state as
+    * after reading every version from its checkout.
+    */
+   private void readVersionsFromRepository() throws IOException, XmlPullParserException, InterruptedException, ParseException, ViewNotFoundException {
+      LOG.info("Reading static selection from repository without checkout");
+      final VersionIteratorGit gitIterator = (VersionIteratorGit) iterator;
+      try (RepositoryTestReader testReader = new RepositoryTestReader(folders.getProjectFolder(), (JUnitTestTransformer) dependencyManager.getTestTransformer())) {
+         while (gitIterator.hasNextCommit()) {
+            gitIterator.goToNextCommitWithoutCheckout();
+            readVersionFromRepository(testReader);
          }
       }
+      GitUtils.goToTag(iterator.getTag(), folders.getProjectFolder());
+   }
+
+   private void readVersionFromRepository(final RepositoryTestReader testReader)
+         throws IOException, XmlPullParserException, InterruptedException, ParseException, ViewNotFoundException {
+      final String version = iterator.getTag();
+      final DependencyReadingInput input = new DependencyReadingInput(changeManager.getChangesFromRepository(lastRunningVersion, version), lastRunningVersion);
+      lastRunningVersion = version;
+      final int tests = selectTests(version, input, testReader);
+      journal.append(version);
+      sizeRecorder.addVersionSize(dependencyManager.getDependencyMap().size(), tests);
+   }
+
+   /**
+    * Writes the full selection files if versions have been analyzed since they have been written last time. Needs to be called after calling {@link #readVersion()} directly.
+    */
+   public void flushJournal() {
+      try {
+         journal.flush();
+      } catch (IOException e) {
+         e.printStackTrace();
+      }
+   }
+
+   public void readVersion() throws IOException, FileNotFoundException, XmlPullParserException, InterruptedException, ParseException, ViewNotFoundException {
+      final int tests = analyseVersion(changeManager);
+      journal.append(iterator.getTag());
 
       sizeRecorder.addVersionSize(dependencyManager.getDependencyMap().size(), tests);
 
@@ -193,16 +259,23 @@ public class DependencyReader {
       dependencyManager.getExecutor().loadClasses();
 
       final DependencyReadingInput input = new DependencyReadingInput(changeManager.getChanges(lastRunningVersion), lastRunningVersion);
-      changeManager.saveOldClasses();
+      if (!changeManager.isReadFromRepository()) {
+         changeManager.saveOldClasses();
+      }
       lastRunningVersion = iterator.getTag();
 
+      return selectTests(version, input, null);
+   }
+
+   private int selectTests(final String version, final DependencyReadingInput input, final RepositoryTestReader testReader)
+         throws IOException, JsonGenerationException, JsonMappingException, XmlPullParserException, InterruptedException, ParseException, ViewNotFoundException {
       if (executionConfig.isCreateDetailDebugFiles()) {
          Constants.OBJECTMAPPER.writeValue(new File(folders.getDebugFolder(), "initialdependencies_" + version + ".json"), dependencyManager.getDependencyMap());
          Constants.OBJECTMAPPER.writeValue(new File(folders.getDebugFolder(), "changes_" + version + ".json"), input.getChanges());
       }
 
       if (input.getChanges().size() > 0) {
-         return analyseChanges(version, input);
+         return analyseChanges(version, input, testReader);
       } else {
          addEmptyVersionData(version, input);
          return 0;
@@ -222,9 +295,9 @@ public class DependencyReader {
       skippedNoChange.addVersion(version, "No Change at all");
    }
 
-   private int analyseChanges(final String version, final DependencyReadingInput input)
+   private int analyseChanges(final String version, final DependencyReadingInput input, final RepositoryTestReader testReader)
          throws IOException, JsonGenerationException, JsonMappingException, XmlPullParserException, InterruptedException, ParseException, ViewNotFoundException {
-      final VersionStaticSelection newVersionInfo = staticChangeHandler.handleStaticAnalysisChanges(version, input);
+      final VersionStaticSelection newVersionInfo = staticChangeHandler.handleStaticAnalysisChanges(version, input, testReader);
 
       if (!dependencyConfig.isDoNotUpdateDependencies()) {
          TraceChangeHandler traceChangeHandler = new TraceChangeHandler(dependencyManager, folders, executionConfig, version);
@@ -278,12 +351,12 @@ public class DependencyReader {
       staticChangeHandler = new StaticChangeHandler(folders, executionConfig, dependencyManager);
       InitialVersionReader initialVersionReader = new InitialVersionReader(dependencyResult, dependencyManager, iterator);
       if (initialVersionReader.readInitialVersion()) {
-         DependencyReaderUtil.write(dependencyResult, resultsFolders.getStaticTestSelectionFile());
          lastRunningVersion = iterator.getTag();
 
          if (dependencyConfig.isGenerateTraces()) {
             generateInitialViews();
          }
+         journal.compact();
          dependencyManager.cleanResultFolder();
          return true;
       } else {
@@ -326,8 +399,15 @@ public class DependencyReader {
       return coverageBasedSelection;
    }
 
+   public CoverageSelectionInfo getCoverageInfo() {
+      return coverageSelectionInfo;
+   }
+
    public void setIterator(final VersionIterator reserveIterator) {
       this.iterator = reserveIterator;
+      if (changeManager != null) {
+         changeManager.setIterator(reserveIterator);
+      }
    }
 
    public void setCoverageExecutions(final ExecutionData coverageExecutions) {
@@ -121,15 +121,9 @@ public class InitialVersionReader {
    }
 
    private void addDependencies(final TestCase testClassName , final ChangedEntity dependentClass) {
-      final Map<ChangedEntity, Set<String>> testDependencies = dependencyMap.getOrAddDependenciesForTest(testClassName);
       final ChangedEntity dependencyEntity = new ChangedEntity(dependentClass.getClazz(), dependentClass.getModule());
-      Set<String> methods = testDependencies.get(dependencyEntity);
-      if (methods == null) {
-         methods = new HashSet<>();
-         testDependencies.put(dependencyEntity, methods);
-      }
       String method = dependentClass.getMethod() + dependentClass.getParameterString();
-      methods.add(method);
+      dependencyMap.addDependency(testClassName, dependencyEntity, method);
    }
    
    private void checkCorrectness() {
@@ -19,6 +19,7 @@ import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.dependency.changesreading.ClazzChangeData;
 import de.dagere.peass.dependency.persistence.VersionStaticSelection;
 import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.testtransformation.RepositoryTestReader;
 import de.dagere.peass.utils.Constants;
 
 public class StaticChangeHandler {
@@ -36,11 +37,19 @@ public class StaticChangeHandler {
    }
 
    public VersionStaticSelection handleStaticAnalysisChanges(final String version, final DependencyReadingInput input) throws IOException, JsonGenerationException, JsonMappingException {
+      return handleStaticAnalysisChanges(version, input, null);
+   }
+
+   /**
+    * Creates the static selection of the version; if a test reader is given, added tests are read from the repository by it, so the version does not need to be checked out.
+    */
+   public VersionStaticSelection handleStaticAnalysisChanges(final String version, final DependencyReadingInput input, final RepositoryTestReader testReader)
+         throws IOException, JsonGenerationException, JsonMappingException {
       final ChangeTestMapping changeTestMap = dependencyManager.getDependencyMap().getChangeTestMap(input.getChanges()); // tells which tests need to be run, and
       // because of which change they need to be run
       LOG.debug("Change test mapping (without added tests): " + changeTestMap);
 
-      handleAddedTests(input, changeTestMap);
+      handleAddedTests(version, input, changeTestMap, testReader);
 
       if (executionConfig.isCreateDetailDebugFiles())
          Constants.OBJECTMAPPER.writeValue(new File(folders.getDebugFolder(), "changeTestMap_" + version + ".json"), changeTestMap);
@@ -55,14 +64,21 @@ public class StaticChangeHandler {
       return newVersionStaticSelection;
    }
 
-   private void handleAddedTests(final DependencyReadingInput input, final ChangeTestMapping changeTestMap) {
-      dependencyManager.getTestTransformer().determineVersions(dependencyManager.getExecutor().getModules().getModules());
+   private void handleAddedTests(final String version, final DependencyReadingInput input, final ChangeTestMapping changeTestMap, final RepositoryTestReader testReader)
+         throws IOException {
+      final List<File> modules = dependencyManager.getExecutor().getModules().getModules();
+      if (testReader != null) {
+         testReader.determineVersions(version, modules);
+      } else {
+         dependencyManager.getTestTransformer().determineVersions(modules);
+      }
       for (ClazzChangeData changedEntry : input.getChanges().values()) {
          if (!changedEntry.isOnlyMethodChange()) {
             for (ChangedEntity change : changedEntry.getChanges()) {
                File moduleFolder = new File(folders.getProjectFolder(), change.getModule());
                TestCase potentialTest = new TestCase(change.getClazz(), change.getMethod(), change.getModule());
-               List<TestCase> addedTests = dependencyManager.getTestTransformer().getTestMethodNames(moduleFolder, potentialTest);
+               List<TestCase> addedTests = testReader != null ? testReader.getTestMethodNames(moduleFolder, potentialTest)
+                     : dependencyManager.getTestTransformer().getTestMethodNames(moduleFolder, potentialTest);
                for (TestCase added : addedTests) {
                   if (NonIncludedTestRemover.isTestIncluded(added, executionConfig)) {
                      changeTestMap.addChangeEntry(change, added);
@@ -78,7 +78,7 @@ public class TraceChangeHandler {
    private void analyzeTests(final VersionStaticSelection newVersionInfo, final TestSet testsToRun)
          throws IOException, XmlPullParserException, InterruptedException, JsonGenerationException, JsonMappingException {
       final ModuleClassMapping mapping = new ModuleClassMapping(dependencyManager.getExecutor());
-      dependencyManager.runTraceTests(testsToRun, version);
+      dependencyManager.runTraceTests(testsToRun, version, newVersionInfo.getChangedClazzes().keySet());
 
       handleDependencyChanges(newVersionInfo, testsToRun, mapping);
    }
@@ -38,9 +38,7 @@ public class DiffFileGenerator {
       if (traceFiles != null) {
          LOG.debug("Trace-Files: {}", traceFiles);
          if (traceFiles.size() > 1) {
-            File oldFile = new File(traceFiles.get(0).getAbsolutePath() + OneTraceGenerator.NOCOMMENT);
-            File newFile = new File(traceFiles.get(1).getAbsolutePath() + OneTraceGenerator.NOCOMMENT);
-            final boolean isDifferent = DiffUtil.isDifferentDiff(oldFile, newFile);
+            final boolean isDifferent = DiffUtil.isDifferentTrace(traceFiles.get(0), traceFiles.get(1));
             if (isDifferent) {
                LOG.info("Trace changed.");
                return true;
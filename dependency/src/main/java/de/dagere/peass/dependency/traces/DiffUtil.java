@@ -16,6 +16,8 @@ import com.github.difflib.patch.Patch;
 import com.github.difflib.text.DiffRow;
 import com.github.difflib.text.DiffRowGenerator;
 
+import de.dagere.peass.utils.Constants;
+
 public class DiffUtil {
 
    private static final Logger LOG = LogManager.getLogger(DiffUtil.class);
@@ -85,6 +87,31 @@ public class DiffUtil {
       return oldLine;
    }
 
+   /**
+    * Checks whether the commentless traces differ. If the hashes of both traces have been written by the {@link TraceWriter}, they are compared; otherwise, e.g. for traces
+    * written by older versions, the traces are diffed.
+    * 
+    * @param oldTrace Trace file of the old version (without appendix)
+    * @param newTrace Trace file of the new version (without appendix)
+    */
+   public static boolean isDifferentTrace(final File oldTrace, final File newTrace) throws IOException {
+      File oldHashFile = new File(oldTrace.getAbsolutePath() + OneTraceGenerator.HASHES);
+      File newHashFile = new File(newTrace.getAbsolutePath() + OneTraceGenerator.HASHES);
+      if (oldHashFile.exists() && newHashFile.exists()) {
+         TraceHashes oldHashes = Constants.OBJECTMAPPER.readValue(oldHashFile, TraceHashes.class);
+         TraceHashes newHashes = Constants.OBJECTMAPPER.readValue(newHashFile, TraceHashes.class);
+         boolean isDifferent = !oldHashes.getCommentlessTrace().equals(newHashes.getCommentlessTrace());
+         if (isDifferent) {
+            LOG.debug("Methods with changed source: {}", oldHashes.getChangedMethods(newHashes));
+         }
+         return isDifferent;
+      } else {
+         File oldFile = new File(oldTrace.getAbsolutePath() + OneTraceGenerator.NOCOMMENT);
+         File newFile = new File(newTrace.getAbsolutePath() + OneTraceGenerator.NOCOMMENT);
+         return isDifferentDiff(oldFile, newFile);
+      }
+   }
+
    public static boolean isDifferentDiff(final File file1, final File file2) throws IOException {
       Patch<String> patch = getPatch(file1, file2);
 
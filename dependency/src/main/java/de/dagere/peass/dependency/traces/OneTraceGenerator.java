@@ -24,6 +24,7 @@ public class OneTraceGenerator {
    static final String METHOD_EXPANDED = "_method_expanded";
    public static final String NOCOMMENT = "_nocomment";
    public static final String SUMMARY = "_summary";
+   public static final String HASHES = "_hashes";
 
    private static final Logger LOG = LogManager.getLogger(OneTraceGenerator.class);
 
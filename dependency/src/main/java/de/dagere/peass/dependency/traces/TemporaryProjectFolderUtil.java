@@ -25,8 +25,10 @@ public class TemporaryProjectFolderUtil {
             FileUtils.deleteDirectory(peassFolder);
          }
       }
-      GitUtils.clone(originalFolders, dest);
-      final PeassFolders folders = new TempPeassFolders(dest, originalFolders.getProjectName(), logFolders);
+      if (!GitUtils.addWorktree(originalFolders.getProjectFolder(), dest)) {
+         GitUtils.clone(originalFolders, dest);
+      }
+      final PeassFolders folders = new TempPeassFolders(dest, originalFolders.getProjectName(), logFolders, originalFolders);
       return folders;
    }
 }
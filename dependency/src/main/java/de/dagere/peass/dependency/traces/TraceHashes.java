@@ -0,0 +1,153 @@
+package de.dagere.peass.dependency.traces;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * Content hashes of the variants of one trace and of the commentless source of every called method. Lines are trimmed before hashing, so two traces have equal hashes exactly if
+ * {@link DiffUtil#isDifferentDiff(java.io.File, java.io.File)} finds no difference, and the change detection does not need to read and diff the traces.
+ * 
+ * @author reichelt
+ *
+ */
+@JsonInclude(Include.NON_NULL)
+public class TraceHashes {
+
+   private String wholeTrace;
+   private String commentlessTrace;
+   private String traceMethods;
+   private String expandedTrace;
+   private Map<String, String> methods = new LinkedHashMap<>();
+
+   public TraceHashes() {
+   }
+
+   public TraceHashes(final TraceWithMethods trace) {
+      wholeTrace = hashLines(trace.getWholeTrace());
+      commentlessTrace = hashLines(trace.getCommentlessTrace());
+      traceMethods = hashLines(trace.getTraceMethods());
+      for (Map.Entry<TraceElementContent, String> method : trace.getCommentlessSources().entrySet()) {
+         if (method.getValue() != null) {
+            methods.put(method.getKey().toString(), hashLines(method.getValue()));
+         }
+      }
+   }
+
+   /**
+    * Returns the methods whose source hash differs or which are only called in one of the traces
+    */
+   public Set<String> getChangedMethods(final TraceHashes other) {
+      Set<String> changed = new TreeSet<>();
+      for (Map.Entry<String, String> method : methods.entrySet()) {
+         if (!method.getValue().equals(other.methods.get(method.getKey()))) {
+            changed.add(method.getKey());
+         }
+      }
+      for (String otherMethod : other.methods.keySet()) {
+         if (!methods.containsKey(otherMethod)) {
+            changed.add(otherMethod);
+         }
+      }
+      return changed;
+   }
+
+   public static String hashLines(final String content) {
+      final MessageDigest digest = createDigest();
+      try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            updateLine(digest, line);
+         }
+      } catch (IOException e) {
+         throw new RuntimeException(e);
+      }
+      return toHex(digest.digest());
+   }
+
+   public static String hashLines(final Iterable<String> lines) {
+      final MessageDigest digest = createDigest();
+      for (String line : lines) {
+         try (BufferedReader reader = new BufferedReader(new StringReader(line))) {
+            String subLine;
+            while ((subLine = reader.readLine()) != null) {
+               updateLine(digest, subLine);
+            }
+         } catch (IOException e) {
+            throw new RuntimeException(e);
+         }
+      }
+      return toHex(digest.digest());
+   }
+
+   private static void updateLine(final MessageDigest digest, final String line) {
+      digest.update(line.trim().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) '\n');
+   }
+
+   private static MessageDigest createDigest() {
+      try {
+         return MessageDigest.getInstance("SHA-1");
+      } catch (NoSuchAlgorithmException e) {
+         throw new RuntimeException(e);
+      }
+   }
+
+   private static String toHex(final byte[] hash) {
+      final StringBuilder hex = new StringBuilder();
+      for (final byte hashByte : hash) {
+         hex.append(String.format("%02x", hashByte));
+      }
+      return hex.toString();
+   }
+
+   public String getWholeTrace() {
+      return wholeTrace;
+   }
+
+   public void setWholeTrace(final String wholeTrace) {
+      this.wholeTrace = wholeTrace;
+   }
+
+   public String getCommentlessTrace() {
+      return commentlessTrace;
+   }
+
+   public void setCommentlessTrace(final String commentlessTrace) {
+      this.commentlessTrace = commentlessTrace;
+   }
+
+   public String getTraceMethods() {
+      return traceMethods;
+   }
+
+   public void setTraceMethods(final String traceMethods) {
+      this.traceMethods = traceMethods;
+   }
+
+   public String getExpandedTrace() {
+      return expandedTrace;
+   }
+
+   public void setExpandedTrace(final String expandedTrace) {
+      this.expandedTrace = expandedTrace;
+   }
+
+   public Map<String, String> getMethods() {
+      return methods;
+   }
+
+   public void setMethods(final Map<String, String> methods) {
+      this.methods = methods;
+   }
+}
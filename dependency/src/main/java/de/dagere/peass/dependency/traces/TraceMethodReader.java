@@ -4,7 +4,9 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -13,16 +15,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.github.javaparser.ParseException;
-import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.Node;
 
 import de.dagere.peass.config.KiekerConfig;
 import de.dagere.peass.dependency.ClazzFileFinder;
 import de.dagere.peass.dependency.analysis.CalledMethodLoader;
 import de.dagere.peass.dependency.analysis.ModuleClassMapping;
 import de.dagere.peass.dependency.analysis.data.TraceElement;
-import de.dagere.peass.dependency.changesreading.ClazzFinder;
-import de.dagere.peass.dependency.changesreading.JavaParserProvider;
+import de.dagere.peass.dependency.changesreading.ParsedSourceCache;
+import de.dagere.peass.dependency.changesreading.ParsedSourceInfo.MethodSource;
 import de.dagere.requitur.ContentTraceExpander;
 import de.dagere.requitur.ReducedTraceElement;
 import de.dagere.requitur.RunLengthEncodingSequitur;
@@ -42,7 +42,6 @@ public class TraceMethodReader {
 
    private final File[] clazzFolder;
 
-   private final Map<File, CompilationUnit> loadedUnits = new HashMap<>();
    final TraceWithMethods trace;
    final PeassSequitur seq = new PeassSequitur();
 
@@ -64,13 +63,17 @@ public class TraceMethodReader {
       runLengthEncodingSequitur.reduce();
       final List<ReducedTraceElement> rleTrace = runLengthEncodingSequitur.getReadableRLETrace();
       final TraceWithMethods trace = new TraceWithMethods(rleTrace);
+      final Map<File, List<TraceElementContent>> fileElements = new LinkedHashMap<>();
       for (final ReducedTraceElement traceElement : rleTrace) {
-         loadMethodSource(trace, traceElement);
+         addToFile(fileElements, traceElement);
+      }
+      for (final Map.Entry<File, List<TraceElementContent>> file : fileElements.entrySet()) {
+         loadMethodSources(trace, file.getKey(), file.getValue());
       }
       return trace;
    }
 
-   private void loadMethodSource(final TraceWithMethods trace, final ReducedTraceElement traceElement) throws FileNotFoundException {
+   private void addToFile(final Map<File, List<TraceElementContent>> fileElements, final ReducedTraceElement traceElement) throws FileNotFoundException {
       if (traceElement.getValue() instanceof TraceElementContent) {
          final TraceElementContent te = (TraceElementContent) traceElement.getValue();
          File clazzFile = ClazzFileFinder.getClazzFile(te, clazzFolder);
@@ -79,35 +82,42 @@ public class TraceMethodReader {
          }
 
          if (clazzFile != null) {
-            CompilationUnit cu = getCU(clazzFile);
-            final Node method = TraceReadUtils.getMethod(te, cu);
-
-            if (method != null) {
-               final String commentedMethod = method.toString().replace("\r", "").intern();
-               trace.setElementSource(te, commentedMethod);
-               method.setComment(null);
-               final String noCommentMethod = method.toString().replace("\r", "").intern();
-               trace.setElementSourceNoComment(te, noCommentMethod);
-            } else {
-               LOG.debug("Not found: " + te);
-
-               trace.setElementSource(te, null);
-               trace.setElementSourceNoComment(te, null);
-            }
+            fileElements.computeIfAbsent(clazzFile, file -> new LinkedList<>()).add(te);
          } else {
             LOG.error("Not found: " + clazzFile);
          }
       }
    }
 
+   /**
+    * Loads the sources of all methods of one file at once, so the file is parsed at most once per trace.
+    */
+   private void loadMethodSources(final TraceWithMethods trace, final File clazzFile, final List<TraceElementContent> elements) throws FileNotFoundException {
+      final List<MethodSource> methods = ParsedSourceCache.getMethodSources(clazzFile, elements);
+      final Iterator<MethodSource> methodIterator = methods.iterator();
+      for (final TraceElementContent te : elements) {
+         final MethodSource method = methodIterator.next();
+         if (method.getSource() != null) {
+            final String commentedMethod = method.getSource().replace("\r", "").intern();
+            trace.setElementSource(te, commentedMethod);
+            final String noCommentMethod = method.getSourceNoComment().replace("\r", "").intern();
+            trace.setElementSourceNoComment(te, noCommentMethod);
+         } else {
+            LOG.debug("Not found: " + te);
+
+            trace.setElementSource(te, null);
+            trace.setElementSourceNoComment(te, null);
+         }
+      }
+   }
+
    public File findAlternativeClassfile(final TraceElementContent te, File clazzFile) throws FileNotFoundException {
       for (File clazzFolderCandidate : clazzFolder) {
          String packageName = te.getPackage().replaceAll("\\.", "/");
          File packageFolder = new File(clazzFolderCandidate, packageName);
          if (packageFolder.exists()) {
             for (File candidate : packageFolder.listFiles((FileFilter) new WildcardFileFilter("*.java"))) {
-               CompilationUnit cu = getCU(candidate);
-               List<String> clazzes = ClazzFinder.getClazzes(cu);
+               List<String> clazzes = ParsedSourceCache.getSourceInfo(candidate).getClazzes();
                if (clazzes.contains(te.getPackagelessClazz())) {
                   clazzFile = candidate;
                }
@@ -117,16 +127,6 @@ public class TraceMethodReader {
       return clazzFile;
    }
 
-   public CompilationUnit getCU(final File clazzFile) throws FileNotFoundException {
-      CompilationUnit cu = loadedUnits.get(clazzFile);
-      if (cu == null) {
-         LOG.debug("CU {} not imported yet", clazzFile);
-         cu = JavaParserProvider.parse(clazzFile);
-         loadedUnits.put(clazzFile, cu);
-      }
-      return cu;
-   }
-
    public List<Content> getExpandedTrace() {
       return ContentTraceExpander.expandContentTrace(seq.getUncompressedTrace(), seq.getRules());
    }
@@ -33,6 +33,10 @@ public class TraceWithMethods {
 		methodsWithoutComment.put(traceElement, method);
 	}
 
+	public Map<TraceElementContent, String> getCommentlessSources() {
+		return methodsWithoutComment;
+	}
+
 	public Content getTraceElement(final int position) {
 		final ReducedTraceElement reducedTraceElement = elements.get(position);
 		return reducedTraceElement.getValue();
@@ -3,6 +3,7 @@ package de.dagere.peass.dependency.traces;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -56,15 +57,19 @@ public class TraceWriter {
       Files.write(commentlessTraceFile.toPath(), trace.getCommentlessTrace().getBytes());
       final File methodTrace = new File(methodDir, shortVersion + OneTraceGenerator.METHOD);
       Files.write(methodTrace.toPath(), trace.getTraceMethods().getBytes());
+      final TraceHashes hashes = new TraceHashes(trace);
       if (sizeInMB < 5) {
          final File methodExpandedTrace = new File(methodDir, shortVersion + OneTraceGenerator.METHOD_EXPANDED);
-         Files.write(methodExpandedTrace.toPath(), traceMethodReader.getExpandedTrace()
+         final List<String> expandedTrace = traceMethodReader.getExpandedTrace()
                .stream()
                .filter(value -> !(value instanceof RuleContent))
-               .map(value -> value.toString()).collect(Collectors.toList()));
+               .map(value -> value.toString()).collect(Collectors.toList());
+         Files.write(methodExpandedTrace.toPath(), expandedTrace);
+         hashes.setExpandedTrace(TraceHashes.hashLines(expandedTrace));
       } else {
          LOG.debug("Do not write expanded trace - size: {} MB", sizeInMB);
       }
+      Constants.OBJECTMAPPER.writeValue(new File(methodDir, shortVersion + OneTraceGenerator.HASHES), hashes);
       File summaryFile = new File(methodDir, shortVersion + OneTraceGenerator.SUMMARY);
       TraceCallSummary traceSummary = TraceSummaryTransformer.transform(testcase, traceMethodReader.getExpandedTrace());
       Constants.OBJECTMAPPER.writeValue(summaryFile, traceSummary);
@@ -116,6 +116,9 @@ public class GradleBuildfileEditor {
          String argLine = "jvmArgs=[\"" + ArgLineBuilder.TEMP_DIR + "=" + folders.getTempDir().getAbsolutePath() + "\"]";
          addArgLine(visitor, argLine);
       }
+      if (testTransformer.getConfig().getExecutionConfig().getTestBatchSize() > 1) {
+         addArgLine(visitor, "forkEvery = 1");
+      }
    }
 
    private void addArgLine(final FindDependencyVisitor visitor, final String javaagentArgument) {
@@ -3,6 +3,8 @@ package de.dagere.peass.execution.gradle;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.LinkedList;
+import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
@@ -151,7 +153,26 @@ public class GradleTestExecutor extends KoPeMeExecutor {
          e.printStackTrace();
       }
    }
-   
+
+   /**
+    * Runs the given tests by one gradle call; if tests are executed in batches, the buildfile is configured to fork every test class into its own JVM.
+    */
+   @Override
+   protected void runTests(final File moduleFolder, final File logFile, final List<TestCase> tests, final long timeout) {
+      cleanLastTest(moduleFolder);
+      final List<String> testArguments = new LinkedList<>();
+      for (final TestCase test : tests) {
+         testArguments.add("--tests");
+         testArguments.add(test.getClazz());
+      }
+      try {
+         final Process process = buildGradleProcess(moduleFolder, logFile, tests.get(0), testArguments.toArray(new String[0]));
+         execute(tests.toString(), timeout, process);
+      } catch (final InterruptedException | IOException | XmlPullParserException e) {
+         e.printStackTrace();
+      }
+   }
+
    @Override
    public boolean doesBuildfileExist() {
       final File wrapper = new File(folders.getProjectFolder(), env.fetchGradleCall());
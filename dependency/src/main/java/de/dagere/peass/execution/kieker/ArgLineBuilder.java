@@ -1,6 +1,8 @@
 package de.dagere.peass.execution.kieker;
 
 import java.io.File;
+import java.util.LinkedList;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -78,6 +80,41 @@ public class ArgLineBuilder {
       return argline;
    }
 
+   /**
+    * Splits an argLine into the single JVM arguments like the shell started by surefire would do, i.e. whitespace separates arguments and quotes are removed.
+    */
+   public static List<String> splitArgLine(final String argLine) {
+      final List<String> arguments = new LinkedList<>();
+      final StringBuilder current = new StringBuilder();
+      boolean inArgument = false;
+      char quote = 0;
+      for (final char c : argLine.toCharArray()) {
+         if (quote != 0) {
+            if (c == quote) {
+               quote = 0;
+            } else {
+               current.append(c);
+            }
+         } else if (c == '\'' || c == '"') {
+            quote = c;
+            inArgument = true;
+         } else if (Character.isWhitespace(c)) {
+            if (inArgument) {
+               arguments.add(current.toString());
+               current.setLength(0);
+               inArgument = false;
+            }
+         } else {
+            current.append(c);
+            inArgument = true;
+         }
+      }
+      if (inArgument) {
+         arguments.add(current.toString());
+      }
+      return arguments;
+   }
+
    public String buildArglineGradle(final File tempFolder) {
       // final String argline = buildGenericArgline(tempFolder, ":", "\",\"", KIEKER_ARG_LINE_GRADLE);
       if (testTransformer.getConfig().isUseKieker()) {
@@ -0,0 +1,82 @@
+package de.dagere.peass.execution.kieker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.io.filefilter.WildcardFileFilter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.dependency.changesreading.ParsedSourceCache;
+import net.kieker.sourceinstrumentation.instrument.InstrumentKiekerSource;
+
+/**
+ * Instruments the sources of a project like {@link InstrumentKiekerSource#instrumentProject(File)}, but stores the instrumented files in a cache. Entries are identified by the
+ * git blob id of the original file and a key of the instrumentation configuration, so unchanged files are restored by copying them and only changed files are instrumented
+ * again.
+ *
+ * @author reichelt
+ *
+ */
+public class CachedSourceInstrumenter {
+
+   private static final Logger LOG = LogManager.getLogger(CachedSourceInstrumenter.class);
+
+   private final InstrumentKiekerSource instrumenter;
+   private final File configurationCacheFolder;
+
+   private int restoredFiles = 0;
+   private int instrumentedFiles = 0;
+
+   public CachedSourceInstrumenter(final InstrumentKiekerSource instrumenter, final File cacheFolder, final String configurationKey) {
+      this.instrumenter = instrumenter;
+      this.configurationCacheFolder = new File(cacheFolder, configurationKey);
+   }
+
+   public void instrumentProject(final File projectFolder) throws IOException {
+      final Collection<File> sources = FileUtils.listFiles(projectFolder, new WildcardFileFilter("*.java"), TrueFileFilter.INSTANCE);
+      for (final File source : sources) {
+         instrument(source);
+      }
+      LOG.info("Instrumented {} source files, restored {} source files from {}", instrumentedFiles, restoredFiles, configurationCacheFolder);
+   }
+
+   public void instrument(final File source) throws IOException {
+      final String blobId = ParsedSourceCache.getBlobId(source);
+      final File cachedFile = new File(configurationCacheFolder, blobId.substring(0, 2) + File.separator + blobId + ".java");
+      if (cachedFile.exists()) {
+         LOG.trace("Restoring instrumented {}", source);
+         Files.copy(cachedFile.toPath(), source.toPath(), StandardCopyOption.REPLACE_EXISTING);
+         restoredFiles++;
+      } else {
+         LOG.trace("Instrumenting: {}", source);
+         instrumenter.instrument(source);
+         store(source, cachedFile);
+         instrumentedFiles++;
+      }
+   }
+
+   private void store(final File instrumentedSource, final File cachedFile) {
+      try {
+         cachedFile.getParentFile().mkdirs();
+         final File tempFile = File.createTempFile(cachedFile.getName(), ".tmp", cachedFile.getParentFile());
+         Files.copy(instrumentedSource.toPath(), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+         Files.move(tempFile.toPath(), cachedFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException e) {
+         LOG.warn("Could not write cache entry {}: {}", cachedFile, e.getMessage());
+      }
+   }
+
+   public int getRestoredFiles() {
+      return restoredFiles;
+   }
+
+   public int getInstrumentedFiles() {
+      return instrumentedFiles;
+   }
+}
@@ -9,12 +9,14 @@ import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import de.dagere.peass.config.KiekerConfig;
 import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.traces.TraceHashes;
 import de.dagere.peass.execution.maven.pom.MavenTestExecutor;
 import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.testtransformation.TestTransformer;
@@ -53,26 +55,47 @@ public class KiekerEnvironmentPreparer {
          if (kiekerConfig.isEnableAdaptiveMonitoring()) {
             prepareAdaptiveExecution();
          }
-         if (kiekerConfig.isOnlyOneCallRecording()) {
-            generateAOPXML("de.dagere.kopeme.kieker.probe.OneCallAspectFull");
-         } else if (AllowedKiekerRecord.DURATION.equals(kiekerConfig.getRecord())) {
-            generateAOPXML(AllowedKiekerRecord.DURATION.getFullName());
-         } else {
-            generateAOPXML(AllowedKiekerRecord.OPERATIONEXECUTION.getFullName());
-         }
+         generateAOPXML(getClazzSet());
       }
       generateKiekerMonitoringProperties();
    }
 
+   /**
+    * Rewrites the aop.xml files, so only the given classes are woven by the next test executions.
+    */
+   public void narrowWeavingScope(final Set<String> clazzes) {
+      LOG.debug("Weaving {} classes", clazzes.size());
+      generateAOPXML(clazzes);
+   }
+
+   /**
+    * Rewrites the aop.xml files, so all included or existing classes are woven by the next test executions.
+    */
+   public void resetWeavingScope() {
+      generateAOPXML(getClazzSet());
+   }
+
+   private String getAspectName() {
+      final KiekerConfig kiekerConfig = testTransformer.getConfig().getKiekerConfig();
+      if (kiekerConfig.isOnlyOneCallRecording()) {
+         return "de.dagere.kopeme.kieker.probe.OneCallAspectFull";
+      } else if (AllowedKiekerRecord.DURATION.equals(kiekerConfig.getRecord())) {
+         return AllowedKiekerRecord.DURATION.getFullName();
+      } else {
+         return AllowedKiekerRecord.OPERATIONEXECUTION.getFullName();
+      }
+   }
+
    private void instrumentSources(final MeasurementConfig config) throws IOException {
-      final InstrumentKiekerSource instrumentKiekerSource;
       LOG.debug("Create default constructor: {}", config.getExecutionConfig().isCreateDefaultConstructor());
       final LinkedHashSet<String> excludedPatterns = config.getKiekerConfig().getExcludeForTracing();
       
       buildJettyExclusion(excludedPatterns);
 
-      instrumentKiekerSource = buildInstrumenter(config, excludedPatterns);
-      instrumentKiekerSource.instrumentProject(folders.getProjectFolder());
+      final InstrumentKiekerSource instrumentKiekerSource = buildInstrumenter(config, excludedPatterns);
+      final String configurationKey = getConfigurationKey(config, excludedPatterns);
+      final CachedSourceInstrumenter cachedInstrumenter = new CachedSourceInstrumenter(instrumentKiekerSource, folders.getInstrumentationCacheFolder(), configurationKey);
+      cachedInstrumenter.instrumentProject(folders.getProjectFolder());
       if (config.getKiekerConfig().isEnableAdaptiveMonitoring()) {
          writeConfig();
       }
@@ -103,6 +126,26 @@ public class KiekerEnvironmentPreparer {
       return instrumentKiekerSource;
    }
 
+   /**
+    * Returns a hash of all values {@link #buildInstrumenter(MeasurementConfig, HashSet)} passes to the {@link InstrumentationConfiguration}, so instrumented files are only
+    * reused if they have been instrumented the same way.
+    */
+   private String getConfigurationKey(final MeasurementConfig config, final HashSet<String> excludedPatterns) {
+      final KiekerConfig kiekerConfig = config.getKiekerConfig();
+      final boolean selective = kiekerConfig.isUseSelectiveInstrumentation();
+      final List<String> values = new LinkedList<>();
+      values.add(String.valueOf(kiekerConfig.getRecord()));
+      values.add(String.valueOf(selective && kiekerConfig.isUseAggregation()));
+      values.add(String.valueOf(config.getExecutionConfig().isCreateDefaultConstructor()));
+      values.add(String.valueOf(kiekerConfig.isAdaptiveInstrumentation()));
+      values.add(String.valueOf(includedMethodPattern != null ? new TreeSet<>(includedMethodPattern) : null));
+      values.add(String.valueOf(new TreeSet<>(excludedPatterns)));
+      values.add(String.valueOf(selective));
+      values.add(String.valueOf(config.getRepetitions()));
+      values.add(String.valueOf(kiekerConfig.isExtractMethod()));
+      return TraceHashes.hashLines(values);
+   }
+
    private void buildJettyExclusion(final HashSet<String> excludedPatterns) {
       for (String notInstrumenting : new String[] { "org.eclipse.jetty.logging.JettyLevel", "org.eclipse.jetty.logging.JettyLoggerConfiguration",
             "org.eclipse.jetty.logging.JettyLoggingServiceProvider", "org.eclipse.jetty.logging.JettyLoggerFactory", "org.eclipse.jetty.logging.StdErrAppender",
@@ -157,14 +200,14 @@ public class KiekerEnvironmentPreparer {
       }
    }
 
-   private void generateAOPXML(final String aspectName) {
+   private void generateAOPXML(final Set<String> clazzes) {
+      final String aspectName = getAspectName();
       try {
          for (final File module : modules) {
             for (final String potentialReadFolder : metaInfFolders) {
                final File folder = new File(module, potentialReadFolder);
                folder.mkdirs();
                final File goalFile2 = new File(folder, "aop.xml");
-               final Set<String> clazzes = getClazzSet();
                AOPXMLHelper.writeAOPXMLToFile(new LinkedList<String>(clazzes), goalFile2, aspectName);
             }
          }
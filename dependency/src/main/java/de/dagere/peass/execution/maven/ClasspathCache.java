@@ -0,0 +1,114 @@
+package de.dagere.peass.execution.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.dependency.traces.TraceHashes;
+import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Caches the classpath and the compiled classes of a test in one version. Since the test classes are transformed based on the measurement configuration, the configuration is
+ * part of the cache key. Classpath elements inside the project folder (e.g. target/classes of the modules) are copied to the cache, since the project folder is rebuilt for other
+ * versions.
+ *
+ * @author reichelt
+ *
+ */
+public class ClasspathCache {
+
+   private static final Logger LOG = LogManager.getLogger(ClasspathCache.class);
+
+   public static final String ENTRY_FILE_NAME = "entry.json";
+   private static final String CLASSES_FOLDER_NAME = "classes";
+
+   private final File cacheFolder;
+   private final File projectFolder;
+   private final String configHash;
+
+   public ClasspathCache(final PeassFolders folders, final MeasurementConfig config) {
+      this.cacheFolder = folders.getClasspathCacheFolder();
+      this.projectFolder = folders.getProjectFolder();
+      this.configHash = getConfigHash(config);
+   }
+
+   private static String getConfigHash(final MeasurementConfig config) {
+      try {
+         final String serializedConfig = Constants.OBJECTMAPPER.writeValueAsString(config);
+         return TraceHashes.hashLines(serializedConfig);
+      } catch (JsonProcessingException e) {
+         throw new RuntimeException("Could not serialize measurement config", e);
+      }
+   }
+
+   public File getEntryFolder(final String version, final TestCase testcase) {
+      return new File(cacheFolder, version + File.separator + testcase.getClazz() + File.separator + testcase.getMethodWithParams() + File.separator + configHash);
+   }
+
+   /**
+    * Returns the cached entry of the given test in the given version, or null if it has not been cached yet.
+    */
+   public ClasspathCacheEntry load(final String version, final TestCase testcase) throws IOException {
+      final File entryFile = new File(getEntryFolder(version, testcase), ENTRY_FILE_NAME);
+      if (!entryFile.exists()) {
+         return null;
+      }
+      return Constants.OBJECTMAPPER.readValue(entryFile, ClasspathCacheEntry.class);
+   }
+
+   /**
+    * Stores the entry, copying all classpath elements from the project folder to the cache. The entry is written to a temporary folder first, so concurrent executions never
+    * see an incomplete entry.
+    */
+   public ClasspathCacheEntry store(final String version, final TestCase testcase, final ClasspathCacheEntry entry) throws IOException {
+      final File entryFolder = getEntryFolder(version, testcase);
+      entryFolder.getParentFile().mkdirs();
+      final File tempFolder = Files.createTempDirectory(entryFolder.getParentFile().toPath(), entryFolder.getName()).toFile();
+
+      final Path projectPath = projectFolder.getCanonicalFile().toPath();
+      final List<String> cachedClasspath = new LinkedList<>();
+      for (final String element : entry.getClasspath()) {
+         final File elementFile = new File(element);
+         final Path elementPath = elementFile.getCanonicalFile().toPath();
+         if (elementFile.exists() && elementPath.startsWith(projectPath)) {
+            final String relativePath = projectPath.relativize(elementPath).toString();
+            final File cachedElement = new File(new File(tempFolder, CLASSES_FOLDER_NAME), relativePath);
+            if (elementFile.isDirectory()) {
+               FileUtils.copyDirectory(elementFile, cachedElement);
+            } else {
+               FileUtils.copyFile(elementFile, cachedElement);
+            }
+            cachedClasspath.add(new File(new File(entryFolder, CLASSES_FOLDER_NAME), relativePath).getAbsolutePath());
+         } else {
+            cachedClasspath.add(element);
+         }
+      }
+      entry.setClasspath(cachedClasspath);
+      Constants.OBJECTMAPPER.writeValue(new File(tempFolder, ENTRY_FILE_NAME), entry);
+
+      try {
+         Files.move(tempFolder.toPath(), entryFolder.toPath(), StandardCopyOption.ATOMIC_MOVE);
+         LOG.info("Cached classpath of {} in version {}: {}", testcase, version, entryFolder);
+      } catch (IOException e) {
+         if (!new File(entryFolder, ENTRY_FILE_NAME).exists()) {
+            throw e;
+         }
+         LOG.debug("Classpath of {} in version {} has been cached concurrently", testcase, version);
+         FileUtils.deleteDirectory(tempFolder);
+      }
+      return load(version, testcase);
+   }
+}
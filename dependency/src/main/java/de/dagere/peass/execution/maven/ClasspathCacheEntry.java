@@ -0,0 +1,50 @@
+package de.dagere.peass.execution.maven;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Everything that is needed for starting the (already compiled) test of one version by a plain java call: the test classpath, the JVM arguments surefire would use and the
+ * runner that executes the test.
+ *
+ * @author reichelt
+ *
+ */
+public class ClasspathCacheEntry {
+   private List<String> classpath = new LinkedList<>();
+   private List<String> jvmArguments = new LinkedList<>();
+   private String mainClass;
+   private List<String> mainArguments = new LinkedList<>();
+
+   public List<String> getClasspath() {
+      return classpath;
+   }
+
+   public void setClasspath(final List<String> classpath) {
+      this.classpath = classpath;
+   }
+
+   public List<String> getJvmArguments() {
+      return jvmArguments;
+   }
+
+   public void setJvmArguments(final List<String> jvmArguments) {
+      this.jvmArguments = jvmArguments;
+   }
+
+   public String getMainClass() {
+      return mainClass;
+   }
+
+   public void setMainClass(final String mainClass) {
+      this.mainClass = mainClass;
+   }
+
+   public List<String> getMainArguments() {
+      return mainArguments;
+   }
+
+   public void setMainArguments(final List<String> mainArguments) {
+      this.mainArguments = mainArguments;
+   }
+}
@@ -43,11 +43,10 @@ public class MavenRunningTester {
                new MavenUpdater(folders, modules, measurementConfig).updateJava();
                String goal = getGoal();
                MavenPomUtil.cleanType(potentialPom);
-               String[] basicParameters = new String[] { env.fetchMavenCall(),
-                     "--batch-mode",
+               String[] basicParameters = env.fetchMavenCommand("--batch-mode",
                      "clean", goal,
                      "-DskipTests",
-                     "-Dmaven.test.skip.exec" };
+                     "-Dmaven.test.skip.exec");
                String[] withMavendefaults = CommandConcatenator.concatenateCommandArrays(basicParameters, CommandConcatenator.mavenCheckDeactivation);
                if (measurementConfig.getExecutionConfig().getPl() != null) {
                   String[] projectListArray = new String[] { "-pl", measurementConfig.getExecutionConfig().getPl(), "-am" };
@@ -1,8 +1,6 @@
 package de.dagere.peass.execution.maven;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -13,13 +11,12 @@ import org.apache.logging.log4j.Logger;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
-import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import de.dagere.peass.dependency.moduleinfo.ModuleInfoEditor;
 import de.dagere.peass.execution.kieker.ArgLineBuilder;
 import de.dagere.peass.execution.maven.pom.MavenPomUtil;
+import de.dagere.peass.execution.maven.pom.PomModelCache;
 import de.dagere.peass.execution.utils.ProjectModules;
 import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.testtransformation.TestTransformer;
@@ -58,11 +55,7 @@ public class PomPreparer {
 
    private void editOneBuildfile(final boolean update, final File pomFile) {
       try {
-         final Model model;
-         try (FileInputStream fileInputStream = new FileInputStream(pomFile)) {
-            final MavenXpp3Reader reader = new MavenXpp3Reader();
-            model = reader.read(fileInputStream);
-         }
+         final Model model = PomModelCache.readModel(pomFile);
 
          if (model.getBuild() == null) {
             model.setBuild(new Build());
@@ -77,10 +70,7 @@ public class PomPreparer {
          }
          MavenPomUtil.extendDependencies(model, testTransformer.isJUnit3(), testTransformer.getConfig().getExecutionConfig().isExcludeLog4j());
 
-         try (FileWriter fileWriter = new FileWriter(pomFile)) {
-            final MavenXpp3Writer writer = new MavenXpp3Writer();
-            writer.write(fileWriter, model);
-         }
+         PomModelCache.writeModel(pomFile, model);
 
          lastEncoding = MavenPomUtil.getEncoding(model);
       } catch (IOException | XmlPullParserException e) {
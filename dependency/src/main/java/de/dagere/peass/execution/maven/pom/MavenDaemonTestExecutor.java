@@ -0,0 +1,58 @@
+package de.dagere.peass.execution.maven.pom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.execution.utils.EnvironmentVariables;
+import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.testtransformation.JUnitTestTransformer;
+
+/**
+ * Executes the maven calls (clean, test and the check whether a version is running) by the maven daemon (mvnd) instead of starting a new maven JVM for every call. The mvnd
+ * client submits the goals to a long-lived daemon, so JVM startup, plugin resolution and model building are only done once. Every project folder gets its own daemon registry,
+ * so parallel executions in different folders never share a daemon. Since surefire is configured to not reuse forks, every test is still executed in its own forked JVM.
+ * 
+ * The executor is used by setting -testExecutor de.dagere.peass.execution.maven.pom.MavenDaemonTestExecutor; mvnd needs to be on the path (or be defined by MVN_CMD). Since
+ * the daemons of workspaces which are not used anymore would otherwise stay alive during the following measurements, they are started with a short idle timeout; they can also
+ * be stopped by calling mvnd --stop -Dmvnd.daemonStorage=[folder].
+ * 
+ * @author reichelt
+ *
+ */
+public class MavenDaemonTestExecutor extends MavenTestExecutor {
+
+   private static final Logger LOG = LogManager.getLogger(MavenDaemonTestExecutor.class);
+
+   public static final String DAEMON_STORAGE_PROPERTY = "-Dmvnd.daemonStorage=";
+
+   /**
+    * Idle daemons stop after this time instead of the default of 3 hours; while a workspace is used, the daemon is called again within this time
+    */
+   public static final String IDLE_TIMEOUT = "-Dmvnd.idleTimeout=5m";
+
+   /**
+    * mvnd builds modules in parallel by default, which would disturb the measurements
+    */
+   private static final String SERIAL_BUILD = "-T1";
+
+   public MavenDaemonTestExecutor(final PeassFolders folders, final JUnitTestTransformer testTransformer, final EnvironmentVariables env) {
+      super(folders, testTransformer, createDaemonEnvironment(folders, env));
+   }
+
+   /**
+    * Creates a copy of the environment variables that calls mvnd with the daemon storage of the given folders; an existing daemon storage (e.g. from the environment of the
+    * original folders of a temporary copy) is replaced.
+    */
+   public static EnvironmentVariables createDaemonEnvironment(final PeassFolders folders, final EnvironmentVariables env) {
+      final EnvironmentVariables daemonEnv = new EnvironmentVariables(env);
+      if (!daemonEnv.getEnvironmentVariables().containsKey("MVN_CMD")) {
+         daemonEnv.getEnvironmentVariables().put("MVN_CMD", EnvironmentVariables.isWindows() ? "mvnd.cmd" : "mvnd");
+      }
+      daemonEnv.getMavenArguments().removeIf(argument -> argument.startsWith(DAEMON_STORAGE_PROPERTY) || argument.equals(IDLE_TIMEOUT) || argument.equals(SERIAL_BUILD));
+      daemonEnv.getMavenArguments().add(DAEMON_STORAGE_PROPERTY + folders.getMavenDaemonFolder().getAbsolutePath());
+      daemonEnv.getMavenArguments().add(IDLE_TIMEOUT);
+      daemonEnv.getMavenArguments().add(SERIAL_BUILD);
+      LOG.debug("Maven daemon call: {} {}", daemonEnv.fetchMavenCall(), daemonEnv.getMavenArguments());
+      return daemonEnv;
+   }
+}
@@ -1,9 +1,7 @@
 package de.dagere.peass.execution.maven.pom;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -19,8 +17,6 @@ import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Exclusion;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
-import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
@@ -46,17 +42,10 @@ public class MavenPomUtil {
 
    public static void cleanType(final File pomFile) {
       try {
-         final Model model;
-         try (FileInputStream inputStream = new FileInputStream(pomFile)) {
-            final MavenXpp3Reader reader = new MavenXpp3Reader();
-            model = reader.read(inputStream);
-         }
+         final Model model = PomModelCache.readModel(pomFile);
          if (model.getPackaging().equals("pom") && model.getModules() == null || model.getModules().size() == 0) {
             model.setPackaging("jar");
-            try (FileWriter fileWriter = new FileWriter(pomFile)) {
-               final MavenXpp3Writer writer = new MavenXpp3Writer();
-               writer.write(fileWriter, model);
-            }
+            PomModelCache.writeModel(pomFile, model);
          }
       } catch (IOException | XmlPullParserException e) {
          e.printStackTrace();
@@ -108,11 +97,8 @@ public class MavenPomUtil {
    }
 
    public static boolean isMultiModuleProject(final File pom) throws FileNotFoundException, IOException, XmlPullParserException {
-      try (FileInputStream inputStream = new FileInputStream(pom)) {
-         final MavenXpp3Reader reader = new MavenXpp3Reader();
-         final Model model = reader.read(inputStream);
-         return model.getModules() != null;
-      }
+      final Model model = PomModelCache.readModel(pom);
+      return model.getModules() != null;
    }
 
    /**
@@ -142,9 +128,17 @@ public class MavenPomUtil {
       return modules;
    }
 
+   /**
+    * Returns the modules of the project, which are only determined again if one of the read poms changed.
+    */
    public static ProjectModules getModules(final File pom, final ExecutionConfig config) {
       try {
-         ProjectModules modules = new ModuleReader().readModuleFiles(pom);
+         ProjectModules cachedModules = PomModelCache.getModules(pom, config.getPl());
+         if (cachedModules != null) {
+            return cachedModules;
+         }
+         ModuleReader moduleReader = new ModuleReader();
+         ProjectModules modules = moduleReader.readModuleFiles(pom);
          if (config.getPl() != null && !"".equals(config.getPl())) {
             List<String> includedModuleNames = getIncludedModuleNames(pom, config);
 
@@ -160,6 +154,7 @@ public class MavenPomUtil {
             }
          }
 
+         PomModelCache.putModules(pom, config.getPl(), modules, moduleReader.getReadPoms());
          return modules;
       } catch (IOException | XmlPullParserException e) {
          throw new RuntimeException(e);
@@ -21,6 +21,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -66,12 +68,10 @@ public class MavenTestExecutor extends KoPeMeExecutor {
 
    protected Process buildMavenProcess(final File logFile, TestCase test, final String... commandLineAddition) throws IOException, XmlPullParserException, InterruptedException {
       final String testGoal = getTestGoal();
-      String mvnCall = env.fetchMavenCall();
-      final String[] originals = new String[] { mvnCall,
-            "--batch-mode",
+      final String[] originals = env.fetchMavenCommand("--batch-mode",
             testGoal,
             "-fn",
-            ArgLineBuilder.TEMP_DIR + "=" + folders.getTempDir().getAbsolutePath() };
+            ArgLineBuilder.TEMP_DIR + "=" + folders.getTempDir().getAbsolutePath());
       String[] withMavendefaults = CommandConcatenator.concatenateCommandArrays(originals, CommandConcatenator.mavenCheckDeactivation);
       final String[] vars = CommandConcatenator.concatenateCommandArrays(withMavendefaults, commandLineAddition);
 
@@ -85,6 +85,10 @@ public class MavenTestExecutor extends KoPeMeExecutor {
 
    @Override
    protected void clean(final File logFile) throws IOException, InterruptedException {
+      if (buildOutputRestored) {
+         LOG.debug("Build output of the version has been restored, not cleaning");
+         return;
+      }
       new MavenCleaner(folders, env).clean(logFile);
    }
 
@@ -140,7 +144,25 @@ public class MavenTestExecutor extends KoPeMeExecutor {
          e.printStackTrace();
       }
    }
-   
+
+   /**
+    * Runs the given tests by one maven call; since surefire is configured to not reuse forks, every test class is executed in its own JVM.
+    */
+   @Override
+   protected void runTests(final File module, final File logFile, final List<TestCase> tests, final long timeout) {
+      final List<String> testnames = new LinkedList<>();
+      for (final TestCase test : tests) {
+         testnames.add(test.getClazz());
+      }
+      final String testnameList = String.join(",", testnames);
+      try {
+         final Process process = buildMavenProcess(logFile, tests.get(0), "-Dtest=" + testnameList);
+         execute(testnameList, timeout, process);
+      } catch (final InterruptedException | IOException | XmlPullParserException e) {
+         e.printStackTrace();
+      }
+   }
+
    @Override
    public boolean doesBuildfileExist() {
       File pomFile = new File(folders.getProjectFolder(), "pom.xml");
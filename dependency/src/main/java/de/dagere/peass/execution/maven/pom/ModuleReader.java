@@ -1,26 +1,23 @@
 package de.dagere.peass.execution.maven.pom;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.LinkedList;
+import java.util.List;
 
 import org.apache.maven.model.Model;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import de.dagere.peass.execution.utils.ProjectModules;
 
 public class ModuleReader {
    private final ProjectModules modules = new ProjectModules(new LinkedList<>());
+   private final List<File> readPoms = new LinkedList<>();
 
    public ProjectModules readModuleFiles(final File pom) throws FileNotFoundException, IOException, XmlPullParserException {
-      final Model model;
-      try (FileInputStream inputStream = new FileInputStream(pom)) {
-         final MavenXpp3Reader reader = new MavenXpp3Reader();
-         model = reader.read(inputStream);
-      }
+      final Model model = PomModelCache.readModel(pom);
+      readPoms.add(pom);
       if (model.getModules() != null && model.getModules().size() > 0) {
          for (final String module : model.getModules()) {
             final File moduleFolder = new File(pom.getParentFile(), module);
@@ -37,4 +34,11 @@ public class ModuleReader {
       return modules;
 
    }
+
+   /**
+    * Returns all poms that have been read for determining the modules
+    */
+   public List<File> getReadPoms() {
+      return readPoms;
+   }
 }
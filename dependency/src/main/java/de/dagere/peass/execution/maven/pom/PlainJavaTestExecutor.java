@@ -0,0 +1,332 @@
+package de.dagere.peass.execution.maven.pom;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import de.dagere.peass.dependency.ClazzFileFinder;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.execution.kieker.ArgLineBuilder;
+import de.dagere.peass.execution.maven.ClasspathCache;
+import de.dagere.peass.execution.maven.ClasspathCacheEntry;
+import de.dagere.peass.execution.processutils.ProcessBuilderHelper;
+import de.dagere.peass.execution.utils.EnvironmentVariables;
+import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.testtransformation.JUnitTestTransformer;
+import de.dagere.peass.vcs.GitUtils;
+
+/**
+ * Executes the tests of a maven project by plain java calls. The first execution of a test in a version is done by maven, which also writes the test classpath; afterwards, the
+ * classpath and the compiled classes are cached in the {@link PeassFolders}, and all further executions start the KoPeMe test directly by java without the maven lifecycle. The
+ * JVM arguments are taken from the surefire configuration, so the test runs like in the forked surefire JVM.
+ *
+ * Since Kieker is configured inside the source tree, executions with Kieker are always done by maven.
+ *
+ * @author reichelt
+ *
+ */
+public class PlainJavaTestExecutor extends MavenTestExecutor {
+
+   private static final Logger LOG = LogManager.getLogger(PlainJavaTestExecutor.class);
+
+   public static final String CLASSPATH_FILE = "target" + File.separator + "peass-classpath.txt";
+   private static final String DEPENDENCY_PLUGIN = "org.apache.maven.plugins:maven-dependency-plugin:3.2.0";
+   private static final String JUNIT_PLATFORM_GROUP = "org.junit.platform";
+   private static final String[] JUNIT_PLATFORM_RUNNER_ARTIFACTS = new String[] { "junit-platform-launcher", "junit-platform-reporting", "junit-platform-console" };
+   private static final Pattern JUNIT_PLATFORM_ENGINE = Pattern.compile("junit-platform-engine-(.+)\\.jar");
+   private static final Pattern PROPERTY = Pattern.compile("\\$\\{([^}]+)\\}");
+   /**
+    * Commits of the version names, which are resolved once per version instead of once per execution; names relative to HEAD are not cached, since HEAD changes.
+    */
+   private static final Map<String, String> RESOLVED_VERSIONS = new ConcurrentHashMap<>();
+
+   private final ClasspathCache cache;
+   private File pendingPreparationLog;
+   private String currentVersion;
+
+   public PlainJavaTestExecutor(final PeassFolders folders, final JUnitTestTransformer testTransformer, final EnvironmentVariables env) {
+      super(folders, testTransformer, env);
+      cache = new ClasspathCache(folders, testTransformer.getConfig());
+   }
+
+   /**
+    * Since cached tests need no preparation of the project, the preparation is done before the first test execution that is not cached.
+    */
+   @Override
+   public void prepareKoPeMeExecution(final File logFile) throws IOException, InterruptedException, XmlPullParserException {
+      if (testTransformer.getConfig().isUseKieker()) {
+         super.prepareKoPeMeExecution(logFile);
+      } else {
+         pendingPreparationLog = logFile;
+      }
+   }
+
+   private void prepareIfPending() throws IOException, InterruptedException, XmlPullParserException {
+      if (pendingPreparationLog != null) {
+         final File logFile = pendingPreparationLog;
+         pendingPreparationLog = null;
+         super.prepareKoPeMeExecution(logFile);
+      }
+   }
+
+   @Override
+   public void executeTests(final Collection<TestCase> tests, final File logFolder, final long timeout) {
+      try {
+         prepareIfPending();
+      } catch (IOException | InterruptedException | XmlPullParserException e) {
+         e.printStackTrace();
+      }
+      super.executeTests(tests, logFolder, timeout);
+   }
+
+   @Override
+   public void executeTest(final TestCase test, final File logFolder, final long timeout) {
+      try {
+         final ClasspathCacheEntry entry = loadCachedEntry(test);
+         if (entry != null) {
+            LOG.info("Executing {} by java, using cached classpath", test);
+            runCached(entry, test, logFolder, timeout);
+         } else {
+            prepareIfPending();
+            super.executeTest(test, logFolder, timeout);
+         }
+      } catch (IOException | InterruptedException | XmlPullParserException e) {
+         e.printStackTrace();
+      }
+   }
+
+   private ClasspathCacheEntry loadCachedEntry(final TestCase test) throws IOException {
+      if (testTransformer.getConfig().isUseKieker()) {
+         return null;
+      }
+      currentVersion = resolveCurrentVersion();
+      return cache.load(currentVersion, test);
+   }
+
+   private String resolveCurrentVersion() {
+      if (version == null || version.contains("HEAD")) {
+         return GitUtils.getName("HEAD", folders.getProjectFolder());
+      }
+      return RESOLVED_VERSIONS.computeIfAbsent(version, name -> GitUtils.getName(name, folders.getProjectFolder()));
+   }
+
+   private void runCached(final ClasspathCacheEntry entry, final TestCase test, final File logFolder, final long timeout) throws IOException, InterruptedException {
+      final File moduleFolder = new File(folders.getProjectFolder(), test.getModule());
+      final List<String> command = new LinkedList<>();
+      command.add(getJavaCall());
+      command.addAll(entry.getJvmArguments());
+      command.add(ArgLineBuilder.TEMP_DIR + "=" + folders.getTempDir().getAbsolutePath());
+      command.add("-Dbasedir=" + moduleFolder.getAbsolutePath());
+      // Like surefire, the user properties of the maven call are passed to the test JVM
+      for (final String property : env.getProperties().split(" ")) {
+         if (property.startsWith("-D")) {
+            command.add(property);
+         }
+      }
+      command.add("-cp");
+      command.add(String.join(File.pathSeparator, entry.getClasspath()));
+      command.add(entry.getMainClass());
+      command.addAll(entry.getMainArguments());
+
+      final ProcessBuilderHelper processBuilderHelper = new ProcessBuilderHelper(env, folders);
+      processBuilderHelper.parseParams(test.getParams());
+      final File methodLogFile = getMethodLogFile(logFolder, test);
+      final Process process = processBuilderHelper.buildFolderProcessWithoutProperties(moduleFolder, methodLogFile, command.toArray(new String[0]));
+      execute(test.getClazz(), timeout, process);
+   }
+
+   private String getJavaCall() {
+      String javaHome = env.getEnvironmentVariables().get("JAVA_HOME");
+      if (javaHome == null) {
+         javaHome = System.getenv("JAVA_HOME");
+      }
+      return javaHome != null ? new File(javaHome, "bin" + File.separator + "java").getAbsolutePath() : "java";
+   }
+
+   /**
+    * Runs the test by maven and writes the test classpath afterwards, so following executions can use the cache.
+    */
+   @Override
+   protected void runTest(final File module, final File logFile, final TestCase test, final String testname, final long timeout) {
+      if (testTransformer.getConfig().isUseKieker() || currentVersion == null) {
+         super.runTest(module, logFile, test, testname, timeout);
+         return;
+      }
+      try {
+         final File classpathFile = new File(module, CLASSPATH_FILE);
+         Files.deleteIfExists(classpathFile.toPath());
+         final Process process = buildMavenProcess(logFile, test, "-Dtest=" + testname,
+               DEPENDENCY_PLUGIN + ":build-classpath", "-Dmdep.outputFile=" + CLASSPATH_FILE);
+         execute(testname, timeout, process);
+         if (classpathFile.exists()) {
+            cacheClasspath(module, test, classpathFile);
+         } else {
+            LOG.info("{} has not been written, {} will be executed by maven again", classpathFile, test);
+         }
+      } catch (final InterruptedException | IOException | XmlPullParserException e) {
+         e.printStackTrace();
+      }
+   }
+
+   private void cacheClasspath(final File module, final TestCase test, final File classpathFile)
+         throws IOException, XmlPullParserException, InterruptedException {
+      final List<String> classpath = new LinkedList<>();
+      classpath.add(new File(module, "target" + File.separator + "test-classes").getAbsolutePath());
+      classpath.add(new File(module, "target" + File.separator + "classes").getAbsolutePath());
+      final String dependencies = FileUtils.readFileToString(classpathFile, StandardCharsets.UTF_8).trim();
+      if (!dependencies.isEmpty()) {
+         classpath.addAll(Arrays.asList(dependencies.split(File.pathSeparator)));
+      }
+
+      final ClasspathCacheEntry entry = new ClasspathCacheEntry();
+      if (setRunner(entry, classpath, module, test)) {
+         entry.setClasspath(classpath);
+         entry.setJvmArguments(getSurefireJvmArguments(module));
+         cache.store(currentVersion, test, entry);
+      }
+   }
+
+   private boolean setRunner(final ClasspathCacheEntry entry, final List<String> classpath, final File module, final TestCase test)
+         throws IOException, InterruptedException {
+      final File clazzFile = new ClazzFileFinder(testTransformer.getConfig().getExecutionConfig()).getClazzFile(module, test);
+      final int junitVersion = clazzFile != null ? testTransformer.getVersion(clazzFile) : 0;
+      switch (junitVersion) {
+      case 3:
+         entry.setMainClass("junit.textui.TestRunner");
+         entry.setMainArguments(Arrays.asList(test.getClazz()));
+         return true;
+      case 4:
+      case 34:
+         entry.setMainClass("org.junit.runner.JUnitCore");
+         entry.setMainArguments(Arrays.asList(test.getClazz()));
+         return true;
+      case 5:
+         final List<String> runnerClasspath = getJUnitPlatformRunner(classpath);
+         if (runnerClasspath == null) {
+            return false;
+         }
+         classpath.addAll(runnerClasspath);
+         entry.setMainClass("org.junit.platform.console.ConsoleLauncher");
+         entry.setMainArguments(Arrays.asList("--disable-banner", "--details=none", "--select-class=" + test.getClazz()));
+         return true;
+      default:
+         LOG.info("JUnit version of {} could not be determined, it will be executed by maven again", test);
+         return false;
+      }
+   }
+
+   /**
+    * Returns the jars of the JUnit platform console launcher in the version of the JUnit platform of the project, or null if the project contains no JUnit platform.
+    */
+   private List<String> getJUnitPlatformRunner(final List<String> classpath) throws IOException, InterruptedException {
+      String platformVersion = null;
+      for (final String element : classpath) {
+         final Matcher matcher = JUNIT_PLATFORM_ENGINE.matcher(new File(element).getName());
+         if (matcher.matches()) {
+            platformVersion = matcher.group(1);
+         }
+      }
+      if (platformVersion == null) {
+         LOG.info("No junit-platform-engine in classpath, JUnit 5 tests will be executed by maven");
+         return null;
+      }
+
+      final File runnerFolder = new File(folders.getClasspathCacheFolder(), "junit-platform-" + platformVersion);
+      synchronized (PlainJavaTestExecutor.class) {
+         if (!runnerFolder.exists()) {
+            downloadJUnitPlatformRunner(runnerFolder, platformVersion);
+         }
+      }
+
+      final List<String> runnerClasspath = new LinkedList<>();
+      for (final String artifactId : JUNIT_PLATFORM_RUNNER_ARTIFACTS) {
+         final File jar = new File(runnerFolder, artifactId + "-" + platformVersion + ".jar");
+         if (!jar.exists()) {
+            LOG.info("{} could not be downloaded, JUnit 5 tests will be executed by maven", jar);
+            return null;
+         }
+         runnerClasspath.add(jar.getAbsolutePath());
+      }
+      return runnerClasspath;
+   }
+
+   private void downloadJUnitPlatformRunner(final File runnerFolder, final String platformVersion) throws IOException, InterruptedException {
+      final File downloadFolder = new File(runnerFolder.getParentFile(), runnerFolder.getName() + ".tmp");
+      FileUtils.deleteDirectory(downloadFolder);
+      downloadFolder.mkdirs();
+      final File logFile = new File(downloadFolder, "download.txt");
+      for (final String artifactId : JUNIT_PLATFORM_RUNNER_ARTIFACTS) {
+         final String[] vars = env.fetchMavenCommand("--batch-mode", DEPENDENCY_PLUGIN + ":copy",
+               "-Dartifact=" + JUNIT_PLATFORM_GROUP + ":" + artifactId + ":" + platformVersion,
+               "-DoutputDirectory=" + downloadFolder.getAbsolutePath());
+         final Process process = new ProcessBuilderHelper(env, folders).buildFolderProcess(downloadFolder, logFile, vars);
+         process.waitFor();
+      }
+      Files.move(downloadFolder.toPath(), runnerFolder.toPath(), StandardCopyOption.ATOMIC_MOVE);
+   }
+
+   /**
+    * Reads the argLine and the system properties from the surefire configuration of the module, which already contains the additions of Peass.
+    */
+   public static List<String> getSurefireJvmArguments(final File module) throws IOException, XmlPullParserException {
+      final Model model = PomModelCache.readModel(new File(module, "pom.xml"));
+      final List<String> arguments = new LinkedList<>();
+      final Plugin surefire = MavenPomUtil.findPlugin(model, MavenPomUtil.SUREFIRE_ARTIFACTID, MavenPomUtil.ORG_APACHE_MAVEN_PLUGINS);
+      final Xpp3Dom configuration = (Xpp3Dom) surefire.getConfiguration();
+      if (configuration != null) {
+         final Xpp3Dom argLine = configuration.getChild("argLine");
+         if (argLine != null && argLine.getValue() != null) {
+            arguments.addAll(ArgLineBuilder.splitArgLine(resolveProperties(argLine.getValue(), model, module)));
+         }
+         final Xpp3Dom systemProperties = configuration.getChild("systemPropertyVariables");
+         if (systemProperties != null) {
+            for (final Xpp3Dom property : systemProperties.getChildren()) {
+               final String value = property.getValue() != null ? resolveProperties(property.getValue(), model, module) : "";
+               arguments.add("-D" + property.getName() + "=" + value);
+            }
+         }
+      }
+      return arguments;
+   }
+
+   /**
+    * Replaces the properties of the pom; properties that are set by other plugins (e.g. ${argLine} of jacoco) are not known without maven and are removed.
+    */
+   private static String resolveProperties(final String value, final Model model, final File module) {
+      final Matcher matcher = PROPERTY.matcher(value);
+      final StringBuffer resolved = new StringBuffer();
+      while (matcher.find()) {
+         final String name = matcher.group(1);
+         String replacement;
+         if (name.equals("basedir") || name.equals("project.basedir")) {
+            replacement = module.getAbsolutePath();
+         } else if (model.getProperties() != null && model.getProperties().getProperty(name) != null) {
+            replacement = model.getProperties().getProperty(name);
+         } else {
+            LOG.warn("Property {} of {} is not known without maven, it is removed from the arguments", name, module);
+            replacement = "";
+         }
+         matcher.appendReplacement(resolved, Matcher.quoteReplacement(replacement));
+      }
+      matcher.appendTail(resolved);
+      return resolved.toString();
+   }
+}
@@ -1,17 +1,13 @@
 package de.dagere.peass.execution.maven.pom;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
-import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
@@ -24,26 +20,14 @@ public class PomJavaUpdater {
    public static void fixCompilerVersion(final File pom) throws FileNotFoundException, IOException, XmlPullParserException {
       int version = getCompilerVersion(pom);
       if (version < 8) {
-         final Model model;
-         try (FileInputStream inputStream = new FileInputStream(pom)) {
-            final MavenXpp3Reader reader = new MavenXpp3Reader();
-            model = reader.read(inputStream);
-            setCompiler(model, MavenTestExecutor.DEFAULT_JAVA_VERSION);
-         }
-
-         try (FileWriter fileWriter = new FileWriter(pom)) {
-            final MavenXpp3Writer writer = new MavenXpp3Writer();
-            writer.write(fileWriter, model);
-         }
+         final Model model = PomModelCache.readModel(pom);
+         setCompiler(model, MavenTestExecutor.DEFAULT_JAVA_VERSION);
+         PomModelCache.writeModel(pom, model);
       }
    }
 
    private static int getCompilerVersion(final File pom) throws FileNotFoundException, IOException, XmlPullParserException {
-      final Model model;
-      try (FileInputStream inputStream = new FileInputStream(pom)) {
-         final MavenXpp3Reader reader = new MavenXpp3Reader();
-         model = reader.read(inputStream);
-      }
+      final Model model = PomModelCache.readModel(pom);
       final Plugin compilerPlugin = MavenPomUtil.findPlugin(model, MavenPomUtil.COMPILER_ARTIFACTID, MavenPomUtil.ORG_APACHE_MAVEN_PLUGINS);
       if (compilerPlugin != null) {
          final Xpp3Dom conf = (Xpp3Dom) compilerPlugin.getConfiguration();
@@ -0,0 +1,134 @@
+package de.dagere.peass.execution.maven.pom;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import de.dagere.peass.dependency.changesreading.ParsedSourceCache;
+import de.dagere.peass.execution.utils.ProjectModules;
+
+/**
+ * Caches parsed pom files and the module structure of projects. Entries are validated by the git blob id of the pom files, so they are reused as long as the checked out
+ * version does not change the poms, and they are read again after a checkout or after Peass changed a pom. Since the models are changed by their users, only copies of the
+ * cached models are returned.
+ *
+ * @author reichelt
+ *
+ */
+public final class PomModelCache {
+
+   private static final Logger LOG = LogManager.getLogger(PomModelCache.class);
+
+   private static final Map<File, CachedModel> MODELS = new ConcurrentHashMap<>();
+   private static final Map<String, CachedModules> MODULES = new ConcurrentHashMap<>();
+
+   /**
+    * Util class should not be initialized
+    */
+   private PomModelCache() {
+
+   }
+
+   public static Model readModel(final File pom) throws IOException, XmlPullParserException {
+      final File key = pom.getAbsoluteFile();
+      final String blobId = ParsedSourceCache.getBlobId(pom);
+      CachedModel cached = MODELS.get(key);
+      if (cached == null || !cached.blobId.equals(blobId)) {
+         LOG.trace("Parsing {}", pom);
+         final Model model;
+         try (FileInputStream inputStream = new FileInputStream(pom)) {
+            final MavenXpp3Reader reader = new MavenXpp3Reader();
+            model = reader.read(inputStream);
+         }
+         cached = new CachedModel(blobId, model);
+         MODELS.put(key, cached);
+      }
+      return cached.model.clone();
+   }
+
+   /**
+    * Writes the model to the pom file and caches it, so reading the changed pom does not require parsing it again.
+    */
+   public static void writeModel(final File pom, final Model model) throws IOException {
+      try (FileWriter fileWriter = new FileWriter(pom)) {
+         final MavenXpp3Writer writer = new MavenXpp3Writer();
+         writer.write(fileWriter, model);
+      }
+      MODELS.put(pom.getAbsoluteFile(), new CachedModel(ParsedSourceCache.getBlobId(pom), model.clone()));
+   }
+
+   /**
+    * Returns a copy of the cached modules of the given pom and project list, or null if they are not cached or one of the poms read for determining them has changed.
+    */
+   public static ProjectModules getModules(final File pom, final String pl) throws IOException {
+      final CachedModules cached = MODULES.get(getModulesKey(pom, pl));
+      if (cached != null) {
+         for (final Map.Entry<File, String> readPom : cached.pomBlobIds.entrySet()) {
+            if (!readPom.getKey().exists() || !ParsedSourceCache.getBlobId(readPom.getKey()).equals(readPom.getValue())) {
+               return null;
+            }
+         }
+         return copy(cached.modules);
+      }
+      return null;
+   }
+
+   /**
+    * Caches the modules of the given pom and project list, which are valid as long as the read poms do not change.
+    */
+   public static void putModules(final File pom, final String pl, final ProjectModules modules, final Collection<File> readPoms) throws IOException {
+      final Map<File, String> pomBlobIds = new HashMap<>();
+      for (final File readPom : readPoms) {
+         pomBlobIds.put(readPom, ParsedSourceCache.getBlobId(readPom));
+      }
+      MODULES.put(getModulesKey(pom, pl), new CachedModules(copy(modules), pomBlobIds));
+   }
+
+   public static void clear() {
+      MODELS.clear();
+      MODULES.clear();
+   }
+
+   private static String getModulesKey(final File pom, final String pl) {
+      return pom.getAbsolutePath() + "#" + pl;
+   }
+
+   private static ProjectModules copy(final ProjectModules modules) {
+      final ProjectModules copy = new ProjectModules(new LinkedList<>(modules.getModules()));
+      copy.getArtifactIds().putAll(modules.getArtifactIds());
+      return copy;
+   }
+
+   private static final class CachedModel {
+      private final String blobId;
+      private final Model model;
+
+      public CachedModel(final String blobId, final Model model) {
+         this.blobId = blobId;
+         this.model = model;
+      }
+   }
+
+   private static final class CachedModules {
+      private final ProjectModules modules;
+      private final Map<File, String> pomBlobIds;
+
+      public CachedModules(final ProjectModules modules, final Map<File, String> pomBlobIds) {
+         this.modules = modules;
+         this.pomBlobIds = pomBlobIds;
+      }
+   }
+}
@@ -1,8 +1,6 @@
 package de.dagere.peass.execution.maven.pom;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 
@@ -10,8 +8,6 @@ import org.apache.maven.model.Build;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
-import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
@@ -23,11 +19,7 @@ public class SnapshotRemoveUtil {
 
    public static void cleanSnapshotDependencies(final File pomFile) {
       try {
-         final Model model;
-         try (FileInputStream inputStream = new FileInputStream(pomFile)) {
-            final MavenXpp3Reader reader = new MavenXpp3Reader();
-            model = reader.read(inputStream);
-         }
+         final Model model = PomModelCache.readModel(pomFile);
          Build build = model.getBuild();
          if (build == null) {
             build = new Build();
@@ -37,10 +29,7 @@ public class SnapshotRemoveUtil {
          removeDependencySnapshots(model);
          removePluginSnapshots(build);
          removePluginManagementSnapshots(build);
-         try (FileWriter fileWriter = new FileWriter(pomFile)) {
-            final MavenXpp3Writer writer = new MavenXpp3Writer();
-            writer.write(fileWriter, model);
-         }
+         PomModelCache.writeModel(pomFile, model);
       } catch (IOException | XmlPullParserException e) {
          e.printStackTrace();
       }
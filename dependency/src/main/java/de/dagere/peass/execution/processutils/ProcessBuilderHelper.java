@@ -32,10 +32,17 @@ public class ProcessBuilderHelper {
 
    public Process buildFolderProcess(final File currentFolder, final File logFile, final String[] vars) throws IOException {
       String[] envPropertyArray = env.getProperties().length() > 0 ? env.getProperties().split(" ") : new String[0];
-      final String[] varsWithProperties = CommandConcatenator.concatenateCommandArrays(vars, envPropertyArray);
-      LOG.debug("Command: {}", Arrays.toString(varsWithProperties));
+      return buildFolderProcessWithoutProperties(currentFolder, logFile, CommandConcatenator.concatenateCommandArrays(vars, envPropertyArray));
+   }
+
+   /**
+    * Builds the process without appending the properties of the environment variables, e.g. since they are already part of the JVM arguments of a plain java call.
+    */
+   public Process buildFolderProcessWithoutProperties(final File currentFolder, final File logFile, final String[] vars) throws IOException {
+      final String[] varsWithPinning = addCpuPinning(vars);
+      LOG.debug("Command: {}", Arrays.toString(varsWithPinning));
 
-      final ProcessBuilder pb = new ProcessBuilder(varsWithProperties);
+      final ProcessBuilder pb = new ProcessBuilder(varsWithPinning);
       overwriteEnvVars(pb);
 
       if (chosenIndex != -1) {
@@ -48,11 +55,23 @@ public class ProcessBuilderHelper {
          pb.redirectError(Redirect.appendTo(logFile));
       }
 
+      final long start = System.nanoTime();
       final Process process = pb.start();
+      if (EnvironmentVariables.isLinux()) {
+         ProcessResourceSampler.start(process, start);
+      }
       printPIDInfo(logFile);
       return process;
    }
 
+   private String[] addCpuPinning(final String[] command) {
+      if (env.getCpuSet() != null && EnvironmentVariables.isLinux()) {
+         return CommandConcatenator.concatenateCommandArrays(new String[] { "taskset", "-c", env.getCpuSet() }, command);
+      } else {
+         return command;
+      }
+   }
+
    private void overwriteEnvVars(final ProcessBuilder pb) {
       LOG.debug("KOPEME_HOME={}", folders.getTempMeasurementFolder().getAbsolutePath());
       pb.environment().put("KOPEME_HOME", folders.getTempMeasurementFolder().getAbsolutePath());
@@ -82,15 +101,20 @@ public class ProcessBuilderHelper {
       }
    }
 
-   public synchronized static int getProcessCount() {
-      int count = -1;
-      try {
-         final Process process = new ProcessBuilder(new String[] { "bash", "-c", "ps -e -T | wc -l" }).start();
-         final String result = StreamGobbler.getFullProcess(process, false).replaceAll("\n", "").replace("\r", "");
-         count = Integer.parseInt(result.trim());
-      } catch (IOException | NumberFormatException e) {
-
-         e.printStackTrace();
+   /**
+    * Returns the count of threads of all processes, like ps -e -T | wc -l, but read from /proc instead of starting a process; returns -1 if /proc is not available.
+    */
+   public static int getProcessCount() {
+      final File[] processFolders = new File("/proc").listFiles((dir, name) -> name.matches("[0-9]+"));
+      if (processFolders == null) {
+         return -1;
+      }
+      int count = 0;
+      for (final File processFolder : processFolders) {
+         final String[] tasks = new File(processFolder, "task").list();
+         if (tasks != null) {
+            count += tasks.length;
+         }
       }
       return count;
    }
@@ -0,0 +1,260 @@
+package de.dagere.peass.execution.processutils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Samples the resource usage of a process and its descendants from /proc until the process ends. Reading /proc does not start any process, so sampling is cheap compared to
+ * calling ps; the sampler thread is a daemon thread and does not need to be stopped. Only the files of the observed processes are read: the descendants are found by
+ * /proc/[pid]/task/[tid]/children, so on kernels without this file, only the process itself is observed.
+ *
+ * @author reichelt
+ *
+ */
+public class ProcessResourceSampler {
+
+   private static final Logger LOG = LogManager.getLogger(ProcessResourceSampler.class);
+
+   private static final long SAMPLE_INTERVAL_MILLIS = 200;
+
+   /**
+    * USER_HZ, which is 100 on all common Linux platforms; it can not be read without calling getconf.
+    */
+   private static final int CLOCK_TICKS_PER_SECOND = 100;
+
+   private static final String[] IO_KEYS = new String[] { "read_bytes", "write_bytes", "rchar", "wchar" };
+
+   /**
+    * Samplers whose telemetry has not been awaited yet; since a sampler releases its process when the process has ended, the entry is removed as soon as the process is not
+    * referenced anymore.
+    */
+   private static final Map<Process, ProcessResourceSampler> SAMPLERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+   private volatile Process process;
+   private final long pid;
+   private final File procFolder;
+   private final long start;
+   private final Thread thread;
+
+   /**
+    * Last sampled values of every observed process: CPU ticks followed by the values of {@link #IO_KEYS}; all of them are monotonic during the life of the process.
+    */
+   private final Map<Long, long[]> processValues = new HashMap<>();
+   private final Map<String, long[]> threadContextSwitches = new HashMap<>();
+   private long peakRss = 0;
+   private volatile ProcessTelemetry telemetry;
+
+   ProcessResourceSampler(final Process process, final long pid, final File procFolder, final long start) {
+      this.process = process;
+      this.pid = pid;
+      this.procFolder = procFolder;
+      this.start = start;
+      thread = new Thread(this::sampleUntilEnd, "process-sampler-" + pid);
+      thread.setDaemon(true);
+   }
+
+   /**
+    * Starts sampling the process, if it is running on Linux and its pid can be determined.
+    * 
+    * @param process Process that should be sampled
+    * @param start Value of {@link System#nanoTime()} before the process has been started, which is the start of the wall time
+    */
+   public static void start(final Process process, final long start) {
+      final File procFolder = new File("/proc");
+      final long pid = getPid(process);
+      if (pid != -1 && procFolder.isDirectory()) {
+         final ProcessResourceSampler sampler = new ProcessResourceSampler(process, pid, procFolder, start);
+         SAMPLERS.put(process, sampler);
+         sampler.thread.start();
+      }
+   }
+
+   /**
+    * Waits until the sampling of the finished process is done and returns its telemetry, or null if the process has not been sampled.
+    */
+   public static ProcessTelemetry awaitTelemetry(final Process process) throws InterruptedException {
+      final ProcessResourceSampler sampler = SAMPLERS.remove(process);
+      if (sampler == null) {
+         return null;
+      }
+      sampler.thread.join();
+      return sampler.telemetry;
+   }
+
+   static long getPid(final Process process) {
+      try {
+         final Method pidMethod = Process.class.getMethod("pid");
+         return (Long) pidMethod.invoke(process);
+      } catch (NoSuchMethodException e) {
+         try {
+            final Field pidField = process.getClass().getDeclaredField("pid");
+            pidField.setAccessible(true);
+            return pidField.getInt(process);
+         } catch (NoSuchFieldException | IllegalAccessException | RuntimeException e1) {
+            LOG.debug("Could not determine pid of {}", process);
+            return -1;
+         }
+      } catch (IllegalAccessException | InvocationTargetException | RuntimeException e) {
+         LOG.debug("Could not determine pid of {}", process);
+         return -1;
+      }
+   }
+
+   private void sampleUntilEnd() {
+      try {
+         do {
+            sample();
+         } while (!process.waitFor(SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS));
+      } catch (InterruptedException e) {
+         LOG.debug("Sampling of {} has been interrupted", pid);
+      }
+      process = null;
+      telemetry = createTelemetry();
+      LOG.debug("Process {} finished: {}", pid, telemetry);
+   }
+
+   void sample() {
+      long currentRss = 0;
+      for (final long treePid : getProcessTree()) {
+         final File processFolder = new File(procFolder, Long.toString(treePid));
+         final long[] values = processValues.computeIfAbsent(treePid, key -> new long[1 + IO_KEYS.length]);
+         final List<String> stat = readFile(new File(processFolder, "stat"));
+         if (!stat.isEmpty()) {
+            final String[] statFields = getStatFields(stat.get(0));
+            values[0] = Math.max(values[0], Long.parseLong(statFields[11]) + Long.parseLong(statFields[12]));
+         }
+         final Map<String, Long> status = readValues(new File(processFolder, "status"));
+         currentRss += status.getOrDefault("VmRSS", 0L);
+         peakRss = Math.max(peakRss, status.getOrDefault("VmHWM", 0L));
+
+         final Map<String, Long> io = readValues(new File(processFolder, "io"));
+         for (int i = 0; i < IO_KEYS.length; i++) {
+            values[i + 1] = Math.max(values[i + 1], io.getOrDefault(IO_KEYS[i], 0L));
+         }
+         sampleThreads(processFolder, treePid);
+      }
+      peakRss = Math.max(peakRss, currentRss);
+   }
+
+   private void sampleThreads(final File processFolder, final long treePid) {
+      final File[] tasks = new File(processFolder, "task").listFiles();
+      if (tasks != null) {
+         for (final File task : tasks) {
+            final Map<String, Long> status = readValues(new File(task, "status"));
+            final long[] switches = threadContextSwitches.computeIfAbsent(treePid + "/" + task.getName(), key -> new long[2]);
+            switches[0] = Math.max(switches[0], status.getOrDefault("voluntary_ctxt_switches", 0L));
+            switches[1] = Math.max(switches[1], status.getOrDefault("nonvoluntary_ctxt_switches", 0L));
+         }
+      }
+   }
+
+   /**
+    * Returns the pid of the process and of all its currently living descendants.
+    */
+   private List<Long> getProcessTree() {
+      final List<Long> tree = new LinkedList<>();
+      if (new File(procFolder, Long.toString(pid)).exists()) {
+         final Deque<Long> open = new ArrayDeque<>();
+         open.add(pid);
+         while (!open.isEmpty()) {
+            final long current = open.poll();
+            tree.add(current);
+            open.addAll(getChildren(current));
+         }
+      }
+      return tree;
+   }
+
+   /**
+    * Returns the children of all threads of the process as listed in /proc/[pid]/task/[tid]/children.
+    */
+   private List<Long> getChildren(final long parent) {
+      final List<Long> children = new LinkedList<>();
+      final File[] tasks = new File(procFolder, parent + File.separator + "task").listFiles();
+      if (tasks != null) {
+         for (final File task : tasks) {
+            for (final String line : readFile(new File(task, "children"))) {
+               for (final String child : line.trim().split("\\s+")) {
+                  if (!child.isEmpty()) {
+                     children.add(Long.parseLong(child));
+                  }
+               }
+            }
+         }
+      }
+      return children;
+   }
+
+   /**
+    * Returns the fields of /proc/[pid]/stat after the command name, i.e. starting with the state; since the command name may contain spaces and braces, it is skipped until the
+    * last closing brace.
+    */
+   static String[] getStatFields(final String statLine) {
+      return statLine.substring(statLine.lastIndexOf(')') + 2).split(" ");
+   }
+
+   /**
+    * Reads the numeric values of a "key: value [unit]" file like /proc/[pid]/status or /proc/[pid]/io
+    */
+   static Map<String, Long> readValues(final File file) {
+      final Map<String, Long> values = new HashMap<>();
+      for (final String line : readFile(file)) {
+         final int separator = line.indexOf(':');
+         if (separator != -1) {
+            final String[] value = line.substring(separator + 1).trim().split("\\s+");
+            if (value.length > 0 && value[0].matches("[0-9]+")) {
+               values.put(line.substring(0, separator), Long.parseLong(value[0]));
+            }
+         }
+      }
+      return values;
+   }
+
+   private static List<String> readFile(final File file) {
+      try {
+         return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+      } catch (IOException e) {
+         // Process ended or file is not readable
+         return Collections.emptyList();
+      }
+   }
+
+   ProcessTelemetry createTelemetry() {
+      final ProcessTelemetry result = new ProcessTelemetry();
+      result.setPid(pid);
+      result.setWallTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      long cpuTicks = 0;
+      for (final long[] values : processValues.values()) {
+         cpuTicks += values[0];
+         result.setReadBytes(result.getReadBytes() + values[1]);
+         result.setWriteBytes(result.getWriteBytes() + values[2]);
+         result.setReadChars(result.getReadChars() + values[3]);
+         result.setWriteChars(result.getWriteChars() + values[4]);
+      }
+      for (final long[] switches : threadContextSwitches.values()) {
+         result.setVoluntaryContextSwitches(result.getVoluntaryContextSwitches() + switches[0]);
+         result.setInvoluntaryContextSwitches(result.getInvoluntaryContextSwitches() + switches[1]);
+      }
+      result.setCpuTime(cpuTicks * 1000 / CLOCK_TICKS_PER_SECOND);
+      result.setPeakRss(peakRss);
+      result.setObservedProcesses(processValues.size());
+      return result;
+   }
+}
@@ -0,0 +1,137 @@
+package de.dagere.peass.execution.processutils;
+
+/**
+ * Resources used by a process and all its descendants (e.g. the test JVMs forked by the build tool), as sampled from /proc by {@link ProcessResourceSampler}. Since the
+ * values are sampled, processes living shorter than the sample interval may be missing.
+ *
+ * @author reichelt
+ *
+ */
+public class ProcessTelemetry {
+   private long pid;
+   private long wallTime;
+   private long cpuTime;
+   private long peakRss;
+   private long voluntaryContextSwitches;
+   private long involuntaryContextSwitches;
+   private long readBytes;
+   private long writeBytes;
+   private long readChars;
+   private long writeChars;
+   private int observedProcesses;
+
+   public long getPid() {
+      return pid;
+   }
+
+   public void setPid(final long pid) {
+      this.pid = pid;
+   }
+
+   /**
+    * @return Wall time between start and end of the process in milliseconds
+    */
+   public long getWallTime() {
+      return wallTime;
+   }
+
+   public void setWallTime(final long wallTime) {
+      this.wallTime = wallTime;
+   }
+
+   /**
+    * @return User and system CPU time in milliseconds
+    */
+   public long getCpuTime() {
+      return cpuTime;
+   }
+
+   public void setCpuTime(final long cpuTime) {
+      this.cpuTime = cpuTime;
+   }
+
+   /**
+    * @return Peak resident set size in kilobytes
+    */
+   public long getPeakRss() {
+      return peakRss;
+   }
+
+   public void setPeakRss(final long peakRss) {
+      this.peakRss = peakRss;
+   }
+
+   public long getVoluntaryContextSwitches() {
+      return voluntaryContextSwitches;
+   }
+
+   public void setVoluntaryContextSwitches(final long voluntaryContextSwitches) {
+      this.voluntaryContextSwitches = voluntaryContextSwitches;
+   }
+
+   public long getInvoluntaryContextSwitches() {
+      return involuntaryContextSwitches;
+   }
+
+   public void setInvoluntaryContextSwitches(final long involuntaryContextSwitches) {
+      this.involuntaryContextSwitches = involuntaryContextSwitches;
+   }
+
+   /**
+    * @return Bytes read from the storage layer
+    */
+   public long getReadBytes() {
+      return readBytes;
+   }
+
+   public void setReadBytes(final long readBytes) {
+      this.readBytes = readBytes;
+   }
+
+   /**
+    * @return Bytes written to the storage layer
+    */
+   public long getWriteBytes() {
+      return writeBytes;
+   }
+
+   public void setWriteBytes(final long writeBytes) {
+      this.writeBytes = writeBytes;
+   }
+
+   /**
+    * @return Bytes passed to read calls, including reads from the page cache, pipes and sockets
+    */
+   public long getReadChars() {
+      return readChars;
+   }
+
+   public void setReadChars(final long readChars) {
+      this.readChars = readChars;
+   }
+
+   /**
+    * @return Bytes passed to write calls, including writes to pipes and sockets
+    */
+   public long getWriteChars() {
+      return writeChars;
+   }
+
+   public void setWriteChars(final long writeChars) {
+      this.writeChars = writeChars;
+   }
+
+   public int getObservedProcesses() {
+      return observedProcesses;
+   }
+
+   public void setObservedProcesses(final int observedProcesses) {
+      this.observedProcesses = observedProcesses;
+   }
+
+   @Override
+   public String toString() {
+      return "pid=" + pid + " wallTime=" + wallTime + "ms cpuTime=" + cpuTime + "ms peakRss=" + peakRss + "kB contextSwitches=" + voluntaryContextSwitches + "/"
+            + involuntaryContextSwitches + " readBytes=" + readBytes + " writeBytes=" + writeBytes + " processes=" + observedProcesses;
+   }
+}
@@ -1,6 +1,8 @@
 package de.dagere.peass.execution.utils;
 
 import java.io.Serializable;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -10,8 +12,12 @@ public class EnvironmentVariables implements Serializable {
 
    private final Map<String, String> environmentVariables = new TreeMap<>();
 
+   private final List<String> mavenArguments = new LinkedList<>();
+
    private final String properties;
 
+   private String cpuSet;
+
    public EnvironmentVariables(final String properties) {
       this.properties = properties;
    }
@@ -20,14 +26,44 @@ public class EnvironmentVariables implements Serializable {
       properties = "";
    }
 
+   /**
+    * Copy constructor
+    * 
+    * @param other Environment variables to copy
+    */
+   public EnvironmentVariables(final EnvironmentVariables other) {
+      this.properties = other.properties;
+      this.environmentVariables.putAll(other.environmentVariables);
+      this.mavenArguments.addAll(other.mavenArguments);
+      this.cpuSet = other.cpuSet;
+   }
+
    public Map<String, String> getEnvironmentVariables() {
       return environmentVariables;
    }
 
+   /**
+    * Arguments that are passed to every maven call directly after the maven executable, e.g. the options of the maven daemon
+    */
+   public List<String> getMavenArguments() {
+      return mavenArguments;
+   }
+
    public String getProperties() {
       return properties;
    }
 
+   /**
+    * CPU set (in taskset list format, e.g. 0-3) the started processes should be pinned to, or null if they should not be pinned
+    */
+   public String getCpuSet() {
+      return cpuSet;
+   }
+
+   public void setCpuSet(final String cpuSet) {
+      this.cpuSet = cpuSet;
+   }
+
    public String fetchMavenCall() {
       String mvnCall;
       if (environmentVariables.containsKey("MVN_CMD")) {
@@ -40,6 +76,19 @@ public class EnvironmentVariables implements Serializable {
       return mvnCall;
    }
 
+   /**
+    * Returns the maven call followed by the maven arguments and the given parameters.
+    */
+   public String[] fetchMavenCommand(final String... parameters) {
+      final List<String> command = new LinkedList<>();
+      command.add(fetchMavenCall());
+      command.addAll(mavenArguments);
+      for (final String parameter : parameters) {
+         command.add(parameter);
+      }
+      return command.toArray(new String[0]);
+   }
+
    public static String fetchMavenCallGeneric() {
       String mvnCall;
       if (!isWindows()) {
@@ -1,7 +1,15 @@
 package de.dagere.peass.execution.utils;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,6 +33,7 @@ public abstract class KoPeMeExecutor extends TestExecutor {
 
    public void transformTests() {
       final List<File> modules = getModules().getModules();
+      testTransformer.setTransformationCacheFolder(folders.getTestTransformationCacheFolder());
       testTransformer.determineVersions(modules);
       testTransformer.transformTests();
    }
@@ -42,11 +51,17 @@ public abstract class KoPeMeExecutor extends TestExecutor {
 
    protected abstract void runTest(File moduleFolder, final File logFile, TestCase test, final String testname, final long timeout);
 
+   /**
+    * Runs all given tests of one module by one build tool call; the build tool needs to execute every test class in its own JVM.
+    */
+   protected abstract void runTests(File moduleFolder, final File logFile, List<TestCase> tests, final long timeout);
+
    protected void runMethod(final File logFolder, final TestCase test, final File moduleFolder, final long timeout) {
       try (final JUnitTestShortener shortener = new JUnitTestShortener(testTransformer, moduleFolder, test.toEntity(), test.getMethod())) {
          LOG.info("Cleaning...");
          final File cleanFile = getCleanLogFile(logFolder, test);
          clean(cleanFile);
+         prepareWeavingScope(Collections.singletonList(test));
 
          final File methodLogFile = getMethodLogFile(logFolder, test);
          runTest(moduleFolder, methodLogFile, test, test.getClazz(), timeout);
@@ -55,6 +70,96 @@ public abstract class KoPeMeExecutor extends TestExecutor {
       }
    }
 
+   /**
+    * Executes the given tests in batches of the configured test batch size. Since KoPeMe and Kieker write their results to folders named by test class and method, the results
+    * of every test of a batch end up in the folder of the test.
+    */
+   @Override
+   public void executeTests(final Collection<TestCase> tests, final File logFolder, final long timeout) {
+      final int batchSize = testTransformer.getConfig().getExecutionConfig().getTestBatchSize();
+      if (batchSize <= 1) {
+         super.executeTests(tests, logFolder, timeout);
+      } else {
+         final TestBatchSplitter splitter = new TestBatchSplitter(tests, batchSize);
+         while (splitter.hasNext()) {
+            final List<TestCase> batch = splitter.nextBatch();
+            if (batch.size() == 1) {
+               executeTest(batch.get(0), logFolder, timeout);
+            } else {
+               runBatch(logFolder, batch, splitter, timeout);
+            }
+         }
+      }
+   }
+
+   private void runBatch(final File logFolder, final List<TestCase> batch, final TestBatchSplitter splitter, final long timeout) {
+      final File moduleFolder = new File(folders.getProjectFolder(), batch.get(0).getModule());
+      final LinkedList<JUnitTestShortener> shorteners = new LinkedList<>();
+      try {
+         final List<TestCase> shortenedTests = shortenBatch(moduleFolder, batch, splitter, shorteners);
+         if (shortenedTests.isEmpty()) {
+            return;
+         }
+         LOG.info("Cleaning...");
+         final File cleanFile = getCleanLogFile(logFolder, shortenedTests.get(0));
+         clean(cleanFile);
+         prepareWeavingScope(shortenedTests);
+
+         LOG.info("Executing batch: {}", shortenedTests);
+         final File batchLogFile = getMethodLogFile(logFolder, shortenedTests.get(0));
+         final long batchTimeout = timeout > 0 ? timeout * shortenedTests.size() : timeout;
+         runTests(moduleFolder, batchLogFile, shortenedTests, batchTimeout);
+         copyBatchLog(logFolder, shortenedTests, batchLogFile);
+      } catch (Exception e1) {
+         e1.printStackTrace();
+      } finally {
+         // Shorteners are closed in reverse order, so every shortener restores the state it found
+         for (final JUnitTestShortener shortener : shorteners) {
+            try {
+               shortener.close();
+            } catch (Exception e) {
+               e.printStackTrace();
+            }
+         }
+      }
+   }
+
+   /**
+    * Shortens the test classes of the batch; tests whose shortened classes overlap with classes of tests that are already shortened (e.g. by a common superclass) are deferred.
+    */
+   private List<TestCase> shortenBatch(final File moduleFolder, final List<TestCase> batch, final TestBatchSplitter splitter, final LinkedList<JUnitTestShortener> shorteners)
+         throws Exception {
+      final List<TestCase> shortenedTests = new LinkedList<>();
+      final Set<File> shortenedFiles = new HashSet<>();
+      for (final TestCase test : batch) {
+         final JUnitTestShortener shortener;
+         try {
+            shortener = new JUnitTestShortener(testTransformer, moduleFolder, test.toEntity(), test.getMethod());
+         } catch (RuntimeException e) {
+            e.printStackTrace();
+            continue;
+         }
+         if (!Collections.disjoint(shortenedFiles, shortener.getShortenedFiles())) {
+            LOG.debug("{} shares shortened classes with other tests of the batch, executing it later", test);
+            shortener.close();
+            splitter.defer(test);
+         } else {
+            shorteners.addFirst(shortener);
+            shortenedFiles.addAll(shortener.getShortenedFiles());
+            shortenedTests.add(test);
+         }
+      }
+      return shortenedTests;
+   }
+
+   private void copyBatchLog(final File logFolder, final List<TestCase> tests, final File batchLogFile) throws IOException {
+      if (batchLogFile.exists()) {
+         for (final TestCase test : tests.subList(1, tests.size())) {
+            FileUtils.copyFile(batchLogFile, getMethodLogFile(logFolder, test));
+         }
+      }
+   }
+
    @Override
    public JUnitTestTransformer getTestTransformer() {
       return testTransformer;
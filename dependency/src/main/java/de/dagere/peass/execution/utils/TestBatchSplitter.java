@@ -0,0 +1,67 @@
+package de.dagere.peass.execution.utils;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import de.dagere.peass.dependency.analysis.data.TestCase;
+
+/**
+ * Splits tests into batches that can be executed by one build tool call. Since the test classes are shortened to the executed method, every batch contains at most one method
+ * of every test class; additionally, all tests of a batch belong to the same module and have the same parameters.
+ *
+ * @author reichelt
+ *
+ */
+public class TestBatchSplitter {
+
+   private final List<TestCase> openTests;
+   private final int batchSize;
+
+   public TestBatchSplitter(final Collection<TestCase> tests, final int batchSize) {
+      if (batchSize < 1) {
+         throw new RuntimeException("Batch size needs to be at least 1, but was " + batchSize);
+      }
+      this.openTests = new LinkedList<>(tests);
+      this.batchSize = batchSize;
+   }
+
+   public boolean hasNext() {
+      return !openTests.isEmpty();
+   }
+
+   /**
+    * Removes the next batch from the open tests and returns it.
+    */
+   public List<TestCase> nextBatch() {
+      final List<TestCase> batch = new LinkedList<>();
+      final Set<String> batchClasses = new HashSet<>();
+      final Iterator<TestCase> iterator = openTests.iterator();
+      final TestCase first = iterator.next();
+      iterator.remove();
+      batch.add(first);
+      batchClasses.add(first.getClazz());
+      while (iterator.hasNext() && batch.size() < batchSize) {
+         final TestCase candidate = iterator.next();
+         if (Objects.equals(first.getModule(), candidate.getModule())
+               && Objects.equals(first.getParams(), candidate.getParams())
+               && !batchClasses.contains(candidate.getClazz())) {
+            iterator.remove();
+            batch.add(candidate);
+            batchClasses.add(candidate.getClazz());
+         }
+      }
+      return batch;
+   }
+
+   /**
+    * Adds a test, that could not be executed in its batch, to the end of the open tests.
+    */
+   public void defer(final TestCase test) {
+      openTests.add(test);
+   }
+}
@@ -4,8 +4,11 @@ import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -16,12 +19,16 @@ import org.apache.logging.log4j.Logger;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import de.dagere.peass.config.ExecutionConfig;
+import de.dagere.peass.config.KiekerConfig;
 import de.dagere.peass.dependency.ClazzFileFinder;
 import de.dagere.peass.dependency.analysis.ModuleClassMapping;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.execution.kieker.KiekerEnvironmentPreparer;
+import de.dagere.peass.execution.processutils.ProcessResourceSampler;
+import de.dagere.peass.execution.processutils.ProcessTelemetry;
 import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.testtransformation.TestTransformer;
+import de.dagere.peass.utils.Constants;
 
 /**
  * Base functionality for executing performance tests, both instrumented and not instrumented. The executor automates changing the buildfile, changing the tests both with and
@@ -42,7 +49,10 @@ public abstract class TestExecutor {
    protected final TestTransformer testTransformer;
    protected List<String> existingClasses;
    protected Set<String> includedMethodPattern;
+   protected Map<TestCase, Set<String>> weavingScope;
    protected boolean isAndroid;
+   protected boolean buildOutputRestored = false;
+   protected String version;
 
    protected final EnvironmentVariables env;
 
@@ -60,10 +70,34 @@ public abstract class TestExecutor {
       return jdk_version;
    }
 
+   /**
+    * Sets whether the build output of the current version has been restored by {@link de.dagere.peass.vcs.GitUtils#switchVersion(String, File)}; in this case, it is not
+    * cleaned before executing tests, so the build tool only needs to compile incrementally.
+    */
+   public void setBuildOutputRestored(final boolean buildOutputRestored) {
+      this.buildOutputRestored = buildOutputRestored;
+   }
+
+   /**
+    * Sets the name of the version that is checked out in the project folder, so executors can cache data per version without asking the VCS again.
+    */
+   public void setVersion(final String version) {
+      this.version = version;
+   }
+
    public abstract void prepareKoPeMeExecution(File logFile) throws IOException, InterruptedException, XmlPullParserException;
 
    public abstract void executeTest(final TestCase test, final File logFolder, long timeout);
 
+   /**
+    * Executes all given tests; by default, every test is executed by its own build tool call.
+    */
+   public void executeTests(final Collection<TestCase> tests, final File logFolder, final long timeout) {
+      for (final TestCase test : tests) {
+         executeTest(test, logFolder, timeout);
+      }
+   }
+
    protected File getCleanLogFile(final File logFolder, final TestCase test) {
       File clazzLogFolder = getClazzLogFolder(logFolder, test);
       final File logFile = new File(clazzLogFolder, "clean" + File.separator + test.getMethodWithParams() + ".txt");
@@ -105,6 +139,33 @@ public abstract class TestExecutor {
       }
    }
 
+   /**
+    * Narrows the AspectJ weaving scope to the classes of the given tests, if a weaving scope is set and all tests are contained in it; otherwise, the aop.xml written by the
+    * preparation, which weaves all classes, is kept.
+    */
+   protected void prepareWeavingScope(final Collection<TestCase> tests) {
+      final KiekerConfig kiekerConfig = testTransformer.getConfig().getKiekerConfig();
+      if (weavingScope != null && kiekerConfig.isUseKieker() && (!kiekerConfig.isUseSourceInstrumentation() || kiekerConfig.isOnlyOneCallRecording())) {
+         final Set<String> clazzes = new HashSet<>();
+         for (final TestCase test : tests) {
+            final Set<String> testClazzes = weavingScope.get(test);
+            if (testClazzes == null) {
+               LOG.debug("No weaving scope for {}, weaving all classes", test);
+               clazzes.clear();
+               break;
+            }
+            clazzes.addAll(testClazzes);
+         }
+         final KiekerEnvironmentPreparer kiekerEnvironmentPreparer = new KiekerEnvironmentPreparer(includedMethodPattern, existingClasses, folders, testTransformer,
+               getModules().getModules());
+         if (clazzes.isEmpty()) {
+            kiekerEnvironmentPreparer.resetWeavingScope();
+         } else {
+            kiekerEnvironmentPreparer.narrowWeavingScope(clazzes);
+         }
+      }
+   }
+
    private final List<String> aborted = new LinkedList<>();
 
    protected void execute(final String testname, final long timeoutInSeconds, final Process process) throws InterruptedException, IOException {
@@ -123,6 +184,20 @@ public abstract class TestExecutor {
       } else {
          throw new RuntimeException("Illegal timeout: " + timeoutInSeconds);
       }
+      saveTelemetry(testname, process);
+   }
+
+   /**
+    * Writes the resources used by the test process to the KOPEME_HOME, so they can be stored next to the KoPeMe results.
+    */
+   private void saveTelemetry(final String testname, final Process process) throws InterruptedException, IOException {
+      final ProcessTelemetry telemetry = ProcessResourceSampler.awaitTelemetry(process);
+      if (telemetry != null) {
+         LOG.debug("Resources used by {}: {}", testname, telemetry);
+         final File telemetryFile = folders.getTempTelemetryFile();
+         telemetryFile.getParentFile().mkdirs();
+         Constants.OBJECTMAPPER.writeValue(telemetryFile, telemetry);
+      }
    }
 
    /**
@@ -190,6 +265,29 @@ public abstract class TestExecutor {
       this.includedMethodPattern = includedMethodPattern;
    }
 
+   public Set<String> getIncludedMethods() {
+      return includedMethodPattern;
+   }
+
+   /**
+    * Sets the classes that should be woven for every test; if null, all existing classes are woven.
+    */
+   public void setWeavingScope(final Map<TestCase, Set<String>> weavingScope) {
+      this.weavingScope = weavingScope;
+   }
+
+   public Map<TestCase, Set<String>> getWeavingScope() {
+      return weavingScope;
+   }
+
+   public void setExistingClasses(final List<String> existingClasses) {
+      this.existingClasses = existingClasses;
+   }
+
+   public EnvironmentVariables getEnv() {
+      return env;
+   }
+
    public TestTransformer getTestTransformer() {
       return testTransformer;
    }
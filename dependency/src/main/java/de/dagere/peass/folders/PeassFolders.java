@@ -43,6 +43,7 @@ public class PeassFolders {
 
    protected final File peassFolder;
    private final String projectName;
+   private WorkspacePool workspacePool;
 
    public static File getPeassFolder(final File projectFolder) {
       File peassFolder = new File(projectFolder, ".." + File.separator + projectFolder.getName() + PEASS_POSTFIX);
@@ -178,6 +179,13 @@ public class PeassFolders {
       return tempResultFolder;
    }
 
+   /**
+    * File containing the resources used by the last test process, which is moved to the result folder together with the KoPeMe results.
+    */
+   public File getTempTelemetryFile() {
+      return new File(tempResultFolder, "processTelemetry.json");
+   }
+
    /**
     * Searches in subfolders for a clazz folder (necessary, since submodules may have arbitraty depth)
     * 
@@ -241,6 +249,12 @@ public class PeassFolders {
       return destFile;
    }
 
+   public File getTelemetryFile(final TestCase testcase, final int vmid, final String version, final String mainVersion) {
+      final File compareVersionFolder = getFullResultFolder(testcase, mainVersion, version);
+      final String xmlFileName = getXMLFileName(testcase, version, vmid);
+      return new File(compareVersionFolder, xmlFileName.substring(0, xmlFileName.length() - ".xml".length()) + "_telemetry.json");
+   }
+
    public static String getRelativeFullResultPath(final TestCase testcase, final String mainVersion, final String version, final int vmid) {
       String filename = getXMLFileName(testcase, version, vmid);
       String start = testcase.getClazz() + File.separator + mainVersion + File.separator + version + File.separator + filename;
@@ -264,6 +278,34 @@ public class PeassFolders {
       return tempProjectFolder;
    }
 
+   /**
+    * Folder containing the classpaths and compiled classes of already built versions, which are used for starting measurement VMs without the build tool.
+    */
+   public File getClasspathCacheFolder() {
+      return new File(peassFolder, "classpathCache");
+   }
+
+   /**
+    * Folder containing the source files instrumented by Kieker source instrumentation, addressed by the hash of the original file and the instrumentation configuration.
+    */
+   public File getInstrumentationCacheFolder() {
+      return new File(peassFolder, "instrumentationCache");
+   }
+
+   /**
+    * Folder containing the transformed test files, addressed by the hash of the original file and the transformation configuration.
+    */
+   public File getTestTransformationCacheFolder() {
+      return new File(peassFolder, "testTransformationCache");
+   }
+
+   /**
+    * Folder containing the registry and logs of the maven daemons of this project folder
+    */
+   public File getMavenDaemonFolder() {
+      return new File(peassFolder, "mvnd");
+   }
+
    public File getKiekerTempFolder() {
       if (!kiekerTemp.exists()) {
          kiekerTemp.mkdir();
@@ -288,6 +330,16 @@ public class PeassFolders {
       return folders;
    }
 
+   /**
+    * Returns the pool of project copies for parallel execution; the copies are kept in the workspaces folder and reused by later runs.
+    */
+   public synchronized WorkspacePool getWorkspacePool() {
+      if (workspacePool == null) {
+         workspacePool = new WorkspacePool(this, logFolders, new File(peassFolder, "workspaces"));
+      }
+      return workspacePool;
+   }
+
    public VersionControlSystem getVCS() {
       return vcs;
    }
@@ -54,6 +54,17 @@ public class ResultsFolders {
       return new File(resultFolder, "coverageInfo_" + projectName + ".json");
    }
 
+   public File getSelectionJournalFile() {
+      return new File(resultFolder, "selectionJournal_" + projectName + ".jsonl");
+   }
+
+   /**
+    * Folder of the {@link de.dagere.peass.dependency.changesreading.ParsedSourceCache}; since the cache is keyed by file content, it may be shared by all versions of a project.
+    */
+   public File getParsedSourceCacheFolder() {
+      return new File(resultFolder, "parsedSourceCache");
+   }
+
    public File getStatisticsFile() {
       return new File(resultFolder, "statistics.json");
    }
@@ -5,10 +5,16 @@ import java.io.File;
 public class TempPeassFolders extends PeassFolders {
 
    private final VMExecutionLogFolders parentLogFolders;
+   private final PeassFolders parentFolders;
    
    public TempPeassFolders(final File folder, final String name, final VMExecutionLogFolders parentLogFolders) {
+      this(folder, name, parentLogFolders, null);
+   }
+
+   public TempPeassFolders(final File folder, final String name, final VMExecutionLogFolders parentLogFolders, final PeassFolders parentFolders) {
       super(folder, name);
       this.parentLogFolders = parentLogFolders;
+      this.parentFolders = parentFolders;
    }
    
    @Override
@@ -31,4 +37,27 @@ public class TempPeassFolders extends PeassFolders {
       return parentLogFolders.getRCALogFolder();
    }
 
+   /**
+    * Since temporary folders are deleted before they are reused, the caches of the parent folder are used.
+    */
+   @Override
+   public File getClasspathCacheFolder() {
+      return parentFolders != null ? parentFolders.getClasspathCacheFolder() : super.getClasspathCacheFolder();
+   }
+
+   @Override
+   public File getInstrumentationCacheFolder() {
+      return parentFolders != null ? parentFolders.getInstrumentationCacheFolder() : super.getInstrumentationCacheFolder();
+   }
+
+   @Override
+   public File getTestTransformationCacheFolder() {
+      return parentFolders != null ? parentFolders.getTestTransformationCacheFolder() : super.getTestTransformationCacheFolder();
+   }
+
+   @Override
+   public WorkspacePool getWorkspacePool() {
+      return parentFolders != null ? parentFolders.getWorkspacePool() : super.getWorkspacePool();
+   }
+
 }
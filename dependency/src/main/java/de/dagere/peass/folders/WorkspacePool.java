@@ -0,0 +1,231 @@
+package de.dagere.peass.folders;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.vcs.GitUtils;
+
+/**
+ * Pool of project copies for parallel readers and measurements. The copies are linked git worktrees of the project, so they share its object database, and they are kept
+ * after their usage and after the end of the run, so they can be reused by later leases and runs. A lease for a version prefers the copy which has been used for this version
+ * before, since its build output can be reused.
+ *
+ * Since other runs or pools may use the same pool folder, every lease holds a file lock on the lease file of its workspace; workspaces which are locked by others are skipped.
+ *
+ * @author reichelt
+ *
+ */
+public class WorkspacePool {
+
+   private static final Logger LOG = LogManager.getLogger(WorkspacePool.class);
+
+   private static final String WORKSPACE_PREFIX = "workspace_";
+   private static final String LEASE_FILE_ENDING = ".lease";
+
+   /**
+    * Folders of the temporary peass folder of a workspace which are not removed before a lease, since their content is valid for every lease: the stashed build outputs and the
+    * registry of the running maven daemons
+    */
+   private static final Set<String> KEPT_PEASS_FOLDERS = new HashSet<>(Arrays.asList("buildOutputs", "mvnd"));
+
+   private final PeassFolders parentFolders;
+   private final VMExecutionLogFolders logFolders;
+   private final File poolFolder;
+
+   private final List<Workspace> freeWorkspaces = new LinkedList<>();
+   private final Map<PeassFolders, Workspace> leasedWorkspaces = new IdentityHashMap<>();
+   private int nextIndex = 1;
+
+   public WorkspacePool(final PeassFolders parentFolders, final VMExecutionLogFolders logFolders, final File poolFolder) {
+      this.parentFolders = parentFolders;
+      this.logFolders = logFolders;
+      this.poolFolder = poolFolder;
+      loadExistingWorkspaces();
+   }
+
+   private void loadExistingWorkspaces() {
+      final File[] candidates = poolFolder.listFiles(file -> file.isDirectory() && file.getName().startsWith(WORKSPACE_PREFIX)
+            && !file.getName().endsWith(PeassFolders.PEASS_POSTFIX));
+      if (candidates != null) {
+         for (File candidate : candidates) {
+            try {
+               final int index = Integer.parseInt(candidate.getName().substring(WORKSPACE_PREFIX.length()));
+               nextIndex = Math.max(nextIndex, index + 1);
+               final Workspace workspace = new Workspace(candidate);
+               if (GitUtils.isWorktreeOf(candidate, parentFolders.getProjectFolder())) {
+                  freeWorkspaces.add(workspace);
+               } else if (workspace.tryLock()) {
+                  LOG.info("Removing {}, since it is no worktree of {}", candidate, parentFolders.getProjectFolder());
+                  FileUtils.deleteDirectory(candidate);
+                  workspace.unlock();
+               }
+            } catch (NumberFormatException e) {
+               LOG.debug("Ignoring {}", candidate);
+            } catch (IOException | InterruptedException e) {
+               throw new RuntimeException(e);
+            }
+         }
+      }
+      LOG.debug("Loaded {} existing workspaces from {}", freeWorkspaces.size(), poolFolder);
+   }
+
+   /**
+    * Leases a project copy for the given version; the copy is not checked out to the version, this still needs to be done by the caller.
+    *
+    * @param version Version that will be used in the workspace, or null if it is not known
+    * @return Folders of the leased workspace, which need to be given back by {@link #giveBack(PeassFolders)}
+    */
+   public synchronized PeassFolders lease(final String version) throws IOException, InterruptedException {
+      Workspace workspace = takeFreeWorkspace(version);
+      if (workspace == null) {
+         workspace = createWorkspace();
+      }
+      workspace.version = version;
+      cleanTemporaryPeassFolder(workspace.folder);
+      final PeassFolders folders = new TempPeassFolders(workspace.folder, parentFolders.getProjectName(), logFolders, parentFolders);
+      leasedWorkspaces.put(folders, workspace);
+      LOG.debug("Leased {} for version {}", workspace.folder, version);
+      return folders;
+   }
+
+   /**
+    * Takes a free workspace which can be locked, preferring the workspace of the given version.
+    */
+   private Workspace takeFreeWorkspace(final String version) throws IOException {
+      if (version != null) {
+         for (Iterator<Workspace> iterator = freeWorkspaces.iterator(); iterator.hasNext();) {
+            final Workspace workspace = iterator.next();
+            if (version.equals(workspace.version) && workspace.tryLock()) {
+               iterator.remove();
+               return workspace;
+            }
+         }
+      }
+      for (Iterator<Workspace> iterator = freeWorkspaces.iterator(); iterator.hasNext();) {
+         final Workspace workspace = iterator.next();
+         if (workspace.tryLock()) {
+            iterator.remove();
+            return workspace;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Creates a workspace with the next index whose lease file can be locked; if another run has created the workspace in the meantime and does not use it, it is reused.
+    */
+   private Workspace createWorkspace() throws IOException, InterruptedException {
+      poolFolder.mkdirs();
+      while (true) {
+         final Workspace workspace = new Workspace(new File(poolFolder, WORKSPACE_PREFIX + nextIndex++));
+         if (workspace.tryLock()) {
+            final File folder = workspace.folder;
+            if (folder.exists() && GitUtils.isWorktreeOf(folder, parentFolders.getProjectFolder())) {
+               LOG.debug("Using {}, which has been created by another run", folder);
+               return workspace;
+            }
+            if (folder.exists()) {
+               FileUtils.deleteDirectory(folder);
+            }
+            if (!GitUtils.addWorktree(parentFolders.getProjectFolder(), folder)) {
+               GitUtils.clone(parentFolders, folder);
+            }
+            return workspace;
+         }
+      }
+   }
+
+   /**
+    * Removes the temporary data of the previous lease of the workspace, e.g. measurement results, while keeping the data that is valid for every lease.
+    */
+   private void cleanTemporaryPeassFolder(final File workspaceFolder) throws IOException {
+      final File peassFolder = new File(poolFolder, workspaceFolder.getName() + PeassFolders.PEASS_POSTFIX);
+      final File[] children = peassFolder.listFiles();
+      if (children != null) {
+         for (File child : children) {
+            if (!KEPT_PEASS_FOLDERS.contains(child.getName())) {
+               FileUtils.forceDelete(child);
+            }
+         }
+      }
+   }
+
+   public synchronized void giveBack(final PeassFolders folders) {
+      final Workspace workspace = leasedWorkspaces.remove(folders);
+      if (workspace == null) {
+         throw new RuntimeException("Folders " + folders.getProjectFolder() + " have not been leased from this pool");
+      }
+      workspace.unlock();
+      freeWorkspaces.add(workspace);
+      LOG.debug("Got back {}", workspace.folder);
+   }
+
+   /**
+    * @return Count of all workspaces, leased or not
+    */
+   public synchronized int getSize() {
+      return freeWorkspaces.size() + leasedWorkspaces.size();
+   }
+
+   private static final class Workspace {
+      private final File folder;
+      private String version;
+      private FileChannel leaseChannel;
+      private FileLock lease;
+
+      public Workspace(final File folder) {
+         this.folder = folder;
+      }
+
+      /**
+       * Locks the lease file of the workspace.
+       *
+       * @return Whether the lock has been acquired; if not, the workspace is leased by another run or pool
+       */
+      public boolean tryLock() throws IOException {
+         final File leaseFile = new File(folder.getParentFile(), folder.getName() + LEASE_FILE_ENDING);
+         final FileChannel channel = FileChannel.open(leaseFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+         FileLock lock;
+         try {
+            lock = channel.tryLock();
+         } catch (OverlappingFileLockException e) {
+            lock = null;
+         }
+         if (lock == null) {
+            LOG.debug("{} is leased by another run", folder);
+            channel.close();
+            return false;
+         }
+         leaseChannel = channel;
+         lease = lock;
+         return true;
+      }
+
+      public void unlock() {
+         try {
+            lease.release();
+            leaseChannel.close();
+         } catch (IOException e) {
+            LOG.warn("Could not release lease of {}: {}", folder, e.getMessage());
+         }
+         lease = null;
+         leaseChannel = null;
+      }
+   }
+}
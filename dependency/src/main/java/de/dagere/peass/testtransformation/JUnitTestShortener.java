@@ -5,15 +5,16 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -30,8 +31,17 @@ import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import de.dagere.peass.dependency.ClazzFileFinder;
 import de.dagere.peass.dependency.analysis.data.ChangedEntity;
 import de.dagere.peass.dependency.changesreading.ClazzFinder;
-import de.dagere.peass.dependency.changesreading.JavaParserProvider;
+import de.dagere.peass.dependency.changesreading.ParsedSourceCache;
+import de.dagere.peass.testtransformation.ShortenedTestVariants.ShortenedFile;
 
+/**
+ * Shortens a test class (and its superclasses), so only the given test method is executed, and restores the unshortened files on closing. The shortened files are created once
+ * from copies of the loaded compilation units and kept by the transformer and in its transformation cache folder, so shortening the same test again, also by the transformer of
+ * another VM, only swaps files: The unshortened files are moved away and back by renames and the shortened content is written.
+ *
+ * @author reichelt
+ *
+ */
 public class JUnitTestShortener implements AutoCloseable {
 
    private static final Logger LOG = LogManager.getLogger(JUnitTestShortener.class);
@@ -41,9 +51,15 @@ public class JUnitTestShortener implements AutoCloseable {
    private final ChangedEntity callee;
    private final String method;
 
-   private final Map<File, File> lastShortenedMap = new HashMap<>();
+   private final Map<File, File> lastShortenedMap = new LinkedHashMap<>();
    private final Set<File> superclasses = new HashSet<>();
 
+   /**
+    * Units of the files that are shortened while creating the shortened files; they are copies of the loaded units, which stay unchanged.
+    */
+   private final Map<File, CompilationUnit> shortenedUnits = new LinkedHashMap<>();
+   private final Set<File> visitedFiles = new HashSet<>();
+
    public JUnitTestShortener(final JUnitTestTransformer transformer, final File module, final ChangedEntity callee, final String method) {
       this.transformer = transformer;
       this.module = module;
@@ -60,16 +76,18 @@ public class JUnitTestShortener implements AutoCloseable {
       final File calleeClazzFile = finder.getClazzFile(module, callee);
       if (calleeClazzFile != null) {
          try {
-
-            shortenTestClazz(callee, calleeClazzFile);
-
-            for (final File superclass : superclasses) {
-               if (!lastShortenedMap.containsValue(superclass)) {
-                  // A rather dirty hack..
-                  final ChangedEntity callee = new ChangedEntity(superclass.getName().replaceAll(".java", ""), this.callee.getModule());
-                  LOG.debug("Shortening: " + callee);
-                  shortenTestClazz(callee, superclass);
-               }
+            final ShortenedTestVariants variants = transformer.getShortenedTestVariants();
+            final String testKey = variants.getRelativePath(module) + "#" + callee + "#" + method;
+            final String calleeBlobId = ParsedSourceCache.getBlobId(calleeClazzFile);
+            List<ShortenedFile> shortenedFiles = variants.getVariant(testKey, calleeBlobId);
+            if (shortenedFiles == null) {
+               shortenedFiles = createShortenedFiles(calleeClazzFile);
+               variants.putVariant(testKey, calleeBlobId, shortenedFiles);
+            } else {
+               LOG.debug("Reusing shortened files of {}", testKey);
+            }
+            for (final ShortenedFile shortenedFile : shortenedFiles) {
+               swapIn(variants.getFile(shortenedFile), shortenedFile);
             }
          } catch (final IOException e1) {
             e1.printStackTrace();
@@ -79,13 +97,34 @@ public class JUnitTestShortener implements AutoCloseable {
       }
    }
 
+   private List<ShortenedFile> createShortenedFiles(final File calleeClazzFile) throws IOException {
+      shortenTestClazz(callee, calleeClazzFile);
+
+      for (final File superclass : superclasses) {
+         if (!visitedFiles.contains(superclass)) {
+            // A rather dirty hack..
+            final ChangedEntity callee = new ChangedEntity(superclass.getName().replaceAll(".java", ""), this.callee.getModule());
+            LOG.debug("Shortening: " + callee);
+            shortenTestClazz(callee, superclass);
+         }
+      }
+
+      final List<ShortenedFile> shortenedFiles = new LinkedList<>();
+      for (final Map.Entry<File, CompilationUnit> shortenedUnit : shortenedUnits.entrySet()) {
+         final File file = shortenedUnit.getKey();
+         final String path = transformer.getShortenedTestVariants().getRelativePath(file);
+         shortenedFiles.add(new ShortenedFile(path, ParsedSourceCache.getBlobId(file), shortenedUnit.getValue().toString()));
+      }
+      return shortenedFiles;
+   }
+
    private void shortenTestClazz(final ChangedEntity callee, final File calleeClazzFile) throws IOException {
       final int version = transformer.getVersion(calleeClazzFile);
 
       if (version != 0) {
-         saveUnshortened(calleeClazzFile);
+         visitedFiles.add(calleeClazzFile);
 
-         final CompilationUnit calleeUnit = transformer.getLoadedFiles().get(calleeClazzFile);
+         final CompilationUnit calleeUnit = getShortenedUnit(calleeClazzFile);
          final TypeDeclaration<?> clazz = ClazzFinder.findClazz(callee, calleeUnit.getChildNodes());
 
          // The clazz might be null, if it is
@@ -93,16 +132,32 @@ public class JUnitTestShortener implements AutoCloseable {
             shortenParent(module, callee, calleeClazzFile, calleeUnit, (ClassOrInterfaceDeclaration) clazz);
             removeNonWanted(method, version, (ClassOrInterfaceDeclaration) clazz);
 
-            FileUtils.writeStringToFile(calleeClazzFile, calleeUnit.toString(), Charset.defaultCharset());
+            shortenedUnits.put(calleeClazzFile, calleeUnit);
          }
 
       }
    }
 
-   private void saveUnshortened(final File calleeClazzFile) throws IOException {
-      final File tempFile = Files.createTempFile("Temp", ".java").toFile();
-      FileUtils.copyFile(calleeClazzFile, tempFile);
-      lastShortenedMap.put(tempFile, calleeClazzFile);
+   private CompilationUnit getShortenedUnit(final File calleeClazzFile) {
+      CompilationUnit unit = shortenedUnits.get(calleeClazzFile);
+      if (unit == null) {
+         unit = transformer.getLoadedUnit(calleeClazzFile).clone();
+      }
+      return unit;
+   }
+
+   /**
+    * Moves the unshortened file to a temporary file and writes the shortened content instead. The temporary files are created next to the destination file, so both moves are
+    * atomic renames within the same file system; their ending is not .java, so they are not compiled.
+    */
+   private void swapIn(final File destFile, final ShortenedFile shortenedFile) throws IOException {
+      final Path folder = destFile.getParentFile().toPath();
+      final Path shortenedTempFile = Files.createTempFile(folder, destFile.getName(), ".shortened");
+      Files.write(shortenedTempFile, shortenedFile.getContent().getBytes(Charset.defaultCharset()));
+      final File tempFile = Files.createTempFile(folder, destFile.getName(), ".tmp").toFile();
+      Files.move(destFile.toPath(), tempFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      lastShortenedMap.put(tempFile, destFile);
+      Files.move(shortenedTempFile, destFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
    }
 
    public void shortenParent(final File module, final ChangedEntity callee, final File calleeClazzFile, final CompilationUnit calleeUnit, final ClassOrInterfaceDeclaration clazz)
@@ -212,18 +267,16 @@ public class JUnitTestShortener implements AutoCloseable {
       return fqn;
    }
 
+   /**
+    * Moves the unshortened files back; since the shortened files have been created from copies, the loaded units are still the units of the unshortened files.
+    */
    private void resetShortenedFile() {
       if (lastShortenedMap != null) {
          for (final Map.Entry<File, File> shortened : lastShortenedMap.entrySet()) {
             try {
                final File destFile = shortened.getValue();
-               destFile.delete();
                LOG.debug("File to reset: {} Exists: {} Parent exists: {}", destFile, destFile.exists(), destFile.getParentFile().exists());
-               Path dest = destFile.toPath();
-               Path source = shortened.getKey().toPath();
-               Files.move(source, dest);
-               final CompilationUnit unit = JavaParserProvider.parse(destFile);
-               transformer.getLoadedFiles().put(destFile, unit);
+               Files.move(shortened.getKey().toPath(), destFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
             } catch (final IOException e) {
                e.printStackTrace();
             }
@@ -232,6 +285,13 @@ public class JUnitTestShortener implements AutoCloseable {
       }
    }
 
+   /**
+    * Returns the source files that have been changed by this shortener.
+    */
+   public Collection<File> getShortenedFiles() {
+      return lastShortenedMap.values();
+   }
+
    @Override
    public void close() throws Exception {
       resetShortenedFile();
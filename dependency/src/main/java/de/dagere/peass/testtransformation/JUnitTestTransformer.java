@@ -24,6 +24,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +38,7 @@ import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.ImportDeclaration;
@@ -63,7 +66,11 @@ import de.dagere.peass.dependency.analysis.ModuleClassMapping;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.dependency.analysis.data.TestSet;
 import de.dagere.peass.dependency.changesreading.JavaParserProvider;
+import de.dagere.peass.dependency.changesreading.ParsedSourceCache;
+import de.dagere.peass.dependency.traces.TraceHashes;
 import de.dagere.peass.execution.utils.ProjectModules;
+import de.dagere.peass.testtransformation.TestTransformationCache.TestFileInfo;
+import de.dagere.peass.utils.Constants;
 
 /**
  * Transforms JUnit-Tests to performance tests.
@@ -83,6 +90,8 @@ public class JUnitTestTransformer implements TestTransformer {
    private Map<String, List<File>> extensions = null;
 
    private final JavaParser javaParser = new JavaParser();
+   private TestTransformationCache transformationCache;
+   private ShortenedTestVariants shortenedTestVariants;
 
    /**
     * Initializes TestTransformer with folder.
@@ -93,6 +102,7 @@ public class JUnitTestTransformer implements TestTransformer {
       LOG.debug("Test transformer for {} created", projectFolder);
       this.projectFolder = projectFolder;
       this.config = config;
+      shortenedTestVariants = new ShortenedTestVariants(projectFolder);
       datacollectorlist = config.isUseGC() ? DataCollectorList.ONLYTIME : DataCollectorList.ONLYTIME_NOGC;
    }
 
@@ -104,6 +114,7 @@ public class JUnitTestTransformer implements TestTransformer {
     */
    public JUnitTestTransformer(final File projectFolder, final ExecutionConfig executionConfig, final KiekerConfig kiekerConfig) {
       this.projectFolder = projectFolder;
+      shortenedTestVariants = new ShortenedTestVariants(projectFolder);
       config = new MeasurementConfig(1, executionConfig, kiekerConfig);
       config.setIterations(1);
       config.setWarmup(0);
@@ -114,11 +125,45 @@ public class JUnitTestTransformer implements TestTransformer {
    }
 
    private Map<File, CompilationUnit> loadedFiles;
+   private Set<File> testFiles;
 
+   /**
+    * Returns the already parsed test files; files that have not been parsed yet, e.g. since they have been restored from the transformation cache, are missing, so
+    * {@link #getLoadedUnit(File)} should be used for reading units.
+    */
    public Map<File, CompilationUnit> getLoadedFiles() {
       return loadedFiles;
    }
 
+   /**
+    * Returns the compilation unit of the given test file, which is parsed if it has not been parsed yet; if the file is no file of the test folders, null is returned.
+    */
+   public CompilationUnit getLoadedUnit(final File javaFile) {
+      CompilationUnit unit = loadedFiles.get(javaFile);
+      if (unit == null && testFiles.contains(javaFile)) {
+         try {
+            unit = JavaParserProvider.parse(javaFile);
+         } catch (FileNotFoundException e) {
+            throw new RuntimeException(e);
+         }
+         loadedFiles.put(javaFile, unit);
+      }
+      return unit;
+   }
+
+   ShortenedTestVariants getShortenedTestVariants() {
+      return shortenedTestVariants;
+   }
+
+   /**
+    * Sets the folder for caching the information about test files, the transformed test files and the shortened test files; if it is null (the default), all test files are
+    * parsed and transformed, and shortened test files are only kept by this transformer.
+    */
+   public void setTransformationCacheFolder(final File transformationCacheFolder) {
+      transformationCache = transformationCacheFolder != null ? new TestTransformationCache(transformationCacheFolder) : null;
+      shortenedTestVariants.setCacheFolder(transformationCacheFolder);
+   }
+
    private Map<File, Integer> junitVersions;
 
    @Override
@@ -128,8 +173,7 @@ public class JUnitTestTransformer implements TestTransformer {
    }
 
    public void determineVersionsForPaths(final List<File> modules, final String... testPaths) {
-      loadedFiles = new HashMap<>();
-      junitVersions = new HashMap<>();
+      resetVersions();
 
       for (final File module : modules) {
          for (String testPath : testPaths) {
@@ -143,6 +187,25 @@ public class JUnitTestTransformer implements TestTransformer {
       }
    }
 
+   /**
+    * Determines the JUnit versions like {@link #determineVersions(List)}, but from the given information about the test files instead of reading the test folders, so the test
+    * files do not need to be present, e.g. if they are read from the repository.
+    * 
+    * @param testFolderInfos Information about the test files, one map per test folder
+    */
+   public void determineVersionsFromInfos(final List<Map<File, TestFileInfo>> testFolderInfos) {
+      resetVersions();
+      for (Map<File, TestFileInfo> testFolderInfo : testFolderInfos) {
+         determineVersions(testFolderInfo);
+      }
+   }
+
+   private void resetVersions() {
+      loadedFiles = new HashMap<>();
+      testFiles = new HashSet<>();
+      junitVersions = new HashMap<>();
+   }
+
    public Map<File, Integer> getJunitVersions() {
       return junitVersions;
    }
@@ -214,16 +277,67 @@ public class JUnitTestTransformer implements TestTransformer {
       LOG.trace("Searching: {}", projectFolder);
 
       LOG.debug("JUnit Versions Determined: {}", junitVersions.size());
+      final String configurationKey = transformationCache != null ? getConfigurationKey() : null;
+      int restoredFiles = 0;
       for (final Map.Entry<File, Integer> fileVersionEntry : junitVersions.entrySet()) {
-         LOG.debug("Editing test file: {} {}", fileVersionEntry.getKey(), fileVersionEntry.getValue()); // TODO change to trace
-         if (fileVersionEntry.getValue() == 3) {
-            editJUnit3(fileVersionEntry.getKey());
-         } else if (fileVersionEntry.getValue() == 4 || fileVersionEntry.getValue() == 34) {
-            editJUnit4(fileVersionEntry.getKey());
-         } else if (fileVersionEntry.getValue() == 5) {
-            editJUnit5(fileVersionEntry.getKey());
+         final File testFile = fileVersionEntry.getKey();
+         final int junitVersion = fileVersionEntry.getValue();
+         if (transformationCache != null) {
+            try {
+               final String blobId = ParsedSourceCache.getBlobId(testFile);
+               if (transformationCache.restoreTransformed(testFile, blobId, junitVersion, configurationKey)) {
+                  // The unit of the original file is outdated, the transformed file is parsed if it is needed
+                  loadedFiles.remove(testFile);
+                  restoredFiles++;
+               } else {
+                  editTestFile(testFile, junitVersion);
+                  transformationCache.storeTransformed(testFile, blobId, junitVersion, configurationKey);
+               }
+            } catch (IOException e) {
+               throw new RuntimeException(e);
+            }
+         } else {
+            editTestFile(testFile, junitVersion);
          }
       }
+      if (transformationCache != null) {
+         LOG.info("Transformed {} test files, restored {} test files", junitVersions.size() - restoredFiles, restoredFiles);
+      }
+   }
+
+   private void editTestFile(final File testFile, final int junitVersion) {
+      LOG.debug("Editing test file: {} {}", testFile, junitVersion); // TODO change to trace
+      if (junitVersion == 3) {
+         editJUnit3(testFile);
+      } else if (junitVersion == 4 || junitVersion == 34) {
+         editJUnit4(testFile);
+      } else if (junitVersion == 5) {
+         editJUnit5(testFile);
+      }
+   }
+
+   /**
+    * Returns a key of everything the transformed test files depend on besides their content and JUnit version.
+    */
+   protected List<String> getConfigurationKeyValues() {
+      final List<String> values = new LinkedList<>();
+      values.add(getClass().getName());
+      // The versions are not part of the transformation, so the transformed files of one version can be reused for other versions
+      final MeasurementConfig versionlessConfig = new MeasurementConfig(config);
+      versionlessConfig.getExecutionConfig().setVersion(null);
+      versionlessConfig.getExecutionConfig().setVersionOld(null);
+      try {
+         values.add(Constants.OBJECTMAPPER.writeValueAsString(versionlessConfig));
+      } catch (JsonProcessingException e) {
+         throw new RuntimeException("Could not serialize measurement config", e);
+      }
+      values.add(String.valueOf(datacollectorlist == DataCollectorList.ONLYTIME));
+      values.add(charset.name());
+      return values;
+   }
+
+   private String getConfigurationKey() {
+      return TraceHashes.hashLines(getConfigurationKeyValues());
    }
 
    /**
@@ -243,45 +357,88 @@ public class JUnitTestTransformer implements TestTransformer {
    }
 
    private void determineVersions(final File testFolder) {
-      extensions = new HashMap<>();
+      final Map<File, TestFileInfo> testFolderInfo = new LinkedHashMap<>();
       for (final File javaFile : FileUtils.listFiles(testFolder, new WildcardFileFilter("*.java"), TrueFileFilter.INSTANCE)) {
          try {
             File canonicalJavaFile = javaFile.getCanonicalFile();
-            final CompilationUnit unit = JavaParserProvider.parse(canonicalJavaFile);
-            loadedFiles.put(canonicalJavaFile, unit);
-            final boolean isJUnit4 = isJUnit(unit, 4);
-            if (isJUnit4) {
-               junitVersions.put(canonicalJavaFile, 4);
-               // editJUnit4(javaFile);
-            }
-            final boolean isJUnit5 = isJUnit(unit, 5);
-            if (isJUnit5) {
-               junitVersions.put(canonicalJavaFile, 5);
-               // editJUnit4(javaFile);
-            }
-            final ClassOrInterfaceDeclaration clazz = ParseUtil.getClass(unit);
-            if (clazz != null) { // for @interface cases
-               // We only need to consider classes with one extends, since classes can not have multiple extends and we search for classes that may extend TestCase (indirectly)
-               LOG.trace("Transforming: {}", clazz.getNameAsString());
-               if (clazz.getExtendedTypes().size() == 1) {
-                  final ClassOrInterfaceType extend = clazz.getExtendedTypes(0);
-                  final String extensionName = extend.getNameAsString().intern();
-                  List<File> extensionsOfBase = extensions.get(extensionName);
-                  if (extensionsOfBase == null) {
-                     extensionsOfBase = new LinkedList<>();
-                     extensions.put(extensionName, extensionsOfBase);
-                  }
-                  extensionsOfBase.add(canonicalJavaFile);
-               }
-            }
+            testFolderInfo.put(canonicalJavaFile, getTestFileInfo(canonicalJavaFile));
          } catch (final IOException e) {
             throw new RuntimeException(e);
          }
       }
+      determineVersions(testFolderInfo);
+   }
+
+   private void determineVersions(final Map<File, TestFileInfo> testFolderInfo) {
+      extensions = new HashMap<>();
+      for (final Map.Entry<File, TestFileInfo> testFile : testFolderInfo.entrySet()) {
+         final File canonicalJavaFile = testFile.getKey();
+         final TestFileInfo info = testFile.getValue();
+         testFiles.add(canonicalJavaFile);
+         if (info.isJunit4()) {
+            junitVersions.put(canonicalJavaFile, 4);
+            // editJUnit4(javaFile);
+         }
+         if (info.isJunit5()) {
+            junitVersions.put(canonicalJavaFile, 5);
+            // editJUnit4(javaFile);
+         }
+         if (info.getExtendedType() != null) {
+            final String extensionName = info.getExtendedType().intern();
+            List<File> extensionsOfBase = extensions.get(extensionName);
+            if (extensionsOfBase == null) {
+               extensionsOfBase = new LinkedList<>();
+               extensions.put(extensionName, extensionsOfBase);
+            }
+            extensionsOfBase.add(canonicalJavaFile);
+         }
+      }
 
       addJUnit3Test("TestCase", junitVersions);
    }
 
+   /**
+    * Returns the information about the test file from the transformation cache; if it is not cached, the file is parsed.
+    */
+   private TestFileInfo getTestFileInfo(final File javaFile) throws IOException {
+      if (transformationCache != null) {
+         final String blobId = ParsedSourceCache.getBlobId(javaFile);
+         TestFileInfo info = transformationCache.loadInfo(blobId);
+         if (info == null) {
+            info = parseTestFileInfo(javaFile);
+            transformationCache.storeInfo(blobId, info);
+         }
+         return info;
+      } else {
+         return parseTestFileInfo(javaFile);
+      }
+   }
+
+   private TestFileInfo parseTestFileInfo(final File javaFile) throws FileNotFoundException {
+      final CompilationUnit unit = JavaParserProvider.parse(javaFile);
+      loadedFiles.put(javaFile, unit);
+      return getTestFileInfo(unit);
+   }
+
+   /**
+    * Returns the information about the test file which is needed for determining its JUnit version.
+    */
+   public TestFileInfo getTestFileInfo(final CompilationUnit unit) {
+      final TestFileInfo info = new TestFileInfo();
+      info.setJunit4(isJUnit(unit, 4));
+      info.setJunit5(isJUnit(unit, 5));
+      final ClassOrInterfaceDeclaration clazz = ParseUtil.getClass(unit);
+      if (clazz != null) { // for @interface cases
+         // We only need to consider classes with one extends, since classes can not have multiple extends and we search for classes that may extend TestCase (indirectly)
+         LOG.trace("Transforming: {}", clazz.getNameAsString());
+         if (clazz.getExtendedTypes().size() == 1) {
+            final ClassOrInterfaceType extend = clazz.getExtendedTypes(0);
+            info.setExtendedType(extend.getNameAsString());
+         }
+      }
+      return info;
+   }
+
    private final Map<Integer, List<String>> junitTestAnnotations = new HashMap<>();
    {
       junitTestAnnotations.put(5, Arrays.asList("org.junit.jupiter.api.Test", "org.junit.jupiter.params.ParameterizedTest"));
@@ -327,10 +484,19 @@ public class JUnitTestTransformer implements TestTransformer {
 
    @Override
    public List<TestCase> getTestMethodNames(final File module, final TestCase clazzname) {
-      final List<TestCase> methods = new LinkedList<>();
       ClazzFileFinder finder = new ClazzFileFinder(config.getExecutionConfig());
       final File clazzFile = finder.getClazzFile(module, clazzname);
-      final CompilationUnit unit = loadedFiles.get(clazzFile);
+      final CompilationUnit unit = getLoadedUnit(clazzFile);
+      return getTestMethodNames(clazzname, clazzFile, unit);
+   }
+
+   /**
+    * Returns the test methods of the parsed test class; the JUnit version of the class file needs to be determined before.
+    * 
+    * @param unit Parsed test class, or null if the class is no test class
+    */
+   public List<TestCase> getTestMethodNames(final TestCase clazzname, final File clazzFile, final CompilationUnit unit) {
+      final List<TestCase> methods = new LinkedList<>();
       if (unit != null) {
          final Integer junit = junitVersions.get(clazzFile);
          if (junit != null) {
@@ -383,7 +549,7 @@ public class JUnitTestTransformer implements TestTransformer {
     */
    protected void editJUnit3(final File javaFile) {
       try {
-         final CompilationUnit unit = loadedFiles.get(javaFile);
+         final CompilationUnit unit = getLoadedUnit(javaFile);
          editJUnit3(unit);
          Files.write(javaFile.toPath(), unit.toString().getBytes(charset));
       } catch (final FileNotFoundException e) {
@@ -452,7 +618,7 @@ public class JUnitTestTransformer implements TestTransformer {
     */
    protected void editJUnit4(final File javaFile) {
       try {
-         final CompilationUnit unit = loadedFiles.get(javaFile);
+         final CompilationUnit unit = getLoadedUnit(javaFile);
 
          JUnit4Helper.editJUnit4(unit, config, datacollectorlist);
 
@@ -466,7 +632,7 @@ public class JUnitTestTransformer implements TestTransformer {
 
    protected void editJUnit5(final File javaFile) {
       try {
-         final CompilationUnit unit = loadedFiles.get(javaFile);
+         final CompilationUnit unit = getLoadedUnit(javaFile);
 
          editJUnit5(unit);
 
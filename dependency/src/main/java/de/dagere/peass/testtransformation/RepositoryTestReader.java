@@ -0,0 +1,133 @@
+package de.dagere.peass.testtransformation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import de.dagere.peass.config.ExecutionConfig;
+import de.dagere.peass.dependency.ClazzFileFinder;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.dependency.changesreading.JavaParserProvider;
+import de.dagere.peass.testtransformation.TestTransformationCache.TestFileInfo;
+import de.dagere.peass.vcs.GitObjectReader;
+
+/**
+ * Reads the test classes of a version from the object database of the repository instead of the test folders, so the version does not need to be checked out. The test files
+ * are identified by the files they would have in the project folder, and the information about every test file is kept by its blob id, so only test files which changed since
+ * the last version are parsed.
+ *
+ * @author reichelt
+ *
+ */
+public class RepositoryTestReader implements AutoCloseable {
+
+   private static final Logger LOG = LogManager.getLogger(RepositoryTestReader.class);
+
+   private final File projectFolder;
+   private final JUnitTestTransformer transformer;
+   private final ExecutionConfig config;
+   private final GitObjectReader reader;
+
+   private final Map<String, TestFileInfo> infos = new HashMap<>();
+   private Map<File, String> testFileBlobs = new HashMap<>();
+
+   public RepositoryTestReader(final File projectFolder, final JUnitTestTransformer transformer) throws IOException {
+      this.projectFolder = projectFolder;
+      this.transformer = transformer;
+      this.config = transformer.getConfig().getExecutionConfig();
+      this.reader = new GitObjectReader(projectFolder);
+   }
+
+   /**
+    * Determines the JUnit versions of the test classes of the version like {@link JUnitTestTransformer#determineVersions(List)}.
+    */
+   public void determineVersions(final String version, final List<File> modules) throws IOException {
+      final List<Map<File, TestFileInfo>> testFolderInfos = new LinkedList<>();
+      testFileBlobs = new HashMap<>();
+      for (final File module : modules) {
+         final String modulePath = getRepositoryPath(module);
+         for (final String testPath : config.getTestClazzFolders()) {
+            final String folder = modulePath.isEmpty() ? testPath : modulePath + "/" + testPath;
+            final Map<File, TestFileInfo> testFolderInfo = new LinkedHashMap<>();
+            for (final Map.Entry<String, String> file : reader.listFiles(version, folder).entrySet()) {
+               if (file.getKey().endsWith(".java")) {
+                  final File testFile = new File(projectFolder, file.getKey()).getCanonicalFile();
+                  testFolderInfo.put(testFile, getTestFileInfo(file.getValue()));
+                  testFileBlobs.put(testFile, file.getValue());
+               }
+            }
+            if (!testFolderInfo.isEmpty()) {
+               testFolderInfos.add(testFolderInfo);
+            }
+         }
+      }
+      transformer.determineVersionsFromInfos(testFolderInfos);
+   }
+
+   private TestFileInfo getTestFileInfo(final String blobId) throws IOException {
+      TestFileInfo info = infos.get(blobId);
+      if (info == null) {
+         info = transformer.getTestFileInfo(JavaParserProvider.parse(reader.readBlob(blobId)));
+         infos.put(blobId, info);
+      }
+      return info;
+   }
+
+   /**
+    * Returns the test methods of the class like {@link JUnitTestTransformer#getTestMethodNames(File, TestCase)}; {@link #determineVersions(String, List)} needs to be
+    * called for the version before.
+    */
+   public List<TestCase> getTestMethodNames(final File module, final TestCase clazzname) throws IOException {
+      final File clazzFile = getClazzFile(module, clazzname);
+      final String blobId = clazzFile != null ? testFileBlobs.get(clazzFile) : null;
+      final CompilationUnit unit = blobId != null ? JavaParserProvider.parse(reader.readBlob(blobId)) : null;
+      return transformer.getTestMethodNames(clazzname, clazzFile, unit);
+   }
+
+   /**
+    * Searches the test file of the class in the same candidates as {@link ClazzFileFinder#getClazzFile(File, de.dagere.peass.dependency.analysis.data.ChangedEntity)}.
+    */
+   private File getClazzFile(final File module, final TestCase clazzname) throws IOException {
+      final String clazzName = ClazzFileFinder.getOuterClass(clazzname.getClazz());
+      final String clazzFileName = clazzName.endsWith(".java") ? clazzName : clazzName.replace('.', File.separatorChar) + ".java";
+      File potentialFile = findFile(module, clazzFileName, new File(module, clazzFileName));
+      if (potentialFile == null && clazzname.getModule() != null && !clazzname.getModule().equals("")) {
+         potentialFile = findFile(new File(module, clazzname.getModule()), clazzFileName, new File(module, clazzFileName));
+      }
+      LOG.debug("Test file of {}: {}", clazzname, potentialFile);
+      return potentialFile;
+   }
+
+   private File findFile(final File sourceParentFolder, final String clazzFileName, final File naturalCandidate) throws IOException {
+      File potentialFile = null;
+      if (testFileBlobs.containsKey(naturalCandidate.getCanonicalFile())) {
+         potentialFile = naturalCandidate.getCanonicalFile();
+      }
+      for (final String potentialFolder : config.getAllClazzFolders()) {
+         final File candidate = new File(sourceParentFolder, potentialFolder + File.separator + clazzFileName).getCanonicalFile();
+         if (testFileBlobs.containsKey(candidate)) {
+            potentialFile = candidate;
+         }
+      }
+      return potentialFile;
+   }
+
+   private String getRepositoryPath(final File module) throws IOException {
+      final String relative = projectFolder.getCanonicalFile().toURI().relativize(module.getCanonicalFile().toURI()).getPath();
+      return relative.endsWith("/") ? relative.substring(0, relative.length() - 1) : relative;
+   }
+
+   @Override
+   public void close() throws IOException {
+      reader.close();
+   }
+}
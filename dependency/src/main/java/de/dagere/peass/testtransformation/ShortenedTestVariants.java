@@ -0,0 +1,166 @@
+package de.dagere.peass.testtransformation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.dependency.changesreading.ParsedSourceCache;
+import de.dagere.peass.dependency.traces.TraceHashes;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Keeps the shortened variants of the files of each test method, so shortening a test again only requires writing the files instead of parsing and printing them. A variant is
+ * valid as long as the unshortened files have the same git blob id as when the variant was created, so variants are reused over measurement VMs and versions as long as the
+ * test files do not change.
+ *
+ * If a cache folder is set, the variants are also stored there with paths relative to the project folder, so transformers of other VMs or workspaces of the same project reuse
+ * them.
+ *
+ * @author reichelt
+ *
+ */
+class ShortenedTestVariants {
+
+   private static final Logger LOG = LogManager.getLogger(ShortenedTestVariants.class);
+
+   private static final String VARIANT_FOLDER_NAME = "shortened";
+
+   private final File projectFolder;
+   private File cacheFolder;
+   private final Map<String, List<ShortenedFile>> variants = new HashMap<>();
+
+   public ShortenedTestVariants(final File projectFolder) {
+      this.projectFolder = projectFolder;
+   }
+
+   /**
+    * Sets the folder for storing the variants; if it is null, variants are only kept in memory.
+    */
+   public void setCacheFolder(final File cacheFolder) {
+      this.cacheFolder = cacheFolder;
+   }
+
+   /**
+    * Returns the shortened files of the test, or null if they have not been created yet or if one of the unshortened files has changed.
+    *
+    * @param testKey Key of the test method, which should not contain the location of the project folder
+    * @param calleeBlobId Blob id of the unshortened test class file
+    */
+   public synchronized List<ShortenedFile> getVariant(final String testKey, final String calleeBlobId) throws IOException {
+      final String variantKey = testKey + "#" + calleeBlobId;
+      List<ShortenedFile> files = variants.get(variantKey);
+      if (files == null && cacheFolder != null) {
+         files = loadVariant(getVariantFile(variantKey));
+      }
+      if (files != null) {
+         for (final ShortenedFile file : files) {
+            final File unshortenedFile = getFile(file);
+            if (!unshortenedFile.exists() || !ParsedSourceCache.getBlobId(unshortenedFile).equals(file.getUnshortenedBlobId())) {
+               variants.remove(variantKey);
+               return null;
+            }
+         }
+         variants.put(variantKey, files);
+      }
+      return files;
+   }
+
+   public synchronized void putVariant(final String testKey, final String calleeBlobId, final List<ShortenedFile> files) {
+      final String variantKey = testKey + "#" + calleeBlobId;
+      variants.put(variantKey, files);
+      if (cacheFolder != null) {
+         storeVariant(getVariantFile(variantKey), files);
+      }
+   }
+
+   /**
+    * Returns the path of the file relative to the project folder, which is used for identifying tests and files independent of the location of the project.
+    */
+   public String getRelativePath(final File file) throws IOException {
+      return projectFolder.getCanonicalFile().toPath().relativize(file.getCanonicalFile().toPath()).toString();
+   }
+
+   public File getFile(final ShortenedFile shortenedFile) {
+      return new File(projectFolder, shortenedFile.getPath());
+   }
+
+   private List<ShortenedFile> loadVariant(final File variantFile) {
+      if (variantFile.exists()) {
+         try {
+            return Arrays.asList(Constants.OBJECTMAPPER.readValue(variantFile, ShortenedFile[].class));
+         } catch (IOException e) {
+            LOG.warn("Could not read shortened variant {}: {}", variantFile, e.getMessage());
+         }
+      }
+      return null;
+   }
+
+   private void storeVariant(final File variantFile, final List<ShortenedFile> files) {
+      try {
+         variantFile.getParentFile().mkdirs();
+         final File tempFile = File.createTempFile(variantFile.getName(), ".tmp", variantFile.getParentFile());
+         Constants.OBJECTMAPPER.writeValue(tempFile, files);
+         Files.move(tempFile.toPath(), variantFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException e) {
+         LOG.warn("Could not write shortened variant {}: {}", variantFile, e.getMessage());
+      }
+   }
+
+   private File getVariantFile(final String variantKey) {
+      final String hash = TraceHashes.hashLines(variantKey);
+      return new File(cacheFolder, VARIANT_FOLDER_NAME + File.separator + hash.substring(0, 2) + File.separator + hash + ".json");
+   }
+
+   /**
+    * Shortened content of one file
+    */
+   static class ShortenedFile {
+      private String path;
+      private String unshortenedBlobId;
+      private String content;
+
+      public ShortenedFile() {
+      }
+
+      /**
+       * @param path Path of the file relative to the project folder
+       */
+      public ShortenedFile(final String path, final String unshortenedBlobId, final String content) {
+         this.path = path;
+         this.unshortenedBlobId = unshortenedBlobId;
+         this.content = content;
+      }
+
+      public String getPath() {
+         return path;
+      }
+
+      public void setPath(final String path) {
+         this.path = path;
+      }
+
+      public String getUnshortenedBlobId() {
+         return unshortenedBlobId;
+      }
+
+      public void setUnshortenedBlobId(final String unshortenedBlobId) {
+         this.unshortenedBlobId = unshortenedBlobId;
+      }
+
+      public String getContent() {
+         return content;
+      }
+
+      public void setContent(final String content) {
+         this.content = content;
+      }
+   }
+}
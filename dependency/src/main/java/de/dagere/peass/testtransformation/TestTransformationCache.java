@@ -0,0 +1,130 @@
+package de.dagere.peass.testtransformation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Stores the information about test files which is needed for determining their JUnit versions, and the transformed test files. Entries are identified by the git blob id of
+ * the original file; transformed files are additionally identified by a key of the transformation configuration and the JUnit version of the file, so unchanged test files
+ * neither need to be parsed nor transformed again.
+ *
+ * @author reichelt
+ *
+ */
+public class TestTransformationCache {
+
+   private static final Logger LOG = LogManager.getLogger(TestTransformationCache.class);
+
+   private static final String INFO_FOLDER_NAME = "info";
+
+   private final File cacheFolder;
+
+   public TestTransformationCache(final File cacheFolder) {
+      this.cacheFolder = cacheFolder;
+   }
+
+   /**
+    * Returns the cached information of the file with the given blob id, or null if it has not been cached yet.
+    */
+   public TestFileInfo loadInfo(final String blobId) {
+      final File infoFile = getInfoFile(blobId);
+      if (infoFile.exists()) {
+         try {
+            return Constants.OBJECTMAPPER.readValue(infoFile, TestFileInfo.class);
+         } catch (IOException e) {
+            LOG.warn("Could not read cache entry {}: {}", infoFile, e.getMessage());
+         }
+      }
+      return null;
+   }
+
+   public void storeInfo(final String blobId, final TestFileInfo info) {
+      final File infoFile = getInfoFile(blobId);
+      try {
+         infoFile.getParentFile().mkdirs();
+         final File tempFile = File.createTempFile(infoFile.getName(), ".tmp", infoFile.getParentFile());
+         Constants.OBJECTMAPPER.writeValue(tempFile, info);
+         Files.move(tempFile.toPath(), infoFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException e) {
+         LOG.warn("Could not write cache entry {}: {}", infoFile, e.getMessage());
+      }
+   }
+
+   /**
+    * Replaces the test file by its cached transformation, if it exists.
+    *
+    * @return Whether the transformed file has been restored
+    */
+   public boolean restoreTransformed(final File testFile, final String blobId, final int junitVersion, final String configurationKey) throws IOException {
+      final File cachedFile = getTransformedFile(blobId, junitVersion, configurationKey);
+      if (cachedFile.exists()) {
+         LOG.trace("Restoring transformed {}", testFile);
+         Files.copy(cachedFile.toPath(), testFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+         return true;
+      }
+      return false;
+   }
+
+   public void storeTransformed(final File transformedFile, final String blobId, final int junitVersion, final String configurationKey) {
+      final File cachedFile = getTransformedFile(blobId, junitVersion, configurationKey);
+      try {
+         cachedFile.getParentFile().mkdirs();
+         final File tempFile = File.createTempFile(cachedFile.getName(), ".tmp", cachedFile.getParentFile());
+         Files.copy(transformedFile.toPath(), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+         Files.move(tempFile.toPath(), cachedFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException e) {
+         LOG.warn("Could not write cache entry {}: {}", cachedFile, e.getMessage());
+      }
+   }
+
+   private File getInfoFile(final String blobId) {
+      return new File(cacheFolder, INFO_FOLDER_NAME + File.separator + blobId.substring(0, 2) + File.separator + blobId + ".json");
+   }
+
+   private File getTransformedFile(final String blobId, final int junitVersion, final String configurationKey) {
+      return new File(cacheFolder, configurationKey + File.separator + blobId.substring(0, 2) + File.separator + blobId + "_" + junitVersion + ".java");
+   }
+
+   /**
+    * Information about a test file that is derived from parsing it
+    */
+   public static class TestFileInfo {
+      private boolean junit4;
+      private boolean junit5;
+      private String extendedType;
+
+      public boolean isJunit4() {
+         return junit4;
+      }
+
+      public void setJunit4(final boolean junit4) {
+         this.junit4 = junit4;
+      }
+
+      public boolean isJunit5() {
+         return junit5;
+      }
+
+      public void setJunit5(final boolean junit5) {
+         this.junit5 = junit5;
+      }
+
+      /**
+       * @return The name of the type the class of the file extends, or null if it extends no type or the file contains no class
+       */
+      public String getExtendedType() {
+         return extendedType;
+      }
+
+      public void setExtendedType(final String extendedType) {
+         this.extendedType = extendedType;
+      }
+   }
+}
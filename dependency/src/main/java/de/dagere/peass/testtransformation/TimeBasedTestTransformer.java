@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -67,6 +68,13 @@ public class TimeBasedTestTransformer extends JUnitTestTransformer {
 		this.duration = duration;
 	}
 
+	@Override
+	protected List<String> getConfigurationKeyValues() {
+		final List<String> values = super.getConfigurationKeyValues();
+		values.add(String.valueOf(duration));
+		return values;
+	}
+
 	/**
 	 * Edits Java so that the class extends KoPeMeTestcase instead of TestCase
 	 * and that the methods for specifying the performance test are added. It is
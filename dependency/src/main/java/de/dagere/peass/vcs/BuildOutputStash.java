@@ -0,0 +1,140 @@
+package de.dagere.peass.vcs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.dagere.peass.folders.PeassFolders;
+
+/**
+ * Keeps the build output folders of a project per commit, so switching back to a commit which has been built before does not require a cold build. Build output is only
+ * restored for the commit it has been created for; reusing the output of another commit is not safe, since classes of removed sources would remain in it.
+ *
+ * @author reichelt
+ *
+ */
+class BuildOutputStash {
+
+   private static final Logger LOG = LogManager.getLogger(BuildOutputStash.class);
+
+   private static final Set<String> BUILD_FOLDER_NAMES = new HashSet<>(Arrays.asList("target", "build"));
+
+   /**
+    * Measurements alternate between the current version and its predecessor, so two stashed versions are sufficient.
+    */
+   private static final int MAX_STASHED_COMMITS = 2;
+
+   private final File projectFolder;
+   private final File stashFolder;
+
+   public BuildOutputStash(final File projectFolder) {
+      this.projectFolder = projectFolder.getAbsoluteFile();
+      stashFolder = new File(new File(this.projectFolder.getParentFile(), this.projectFolder.getName() + PeassFolders.PEASS_POSTFIX), "buildOutputs");
+   }
+
+   /**
+    * Moves the untracked build output folders of the project to the stash of the given commit.
+    */
+   public void stash(final String commit) throws IOException {
+      final List<String> outputFolders = getBuildOutputFolders();
+      if (outputFolders.isEmpty()) {
+         return;
+      }
+      final File commitFolder = new File(stashFolder, commit);
+      FileUtils.deleteDirectory(commitFolder);
+      for (String outputFolder : outputFolders) {
+         final File destination = new File(commitFolder, outputFolder);
+         destination.getParentFile().mkdirs();
+         Files.move(new File(projectFolder, outputFolder).toPath(), destination.toPath());
+      }
+      LOG.debug("Stashed {} build output folders of {}", outputFolders.size(), commit);
+      removeOldStashes();
+   }
+
+   /**
+    * Moves the stashed build output folders of the given commit back to the project, if they exist.
+    *
+    * @return Whether build output of the commit has been restored
+    */
+   public boolean restore(final String commit) throws IOException {
+      final File commitFolder = new File(stashFolder, commit);
+      if (!commitFolder.exists()) {
+         return false;
+      }
+      final List<File> stashedFolders = new LinkedList<>();
+      findBuildOutputFolders(commitFolder, stashedFolders);
+      int restored = 0;
+      for (File stashedFolder : stashedFolders) {
+         final File destination = new File(projectFolder, commitFolder.toPath().relativize(stashedFolder.toPath()).toString());
+         if (destination.exists()) {
+            LOG.debug("{} exists already, not restoring it", destination);
+         } else {
+            destination.getParentFile().mkdirs();
+            Files.move(stashedFolder.toPath(), destination.toPath());
+            restored++;
+         }
+      }
+      LOG.debug("Restored {} of {} build output folders of {}", restored, stashedFolders.size(), commit);
+      FileUtils.deleteDirectory(commitFolder);
+      return restored > 0 && restored == stashedFolders.size();
+   }
+
+   private void findBuildOutputFolders(final File folder, final List<File> outputFolders) {
+      final File[] children = folder.listFiles(File::isDirectory);
+      if (children != null) {
+         for (File child : children) {
+            if (BUILD_FOLDER_NAMES.contains(child.getName())) {
+               outputFolders.add(child);
+            } else {
+               findBuildOutputFolders(child, outputFolders);
+            }
+         }
+      }
+   }
+
+   /**
+    * Returns the paths of the untracked folders, ignored or not, which are named like build output folders.
+    */
+   private List<String> getBuildOutputFolders() throws IOException {
+      final ProcessBuilder builder = new ProcessBuilder("git", "ls-files", "-z", "--others", "--directory");
+      builder.directory(projectFolder);
+      final Process process = builder.start();
+      final String output;
+      try (InputStream input = process.getInputStream()) {
+         output = IOUtils.toString(input, StandardCharsets.UTF_8);
+      }
+      final List<String> outputFolders = new LinkedList<>();
+      for (String path : output.split("\0")) {
+         if (path.endsWith("/")) {
+            final String folder = path.substring(0, path.length() - 1);
+            if (BUILD_FOLDER_NAMES.contains(new File(folder).getName())) {
+               outputFolders.add(folder);
+            }
+         }
+      }
+      return outputFolders;
+   }
+
+   private void removeOldStashes() throws IOException {
+      final File[] stashes = stashFolder.listFiles(File::isDirectory);
+      if (stashes != null && stashes.length > MAX_STASHED_COMMITS) {
+         Arrays.sort(stashes, Comparator.comparingLong(File::lastModified).reversed());
+         for (int i = MAX_STASHED_COMMITS; i < stashes.length; i++) {
+            FileUtils.deleteDirectory(stashes[i]);
+         }
+      }
+   }
+}
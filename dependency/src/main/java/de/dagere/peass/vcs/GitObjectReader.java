@@ -0,0 +1,301 @@
+package de.dagere.peass.vcs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads trees and blobs directly from the object database of a git repository, so the content of any version can be read without checking it out. All objects are
+ * read by one git cat-file process, which is kept running until the reader is closed; comparing trees is done in memory, and subtrees with equal ids are skipped.
+ *
+ * @author reichelt
+ *
+ */
+public class GitObjectReader implements AutoCloseable {
+
+   private static final Logger LOG = LogManager.getLogger(GitObjectReader.class);
+
+   private static final String TREE_MODE = "40000";
+   private static final String SUBMODULE_MODE = "160000";
+
+   private final File projectFolder;
+   private final Process process;
+   private final OutputStream requests;
+   private final InputStream objects;
+   private String lastObjectId;
+   private String lastObjectType;
+
+   public GitObjectReader(final File projectFolder) throws IOException {
+      this.projectFolder = projectFolder;
+      final ProcessBuilder builder = new ProcessBuilder("git", "cat-file", "--batch");
+      builder.directory(projectFolder);
+      builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+      process = builder.start();
+      requests = new BufferedOutputStream(process.getOutputStream());
+      objects = new BufferedInputStream(process.getInputStream());
+   }
+
+   public File getProjectFolder() {
+      return projectFolder;
+   }
+
+   /**
+    * Returns the content of the object, or null if it does not exist.
+    *
+    * @param object Object name, e.g. a blob id or an expression like version:path
+    */
+   public synchronized byte[] readObject(final String object) throws IOException {
+      requests.write((object + "\n").getBytes(StandardCharsets.UTF_8));
+      requests.flush();
+
+      final String header = readHeaderLine();
+      if (header.endsWith(" missing") || header.endsWith(" ambiguous")) {
+         LOG.debug("Object {} not readable: {}", object, header);
+         return null;
+      }
+      final String[] headerParts = header.split(" ");
+      lastObjectId = headerParts[0];
+      lastObjectType = headerParts[1];
+      final int size = Integer.parseInt(headerParts[2]);
+      final byte[] content = new byte[size];
+      int read = 0;
+      while (read < size) {
+         final int current = objects.read(content, read, size - read);
+         if (current == -1) {
+            throw new EOFException("Object " + object + " ended after " + read + " of " + size + " bytes");
+         }
+         read += current;
+      }
+      objects.read(); // Every object is followed by a newline
+      return content;
+   }
+
+   /**
+    * Returns the content of the blob as UTF-8 string, or null if it does not exist.
+    */
+   public String readBlob(final String blobId) throws IOException {
+      final byte[] content = readObject(blobId);
+      return content != null ? new String(content, StandardCharsets.UTF_8) : null;
+   }
+
+   /**
+    * Returns whether the file exists in the given version.
+    *
+    * @param path Path relative to the repository root, with / as separator
+    */
+   public boolean exists(final String version, final String path) throws IOException {
+      return readObject(version + ":" + path) != null;
+   }
+
+   /**
+    * Returns the files which differ between both versions, in the order of the trees. Renames are reported as deletion of the old path and addition of the new path.
+    */
+   public List<ChangedFile> getChangedFiles(final String oldVersion, final String newVersion) throws IOException {
+      final String oldTree = resolveTree(oldVersion);
+      final String newTree = resolveTree(newVersion);
+      final List<ChangedFile> changedFiles = new LinkedList<>();
+      compareTrees("", oldTree, newTree, changedFiles);
+      return changedFiles;
+   }
+
+   /**
+    * Returns all files below the folder in the given version, mapped to their blob ids; if the folder does not exist, the map is empty.
+    *
+    * @param folder Path relative to the repository root, with / as separator
+    */
+   public Map<String, String> listFiles(final String version, final String folder) throws IOException {
+      final Map<String, String> files = new TreeMap<>();
+      final String treeId;
+      synchronized (this) {
+         treeId = readObject(version + ":" + folder) != null && lastObjectType.equals("tree") ? lastObjectId : null;
+      }
+      if (treeId != null) {
+         addFiles(folder.endsWith("/") ? folder : folder + "/", treeId, files);
+      }
+      return files;
+   }
+
+   private void addFiles(final String prefix, final String treeId, final Map<String, String> files) throws IOException {
+      for (TreeEntry entry : readTree(treeId).values()) {
+         if (entry.isTree()) {
+            addFiles(prefix + entry.name + "/", entry.id, files);
+         } else if (entry.isBlob()) {
+            files.put(prefix + entry.name, entry.id);
+         }
+      }
+   }
+
+   private synchronized String resolveTree(final String version) throws IOException {
+      if (readObject(version + "^{tree}") == null) {
+         throw new RuntimeException("Version " + version + " could not be resolved");
+      }
+      // cat-file --batch only returns the id of a resolved expression together with the content
+      return lastObjectId;
+   }
+
+   private String readHeaderLine() throws IOException {
+      final ByteArrayOutputStream line = new ByteArrayOutputStream();
+      int current;
+      while ((current = objects.read()) != '\n') {
+         if (current == -1) {
+            throw new EOFException("git cat-file ended unexpectedly");
+         }
+         line.write(current);
+      }
+      return line.toString(StandardCharsets.UTF_8.name());
+   }
+
+   private void compareTrees(final String prefix, final String oldTree, final String newTree, final List<ChangedFile> changedFiles) throws IOException {
+      if (oldTree != null && oldTree.equals(newTree)) {
+         return;
+      }
+      final Map<String, TreeEntry> oldEntries = readTree(oldTree);
+      final Map<String, TreeEntry> newEntries = readTree(newTree);
+      final TreeMap<String, String> sortedNames = new TreeMap<>();
+      for (TreeEntry entry : oldEntries.values()) {
+         sortedNames.put(entry.getSortKey(), entry.name);
+      }
+      for (TreeEntry entry : newEntries.values()) {
+         sortedNames.put(entry.getSortKey(), entry.name);
+      }
+      // A name may be a tree in one version and a blob in the other one; both are handled at once
+      final Set<String> names = new LinkedHashSet<>(sortedNames.values());
+      for (String name : names) {
+         final TreeEntry oldEntry = oldEntries.get(name);
+         final TreeEntry newEntry = newEntries.get(name);
+         final String path = prefix + name;
+         final String oldTreeId = oldEntry != null && oldEntry.isTree() ? oldEntry.id : null;
+         final String newTreeId = newEntry != null && newEntry.isTree() ? newEntry.id : null;
+         final String oldBlobId = oldEntry != null && oldEntry.isBlob() ? oldEntry.id : null;
+         final String newBlobId = newEntry != null && newEntry.isBlob() ? newEntry.id : null;
+         if (oldTreeId != null || newTreeId != null) {
+            compareTrees(path + "/", oldTreeId, newTreeId, changedFiles);
+         }
+         if ((oldBlobId != null || newBlobId != null) && !(oldBlobId != null && oldBlobId.equals(newBlobId) && oldEntry.mode.equals(newEntry.mode))) {
+            changedFiles.add(new ChangedFile(path, oldBlobId, newBlobId));
+         }
+      }
+   }
+
+   private Map<String, TreeEntry> readTree(final String treeId) throws IOException {
+      final Map<String, TreeEntry> entries = new TreeMap<>();
+      if (treeId == null) {
+         return entries;
+      }
+      final byte[] tree = readObject(treeId);
+      if (tree == null) {
+         throw new RuntimeException("Tree " + treeId + " could not be read");
+      }
+      int position = 0;
+      while (position < tree.length) {
+         final int modeEnd = indexOf(tree, (byte) ' ', position);
+         final int nameEnd = indexOf(tree, (byte) 0, modeEnd);
+         final String mode = new String(tree, position, modeEnd - position, StandardCharsets.US_ASCII);
+         final String name = new String(tree, modeEnd + 1, nameEnd - modeEnd - 1, StandardCharsets.UTF_8);
+         final StringBuilder id = new StringBuilder();
+         for (int i = nameEnd + 1; i < nameEnd + 21; i++) {
+            id.append(String.format("%02x", tree[i]));
+         }
+         entries.put(name, new TreeEntry(mode, name, id.toString()));
+         position = nameEnd + 21;
+      }
+      return entries;
+   }
+
+   private static int indexOf(final byte[] data, final byte value, final int start) {
+      for (int i = start; i < data.length; i++) {
+         if (data[i] == value) {
+            return i;
+         }
+      }
+      throw new RuntimeException("Malformed tree object");
+   }
+
+   @Override
+   public synchronized void close() throws IOException {
+      requests.close();
+      objects.close();
+      try {
+         process.waitFor();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   private static final class TreeEntry {
+      private final String mode;
+      private final String name;
+      private final String id;
+
+      public TreeEntry(final String mode, final String name, final String id) {
+         this.mode = mode;
+         this.name = name;
+         this.id = id;
+      }
+
+      public boolean isTree() {
+         return mode.equals(TREE_MODE);
+      }
+
+      public boolean isBlob() {
+         return !isTree() && !mode.equals(SUBMODULE_MODE);
+      }
+
+      /**
+       * git sorts tree entries as if trees had a trailing slash
+       */
+      public String getSortKey() {
+         return isTree() ? name + "/" : name;
+      }
+   }
+
+   /**
+    * File which differs between two versions; the blob id of the old or new version is null if the file has been added or deleted.
+    */
+   public static final class ChangedFile {
+      private final String path;
+      private final String oldBlobId;
+      private final String newBlobId;
+
+      public ChangedFile(final String path, final String oldBlobId, final String newBlobId) {
+         this.path = path;
+         this.oldBlobId = oldBlobId;
+         this.newBlobId = newBlobId;
+      }
+
+      /**
+       * @return Path relative to the repository root, with / as separator
+       */
+      public String getPath() {
+         return path;
+      }
+
+      public String getOldBlobId() {
+         return oldBlobId;
+      }
+
+      public String getNewBlobId() {
+         return newBlobId;
+      }
+
+      @Override
+      public String toString() {
+         return path + " " + oldBlobId + " -> " + newBlobId;
+      }
+   }
+}
@@ -17,18 +17,24 @@
 package de.dagere.peass.vcs;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.FilenameUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -41,6 +47,10 @@ import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.folders.ResultsFolders;
 import de.dagere.peass.utils.Constants;
 import de.dagere.peass.utils.StreamGobbler;
+import de.dagere.peass.vcs.GitObjectReader.ChangedFile;
+import difflib.Delta;
+import difflib.DiffUtils;
+import difflib.Patch;
 
 /**
  * Helps using git from java with CLI calls to git.
@@ -52,6 +62,8 @@ public final class GitUtils {
 
    private static final Logger LOG = LogManager.getLogger(GitUtils.class);
 
+   private static final String COMMIT_LINE_PREFIX = "commit:";
+
    /**
     * Only utility-clazz, no instantiation needed.
     */
@@ -111,6 +123,55 @@ public final class GitUtils {
       StreamGobbler.showFullProcess(builder.start());
    }
 
+   /**
+    * Creates a linked worktree of the project in the given folder, which shares the object database of the project instead of copying it like a clone. The worktree is
+    * detached, so it can check out the same commits as the project and other worktrees.
+    * 
+    * @return Whether the worktree has been created
+    */
+   public static boolean addWorktree(final File projectFolder, final File worktreeFolder) throws IOException, InterruptedException {
+      final Process pruneProcess = new ProcessBuilder("git", "worktree", "prune").directory(projectFolder).start();
+      StreamGobbler.getFullProcess(pruneProcess, false);
+      pruneProcess.waitFor();
+
+      final ProcessBuilder builder = new ProcessBuilder("git", "worktree", "add", "--detach", worktreeFolder.getAbsolutePath());
+      builder.directory(projectFolder);
+      final Process addProcess = builder.start();
+      final String output = StreamGobbler.getFullProcess(addProcess, false);
+      if (addProcess.waitFor() != 0) {
+         LOG.warn("Could not create worktree {}: {}", worktreeFolder, output);
+         return false;
+      }
+      return true;
+   }
+
+   /**
+    * Returns whether the given folder is a linked worktree of the repository of the project.
+    */
+   public static boolean isWorktreeOf(final File worktreeFolder, final File projectFolder) throws IOException, InterruptedException {
+      final File gitFile = new File(worktreeFolder, ".git");
+      if (!gitFile.isFile()) {
+         return false;
+      }
+      final String gitdirLine = FileUtils.readFileToString(gitFile, StandardCharsets.UTF_8).trim();
+      if (!gitdirLine.startsWith("gitdir: ")) {
+         return false;
+      }
+      final File worktreeGitDir = new File(gitdirLine.substring("gitdir: ".length())).getCanonicalFile();
+      final File commonDir = getCommonGitDir(projectFolder);
+      return commonDir != null && worktreeGitDir.toPath().startsWith(commonDir.toPath()) && worktreeGitDir.exists();
+   }
+
+   private static File getCommonGitDir(final File projectFolder) throws IOException, InterruptedException {
+      final Process process = new ProcessBuilder("git", "rev-parse", "--git-common-dir").directory(projectFolder).start();
+      final String commonDir = StreamGobbler.getFullProcess(process, false).trim();
+      if (process.waitFor() != 0 || commonDir.isEmpty()) {
+         return null;
+      }
+      final File commonDirFile = new File(commonDir);
+      return (commonDirFile.isAbsolute() ? commonDirFile : new File(projectFolder, commonDir)).getCanonicalFile();
+   }
+
    /**
     * Downloads a project to the given folder
     * 
@@ -204,12 +265,16 @@ public final class GitUtils {
 
    private static List<String> getLinearCommitNames(final File folder) {
       try {
-         ProcessBuilder oldestCommitProcessbuilder = new ProcessBuilder("git", "log", "--reverse", "--pretty=tformat:%H");
+         // Only the root commits are printed, in the order of the full history walk; therefore, the last one is the first commit of git log --reverse
+         ProcessBuilder oldestCommitProcessbuilder = new ProcessBuilder("git", "rev-list", "--max-parents=0", "HEAD");
          oldestCommitProcessbuilder.directory(folder);
          Process readOldestCommitProcess = oldestCommitProcessbuilder.start();
-         String oldestCommit;
+         String oldestCommit = null;
          try (final BufferedReader readOldestCommitInput = new BufferedReader(new InputStreamReader(readOldestCommitProcess.getInputStream()))) {
-            oldestCommit = readOldestCommitInput.readLine().split(" ")[0];
+            String line;
+            while ((line = readOldestCommitInput.readLine()) != null) {
+               oldestCommit = line.split(" ")[0];
+            }
          }
 
          List<String> ouputCommitList = new LinkedList<>();
@@ -237,32 +302,101 @@ public final class GitUtils {
       }
    }
 
+   /**
+    * Reads the metadata of all commits by one git call, which gets the commit names via stdin and prints the commits in the given order. If the output can not be mapped to
+    * the commit names, the metadata are read by one git call per commit.
+    */
    private static List<GitCommit> getCommitsMetadata(final File folder, final List<String> commitNames) throws IOException {
+      if (commitNames.isEmpty()) {
+         return new LinkedList<>();
+      }
+      final List<List<String>> commitBlocks = readCommitBlocks(folder, commitNames);
+      if (commitBlocks.size() != commitNames.size()) {
+         LOG.warn("Reading {} commits returned {} commits, reading commits one by one", commitNames.size(), commitBlocks.size());
+         return getCommitsMetadataSeparately(folder, commitNames);
+      }
+      final List<GitCommit> commits = new LinkedList<>();
+      final Iterator<List<String>> blockIterator = commitBlocks.iterator();
+      for (String commit : commitNames) {
+         commits.add(parseCommitMetadata(commit, blockIterator.next()));
+      }
+      return commits;
+   }
+
+   /**
+    * Returns the output lines of git log for each commit; the empty line which git prints between two commits is removed, so each block equals the output of git log -n 1.
+    */
+   private static List<List<String>> readCommitBlocks(final File folder, final List<String> commitNames) throws IOException {
+      ProcessBuilder readCommitsProcessBuilder = new ProcessBuilder("git", "log", "--no-walk=unsorted", "--stdin");
+      readCommitsProcessBuilder.directory(folder);
+      final Process readCommitsProcess = readCommitsProcessBuilder.start();
+      // git reads the whole stdin before printing commits, so the names can be written before the output is read
+      try (final BufferedWriter commitNameWriter = new BufferedWriter(new OutputStreamWriter(readCommitsProcess.getOutputStream()))) {
+         for (String commit : commitNames) {
+            commitNameWriter.write(commit);
+            commitNameWriter.newLine();
+         }
+      }
+      final List<List<String>> commitBlocks = new LinkedList<>();
+      try (final BufferedReader readCommitInput = new BufferedReader(new InputStreamReader(readCommitsProcess.getInputStream()))) {
+         List<String> currentBlock = null;
+         String line;
+         while ((line = readCommitInput.readLine()) != null) {
+            if (line.startsWith("commit ")) {
+               if (currentBlock != null) {
+                  removeSeparatorLine(currentBlock);
+               }
+               currentBlock = new LinkedList<>();
+               commitBlocks.add(currentBlock);
+            }
+            if (currentBlock != null) {
+               currentBlock.add(line);
+            }
+         }
+      }
+      return commitBlocks;
+   }
+
+   private static void removeSeparatorLine(final List<String> block) {
+      if (!block.isEmpty() && block.get(block.size() - 1).isEmpty()) {
+         block.remove(block.size() - 1);
+      }
+   }
+
+   private static List<GitCommit> getCommitsMetadataSeparately(final File folder, final List<String> commitNames) throws IOException {
       final List<GitCommit> commits = new LinkedList<>();
       for (String commit : commitNames) {
          ProcessBuilder readCommitProcessBuilder = new ProcessBuilder("git", "log", "-n", "1", commit);
          readCommitProcessBuilder.directory(folder);
          final Process readCommitProcess = readCommitProcessBuilder.start();
          try (final BufferedReader readCommitInput = new BufferedReader(new InputStreamReader(readCommitProcess.getInputStream()))) {
-            String line = null;
-            String author = null, date = null, message = "";
+            final List<String> lines = new LinkedList<>();
+            String line;
             while ((line = readCommitInput.readLine()) != null) {
-               if (line.startsWith("Author:")) {
-                  author = line.substring(8);
-               }
-               if (line.startsWith("Date: ")) {
-                  date = line.substring(8);
-               } else if (author != null && date != null) {
-                  message += line + " ";
-               }
+               lines.add(line);
             }
-            final GitCommit gc = new GitCommit(commit, author, date, message);
-            commits.add(gc);
+            commits.add(parseCommitMetadata(commit, lines));
          }
       }
       return commits;
    }
 
+   private static GitCommit parseCommitMetadata(final String commit, final List<String> lines) {
+      String author = null, date = null;
+      final StringBuilder message = new StringBuilder();
+      for (String line : lines) {
+         if (line.startsWith("Author:")) {
+            author = line.substring(8);
+         }
+         if (line.startsWith("Date: ")) {
+            date = line.substring(8);
+         } else if (author != null && date != null) {
+            message.append(line).append(' ');
+         }
+      }
+      return new GitCommit(commit, author, date, message.toString());
+   }
+
    private static List<String> getCommitNames(final File folder, final boolean includeAllBranches) throws IOException {
       String command = includeAllBranches ? "git log --oneline --all" : "git log --oneline";
       final Process p = Runtime.getRuntime().exec(command, new String[0], folder);
@@ -278,65 +412,84 @@ public final class GitUtils {
    }
 
    public static VersionDiff getChangedClasses(final File projectFolder, final List<File> modules, final String lastVersion, final ExecutionConfig config) {
-      try {
-         final Process process;
-         if (lastVersion != null) {
-            process = Runtime.getRuntime().exec("git diff --name-only " + lastVersion + " HEAD", null, projectFolder);
-         } else {
-            process = Runtime.getRuntime().exec("git diff --name-only HEAD^ HEAD", null, projectFolder);
+      final String oldVersion = lastVersion != null ? lastVersion : "HEAD^";
+      return getDiff(projectFolder, modules, oldVersion, "HEAD", config);
+   }
+
+   public static VersionDiff getChangedFiles(final File projectFolder, final List<File> modules, final String version, final ExecutionConfig config) {
+      return getDiff(projectFolder, modules, version + "~1", version, config);
+   }
+
+   /**
+    * Determines the difference of both versions by comparing their trees in the object database, so none of them needs to be checked out.
+    */
+   public static VersionDiff getDiff(final File projectFolder, final List<File> modules, final String oldVersion, final String newVersion, final ExecutionConfig config) {
+      try (GitObjectReader reader = new GitObjectReader(projectFolder)) {
+         final VersionDiff diff = new VersionDiff(modules, projectFolder);
+         for (final ChangedFile changedFile : reader.getChangedFiles(oldVersion, newVersion)) {
+            diff.addChange(changedFile.getPath(), config);
          }
-         return getDiffFromProcess(process, modules, projectFolder, config);
+         return diff;
       } catch (final IOException e) {
          e.printStackTrace();
       }
       return null;
    }
 
-   public static VersionDiff getChangedFiles(final File projectFolder, final List<File> modules, final String version, final ExecutionConfig config) {
+   /**
+    * Returns the count of changed files of every commit (compared to its first parent) between the first and the last commit, read by one git log call. Merge commits and
+    * commits without changes are not contained. If git fails, the map is empty, so all commits are weighted equally.
+    * 
+    * @param projectFolder
+    * @param firstCommit Oldest commit that should be contained
+    * @param lastCommit Newest commit that should be contained
+    * @return Map from commit hash to count of changed files
+    */
+   public static Map<String, Integer> getChangedFileCounts(final File projectFolder, final String firstCommit, final String lastCommit) {
+      final Map<String, Integer> changedFileCounts = new HashMap<>();
       try {
-         final Process process = Runtime.getRuntime().exec("git diff --name-only " + version + ".." + version + "~1", new String[0], projectFolder);
-         return getDiffFromProcess(process, modules, projectFolder, config);
+         // Excluding the parents of the first commit also works for the root commit, which has no parents
+         final ProcessBuilder builder = new ProcessBuilder("git", "log", "--name-only", "--pretty=format:" + COMMIT_LINE_PREFIX + "%H", lastCommit, "--not", firstCommit + "^@");
+         builder.directory(projectFolder);
+         builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+         final Process process = builder.start();
+         try (final BufferedReader input = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String currentCommit = null;
+            String line;
+            while ((line = input.readLine()) != null) {
+               if (line.startsWith(COMMIT_LINE_PREFIX)) {
+                  currentCommit = line.substring(COMMIT_LINE_PREFIX.length());
+               } else if (currentCommit != null && !line.isEmpty()) {
+                  changedFileCounts.merge(currentCommit, 1, Integer::sum);
+               }
+            }
+         }
+         final int exitCode = process.waitFor();
+         if (exitCode != 0) {
+            LOG.warn("git log returned {}, weighting all commits equally", exitCode);
+            changedFileCounts.clear();
+         }
       } catch (final IOException e) {
          e.printStackTrace();
+         changedFileCounts.clear();
+      } catch (final InterruptedException e) {
+         Thread.currentThread().interrupt();
+         changedFileCounts.clear();
       }
-      return null;
-   }
-
-   private static VersionDiff getDiffFromProcess(final Process p, final List<File> modules, final File projectFolder, final ExecutionConfig config) {
-      final VersionDiff diff = new VersionDiff(modules, projectFolder);
-      final String output = StreamGobbler.getFullProcess(p, false);
-      for (final String line : output.split("\n")) {
-         diff.addChange(line, config);
-      }
-      return diff;
+      return changedFileCounts;
    }
 
-   public static int getChangedLines(final File projectFolder, final String version, final List<ChangedEntity> entities, ExecutionConfig config) {
+   /**
+    * Returns the count of added and removed lines of the version compared to its predecessor, counting only the files of the given classes.
+    */
+   public static int getChangedLines(final File projectFolder, final String version, final List<ChangedEntity> entities, final ExecutionConfig config) {
       try {
-
-         final File folderTemp = new File(FilenameUtils.normalize(projectFolder.getAbsolutePath()));
-         final String command = "git diff --stat=250 " + version + ".." + version + "~1";
-         final Process process = Runtime.getRuntime().exec(command, new String[0], folderTemp);
-         final String output = StreamGobbler.getFullProcess(process, false);
          int size = 0;
-         final String[] lines = output.split("\n");
-
-         // Skip last line - therefore - 1
-         for (int index = 0; index < lines.length - 1; index++) {
-            final String line = lines[index].trim().replaceAll("\\s{2,}", " ");
-            System.out.println(line);
-            final String[] parts = line.split("\\|");
-            final String clazz = parts[0].replaceAll(" ", "");
-            final String number = parts[1];
-            final String countString = number.split(" ")[1];
-            if (!countString.equals("Bin")) {
-               final int count = Integer.parseInt(countString);
-               String clazzName = getClazz(clazz, config);
-               if (clazzName != null) {
-                  final ChangedEntity changedEntity = new ChangedEntity(clazzName, "");
-                  if (entities.contains(changedEntity)) {
-                     size += count;
-                  }
+         for (final Map.Entry<String, Patch<String>> changedFile : getChangedLineRanges(projectFolder, version + "~1", version).entrySet()) {
+            final String clazzName = getClazz(changedFile.getKey(), config);
+            if (clazzName != null && entities.contains(new ChangedEntity(clazzName, ""))) {
+               for (final Delta<String> delta : changedFile.getValue().getDeltas()) {
+                  size += delta.getOriginal().size() + delta.getRevised().size();
                }
             }
          }
@@ -347,6 +500,30 @@ public final class GitUtils {
       return -1;
    }
 
+   /**
+    * Returns the changed line ranges of all changed text files between both versions; the contents of both versions are read from the object database, so none of them needs to
+    * be checked out.
+    * 
+    * @return Map from the path of every changed file, relative to the repository root, to the changes of its lines
+    */
+   public static Map<String, Patch<String>> getChangedLineRanges(final File projectFolder, final String oldVersion, final String newVersion) throws IOException {
+      final Map<String, Patch<String>> changedLines = new LinkedHashMap<>();
+      try (GitObjectReader reader = new GitObjectReader(projectFolder)) {
+         for (final ChangedFile changedFile : reader.getChangedFiles(oldVersion, newVersion)) {
+            final String oldContent = changedFile.getOldBlobId() != null ? reader.readBlob(changedFile.getOldBlobId()) : "";
+            final String newContent = changedFile.getNewBlobId() != null ? reader.readBlob(changedFile.getNewBlobId()) : "";
+            if (oldContent.indexOf('\0') == -1 && newContent.indexOf('\0') == -1) {
+               changedLines.put(changedFile.getPath(), DiffUtils.diff(getLines(oldContent), getLines(newContent)));
+            }
+         }
+      }
+      return changedLines;
+   }
+
+   private static List<String> getLines(final String content) {
+      return content.isEmpty() ? new LinkedList<>() : Arrays.asList(content.split("\n"));
+   }
+
    public static String getClazz(String currentFileName, ExecutionConfig config) {
       if (currentFileName.endsWith(VersionDiff.JAVA_ENDING)) {
          String fileNameWithoutExtension = currentFileName.substring(0, currentFileName.length() - VersionDiff.JAVA_ENDING.length());
@@ -392,23 +569,45 @@ public final class GitUtils {
       try {
          synchronized (projectFolder) {
             LOG.debug("Going to tag {} folder: {}", tag, projectFolder.getAbsolutePath());
-            reset(projectFolder);
-
-            clean(projectFolder);
-
-            int worked = checkout(tag, projectFolder);
+            resetAndCheckout(tag, projectFolder);
+         }
+      } catch (final IOException e) {
+         e.printStackTrace();
+      } catch (final InterruptedException e) {
+         e.printStackTrace();
+      }
+   }
 
-            if (worked != 0) {
-               LOG.info("Return value was !=0 - fetching");
-               final Process pFetch = Runtime.getRuntime().exec("git fetch --all", new String[0], projectFolder);
-               final String outFetch = StreamGobbler.getFullProcess(pFetch, false);
-               pFetch.waitFor();
-               System.out.println(outFetch);
+   /**
+    * Lets the project go to the given state like {@link #goToTag(String, File)}, but keeps the build output folders per commit instead of removing them, so going back to a
+    * commit restores its build output. This is only useful if the caller alternates between commits and skips cleaning the build output if it has been restored.
+    * 
+    * @param tag
+    * @param projectFolder
+    * @return Whether the build output of the new commit has been restored
+    */
+   public static boolean switchVersion(final String tag, final File projectFolder) {
+      try {
+         synchronized (projectFolder) {
+            LOG.debug("Switching to tag {} folder: {}", tag, projectFolder.getAbsolutePath());
+            final BuildOutputStash buildOutputStash = new BuildOutputStash(projectFolder);
+            final String oldCommit = getHeadCommit(projectFolder);
+            if (oldCommit != null) {
+               try {
+                  buildOutputStash.stash(oldCommit);
+               } catch (IOException e) {
+                  LOG.warn("Could not stash build output of {}, it will be removed: {}", oldCommit, e.getMessage());
+               }
+            }
 
-               int secondCheckoutWorked = checkout(tag, projectFolder);
+            resetAndCheckout(tag, projectFolder);
 
-               if (secondCheckoutWorked != 0) {
-                  LOG.error("Second checkout did not work - an old version is probably analyzed");
+            final String newCommit = getHeadCommit(projectFolder);
+            if (newCommit != null) {
+               try {
+                  return buildOutputStash.restore(newCommit);
+               } catch (IOException e) {
+                  LOG.warn("Could not restore build output of {}: {}", newCommit, e.getMessage());
                }
             }
          }
@@ -417,6 +616,38 @@ public final class GitUtils {
       } catch (final InterruptedException e) {
          e.printStackTrace();
       }
+      return false;
+   }
+
+   private static void resetAndCheckout(final String tag, final File projectFolder) throws IOException, InterruptedException {
+      reset(projectFolder);
+
+      clean(projectFolder);
+
+      int worked = checkout(tag, projectFolder);
+
+      if (worked != 0) {
+         LOG.info("Return value was !=0 - fetching");
+         final Process pFetch = Runtime.getRuntime().exec("git fetch --all", new String[0], projectFolder);
+         final String outFetch = StreamGobbler.getFullProcess(pFetch, false);
+         pFetch.waitFor();
+         System.out.println(outFetch);
+
+         int secondCheckoutWorked = checkout(tag, projectFolder);
+
+         if (secondCheckoutWorked != 0) {
+            LOG.error("Second checkout did not work - an old version is probably analyzed");
+         }
+      }
+   }
+
+   private static String getHeadCommit(final File projectFolder) throws IOException, InterruptedException {
+      final Process process = new ProcessBuilder("git", "rev-parse", "--verify", "-q", "HEAD").directory(projectFolder).start();
+      final String commit = StreamGobbler.getFullProcess(process, false).trim();
+      if (process.waitFor() != 0 || commit.isEmpty()) {
+         return null;
+      }
+      return commit;
    }
 
    public static void clean(final File projectFolder) throws IOException, InterruptedException {
@@ -95,6 +95,14 @@ public class VersionIteratorGit extends VersionIterator {
       return true;
    }
 
+   /**
+    * Goes to the next commit without changing the folder, e.g. if the versions are read from the repository
+    */
+   public boolean goToNextCommitWithoutCheckout() {
+      tagid++;
+      return true;
+   }
+
    @Override
    public boolean goToPreviousCommit() {
       if (tagid > 0) {
@@ -2,16 +2,28 @@ package de.dagere.peass.dependency;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import de.dagere.peass.TestConstants;
+import de.dagere.peass.config.ExecutionConfig;
+import de.dagere.peass.config.KiekerConfig;
 import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.ChangedEntity;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.execution.utils.EnvironmentVariables;
 import de.dagere.peass.execution.utils.ProjectModules;
 import de.dagere.peass.execution.utils.TestExecutor;
 import de.dagere.peass.folders.PeassFolders;
@@ -44,6 +56,26 @@ public class TestDependencyManager {
       Assert.assertFalse(testFolder.exists());
    }
 
+   @Test
+   public void testWeavingScope() {
+      final PeassFolders folders = new PeassFolders(TestConstants.CURRENT_FOLDER);
+      final DependencyManager manager = new DependencyManager(folders, new ExecutionConfig(), new KiekerConfig(true), new EnvironmentVariables());
+
+      final TestCase unchangedTest = new TestCase("de.test.UnchangedTest", "test", "");
+      final TestCase changedTest = new TestCase("de.test.ChangedTest", "test", "");
+      final TestCase untracedTest = new TestCase("de.test.UntracedTest", "test", "");
+      manager.getDependencyMap().addDependency(unchangedTest, new ChangedEntity("de.test.Called", ""), "call");
+      manager.getDependencyMap().addDependency(changedTest, new ChangedEntity("de.test.Called", ""), "call");
+      manager.getDependencyMap().addDependencies(untracedTest, new HashMap<>());
+
+      final Set<ChangedEntity> changedClazzes = new HashSet<>(Arrays.asList(new ChangedEntity("de.test.ChangedTest", ""), new ChangedEntity("de.test.Changed", "")));
+      final Map<TestCase, Set<String>> weavingScope = manager.getWeavingScope(changedClazzes);
+
+      MatcherAssert.assertThat(weavingScope.get(unchangedTest), Matchers.containsInAnyOrder("de.test.UnchangedTest", "de.test.Called", "de.test.Changed", "de.test.ChangedTest"));
+      Assert.assertFalse(weavingScope.containsKey(changedTest));
+      Assert.assertFalse(weavingScope.containsKey(untracedTest));
+   }
+
    private void prepareMock(final PeassFolders folders, final TestExecutor testExecutorMock, final File testFolder, final File rubishFile) {
       Mockito.when(testExecutorMock.getModules()).thenReturn(Mockito.mock(ProjectModules.class));
    }
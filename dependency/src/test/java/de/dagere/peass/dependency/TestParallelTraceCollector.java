@@ -0,0 +1,65 @@
+package de.dagere.peass.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.dependency.analysis.data.TestSet;
+
+public class TestParallelTraceCollector {
+
+   private static final File MERGE_FOLDER = new File("target", "traceMerge");
+
+   @Test
+   public void testSplitByClass() {
+      TestSet tests = new TestSet();
+      tests.addTest(new TestCase("ClazzA", "test1"));
+      tests.addTest(new TestCase("ClazzA", "test2"));
+      tests.addTest(new TestCase("ClazzA", "test3"));
+      tests.addTest(new TestCase("ClazzB", "test1"));
+      tests.addTest(new TestCase("ClazzC", "test1"));
+      tests.addTest(new TestCase("ClazzC", "test2"));
+
+      List<TestSet> parts = ParallelTraceCollector.splitByClass(tests, 2);
+
+      Assert.assertEquals(2, parts.size());
+      Assert.assertEquals(3, parts.get(0).getTests().size());
+      Assert.assertEquals(1, parts.get(0).classCount());
+      Assert.assertEquals(3, parts.get(1).getTests().size());
+      Assert.assertEquals(2, parts.get(1).classCount());
+   }
+
+   @Test
+   public void testSplitLessClassesThanThreads() {
+      TestSet tests = new TestSet();
+      tests.addTest(new TestCase("ClazzA", "test1"));
+      tests.addTest(new TestCase("ClazzA", "test2"));
+
+      List<TestSet> parts = ParallelTraceCollector.splitByClass(tests, 4);
+
+      Assert.assertEquals(1, parts.size());
+      Assert.assertEquals(2, parts.get(0).getTests().size());
+   }
+
+   @Test
+   public void testMergeFolder() throws IOException {
+      FileUtils.deleteDirectory(MERGE_FOLDER);
+      File destination = new File(MERGE_FOLDER, "measurementsTemp");
+      FileUtils.writeStringToFile(new File(destination, "project/ClazzA/1/test1/kieker.dat"), "A", StandardCharsets.UTF_8);
+      File source = new File(MERGE_FOLDER, "trace_1");
+      FileUtils.writeStringToFile(new File(source, "project/ClazzB/2/test1/kieker.dat"), "B", StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(new File(source, "project/ClazzB/test1.xml"), "B", StandardCharsets.UTF_8);
+
+      ParallelTraceCollector.mergeFolder(source, destination);
+
+      Assert.assertTrue(new File(destination, "project/ClazzA/1/test1/kieker.dat").exists());
+      Assert.assertTrue(new File(destination, "project/ClazzB/2/test1/kieker.dat").exists());
+      Assert.assertTrue(new File(destination, "project/ClazzB/test1.xml").exists());
+   }
+}
@@ -0,0 +1,160 @@
+package de.dagere.peass.dependency.changesreading;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.ParseException;
+
+import de.dagere.peass.TestConstants;
+import de.dagere.peass.dependency.analysis.data.ChangedEntity;
+import de.dagere.peass.dependency.changesreading.ParsedSourceInfo.MethodSource;
+import de.dagere.peass.dependency.traces.TraceElementContent;
+
+public class TestParsedSourceCache {
+
+   private static final URL SOURCE = Thread.currentThread().getContextClassLoader().getResource("comparison");
+
+   private File folder;
+   private File cacheFolder;
+
+   @BeforeEach
+   public void init() throws URISyntaxException, IOException {
+      folder = Paths.get(SOURCE.toURI()).toFile();
+      cacheFolder = new File(TestConstants.CURRENT_FOLDER, "parsedSourceCache");
+      FileUtils.deleteDirectory(cacheFolder);
+      ParsedSourceCache.clearMemory();
+      ParsedSourceCache.setCacheFolder(folder, cacheFolder);
+   }
+
+   @AfterEach
+   public void cleanup() {
+      ParsedSourceCache.clearMemory();
+      ParsedSourceCache.setCacheFolder(folder, null);
+   }
+
+   @Test
+   public void testBlobId() throws IOException {
+      File helloFile = new File(TestConstants.CURRENT_FOLDER, "hello.txt");
+      FileUtils.writeStringToFile(helloFile, "hello\n", StandardCharsets.UTF_8);
+
+      // Equal to git hash-object hello.txt
+      Assert.assertEquals("ce013625030ba8dba906f756967f9e9ca394464a", ParsedSourceCache.getBlobId(helloFile));
+   }
+
+   @Test
+   public void testClazzesFromDisk() throws IOException {
+      File innerClassFile = new File(folder, "InnerClass1.java");
+      MatcherAssert.assertThat(ParsedSourceCache.getSourceInfo(innerClassFile).getClazzes(), Matchers.contains("Test", "Test$InnerStuff"));
+
+      File cacheFile = new File(cacheFolder, ParsedSourceCache.getBlobId(innerClassFile).substring(0, 2));
+      Assert.assertTrue(cacheFile.exists());
+
+      ParsedSourceCache.clearMemory();
+      MatcherAssert.assertThat(ParsedSourceCache.getSourceInfo(innerClassFile).getClazzes(), Matchers.contains("Test", "Test$InnerStuff"));
+   }
+
+   @Test
+   public void testMethodSource() throws IOException {
+      File innerClassFile = new File(folder, "InnerClass1.java");
+      TraceElementContent constructor = new TraceElementContent("Test", "<init>", new String[0], 0);
+
+      MethodSource source = ParsedSourceCache.getMethodSource(innerClassFile, constructor);
+      MatcherAssert.assertThat(source.getSource(), Matchers.containsString("Comment 1"));
+      MatcherAssert.assertThat(source.getSourceNoComment(), Matchers.not(Matchers.containsString("Comment 1")));
+
+      ParsedSourceCache.clearMemory();
+      MethodSource cachedSource = ParsedSourceCache.getMethodSource(innerClassFile, constructor);
+      Assert.assertEquals(source.getSource(), cachedSource.getSource());
+      Assert.assertEquals(source.getSourceNoComment(), cachedSource.getSourceNoComment());
+
+      MethodSource missing = ParsedSourceCache.getMethodSource(innerClassFile, new TraceElementContent("Test", "notExisting", new String[0], 0));
+      Assert.assertNull(missing.getSource());
+   }
+
+   @Test
+   public void testMethodSourcesOfFile() throws IOException {
+      File innerClassFile = new File(folder, "InnerClass1.java");
+      TraceElementContent constructor = new TraceElementContent("Test", "<init>", new String[0], 0);
+      TraceElementContent missing = new TraceElementContent("Test", "notExisting", new String[0], 0);
+
+      List<MethodSource> sources = ParsedSourceCache.getMethodSources(innerClassFile, Arrays.asList(constructor, missing));
+      Assert.assertEquals(2, sources.size());
+      MatcherAssert.assertThat(sources.get(0).getSource(), Matchers.containsString("Comment 1"));
+      Assert.assertNull(sources.get(1).getSource());
+
+      ParsedSourceCache.clearMemory();
+      MethodSource cachedSource = ParsedSourceCache.getMethodSource(innerClassFile, constructor);
+      Assert.assertEquals(sources.get(0).getSource(), cachedSource.getSource());
+      Assert.assertEquals(sources.get(0).getSourceNoComment(), cachedSource.getSourceNoComment());
+   }
+
+   @Test
+   public void testCachedChange() throws ParseException, IOException {
+      File file1 = new File(folder, "Test1_1_Equal.java");
+      File file2 = new File(folder, "Test6_MethodChanged.java");
+
+      ClazzChangeData changedMethods = new ClazzChangeData(new ChangedEntity("Test1_1_Equal", ""));
+      FileComparisonUtil.getChangedMethods(file1, file2, changedMethods);
+
+      ParsedSourceCache.clearMemory();
+      ClazzChangeData cachedChangedMethods = new ClazzChangeData(new ChangedEntity("Test1_1_Equal", ""));
+      FileComparisonUtil.getChangedMethods(file1, file2, cachedChangedMethods);
+
+      Assert.assertTrue(cachedChangedMethods.isChange());
+      Assert.assertTrue(cachedChangedMethods.isOnlyMethodChange());
+      Assert.assertEquals(changedMethods.getChangedMethods(), cachedChangedMethods.getChangedMethods());
+      MatcherAssert.assertThat(cachedChangedMethods.getChangedMethods().values().iterator().next(), Matchers.hasItem("doNonStaticThing"));
+   }
+
+   @Test
+   public void testCachedImportChangeKeepsModule() throws ParseException, IOException {
+      File file1 = new File(folder, "TestImport_New.java");
+      File file2 = new File(folder, "TestImport_Old.java");
+
+      ClazzChangeData changedMethods = new ClazzChangeData(new ChangedEntity("de.TestImport_new", "moduleA"));
+      FileComparisonUtil.getChangedMethods(file1, file2, changedMethods);
+      MatcherAssert.assertThat(changedMethods.getImportChanges(), Matchers.everyItem(Matchers.hasProperty("module", Matchers.equalTo("moduleA"))));
+
+      ParsedSourceCache.clearMemory();
+      ClazzChangeData cachedChangedMethods = new ClazzChangeData(new ChangedEntity("de.TestImport_new", "moduleB"));
+      FileComparisonUtil.getChangedMethods(file1, file2, cachedChangedMethods);
+
+      Assert.assertFalse(cachedChangedMethods.getImportChanges().isEmpty());
+      MatcherAssert.assertThat(cachedChangedMethods.getImportChanges(), Matchers.everyItem(Matchers.hasProperty("module", Matchers.equalTo("moduleB"))));
+   }
+
+   @Test
+   public void testCacheFolderPerProject() throws IOException {
+      File otherProject = new File(TestConstants.CURRENT_FOLDER, "otherProject");
+      File otherCacheFolder = new File(TestConstants.CURRENT_FOLDER, "otherParsedSourceCache");
+      FileUtils.deleteDirectory(otherCacheFolder);
+      File otherFile = new File(otherProject, "src/Test.java");
+      FileUtils.copyFile(new File(folder, "InnerClass1.java"), otherFile);
+      ParsedSourceCache.setCacheFolder(otherProject, otherCacheFolder);
+      try {
+         Assert.assertEquals(cacheFolder, ParsedSourceCache.getCacheFolder(new File(folder, "InnerClass1.java")));
+         Assert.assertEquals(otherCacheFolder, ParsedSourceCache.getCacheFolder(otherFile));
+         Assert.assertNull(ParsedSourceCache.getCacheFolder(new File(TestConstants.CURRENT_FOLDER, "unregistered/Test.java")));
+
+         ParsedSourceCache.getSourceInfo(otherFile);
+         Assert.assertTrue(new File(otherCacheFolder, ParsedSourceCache.getBlobId(otherFile).substring(0, 2)).exists());
+         Assert.assertFalse(new File(cacheFolder, ParsedSourceCache.getBlobId(otherFile).substring(0, 2)).exists());
+      } finally {
+         ParsedSourceCache.setCacheFolder(otherProject, null);
+      }
+   }
+}
@@ -0,0 +1,149 @@
+package de.dagere.peass.dependency.changesreading;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.TestConstants;
+import de.dagere.peass.TestUtil;
+import de.dagere.peass.config.ExecutionConfig;
+import de.dagere.peass.dependency.analysis.data.ChangedEntity;
+import de.dagere.peass.vcs.GitObjectReader;
+import de.dagere.peass.vcs.GitObjectReader.ChangedFile;
+import de.dagere.peass.vcs.GitUtils;
+import de.dagere.peass.vcs.ProjectBuilderHelper;
+import difflib.Delta;
+import difflib.Patch;
+
+public class TestRepositoryChangeReader {
+
+   private static final File PROJECT_FOLDER = new File(TestConstants.CURRENT_FOLDER, "repository-changes-git");
+   private static final File SOURCE_FOLDER = new File(PROJECT_FOLDER, "src/main/java/de/test");
+
+   @BeforeEach
+   public void prepareProject() throws InterruptedException, IOException {
+      ParsedSourceCache.clearMemory();
+      TestUtil.deleteContents(PROJECT_FOLDER);
+      PROJECT_FOLDER.mkdirs();
+      ProjectBuilderHelper.init(PROJECT_FOLDER);
+
+      writeClazz("Changed", "public int a() { return 1; }\n   public int b() { return 2; }");
+      writeClazz("Commented", "// Old comment\n   public int a() { return 1; }");
+      writeClazz("Moved", "public int a() { return 1; }");
+      FileUtils.writeStringToFile(new File(PROJECT_FOLDER, "README.md"), "Line 1\nLine 2\nLine 3\n", StandardCharsets.UTF_8);
+      ProjectBuilderHelper.commit(PROJECT_FOLDER, "Version 1");
+      ProjectBuilderHelper.branch(PROJECT_FOLDER, "version1");
+
+      writeClazz("Changed", "public int a() { return 3; }\n   public int b() { return 2; }");
+      writeClazz("Commented", "// New comment\n   public int a() { return 1; }");
+      writeClazz("Added", "public int a() { return 1; }");
+      FileUtils.moveFile(new File(SOURCE_FOLDER, "Moved.java"), new File(SOURCE_FOLDER, "Renamed.java"));
+      FileUtils.writeStringToFile(new File(SOURCE_FOLDER, "Renamed.java"), "package de.test;\n\npublic class Renamed {\n   public int a() { return 1; }\n}\n",
+            StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(new File(PROJECT_FOLDER, "README.md"), "Line 1\nChanged line\nLine 3\nLine 4\n", StandardCharsets.UTF_8);
+      FileUtils.writeByteArrayToFile(new File(PROJECT_FOLDER, "data.bin"), new byte[] { 1, 0, 2 });
+      ProjectBuilderHelper.commit(PROJECT_FOLDER, "Version 2");
+      ProjectBuilderHelper.branch(PROJECT_FOLDER, "version2");
+
+      // The working tree stays at the old version, since no version needs to be checked out
+      ProjectBuilderHelper.checkout(PROJECT_FOLDER, "version1");
+   }
+
+   @AfterEach
+   public void cleanup() {
+      ParsedSourceCache.clearMemory();
+   }
+
+   private void writeClazz(final String name, final String body) throws IOException {
+      final String source = "package de.test;\n\npublic class " + name + " {\n   " + body + "\n}\n";
+      FileUtils.writeStringToFile(new File(SOURCE_FOLDER, name + ".java"), source, StandardCharsets.UTF_8);
+   }
+
+   @Test
+   public void testChangedFiles() throws IOException {
+      try (GitObjectReader reader = new GitObjectReader(PROJECT_FOLDER)) {
+         final Map<String, ChangedFile> changedFiles = new HashMap<>();
+         for (ChangedFile changedFile : reader.getChangedFiles("version1", "version2")) {
+            changedFiles.put(changedFile.getPath(), changedFile);
+         }
+         MatcherAssert.assertThat(readOutput("git", "diff", "--name-only", "--no-renames", "version1", "version2"),
+               Matchers.containsInAnyOrder(changedFiles.keySet().toArray()));
+
+         Assert.assertNull(changedFiles.get("src/main/java/de/test/Added.java").getOldBlobId());
+         Assert.assertNull(changedFiles.get("src/main/java/de/test/Moved.java").getNewBlobId());
+         final ChangedFile changed = changedFiles.get("src/main/java/de/test/Changed.java");
+         Assert.assertEquals(readOutput("git", "rev-parse", "version2:src/main/java/de/test/Changed.java").get(0), changed.getNewBlobId());
+         MatcherAssert.assertThat(reader.readBlob(changed.getOldBlobId()), Matchers.containsString("return 1;"));
+
+         Assert.assertTrue(reader.exists("version2", "src/main/java/de/test/Renamed.java"));
+         Assert.assertFalse(reader.exists("version1", "src/main/java/de/test/Renamed.java"));
+      }
+   }
+
+   @Test
+   public void testChangedLines() throws IOException {
+      final Map<String, Patch<String>> changedLines = GitUtils.getChangedLineRanges(PROJECT_FOLDER, "version1", "version2");
+      Assert.assertFalse(changedLines.containsKey("data.bin"));
+
+      for (String numstatLine : readOutput("git", "diff", "--numstat", "--no-renames", "version1", "version2")) {
+         final String[] parts = numstatLine.split("\t");
+         if (!parts[0].equals("-")) {
+            int added = 0, removed = 0;
+            for (Delta<String> delta : changedLines.get(parts[2]).getDeltas()) {
+               added += delta.getRevised().size();
+               removed += delta.getOriginal().size();
+            }
+            Assert.assertEquals(numstatLine, Integer.parseInt(parts[0]), added);
+            Assert.assertEquals(numstatLine, Integer.parseInt(parts[1]), removed);
+         }
+      }
+   }
+
+   @Test
+   public void testChanges() throws IOException {
+      final RepositoryChangeReader reader = new RepositoryChangeReader(PROJECT_FOLDER, new ExecutionConfig());
+      final Map<ChangedEntity, ClazzChangeData> changes = reader.getChanges("version1", "version2", Arrays.asList(PROJECT_FOLDER));
+
+      MatcherAssert.assertThat(changes.keySet(), Matchers.containsInAnyOrder(new ChangedEntity("de.test.Changed", ""), new ChangedEntity("de.test.Added", ""),
+            new ChangedEntity("de.test.Moved", ""), new ChangedEntity("de.test.Renamed", "")));
+
+      final ClazzChangeData changedData = changes.get(new ChangedEntity("de.test.Changed", ""));
+      Assert.assertTrue(changedData.isOnlyMethodChange());
+      MatcherAssert.assertThat(changedData.getChangedMethods().get("Changed"), Matchers.contains("a"));
+      Assert.assertFalse(changes.get(new ChangedEntity("de.test.Added", "")).isOnlyMethodChange());
+
+      // Reading again uses the cached comparison of both blobs
+      final Map<ChangedEntity, ClazzChangeData> cachedChanges = reader.getChanges("version1", "version2", Arrays.asList(PROJECT_FOLDER));
+      Assert.assertEquals(changes.keySet(), cachedChanges.keySet());
+      Assert.assertEquals(changedData.getChangedMethods(), cachedChanges.get(new ChangedEntity("de.test.Changed", "")).getChangedMethods());
+
+      Assert.assertEquals("// Old comment", FileUtils.readLines(new File(SOURCE_FOLDER, "Commented.java"), StandardCharsets.UTF_8).get(3).trim());
+   }
+
+   private List<String> readOutput(final String... command) throws IOException {
+      final Process process = new ProcessBuilder(command).directory(PROJECT_FOLDER).start();
+      final List<String> lines = new LinkedList<>();
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            lines.add(line);
+         }
+      }
+      return lines;
+   }
+}
@@ -1,9 +1,12 @@
 package de.dagere.peass.dependency.execution;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.List;
 
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.Assert;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -63,4 +66,11 @@ public class TestArgLineBuilder {
       MatcherAssert.assertThat(argLineMaven, Matchers.not(Matchers.containsString("  ")));
    }
 
+   @Test
+   public void testSplitArgLine() {
+      List<String> arguments = ArgLineBuilder.splitArgLine("-Xmx1g  -Djava.io.tmpdir='/tmp/my folder' -Dkieker.monitoring.configuration=\"/tmp/a b/kieker.properties\"");
+
+      Assert.assertEquals(Arrays.asList("-Xmx1g", "-Djava.io.tmpdir=/tmp/my folder", "-Dkieker.monitoring.configuration=/tmp/a b/kieker.properties"), arguments);
+   }
+
 }
@@ -0,0 +1,72 @@
+package de.dagere.peass.dependency.execution;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.execution.kieker.CachedSourceInstrumenter;
+import net.kieker.sourceinstrumentation.AllowedKiekerRecord;
+import net.kieker.sourceinstrumentation.instrument.InstrumentKiekerSource;
+
+public class TestCachedSourceInstrumenter {
+
+   private static final File BASE_FOLDER = new File("target", "instrumentationCache");
+   private static final File PROJECT_FOLDER = new File(BASE_FOLDER, "project");
+   private static final File CACHE_FOLDER = new File(BASE_FOLDER, "cache");
+
+   private static final String CALLEE = "package de.test;\n\npublic class Callee {\n   public void method1() {\n      System.out.println(\"1\");\n   }\n}\n";
+   private static final String CALLER = "package de.test;\n\npublic class Caller {\n   public void call() {\n      new Callee().method1();\n   }\n}\n";
+
+   @BeforeEach
+   public void cleanFolders() throws IOException {
+      FileUtils.deleteDirectory(BASE_FOLDER);
+      PROJECT_FOLDER.mkdirs();
+   }
+
+   @Test
+   public void testOnlyChangedFilesAreInstrumented() throws IOException {
+      final File callee = new File(PROJECT_FOLDER, "src/main/java/de/test/Callee.java");
+      final File caller = new File(PROJECT_FOLDER, "src/main/java/de/test/Caller.java");
+      writeSources(callee, caller, CALLEE);
+
+      CachedSourceInstrumenter firstRun = new CachedSourceInstrumenter(new InstrumentKiekerSource(AllowedKiekerRecord.DURATION), CACHE_FOLDER, "config");
+      firstRun.instrumentProject(PROJECT_FOLDER);
+      Assert.assertEquals(2, firstRun.getInstrumentedFiles());
+      Assert.assertEquals(0, firstRun.getRestoredFiles());
+      final String instrumentedCaller = FileUtils.readFileToString(caller, StandardCharsets.UTF_8);
+      Assert.assertNotEquals(CALLER, instrumentedCaller);
+
+      writeSources(callee, caller, CALLEE.replace("\"1\"", "\"2\""));
+
+      CachedSourceInstrumenter secondRun = new CachedSourceInstrumenter(new InstrumentKiekerSource(AllowedKiekerRecord.DURATION), CACHE_FOLDER, "config");
+      secondRun.instrumentProject(PROJECT_FOLDER);
+      Assert.assertEquals(1, secondRun.getInstrumentedFiles());
+      Assert.assertEquals(1, secondRun.getRestoredFiles());
+      Assert.assertEquals(instrumentedCaller, FileUtils.readFileToString(caller, StandardCharsets.UTF_8));
+      Assert.assertTrue(FileUtils.readFileToString(callee, StandardCharsets.UTF_8).contains("\"2\""));
+   }
+
+   @Test
+   public void testOtherConfigurationIsNotReused() throws IOException {
+      final File callee = new File(PROJECT_FOLDER, "src/main/java/de/test/Callee.java");
+      final File caller = new File(PROJECT_FOLDER, "src/main/java/de/test/Caller.java");
+      writeSources(callee, caller, CALLEE);
+      new CachedSourceInstrumenter(new InstrumentKiekerSource(AllowedKiekerRecord.DURATION), CACHE_FOLDER, "config").instrumentProject(PROJECT_FOLDER);
+
+      writeSources(callee, caller, CALLEE);
+      CachedSourceInstrumenter otherConfig = new CachedSourceInstrumenter(new InstrumentKiekerSource(AllowedKiekerRecord.OPERATIONEXECUTION), CACHE_FOLDER, "otherConfig");
+      otherConfig.instrumentProject(PROJECT_FOLDER);
+      Assert.assertEquals(2, otherConfig.getInstrumentedFiles());
+      Assert.assertEquals(0, otherConfig.getRestoredFiles());
+   }
+
+   private void writeSources(final File callee, final File caller, final String calleeSource) throws IOException {
+      FileUtils.writeStringToFile(callee, calleeSource, StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(caller, CALLER, StandardCharsets.UTF_8);
+   }
+}
@@ -0,0 +1,91 @@
+package de.dagere.peass.dependency.execution;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.execution.maven.ClasspathCache;
+import de.dagere.peass.execution.maven.ClasspathCacheEntry;
+import de.dagere.peass.execution.maven.pom.PlainJavaTestExecutor;
+import de.dagere.peass.folders.PeassFolders;
+
+public class TestClasspathCache {
+
+   private static final File BASE_FOLDER = new File("target", "classpathCache");
+   private static final File PROJECT_FOLDER = new File(BASE_FOLDER, "project");
+   private static final TestCase TEST = new TestCase("de.test.CalleeTest", "onlyCallMethod1");
+
+   @BeforeEach
+   public void cleanFolders() throws IOException {
+      FileUtils.deleteDirectory(BASE_FOLDER);
+      PROJECT_FOLDER.mkdirs();
+   }
+
+   @Test
+   public void testStoreAndLoad() throws IOException {
+      File classesFolder = new File(PROJECT_FOLDER, "target/classes");
+      FileUtils.writeStringToFile(new File(classesFolder, "de/test/Callee.class"), "version1", StandardCharsets.UTF_8);
+
+      PeassFolders folders = new PeassFolders(PROJECT_FOLDER);
+      ClasspathCache cache = new ClasspathCache(folders, new MeasurementConfig(2));
+      Assert.assertNull(cache.load("000001", TEST));
+
+      ClasspathCacheEntry entry = new ClasspathCacheEntry();
+      entry.setClasspath(Arrays.asList(classesFolder.getAbsolutePath(), "/home/test/.m2/repository/junit/junit/4.13.2/junit-4.13.2.jar"));
+      entry.setMainClass("org.junit.runner.JUnitCore");
+      cache.store("000001", TEST, entry);
+
+      // The project folder is rebuilt for other versions, so the cached classes need to stay unchanged
+      FileUtils.writeStringToFile(new File(classesFolder, "de/test/Callee.class"), "version2", StandardCharsets.UTF_8);
+
+      ClasspathCacheEntry loaded = cache.load("000001", TEST);
+      Assert.assertEquals("org.junit.runner.JUnitCore", loaded.getMainClass());
+      Assert.assertEquals("/home/test/.m2/repository/junit/junit/4.13.2/junit-4.13.2.jar", loaded.getClasspath().get(1));
+      File cachedClasses = new File(loaded.getClasspath().get(0));
+      Assert.assertTrue(cachedClasses.getAbsolutePath().startsWith(folders.getClasspathCacheFolder().getAbsolutePath()));
+      Assert.assertEquals("version1", FileUtils.readFileToString(new File(cachedClasses, "de/test/Callee.class"), StandardCharsets.UTF_8));
+
+      Assert.assertNull(cache.load("000002", TEST));
+   }
+
+   @Test
+   public void testConfigIsPartOfKey() throws IOException {
+      PeassFolders folders = new PeassFolders(PROJECT_FOLDER);
+      ClasspathCacheEntry entry = new ClasspathCacheEntry();
+      entry.setMainClass("org.junit.runner.JUnitCore");
+      new ClasspathCache(folders, new MeasurementConfig(2)).store("000001", TEST, entry);
+
+      MeasurementConfig otherConfig = new MeasurementConfig(2);
+      otherConfig.setIterations(otherConfig.getIterations() + 1);
+      Assert.assertNull(new ClasspathCache(folders, otherConfig).load("000001", TEST));
+      Assert.assertNotNull(new ClasspathCache(folders, new MeasurementConfig(2)).load("000001", TEST));
+
+      // The configuration is identified by its SHA-1, so different configurations do not share entries by a hash collision
+      Assert.assertTrue(new ClasspathCache(folders, otherConfig).getEntryFolder("000001", TEST).getName().matches("[0-9a-f]{40}"));
+   }
+
+   @Test
+   public void testSurefireJvmArguments() throws IOException, XmlPullParserException {
+      String pom = "<project><modelVersion>4.0.0</modelVersion><groupId>de.test</groupId><artifactId>test</artifactId><version>1</version>"
+            + "<properties><heap>512m</heap></properties>"
+            + "<build><plugins><plugin><groupId>org.apache.maven.plugins</groupId><artifactId>maven-surefire-plugin</artifactId>"
+            + "<configuration><argLine>${argLine} -Xmx${heap} -Djava.io.tmpdir='/tmp/kiekerTemp'</argLine>"
+            + "<systemPropertyVariables><testProperty>value</testProperty></systemPropertyVariables></configuration>"
+            + "</plugin></plugins></build></project>";
+      FileUtils.writeStringToFile(new File(PROJECT_FOLDER, "pom.xml"), pom, StandardCharsets.UTF_8);
+
+      List<String> arguments = PlainJavaTestExecutor.getSurefireJvmArguments(PROJECT_FOLDER);
+
+      Assert.assertEquals(Arrays.asList("-Xmx512m", "-Djava.io.tmpdir=/tmp/kiekerTemp", "-DtestProperty=value"), arguments);
+   }
+}
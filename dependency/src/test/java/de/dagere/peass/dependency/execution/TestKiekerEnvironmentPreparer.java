@@ -75,4 +75,34 @@ public class TestKiekerEnvironmentPreparer {
       checkAopCorrectness();
    }
 
+   @Test
+   public void testNarrowedWeavingScope() throws IOException, InterruptedException {
+      List<File> modules = new LinkedList<File>();
+      modules.add(DependencyTestConstants.CURRENT);
+
+      KiekerConfig kiekerConfig = new KiekerConfig(true);
+      kiekerConfig.setUseSourceInstrumentation(false);
+      kiekerConfig.setNarrowWeavingScope(true);
+      kiekerConfig.check();
+      List<String> existingClasses = Arrays.asList("defaultpackage.NormalDependency", "defaultpackage.OtherDependency", "defaultpackage.TestMe");
+      KiekerEnvironmentPreparer kiekerEnvironmentPreparer = new KiekerEnvironmentPreparer(null, existingClasses, new PeassFolders(DependencyTestConstants.CURRENT),
+            new JUnitTestTransformer(DependencyTestConstants.CURRENT, new ExecutionConfig(10), kiekerConfig), modules);
+
+      kiekerEnvironmentPreparer.prepareKieker();
+      Assert.assertEquals(4, getWovenClassCount());
+
+      kiekerEnvironmentPreparer.narrowWeavingScope(new HashSet<>(Arrays.asList("defaultpackage.NormalDependency")));
+      Assert.assertEquals(2, getWovenClassCount());
+      checkAopCorrectness();
+
+      kiekerEnvironmentPreparer.resetWeavingScope();
+      Assert.assertEquals(4, getWovenClassCount());
+   }
+
+   private int getWovenClassCount() throws IOException {
+      File aopXml = new File(DependencyTestConstants.CURRENT, "src/main/resources/META-INF/aop.xml");
+      String fileText = FileUtils.readFileToString(aopXml, "UTF-8");
+      return fileText.split("<include within=").length - 1;
+   }
+
 }
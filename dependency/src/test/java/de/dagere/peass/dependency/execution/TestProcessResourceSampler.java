@@ -0,0 +1,58 @@
+package de.dagere.peass.dependency.execution;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.execution.processutils.ProcessBuilderHelper;
+import de.dagere.peass.execution.processutils.ProcessResourceSampler;
+import de.dagere.peass.execution.processutils.ProcessTelemetry;
+import de.dagere.peass.execution.utils.EnvironmentVariables;
+
+public class TestProcessResourceSampler {
+
+   private static final Logger LOG = LogManager.getLogger(TestProcessResourceSampler.class);
+
+   @Test
+   public void testChildProcessesAreSampled() throws IOException, InterruptedException {
+      Assume.assumeTrue(EnvironmentVariables.isLinux());
+
+      LOG.info("Starting sampled process");
+      long start = System.nanoTime();
+      Process process = new ProcessBuilder("bash", "-c", "sleep 1 & i=0; while [ $i -lt 100000 ]; do i=$((i+1)); done; wait").start();
+      ProcessResourceSampler.start(process, start);
+      process.waitFor();
+
+      ProcessTelemetry telemetry = ProcessResourceSampler.awaitTelemetry(process);
+      Assert.assertNotNull(telemetry);
+      Assert.assertTrue(telemetry.getWallTime() >= 1000);
+      Assert.assertTrue(telemetry.getCpuTime() > 0);
+      Assert.assertTrue(telemetry.getPeakRss() > 0);
+      if (isChildrenListAvailable()) {
+         Assert.assertTrue(telemetry.getObservedProcesses() >= 2);
+      } else {
+         LOG.info("Kernel does not list children in /proc, so only the process itself is observed");
+         Assert.assertEquals(1, telemetry.getObservedProcesses());
+      }
+      Assert.assertTrue(telemetry.getVoluntaryContextSwitches() + telemetry.getInvoluntaryContextSwitches() > 0);
+
+      Assert.assertNull(ProcessResourceSampler.awaitTelemetry(process));
+   }
+
+   private boolean isChildrenListAvailable() {
+      File[] tasks = new File("/proc/self/task").listFiles();
+      return tasks != null && tasks.length > 0 && new File(tasks[0], "children").exists();
+   }
+
+   @Test
+   public void testProcessCount() {
+      Assume.assumeTrue(EnvironmentVariables.isLinux());
+
+      Assert.assertTrue(ProcessBuilderHelper.getProcessCount() > 1);
+   }
+}
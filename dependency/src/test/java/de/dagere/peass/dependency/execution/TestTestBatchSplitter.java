@@ -0,0 +1,54 @@
+package de.dagere.peass.dependency.execution;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.execution.utils.TestBatchSplitter;
+
+public class TestTestBatchSplitter {
+
+   @Test
+   public void testOneMethodPerClass() {
+      TestBatchSplitter splitter = new TestBatchSplitter(Arrays.asList(new TestCase("ClazzA", "testA"), new TestCase("ClazzA", "testB"), new TestCase("ClazzB", "testA")), 3);
+
+      List<TestCase> firstBatch = splitter.nextBatch();
+      Assert.assertEquals(Arrays.asList(new TestCase("ClazzA", "testA"), new TestCase("ClazzB", "testA")), firstBatch);
+
+      List<TestCase> secondBatch = splitter.nextBatch();
+      Assert.assertEquals(Arrays.asList(new TestCase("ClazzA", "testB")), secondBatch);
+      Assert.assertFalse(splitter.hasNext());
+   }
+
+   @Test
+   public void testBatchSizeAndModules() {
+      TestBatchSplitter splitter = new TestBatchSplitter(Arrays.asList(new TestCase("ClazzA", "testA", "moduleA"), new TestCase("ClazzB", "testA", "moduleB"),
+            new TestCase("ClazzC", "testA", "moduleA"), new TestCase("ClazzD", "testA", "moduleA")), 2);
+
+      List<TestCase> firstBatch = splitter.nextBatch();
+      Assert.assertEquals(2, firstBatch.size());
+      Assert.assertEquals("ClazzA", firstBatch.get(0).getClazz());
+      Assert.assertEquals("ClazzC", firstBatch.get(1).getClazz());
+
+      List<TestCase> secondBatch = splitter.nextBatch();
+      Assert.assertEquals(1, secondBatch.size());
+      Assert.assertEquals("ClazzB", secondBatch.get(0).getClazz());
+
+      Assert.assertEquals("ClazzD", splitter.nextBatch().get(0).getClazz());
+      Assert.assertFalse(splitter.hasNext());
+   }
+
+   @Test
+   public void testDefer() {
+      TestBatchSplitter splitter = new TestBatchSplitter(Arrays.asList(new TestCase("ClazzA", "testA"), new TestCase("ClazzB", "testA")), 2);
+
+      List<TestCase> firstBatch = splitter.nextBatch();
+      splitter.defer(firstBatch.get(1));
+
+      Assert.assertTrue(splitter.hasNext());
+      Assert.assertEquals(Arrays.asList(new TestCase("ClazzB", "testA")), splitter.nextBatch());
+   }
+}
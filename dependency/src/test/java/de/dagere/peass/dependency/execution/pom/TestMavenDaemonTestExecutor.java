@@ -0,0 +1,40 @@
+package de.dagere.peass.dependency.execution.pom;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.execution.maven.pom.MavenDaemonTestExecutor;
+import de.dagere.peass.execution.utils.EnvironmentVariables;
+import de.dagere.peass.folders.PeassFolders;
+
+public class TestMavenDaemonTestExecutor {
+
+   @Test
+   public void testDaemonCommand() {
+      PeassFolders folders = new PeassFolders(new File("target/daemon/project"));
+      EnvironmentVariables env = new EnvironmentVariables();
+
+      EnvironmentVariables daemonEnv = MavenDaemonTestExecutor.createDaemonEnvironment(folders, env);
+      String[] command = daemonEnv.fetchMavenCommand("--batch-mode", "clean");
+
+      String expectedStorage = MavenDaemonTestExecutor.DAEMON_STORAGE_PROPERTY + folders.getMavenDaemonFolder().getAbsolutePath();
+      Assert.assertEquals(Arrays.asList(EnvironmentVariables.isWindows() ? "mvnd.cmd" : "mvnd", expectedStorage, MavenDaemonTestExecutor.IDLE_TIMEOUT, "-T1", "--batch-mode",
+            "clean"), Arrays.asList(command));
+      Assert.assertEquals(Arrays.asList(EnvironmentVariables.fetchMavenCallGeneric(), "clean"), Arrays.asList(env.fetchMavenCommand("clean")));
+   }
+
+   @Test
+   public void testDaemonOfCopiedFolder() {
+      PeassFolders folders = new PeassFolders(new File("target/daemon/project"));
+      PeassFolders copiedFolders = new PeassFolders(new File("target/daemon/copy"));
+
+      EnvironmentVariables daemonEnv = MavenDaemonTestExecutor.createDaemonEnvironment(folders, new EnvironmentVariables());
+      EnvironmentVariables copiedEnv = MavenDaemonTestExecutor.createDaemonEnvironment(copiedFolders, daemonEnv);
+
+      String expectedStorage = MavenDaemonTestExecutor.DAEMON_STORAGE_PROPERTY + copiedFolders.getMavenDaemonFolder().getAbsolutePath();
+      Assert.assertEquals(Arrays.asList(expectedStorage, MavenDaemonTestExecutor.IDLE_TIMEOUT, "-T1"), copiedEnv.getMavenArguments());
+   }
+}
@@ -0,0 +1,62 @@
+package de.dagere.peass.dependency.execution.pom;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.model.Model;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.config.ExecutionConfig;
+import de.dagere.peass.execution.maven.pom.MavenPomUtil;
+import de.dagere.peass.execution.maven.pom.PomModelCache;
+import de.dagere.peass.execution.utils.ProjectModules;
+
+public class TestPomModelCache {
+
+   private static final File SOURCE = new File("src/test/resources/maven-multimodule-pl-example/basic_state");
+   private static final File PROJECT = new File("target/pomModelCache");
+
+   @BeforeEach
+   public void copyProject() throws IOException {
+      FileUtils.deleteDirectory(PROJECT);
+      FileUtils.copyDirectory(SOURCE, PROJECT);
+      PomModelCache.clear();
+   }
+
+   @Test
+   public void testModelIsCopied() throws IOException, XmlPullParserException {
+      File pom = new File(PROJECT, "pom.xml");
+      Model model = PomModelCache.readModel(pom);
+      String artifactId = model.getArtifactId();
+      model.setArtifactId("changed");
+
+      Assert.assertEquals(artifactId, PomModelCache.readModel(pom).getArtifactId());
+
+      PomModelCache.writeModel(pom, model);
+      Assert.assertEquals("changed", PomModelCache.readModel(pom).getArtifactId());
+   }
+
+   @Test
+   public void testModulesAreInvalidatedByPomChange() throws IOException, XmlPullParserException {
+      File pom = new File(PROJECT, "pom.xml");
+      ProjectModules modules = MavenPomUtil.getModules(pom, new ExecutionConfig());
+      Assert.assertEquals(4, modules.getModules().size());
+
+      modules.getModules().clear();
+      Assert.assertEquals(4, MavenPomUtil.getModules(pom, new ExecutionConfig()).getModules().size());
+
+      Model model = PomModelCache.readModel(pom);
+      String removedModule = model.getModules().remove(0);
+      PomModelCache.writeModel(pom, model);
+
+      ProjectModules changedModules = MavenPomUtil.getModules(pom, new ExecutionConfig());
+      Assert.assertTrue(changedModules.getModules().size() < 4);
+      for (File module : changedModules.getModules()) {
+         Assert.assertFalse(module.getPath().contains(removedModule));
+      }
+   }
+}
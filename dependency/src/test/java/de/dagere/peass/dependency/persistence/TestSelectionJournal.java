@@ -0,0 +1,127 @@
+package de.dagere.peass.dependency.persistence;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.TestConstants;
+import de.dagere.peass.config.TestSelectionConfig;
+import de.dagere.peass.dependency.analysis.data.ChangedEntity;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.dependency.analysis.data.TestSet;
+import de.dagere.peass.dependency.traces.coverage.CoverageSelectionInfo;
+import de.dagere.peass.folders.ResultsFolders;
+import de.dagere.peass.utils.Constants;
+
+public class TestSelectionJournal {
+
+   private static final TestSelectionConfig CONFIG = new TestSelectionConfig(1, false, true, false);
+
+   private ResultsFolders resultsFolders;
+   private StaticTestSelection staticSelection;
+   private ExecutionData traceSelection;
+
+   @BeforeEach
+   public void init() throws IOException {
+      FileUtils.deleteDirectory(TestConstants.CURRENT_FOLDER);
+      resultsFolders = new ResultsFolders(TestConstants.CURRENT_FOLDER, "journal");
+
+      staticSelection = new StaticTestSelection();
+      staticSelection.setUrl("https://github.com/DaGeRe/demo-project.git");
+      staticSelection.getInitialversion().setVersion("000000");
+      traceSelection = new ExecutionData();
+   }
+
+   @Test
+   public void testAppendAndReplay() throws IOException {
+      SelectionJournal journal = new SelectionJournal(CONFIG, resultsFolders, 10, staticSelection, traceSelection, new ExecutionData(), new CoverageSelectionInfo());
+      journal.compact();
+
+      addVersion("000001");
+      journal.append("000001");
+      addVersion("000002");
+      journal.append("000002");
+
+      Assert.assertEquals(2, journal.getPendingEntries());
+      Assert.assertTrue(resultsFolders.getSelectionJournalFile().exists());
+
+      StaticTestSelection recoveredStatic = Constants.OBJECTMAPPER.readValue(resultsFolders.getStaticTestSelectionFile(), StaticTestSelection.class);
+      ExecutionData recoveredTraces = Constants.OBJECTMAPPER.readValue(resultsFolders.getTraceTestSelectionFile(), ExecutionData.class);
+      Assert.assertEquals(0, recoveredStatic.getVersions().size());
+
+      int recovered = SelectionJournal.replay(resultsFolders.getSelectionJournalFile(), recoveredStatic, recoveredTraces, null, null);
+
+      Assert.assertEquals(2, recovered);
+      Assert.assertArrayEquals(new String[] { "000000", "000001", "000002" }, recoveredStatic.getVersionNames());
+      Assert.assertEquals("000001", recoveredStatic.getVersions().get("000002").getPredecessor());
+      TestSet changedTests = recoveredStatic.getVersions().get("000002").getChangedClazzes().get(new ChangedEntity("de.dagere.peass.Callee", ""));
+      Assert.assertTrue(changedTests.getTests().contains(new TestCase("de.dagere.peass.CalleeTest", "testMethod")));
+      Assert.assertEquals(1, recoveredTraces.getVersions().get("000002").getTests().size());
+   }
+
+   @Test
+   public void testCompaction() throws IOException {
+      SelectionJournal journal = new SelectionJournal(CONFIG, resultsFolders, 2, staticSelection, traceSelection, new ExecutionData(), new CoverageSelectionInfo());
+
+      addVersion("000001");
+      journal.append("000001");
+      addVersion("000002");
+      journal.append("000002");
+
+      Assert.assertEquals(0, journal.getPendingEntries());
+      Assert.assertFalse(resultsFolders.getSelectionJournalFile().exists());
+
+      StaticTestSelection written = Constants.OBJECTMAPPER.readValue(resultsFolders.getStaticTestSelectionFile(), StaticTestSelection.class);
+      Assert.assertArrayEquals(new String[] { "000000", "000001", "000002" }, written.getVersionNames());
+
+      addVersion("000003");
+      journal.append("000003");
+      journal.flush();
+
+      written = Constants.OBJECTMAPPER.readValue(resultsFolders.getStaticTestSelectionFile(), StaticTestSelection.class);
+      Assert.assertEquals(3, written.getVersions().size());
+      Assert.assertFalse(resultsFolders.getSelectionJournalFile().exists());
+   }
+
+   @Test
+   public void testIncompleteLastEntry() throws IOException {
+      SelectionJournal journal = new SelectionJournal(CONFIG, resultsFolders, 10, staticSelection, traceSelection, new ExecutionData(), new CoverageSelectionInfo());
+      addVersion("000001");
+      journal.append("000001");
+
+      try (FileWriter writer = new FileWriter(resultsFolders.getSelectionJournalFile(), true)) {
+         writer.write("{\"version\":\"000002\",\"staticSelection\":{\"runn");
+      }
+
+      StaticTestSelection recoveredStatic = new StaticTestSelection();
+      int recovered = SelectionJournal.replay(resultsFolders.getSelectionJournalFile(), recoveredStatic, null, null, null);
+
+      Assert.assertEquals(1, recovered);
+      Assert.assertEquals(1, recoveredStatic.getVersions().size());
+      Assert.assertNotNull(recoveredStatic.getVersions().get("000001"));
+   }
+
+   @Test
+   public void testNoJournal() throws IOException {
+      StaticTestSelection recoveredStatic = new StaticTestSelection();
+      int recovered = SelectionJournal.replay(new File(TestConstants.CURRENT_FOLDER, "notExisting.jsonl"), recoveredStatic, null, null, null);
+      Assert.assertEquals(0, recovered);
+   }
+
+   private void addVersion(final String version) {
+      VersionStaticSelection versionSelection = new VersionStaticSelection();
+      versionSelection.setRunning(true);
+      versionSelection.setPredecessor(staticSelection.getNewestVersion());
+      TestSet tests = new TestSet();
+      tests.addTest(new TestCase("de.dagere.peass.CalleeTest", "testMethod"));
+      versionSelection.getChangedClazzes().put(new ChangedEntity("de.dagere.peass.Callee", ""), tests);
+      staticSelection.getVersions().put(version, versionSelection);
+
+      traceSelection.getVersions().put(version, tests);
+   }
+}
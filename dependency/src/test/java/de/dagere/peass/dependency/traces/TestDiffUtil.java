@@ -12,6 +12,8 @@ import org.junit.Assert;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import de.dagere.peass.utils.Constants;
+
 public class TestDiffUtil {
    
    private static final File DIFF_FILE = new File("target/diff.txt");
@@ -119,6 +121,29 @@ public class TestDiffUtil {
       MatcherAssert.assertThat(diff, Matchers.not(Matchers.containsString("<span")));
    }
 
+   @Test
+   public void testHashComparison() throws IOException {
+      File trace1 = new File("target/hashTrace1");
+      File trace2 = new File("target/hashTrace2");
+      writeTrace(trace1, "Line 1\nLine 2");
+      writeTrace(trace2, "Line 1\n   Line 2");
+
+      Assert.assertFalse(DiffUtil.isDifferentTrace(trace1, trace2));
+
+      writeTrace(trace2, "Line 1\nLine 3");
+      Assert.assertTrue(DiffUtil.isDifferentTrace(trace1, trace2));
+
+      new File(trace2.getAbsolutePath() + OneTraceGenerator.HASHES).delete();
+      Assert.assertTrue(DiffUtil.isDifferentTrace(trace1, trace2));
+   }
+
+   private void writeTrace(final File traceFile, final String commentlessTrace) throws IOException {
+      FileUtils.write(new File(traceFile.getAbsolutePath() + OneTraceGenerator.NOCOMMENT), commentlessTrace, StandardCharsets.UTF_8);
+      TraceHashes hashes = new TraceHashes();
+      hashes.setCommentlessTrace(TraceHashes.hashLines(commentlessTrace));
+      Constants.OBJECTMAPPER.writeValue(new File(traceFile.getAbsolutePath() + OneTraceGenerator.HASHES), hashes);
+   }
+
    private void buildDifferentContents(final File file1, final File file2) throws IOException {
       FileUtils.write(file1, "Line 1\nLine 2", StandardCharsets.UTF_8);
       FileUtils.write(file2, "Line 1\nLine 3", StandardCharsets.UTF_8);
@@ -11,6 +11,7 @@ import org.mockito.Mockito;
 
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.folders.ResultsFolders;
+import de.dagere.peass.utils.Constants;
 import de.dagere.requitur.ReducedTraceElement;
 import de.dagere.requitur.content.StringContent;
 
@@ -29,6 +30,10 @@ public class TraceWriterTest {
 
       File expectedResultFile = new File(resultsFolders.getViewFolder(), "view_000001/ClazzA/methodA/000002_method");
       Assert.assertTrue(expectedResultFile.exists());
+
+      File hashFile = new File(resultsFolders.getViewFolder(), "view_000001/ClazzA/methodA/000002" + OneTraceGenerator.HASHES);
+      TraceHashes hashes = Constants.OBJECTMAPPER.readValue(hashFile, TraceHashes.class);
+      Assert.assertEquals(TraceHashes.hashLines(exampleTrace.getCommentlessTrace()), hashes.getCommentlessTrace());
    }
 
    @Test
@@ -63,6 +63,38 @@ public class TestTestDependencies {
       MatcherAssert.assertThat(changeTestMap.getChanges().get(new ChangedEntity("package.ClazzA", "moduleA")), IsIterableContaining.hasItem(testEntity));
    }
    
+   @Test
+   public void testIndexAfterUpdate() {
+      TestDependencies dependencies = buildTestDependencies();
+      
+      HashMap<ChangedEntity, Set<String>> newCalledClasses = new HashMap<>();
+      Set<String> methods = new HashSet<>();
+      methods.add("methodD");
+      newCalledClasses.put(new ChangedEntity("package.ClazzB", "moduleA"), methods);
+      dependencies.setDependencies(testEntity, newCalledClasses);
+      
+      ChangeTestMapping oldMethodChange = dependencies.getChangeTestMap(buildMethodChange("methodB"));
+      Assert.assertEquals(0, oldMethodChange.getChanges().size());
+      
+      ChangeTestMapping newMethodChange = dependencies.getChangeTestMap(buildMethodChange("methodD"));
+      MatcherAssert.assertThat(newMethodChange.getChanges().get(new ChangedEntity("package.ClazzB", "moduleA", "methodD")), IsIterableContaining.hasItem(testEntity));
+      
+      dependencies.removeTest(testEntity);
+      
+      Assert.assertEquals(0, dependencies.getChangeTestMap(buildMethodChange("methodD")).getChanges().size());
+      HashMap<ChangedEntity, ClazzChangeData> classChange = new HashMap<ChangedEntity, ClazzChangeData>();
+      classChange.put(new ChangedEntity("package.ClazzB", "moduleA"), new ClazzChangeData(new ChangedEntity("package.ClazzB", "moduleA"), false));
+      Assert.assertEquals(0, dependencies.getChangeTestMap(classChange).getChanges().size());
+   }
+   
+   private HashMap<ChangedEntity, ClazzChangeData> buildMethodChange(final String method) {
+      HashMap<ChangedEntity, ClazzChangeData> changes = new HashMap<ChangedEntity, ClazzChangeData>();
+      ClazzChangeData classChangeData = new ClazzChangeData(new ChangedEntity("package.ClazzB", "moduleA"), true);
+      classChangeData.addChange("ClazzB", method);
+      changes.put(new ChangedEntity("package.ClazzB", "moduleA"), classChangeData);
+      return changes;
+   }
+   
    private TestDependencies buildTestDependenciesFQN() {
       TestDependencies dependencies = new TestDependencies();
       
@@ -0,0 +1,159 @@
+package de.dagere.peass.dependencytests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.TestConstants;
+import de.dagere.peass.config.ExecutionConfig;
+import de.dagere.peass.config.KiekerConfig;
+import de.dagere.peass.dependency.KiekerResultManager;
+import de.dagere.peass.dependency.analysis.CalledMethodLoader;
+import de.dagere.peass.dependency.analysis.ModuleClassMapping;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.dependency.analysis.data.TestSet;
+import de.dagere.peass.dependency.analysis.data.TraceElement;
+import de.dagere.peass.dependency.traces.KiekerFolderUtil;
+import de.dagere.peass.execution.utils.EnvironmentVariables;
+import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Measures how narrowing the AspectJ weaving scope changes the duration and the trace volume of a trace test. The example project is extended by classes that are never called by
+ * the test, so the aop.xml of the full weaving scope has as many includes as in a bigger project. Every variant is executed several times after a warmup run; the medians and the
+ * trace sizes are written to target/narrowedWeavingScope.json.
+ *
+ * @author reichelt
+ *
+ */
+public class NarrowedWeavingScopeIT {
+
+   private static final Logger LOG = LogManager.getLogger(NarrowedWeavingScopeIT.class);
+
+   private static final int UNCALLED_CLASSES = 1000;
+   private static final int REPETITIONS = 5;
+   private static final TestCase TEST = new TestCase("defaultpackage.TestMe", "testMe", "");
+   private static final File RESULT_FILE = new File("target", "narrowedWeavingScope.json");
+
+   @Test
+   public void testNarrowedWeavingScopeComparison() throws IOException, XmlPullParserException, InterruptedException {
+      DependencyDetectorTestUtil.init(DependencyTestConstants.BASIC_STATE);
+      addUncalledClasses();
+
+      final PeassFolders folders = new PeassFolders(TestConstants.CURRENT_FOLDER);
+      final KiekerConfig kiekerConfig = new KiekerConfig(true);
+      kiekerConfig.setUseSourceInstrumentation(false);
+      kiekerConfig.setNarrowWeavingScope(true);
+      kiekerConfig.check();
+      final KiekerResultManager tracereader = new KiekerResultManager(folders, new ExecutionConfig(5), kiekerConfig, new EnvironmentVariables());
+      tracereader.getExecutor().loadClasses();
+
+      final Map<TestCase, Set<String>> weavingScope = new HashMap<>();
+      weavingScope.put(TEST, new HashSet<>(Arrays.asList("defaultpackage.TestMe", "defaultpackage.NormalDependency")));
+
+      // Warmup: compiles the project, so the following runs only measure the test execution
+      execute(tracereader, folders, null);
+      tracereader.getExecutor().setBuildOutputRestored(true);
+
+      final List<Long> fullDurations = new ArrayList<>();
+      final List<Long> narrowedDurations = new ArrayList<>();
+      RunResult fullRun = null;
+      RunResult narrowedRun = null;
+      // Both variants are executed alternately, so changes of the machine state affect both equally
+      for (int repetition = 0; repetition < REPETITIONS; repetition++) {
+         fullRun = execute(tracereader, folders, null);
+         fullDurations.add(fullRun.duration);
+         narrowedRun = execute(tracereader, folders, weavingScope);
+         narrowedDurations.add(narrowedRun.duration);
+      }
+
+      final Map<String, Object> comparison = new LinkedHashMap<>();
+      comparison.put("wovenClassesFull", fullRun.wovenClasses);
+      comparison.put("wovenClassesNarrowed", narrowedRun.wovenClasses);
+      comparison.put("traceBytesFull", fullRun.traceBytes);
+      comparison.put("traceBytesNarrowed", narrowedRun.traceBytes);
+      comparison.put("medianDurationFullMs", median(fullDurations));
+      comparison.put("medianDurationNarrowedMs", median(narrowedDurations));
+      comparison.put("durationsFullMs", fullDurations);
+      comparison.put("durationsNarrowedMs", narrowedDurations);
+      Constants.OBJECTMAPPER.writeValue(RESULT_FILE, comparison);
+      LOG.info("Weaving scope comparison: {}", comparison);
+
+      MatcherAssert.assertThat(narrowedRun.wovenClasses, Matchers.lessThan(fullRun.wovenClasses));
+      Assert.assertEquals(fullRun.calls, narrowedRun.calls);
+      MatcherAssert.assertThat(narrowedRun.traceBytes, Matchers.lessThanOrEqualTo(fullRun.traceBytes));
+   }
+
+   private RunResult execute(final KiekerResultManager tracereader, final PeassFolders folders, final Map<TestCase, Set<String>> weavingScope)
+         throws IOException, XmlPullParserException, InterruptedException {
+      final File resultsFolder = tracereader.getXMLFileFolder(TestConstants.CURRENT_FOLDER);
+      FileUtils.deleteDirectory(resultsFolder);
+      tracereader.getExecutor().setWeavingScope(weavingScope);
+      final TestSet testset = new TestSet();
+      testset.addTest(TEST);
+
+      final long start = System.nanoTime();
+      tracereader.executeKoPeMeKiekerRun(testset, "1", folders.getDependencyLogFolder());
+      final long duration = (System.nanoTime() - start) / 1_000_000;
+
+      final RunResult result = new RunResult();
+      result.duration = duration;
+      result.wovenClasses = getWovenClassCount();
+      final File kiekerResultFolder = KiekerFolderUtil.getClazzMethodFolder(TEST, resultsFolder)[0];
+      result.traceBytes = FileUtils.sizeOfDirectory(kiekerResultFolder);
+      result.calls = new ArrayList<>();
+      for (final TraceElement element : new CalledMethodLoader(kiekerResultFolder, ModuleClassMapping.SINGLE_MODULE_MAPPING, new KiekerConfig()).getShortTrace("")) {
+         result.calls.add(element.toString());
+      }
+      tracereader.deleteTempFiles();
+      return result;
+   }
+
+   /**
+    * Adds classes which are never called by the test; they are contained in the aop.xml of the full weaving scope, like the classes of a bigger project.
+    */
+   private void addUncalledClasses() throws IOException {
+      final File packageFolder = new File(TestConstants.CURRENT_FOLDER, "src/main/java/defaultpackage/uncalled");
+      for (int i = 0; i < UNCALLED_CLASSES; i++) {
+         final String source = "package defaultpackage.uncalled;\n\npublic class Uncalled" + i + " {\n   public int method() {\n      return " + i + ";\n   }\n}\n";
+         FileUtils.writeStringToFile(new File(packageFolder, "Uncalled" + i + ".java"), source, StandardCharsets.UTF_8);
+      }
+   }
+
+   private int getWovenClassCount() throws IOException {
+      final File aopXml = new File(TestConstants.CURRENT_FOLDER, "src/main/resources/META-INF/aop.xml");
+      final String fileText = FileUtils.readFileToString(aopXml, StandardCharsets.UTF_8);
+      return fileText.split("<include within=").length - 1;
+   }
+
+   private static long median(final List<Long> values) {
+      final List<Long> sorted = new ArrayList<>(values);
+      Collections.sort(sorted);
+      return sorted.get(sorted.size() / 2);
+   }
+
+   private static class RunResult {
+      private long duration;
+      private int wovenClasses;
+      private long traceBytes;
+      private List<String> calls;
+   }
+}
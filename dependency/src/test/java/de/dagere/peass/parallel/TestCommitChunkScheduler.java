@@ -0,0 +1,118 @@
+package de.dagere.peass.parallel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.dependency.parallel.CommitChunk;
+import de.dagere.peass.dependency.parallel.CommitChunkScheduler;
+import de.dagere.peass.vcs.GitCommit;
+
+public class TestCommitChunkScheduler {
+
+   @Test
+   public void testChunksOverlap() {
+      List<GitCommit> commits = buildCommits(30);
+      CommitChunkScheduler scheduler = new CommitChunkScheduler(commits, 2, new HashMap<>());
+
+      List<CommitChunk> chunks = scheduler.getChunks();
+      Assert.assertEquals(2 * CommitChunkScheduler.CHUNKS_PER_THREAD, chunks.size());
+      Assert.assertEquals("0", chunks.get(0).getCommits().get(0).getTag());
+
+      for (int i = 0; i < chunks.size() - 1; i++) {
+         CommitChunk current = chunks.get(i);
+         CommitChunk next = chunks.get(i + 1);
+         GitCommit lastCommit = current.getCommits().get(current.getCommits().size() - 1);
+         Assert.assertEquals(next.getCommits().get(0), lastCommit);
+         Assert.assertEquals(lastCommit, current.getReserveCommits().get(0));
+         Assert.assertEquals(commits.get(commits.indexOf(lastCommit) + 1), current.getMinimumCommit());
+      }
+
+      CommitChunk last = chunks.get(chunks.size() - 1);
+      Assert.assertEquals("29", last.getCommits().get(last.getCommits().size() - 1).getTag());
+   }
+
+   @Test
+   public void testCostBalancing() {
+      List<GitCommit> commits = buildCommits(20);
+      Map<String, Integer> changedFiles = new HashMap<>();
+      changedFiles.put("1", 100);
+      changedFiles.put("2", 100);
+      CommitChunkScheduler scheduler = new CommitChunkScheduler(commits, 2, changedFiles);
+
+      List<CommitChunk> chunks = scheduler.getChunks();
+      // Two expensive commits and the overlapping first commit of the next chunk
+      Assert.assertEquals(3, chunks.get(0).getCommits().size());
+
+      CommitChunk first = scheduler.poll();
+      Assert.assertEquals(0, first.getIndex());
+      for (CommitChunk chunk : chunks) {
+         Assert.assertTrue(first.getEstimatedCost() >= chunk.getEstimatedCost());
+      }
+   }
+
+   @Test
+   public void testPollReturnsAllChunks() {
+      CommitChunkScheduler scheduler = new CommitChunkScheduler(buildCommits(15), 2, new HashMap<>());
+
+      int polled = 0;
+      CommitChunk previous = null;
+      CommitChunk chunk;
+      while ((chunk = scheduler.poll()) != null) {
+         if (previous != null) {
+            Assert.assertTrue(previous.getEstimatedCost() >= chunk.getEstimatedCost());
+         }
+         previous = chunk;
+         polled++;
+      }
+      Assert.assertEquals(scheduler.getChunks().size(), polled);
+   }
+
+   @Test
+   public void testPollSuccessor() {
+      CommitChunkScheduler scheduler = new CommitChunkScheduler(buildCommits(30), 2, new HashMap<>());
+      List<CommitChunk> chunks = scheduler.getChunks();
+
+      CommitChunk first = scheduler.poll();
+      CommitChunk successor = scheduler.pollSuccessor(first);
+      Assert.assertEquals(first.getIndex() + 1, successor.getIndex());
+      Assert.assertNull(scheduler.pollSuccessor(first));
+
+      CommitChunk last = chunks.get(chunks.size() - 1);
+      Assert.assertNull(scheduler.pollSuccessor(last));
+
+      int polled = 2;
+      CommitChunk chunk;
+      while ((chunk = scheduler.poll()) != null) {
+         Assert.assertNotSame(successor, chunk);
+         polled++;
+      }
+      Assert.assertEquals(chunks.size(), polled);
+      Assert.assertNull(scheduler.pollSuccessor(chunks.get(0)));
+   }
+
+   @Test
+   public void testFewCommits() {
+      List<GitCommit> commits = buildCommits(4);
+      CommitChunkScheduler scheduler = new CommitChunkScheduler(commits, 2, new HashMap<>());
+
+      Assert.assertEquals(1, scheduler.getChunks().size());
+      CommitChunk chunk = scheduler.getChunks().get(0);
+      Assert.assertEquals(commits, chunk.getCommits());
+      Assert.assertEquals("3", chunk.getMinimumCommit().getTag());
+
+      Assert.assertEquals(0, new CommitChunkScheduler(new ArrayList<>(), 2, new HashMap<>()).getChunks().size());
+   }
+
+   private List<GitCommit> buildCommits(final int count) {
+      List<GitCommit> commits = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         commits.add(new GitCommit(Integer.toString(i), "", "", ""));
+      }
+      return commits;
+   }
+}
@@ -0,0 +1,95 @@
+package de.dagere.peass.transformation;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.testtransformation.JUnitTestTransformer;
+
+/**
+ * Tests that test files which have been transformed before are restored from the transformation cache.
+ *
+ * @author reichelt
+ *
+ */
+public class TestIncrementalTransformation {
+
+   private static final URL SOURCE = Thread.currentThread().getContextClassLoader().getResource("transformation");
+
+   private static final File BASE_FOLDER = new File("target", "incrementalTransformation");
+   private static final File PROJECT_FOLDER = new File(BASE_FOLDER, "project");
+   private static final File CACHE_FOLDER = new File(BASE_FOLDER, "cache");
+   private static final File SOURCE_FOLDER = new File(PROJECT_FOLDER, "src/test/java");
+
+   private File resourceFolder;
+
+   @BeforeEach
+   public void initFolder() throws URISyntaxException, IOException {
+      FileUtils.deleteDirectory(BASE_FOLDER);
+      resourceFolder = Paths.get(SOURCE.toURI()).toFile();
+      FileUtils.copyFile(new File(resourceFolder, "pom.xml"), new File(PROJECT_FOLDER, "pom.xml"));
+   }
+
+   @Test
+   public void testUnchangedFilesAreRestored() throws IOException {
+      final File junit3Test = copyTestFile("TestMe1.java");
+      final File junit4Test = copyTestFile("TestMe2.java");
+
+      final JUnitTestTransformer firstTransformer = transform(new MeasurementConfig(2));
+      Assert.assertEquals(2, firstTransformer.getLoadedFiles().size());
+      final String transformedJUnit3Test = FileUtils.readFileToString(junit3Test, StandardCharsets.UTF_8);
+      final String transformedJUnit4Test = FileUtils.readFileToString(junit4Test, StandardCharsets.UTF_8);
+
+      copyTestFile("TestMe1.java");
+      copyTestFile("TestMe2.java");
+      final JUnitTestTransformer secondTransformer = transform(new MeasurementConfig(2));
+      Assert.assertEquals(0, secondTransformer.getLoadedFiles().size());
+      Assert.assertEquals(transformedJUnit3Test, FileUtils.readFileToString(junit3Test, StandardCharsets.UTF_8));
+      Assert.assertEquals(transformedJUnit4Test, FileUtils.readFileToString(junit4Test, StandardCharsets.UTF_8));
+
+      final List<TestCase> methods = secondTransformer.getTestMethodNames(PROJECT_FOLDER, new TestCase("TestMe2", null, ""));
+      Assert.assertEquals(1, methods.size());
+      Assert.assertEquals("testMethod1", methods.get(0).getMethod());
+   }
+
+   @Test
+   public void testOtherConfigurationIsNotReused() throws IOException {
+      final File junit4Test = copyTestFile("TestMe2.java");
+      transform(new MeasurementConfig(2));
+      final String transformedTest = FileUtils.readFileToString(junit4Test, StandardCharsets.UTF_8);
+
+      copyTestFile("TestMe2.java");
+      final MeasurementConfig otherConfig = new MeasurementConfig(2);
+      otherConfig.setIterations(17);
+      transform(otherConfig);
+      final String otherTransformedTest = FileUtils.readFileToString(junit4Test, StandardCharsets.UTF_8);
+      Assert.assertNotEquals(transformedTest, otherTransformedTest);
+      Assert.assertTrue(otherTransformedTest.contains("17"));
+   }
+
+   private JUnitTestTransformer transform(final MeasurementConfig config) {
+      final JUnitTestTransformer transformer = new JUnitTestTransformer(PROJECT_FOLDER, config);
+      transformer.setTransformationCacheFolder(CACHE_FOLDER);
+      transformer.determineVersions(Arrays.asList(PROJECT_FOLDER));
+      transformer.transformTests();
+      return transformer;
+   }
+
+   private File copyTestFile(final String name) throws IOException {
+      final File testFile = new File(SOURCE_FOLDER, name);
+      FileUtils.copyFile(new File(resourceFolder, name), testFile);
+      return testFile;
+   }
+}
@@ -0,0 +1,90 @@
+package de.dagere.peass.transformation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.testtransformation.JUnitTestTransformer;
+import de.dagere.peass.testtransformation.RepositoryTestReader;
+import de.dagere.peass.vcs.ProjectBuilderHelper;
+
+/**
+ * Tests that the test methods read from the repository equal the test methods read from a checkout of the version.
+ *
+ * @author reichelt
+ *
+ */
+public class TestRepositoryTestReader {
+
+   private static final File PROJECT_FOLDER = new File("target", "repositoryTestReader");
+   private static final File TEST_FOLDER = new File(PROJECT_FOLDER, "src/test/java/de/test");
+
+   private static final List<String> TESTS = Arrays.asList("de.test.BaseTest", "de.test.SubTest", "de.test.Junit4Test", "de.test.Junit5Test", "de.test.NewJunit5Test");
+
+   @BeforeEach
+   public void prepareProject() throws IOException, InterruptedException {
+      FileUtils.deleteDirectory(PROJECT_FOLDER);
+      PROJECT_FOLDER.mkdirs();
+      ProjectBuilderHelper.init(PROJECT_FOLDER);
+
+      writeTest("BaseTest", "import junit.framework.TestCase;", "extends TestCase", "public void testBase() {}");
+      writeTest("SubTest", "", "extends BaseTest", "public void testSub() {}");
+      writeTest("Junit4Test", "import org.junit.Test;", "", "@Test public void a() {}");
+      writeTest("Junit5Test", "import org.junit.jupiter.api.Test;", "", "@Test public void b() {}");
+      ProjectBuilderHelper.commit(PROJECT_FOLDER, "Version 1");
+      ProjectBuilderHelper.branch(PROJECT_FOLDER, "version1");
+
+      writeTest("Junit4Test", "import org.junit.Test;", "", "@Test public void a() {}\n   @Test public void c() {}");
+      writeTest("NewJunit5Test", "import org.junit.jupiter.api.Test;", "", "@Test public void d() {}");
+      ProjectBuilderHelper.commit(PROJECT_FOLDER, "Version 2");
+      ProjectBuilderHelper.branch(PROJECT_FOLDER, "version2");
+   }
+
+   private void writeTest(final String name, final String imports, final String extension, final String body) throws IOException {
+      final String source = "package de.test;\n\n" + imports + "\n\npublic class " + name + " " + extension + " {\n   " + body + "\n}\n";
+      FileUtils.writeStringToFile(new File(TEST_FOLDER, name + ".java"), source, StandardCharsets.UTF_8);
+   }
+
+   @Test
+   public void testMethodsEqualCheckout() throws IOException, InterruptedException {
+      final JUnitTestTransformer checkoutTransformer = new JUnitTestTransformer(PROJECT_FOLDER, new MeasurementConfig(2));
+      checkoutTransformer.determineVersions(Arrays.asList(PROJECT_FOLDER));
+      final Map<String, List<TestCase>> expected = new HashMap<>();
+      for (String test : TESTS) {
+         expected.put(test, checkoutTransformer.getTestMethodNames(PROJECT_FOLDER, new TestCase(test, null, "")));
+      }
+
+      ProjectBuilderHelper.checkout(PROJECT_FOLDER, "version1");
+      Assert.assertFalse(new File(TEST_FOLDER, "NewJunit5Test.java").exists());
+
+      final JUnitTestTransformer repositoryTransformer = new JUnitTestTransformer(PROJECT_FOLDER, new MeasurementConfig(2));
+      try (RepositoryTestReader reader = new RepositoryTestReader(PROJECT_FOLDER, repositoryTransformer)) {
+         reader.determineVersions("version2", Arrays.asList(PROJECT_FOLDER));
+         for (String test : TESTS) {
+            Assert.assertEquals(test, expected.get(test), reader.getTestMethodNames(PROJECT_FOLDER, new TestCase(test, null, "")));
+         }
+         MatcherAssert.assertThat(reader.getTestMethodNames(PROJECT_FOLDER, new TestCase("de.test.SubTest", null, "")),
+               Matchers.contains(new TestCase("de.test.SubTest", "testSub", "")));
+         MatcherAssert.assertThat(reader.getTestMethodNames(PROJECT_FOLDER, new TestCase("de.test.Junit4Test", null, "")), Matchers.hasSize(2));
+         MatcherAssert.assertThat(reader.getTestMethodNames(PROJECT_FOLDER, new TestCase("de.test.NewJunit5Test", null, "")),
+               Matchers.contains(new TestCase("de.test.NewJunit5Test", "d", "")));
+
+         reader.determineVersions("version1", Arrays.asList(PROJECT_FOLDER));
+         Assert.assertTrue(reader.getTestMethodNames(PROJECT_FOLDER, new TestCase("de.test.NewJunit5Test", null, "")).isEmpty());
+         MatcherAssert.assertThat(reader.getTestMethodNames(PROJECT_FOLDER, new TestCase("de.test.Junit4Test", null, "")), Matchers.hasSize(1));
+      }
+   }
+}
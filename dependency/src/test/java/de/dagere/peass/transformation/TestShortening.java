@@ -10,11 +10,15 @@ import java.util.Arrays;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import com.github.javaparser.ast.CompilationUnit;
+
 import de.dagere.peass.config.MeasurementConfig;
 import de.dagere.peass.dependency.analysis.data.ChangedEntity;
 import de.dagere.peass.testtransformation.JUnitTestShortener;
@@ -59,11 +63,13 @@ public class TestShortening {
       test.mkdirs();
       final File testClazz = new File(test, "ExampleTest.java");
 
+      final int filesBefore = test.list().length;
       try (JUnitTestShortener shortener = new JUnitTestShortener(transformer, folder, new ChangedEntity("de.ExampleTest", ""), "test1")) {
          Assert.assertFalse(FileUtils.contentEquals(exampleTestFile, testClazz));
       }
 
       Assert.assertTrue(FileUtils.contentEquals(exampleTestFile, testClazz));
+      Assert.assertEquals(filesBefore, test.list().length);
    }
 
    @Test
@@ -141,4 +147,52 @@ public class TestShortening {
       Assert.assertTrue(FileUtils.contentEquals(exampleTestFile, testClazz));
       Assert.assertTrue(FileUtils.contentEquals(subTestFile, subClazz));
    }
+
+   @Test
+   public void testRepeatedShortening() throws Exception {
+      final File test = new File(folder, "src/test/java/de");
+      final File testClazz = new File(test, "ExampleTest.java").getCanonicalFile();
+      final File subClazz = new File(test, "SubTest.java").getCanonicalFile();
+      final CompilationUnit loadedUnit = transformer.getLoadedUnit(testClazz);
+
+      final String shortenedContent;
+      try (JUnitTestShortener shortener = new JUnitTestShortener(transformer, folder, new ChangedEntity("de.SubTest", ""), "test3")) {
+         shortenedContent = FileUtils.readFileToString(testClazz, StandardCharsets.UTF_8);
+         MatcherAssert.assertThat(shortener.getShortenedFiles(), Matchers.containsInAnyOrder(testClazz, subClazz));
+      }
+      Assert.assertTrue(FileUtils.contentEquals(exampleTestFile, testClazz));
+      Assert.assertSame(loadedUnit, transformer.getLoadedUnit(testClazz));
+
+      try (JUnitTestShortener shortener = new JUnitTestShortener(transformer, folder, new ChangedEntity("de.SubTest", ""), "test3")) {
+         Assert.assertEquals(shortenedContent, FileUtils.readFileToString(testClazz, StandardCharsets.UTF_8));
+      }
+      Assert.assertTrue(FileUtils.contentEquals(exampleTestFile, testClazz));
+      Assert.assertTrue(FileUtils.contentEquals(subTestFile, subClazz));
+   }
+
+   @Test
+   public void testShorteningReusedByOtherTransformer() throws Exception {
+      final File test = new File(folder, "src/test/java/de");
+      final File testClazz = new File(test, "ExampleTest.java").getCanonicalFile();
+      final File cacheFolder = new File(folder, "transformationCache");
+
+      final JUnitTestTransformer firstTransformer = new JUnitTestTransformer(folder, new MeasurementConfig(5));
+      firstTransformer.setTransformationCacheFolder(cacheFolder);
+      firstTransformer.determineVersions(Arrays.asList(new File[] { folder }));
+      final String shortenedContent;
+      try (JUnitTestShortener shortener = new JUnitTestShortener(firstTransformer, folder, new ChangedEntity("de.SubTest", ""), "test3")) {
+         shortenedContent = FileUtils.readFileToString(testClazz, StandardCharsets.UTF_8);
+      }
+      Assert.assertTrue(new File(cacheFolder, "shortened").exists());
+
+      // A transformer of the next VM neither parses the test files nor shortens them again
+      final JUnitTestTransformer secondTransformer = new JUnitTestTransformer(folder, new MeasurementConfig(5));
+      secondTransformer.setTransformationCacheFolder(cacheFolder);
+      secondTransformer.determineVersions(Arrays.asList(new File[] { folder }));
+      try (JUnitTestShortener shortener = new JUnitTestShortener(secondTransformer, folder, new ChangedEntity("de.SubTest", ""), "test3")) {
+         Assert.assertEquals(shortenedContent, FileUtils.readFileToString(testClazz, StandardCharsets.UTF_8));
+      }
+      Assert.assertFalse(secondTransformer.getLoadedFiles().containsKey(testClazz));
+      Assert.assertTrue(FileUtils.contentEquals(exampleTestFile, testClazz));
+   }
 }
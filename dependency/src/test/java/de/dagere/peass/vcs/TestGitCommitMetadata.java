@@ -0,0 +1,151 @@
+package de.dagere.peass.vcs;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.utils.StreamGobbler;
+
+/**
+ * Compares the commit metadata read by one git call with the metadata read by one git call per commit on a generated repository, and logs the duration of both.
+ *
+ * @author reichelt
+ *
+ */
+public class TestGitCommitMetadata {
+
+   private static final Logger LOG = LogManager.getLogger(TestGitCommitMetadata.class);
+
+   private static final File PROJECT_FOLDER = new File("target", "gitCommitMetadata");
+   private static final File EXAMPLE_FILE = new File(PROJECT_FOLDER, "file.txt");
+
+   private static final int MERGES = 20;
+   private static final int COMMITS_PER_MERGE = 5;
+
+   @BeforeEach
+   public void createRepository() throws IOException, InterruptedException {
+      FileUtils.deleteDirectory(PROJECT_FOLDER);
+      PROJECT_FOLDER.mkdirs();
+      git("init");
+      commit("Initial commit", "default");
+      git("branch", "feature");
+
+      for (int merge = 0; merge < MERGES; merge++) {
+         git("checkout", "feature");
+         for (int i = 0; i < COMMITS_PER_MERGE; i++) {
+            FileUtils.writeStringToFile(new File(PROJECT_FOLDER, "feature" + i + ".txt"), merge + " " + i, StandardCharsets.UTF_8);
+            commit("Feature " + merge + " " + i + "\n\nLonger description\nof feature " + merge, "default");
+         }
+         git("checkout", "-");
+         for (int i = 0; i < COMMITS_PER_MERGE; i++) {
+            FileUtils.writeStringToFile(EXAMPLE_FILE, merge + " " + i, StandardCharsets.UTF_8);
+            if (i == 0) {
+               commit("", "default");
+            } else if (i == 1) {
+               commit("Verbatim commit\n\n\n    indented line\n\n", "verbatim");
+            } else {
+               commit("Main " + merge + " " + i, "default");
+            }
+         }
+         git("-c", "user.name=Anonym", "-c", "user.email=anonym@generated.org", "merge", "--no-ff", "feature", "-m", "Merge feature " + merge);
+      }
+   }
+
+   @Test
+   public void testMetadataEqualsSeparateReading() throws IOException {
+      final List<GitCommit> names = GitUtils.getCommits(PROJECT_FOLDER, true, false, false);
+      Assert.assertEquals(1 + MERGES * (2 * COMMITS_PER_MERGE + 1), names.size());
+
+      final long startSeparate = System.nanoTime();
+      final List<GitCommit> expected = new LinkedList<>();
+      for (GitCommit name : names) {
+         expected.add(readCommitSeparately(name.getTag()));
+      }
+      final long separateDuration = System.nanoTime() - startSeparate;
+
+      final long startSinglePass = System.nanoTime();
+      final List<GitCommit> commits = GitUtils.getCommits(PROJECT_FOLDER, true, false, true);
+      final long singlePassDuration = System.nanoTime() - startSinglePass;
+
+      LOG.info("Reading {} commits: one call per commit {} ms, one call {} ms", names.size(), separateDuration / 1000000, singlePassDuration / 1000000);
+      assertCommitsEqual(expected, commits);
+   }
+
+   @Test
+   public void testLinearCommits() throws IOException {
+      final List<GitCommit> commits = GitUtils.getCommits(PROJECT_FOLDER, false, true, true);
+      Assert.assertTrue(commits.size() < 1 + MERGES * (2 * COMMITS_PER_MERGE + 1));
+      Assert.assertEquals(readOutput("git", "log", "--reverse", "--topo-order", "--pretty=tformat:%H").get(0), commits.get(0).getTag());
+
+      final List<GitCommit> expected = new LinkedList<>();
+      for (GitCommit commit : commits) {
+         expected.add(readCommitSeparately(commit.getTag()));
+      }
+      assertCommitsEqual(expected, commits);
+   }
+
+   private void assertCommitsEqual(final List<GitCommit> expected, final List<GitCommit> commits) {
+      Assert.assertEquals(expected.size(), commits.size());
+      for (int i = 0; i < expected.size(); i++) {
+         Assert.assertEquals(expected.get(i).getTag(), commits.get(i).getTag());
+         Assert.assertEquals(expected.get(i).getComitter(), commits.get(i).getComitter());
+         Assert.assertEquals(expected.get(i).getDate(), commits.get(i).getDate());
+         Assert.assertEquals(expected.get(i).getMessage(), commits.get(i).getMessage());
+      }
+   }
+
+   /**
+    * Reads the metadata the way they were read before, by one git log call per commit
+    */
+   private GitCommit readCommitSeparately(final String commit) throws IOException {
+      String author = null, date = null, message = "";
+      for (String line : readOutput("git", "log", "-n", "1", commit)) {
+         if (line.startsWith("Author:")) {
+            author = line.substring(8);
+         }
+         if (line.startsWith("Date: ")) {
+            date = line.substring(8);
+         } else if (author != null && date != null) {
+            message += line + " ";
+         }
+      }
+      return new GitCommit(commit, author, date, message);
+   }
+
+   private List<String> readOutput(final String... command) throws IOException {
+      final Process process = new ProcessBuilder(command).directory(PROJECT_FOLDER).start();
+      final List<String> lines = new LinkedList<>();
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            lines.add(line);
+         }
+      }
+      return lines;
+   }
+
+   private void commit(final String message, final String cleanup) throws IOException, InterruptedException {
+      git("add", "-A");
+      git("-c", "user.name=Anonym", "-c", "user.email=anonym@generated.org", "commit", "--allow-empty", "--allow-empty-message", "--cleanup=" + cleanup, "-m", message);
+   }
+
+   private void git(final String... parameters) throws IOException, InterruptedException {
+      final String[] command = new String[parameters.length + 1];
+      command[0] = "git";
+      System.arraycopy(parameters, 0, command, 1, parameters.length);
+      final ProcessBuilder builder = new ProcessBuilder(command);
+      builder.directory(PROJECT_FOLDER);
+      StreamGobbler.getFullProcess(builder.start(), false);
+   }
+}
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
 import org.hamcrest.MatcherAssert;
@@ -126,4 +127,21 @@ public class TestGitUtils {
       regularExample.add(new GitCommit("000005", null, null, null));
       return regularExample;
    }
+
+   @Test
+   public void testChangedFileCountsOfRange() throws InterruptedException, IOException {
+      final List<GitCommit> commits = GitUtils.getCommits(PROJECT_FOLDER, false);
+      Assert.assertEquals(4, commits.size());
+
+      final String firstCommit = commits.get(1).getTag();
+      final String lastCommit = commits.get(commits.size() - 1).getTag();
+      final Map<String, Integer> changedFileCounts = GitUtils.getChangedFileCounts(PROJECT_FOLDER, firstCommit, lastCommit);
+      MatcherAssert.assertThat(changedFileCounts.keySet(), Matchers.containsInAnyOrder(firstCommit, commits.get(2).getTag(), lastCommit));
+      Assert.assertEquals(1, changedFileCounts.get(lastCommit).intValue());
+
+      final Map<String, Integer> fromRootCommit = GitUtils.getChangedFileCounts(PROJECT_FOLDER, commits.get(0).getTag(), lastCommit);
+      Assert.assertEquals(4, fromRootCommit.size());
+
+      Assert.assertTrue(GitUtils.getChangedFileCounts(PROJECT_FOLDER, "notExisting", lastCommit).isEmpty());
+   }
 }
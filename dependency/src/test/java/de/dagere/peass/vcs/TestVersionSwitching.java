@@ -0,0 +1,89 @@
+package de.dagere.peass.vcs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.TestConstants;
+import de.dagere.peass.TestUtil;
+import de.dagere.peass.folders.PeassFolders;
+
+public class TestVersionSwitching {
+
+   private static final File PROJECT_FOLDER = new File(TestConstants.CURRENT_FOLDER, "switching-git");
+   private static final File PEASS_FOLDER = new File(TestConstants.CURRENT_FOLDER, "switching-git" + PeassFolders.PEASS_POSTFIX);
+
+   private static final File SOURCE_FILE = new File(PROJECT_FOLDER, "src/main/java/Example.java");
+   private static final File CLASS_FILE = new File(PROJECT_FOLDER, "target/classes/Example.class");
+   private static final File MODULE_CLASS_FILE = new File(PROJECT_FOLDER, "module/build/classes/Module.class");
+
+   @BeforeEach
+   public void prepareProject() throws InterruptedException, IOException {
+      TestUtil.deleteContents(PROJECT_FOLDER);
+      FileUtils.deleteDirectory(PEASS_FOLDER);
+      PROJECT_FOLDER.mkdirs();
+      ProjectBuilderHelper.init(PROJECT_FOLDER);
+
+      FileUtils.writeStringToFile(new File(PROJECT_FOLDER, ".gitignore"), "build/", StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(new File(PROJECT_FOLDER, "module/Module.java"), "class Module {}", StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(SOURCE_FILE, "class Example {}", StandardCharsets.UTF_8);
+      ProjectBuilderHelper.commit(PROJECT_FOLDER, "Version 1");
+      ProjectBuilderHelper.branch(PROJECT_FOLDER, "version1");
+
+      FileUtils.writeStringToFile(SOURCE_FILE, "class Example { int x; }", StandardCharsets.UTF_8);
+      ProjectBuilderHelper.commit(PROJECT_FOLDER, "Version 2");
+      ProjectBuilderHelper.branch(PROJECT_FOLDER, "version2");
+   }
+
+   @Test
+   public void testBuildOutputIsKeptPerVersion() throws IOException {
+      Assert.assertFalse(GitUtils.switchVersion("version1", PROJECT_FOLDER));
+      FileUtils.writeStringToFile(CLASS_FILE, "version1", StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(MODULE_CLASS_FILE, "version1", StandardCharsets.UTF_8);
+      final File untrackedFile = new File(PROJECT_FOLDER, "src/main/java/Untracked.java");
+      FileUtils.writeStringToFile(untrackedFile, "class Untracked {}", StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(SOURCE_FILE, "class Example { changed by peass }", StandardCharsets.UTF_8);
+
+      Assert.assertFalse(GitUtils.switchVersion("version2", PROJECT_FOLDER));
+      Assert.assertFalse(CLASS_FILE.exists());
+      Assert.assertFalse(MODULE_CLASS_FILE.exists());
+      Assert.assertFalse(untrackedFile.exists());
+      Assert.assertEquals("class Example { int x; }", FileUtils.readFileToString(SOURCE_FILE, StandardCharsets.UTF_8));
+      FileUtils.writeStringToFile(CLASS_FILE, "version2", StandardCharsets.UTF_8);
+
+      Assert.assertTrue(GitUtils.switchVersion("version1", PROJECT_FOLDER));
+      Assert.assertEquals("version1", FileUtils.readFileToString(CLASS_FILE, StandardCharsets.UTF_8));
+      Assert.assertEquals("version1", FileUtils.readFileToString(MODULE_CLASS_FILE, StandardCharsets.UTF_8));
+      Assert.assertEquals("class Example {}", FileUtils.readFileToString(SOURCE_FILE, StandardCharsets.UTF_8));
+
+      Assert.assertTrue(GitUtils.switchVersion("version2", PROJECT_FOLDER));
+      Assert.assertEquals("version2", FileUtils.readFileToString(CLASS_FILE, StandardCharsets.UTF_8));
+      Assert.assertFalse(MODULE_CLASS_FILE.exists());
+   }
+
+   @Test
+   public void testSameVersionKeepsBuildOutput() throws IOException {
+      GitUtils.switchVersion("version2", PROJECT_FOLDER);
+      FileUtils.writeStringToFile(CLASS_FILE, "version2", StandardCharsets.UTF_8);
+
+      Assert.assertTrue(GitUtils.switchVersion("version2", PROJECT_FOLDER));
+      Assert.assertEquals("version2", FileUtils.readFileToString(CLASS_FILE, StandardCharsets.UTF_8));
+   }
+
+   @Test
+   public void testGoToTagKeepsIgnoredBuildOutput() throws IOException {
+      GitUtils.goToTag("version1", PROJECT_FOLDER);
+      FileUtils.writeStringToFile(CLASS_FILE, "version1", StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(MODULE_CLASS_FILE, "version1", StandardCharsets.UTF_8);
+
+      GitUtils.goToTag("version2", PROJECT_FOLDER);
+      Assert.assertFalse(CLASS_FILE.exists());
+      Assert.assertEquals("version1", FileUtils.readFileToString(MODULE_CLASS_FILE, StandardCharsets.UTF_8));
+      Assert.assertFalse(PEASS_FOLDER.exists());
+   }
+}
@@ -0,0 +1,89 @@
+package de.dagere.peass.vcs;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.TestConstants;
+import de.dagere.peass.TestUtil;
+import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.folders.WorkspacePool;
+
+public class TestWorkspacePool {
+
+   private static final File PROJECT_FOLDER = new File(TestConstants.CURRENT_FOLDER, "pool-git");
+   private static final File PEASS_FOLDER = new File(TestConstants.CURRENT_FOLDER, "pool-git" + PeassFolders.PEASS_POSTFIX);
+
+   @BeforeEach
+   public void prepareProject() throws InterruptedException, IOException {
+      TestUtil.deleteContents(PROJECT_FOLDER);
+      FileUtils.deleteDirectory(PEASS_FOLDER);
+      PROJECT_FOLDER.mkdirs();
+      ProjectBuilderHelper.init(PROJECT_FOLDER);
+
+      FileUtils.writeStringToFile(new File(PROJECT_FOLDER, "file.txt"), "Version 1", StandardCharsets.UTF_8);
+      ProjectBuilderHelper.commit(PROJECT_FOLDER, "Version 1");
+      ProjectBuilderHelper.branch(PROJECT_FOLDER, "version1");
+      FileUtils.writeStringToFile(new File(PROJECT_FOLDER, "file.txt"), "Version 2", StandardCharsets.UTF_8);
+      ProjectBuilderHelper.commit(PROJECT_FOLDER, "Version 2");
+   }
+
+   @Test
+   public void testWorkspacesAreReused() throws IOException, InterruptedException {
+      final PeassFolders folders = new PeassFolders(PROJECT_FOLDER);
+      final WorkspacePool pool = folders.getWorkspacePool();
+
+      final PeassFolders first = pool.lease("version1");
+      final PeassFolders second = pool.lease(null);
+      Assert.assertNotEquals(first.getProjectFolder(), second.getProjectFolder());
+      Assert.assertTrue(GitUtils.isWorktreeOf(first.getProjectFolder(), PROJECT_FOLDER));
+      Assert.assertTrue(GitUtils.isWorktreeOf(second.getProjectFolder(), PROJECT_FOLDER));
+      Assert.assertFalse(new File(first.getProjectFolder(), ".git").isDirectory());
+
+      GitUtils.goToTag("version1", first.getProjectFolder());
+      Assert.assertEquals("Version 1", FileUtils.readFileToString(new File(first.getProjectFolder(), "file.txt"), StandardCharsets.UTF_8));
+      Assert.assertEquals("Version 2", FileUtils.readFileToString(new File(second.getProjectFolder(), "file.txt"), StandardCharsets.UTF_8));
+      FileUtils.writeStringToFile(new File(first.getTempMeasurementFolder(), "result.xml"), "result", StandardCharsets.UTF_8);
+      FileUtils.writeStringToFile(new File(first.getMavenDaemonFolder(), "registry.bin"), "daemons", StandardCharsets.UTF_8);
+
+      pool.giveBack(second);
+      pool.giveBack(first);
+
+      final PeassFolders reused = pool.lease("version1");
+      Assert.assertEquals(first.getProjectFolder(), reused.getProjectFolder());
+      Assert.assertFalse(new File(reused.getTempMeasurementFolder(), "result.xml").exists());
+      Assert.assertTrue(new File(reused.getMavenDaemonFolder(), "registry.bin").exists());
+      Assert.assertEquals(2, pool.getSize());
+      pool.giveBack(reused);
+
+      final WorkspacePool poolOfNextRun = new PeassFolders(PROJECT_FOLDER).getWorkspacePool();
+      Assert.assertEquals(2, poolOfNextRun.getSize());
+      final PeassFolders leasedInNextRun = poolOfNextRun.lease("version1");
+      Assert.assertTrue(leasedInNextRun.getProjectFolder().getName().startsWith("workspace_"));
+      Assert.assertEquals(2, poolOfNextRun.getSize());
+   }
+
+   @Test
+   public void testLeasedWorkspaceIsLockedForOtherPools() throws IOException, InterruptedException {
+      final WorkspacePool pool = new PeassFolders(PROJECT_FOLDER).getWorkspacePool();
+      pool.giveBack(pool.lease("version1"));
+
+      final WorkspacePool otherPool = new PeassFolders(PROJECT_FOLDER).getWorkspacePool();
+      Assert.assertEquals(1, otherPool.getSize());
+
+      final PeassFolders leased = pool.lease("version1");
+      final PeassFolders leasedByOtherPool = otherPool.lease("version1");
+      Assert.assertNotEquals(leased.getProjectFolder(), leasedByOtherPool.getProjectFolder());
+
+      pool.giveBack(leased);
+      final PeassFolders freedWorkspace = otherPool.lease("version1");
+      Assert.assertEquals(leased.getProjectFolder(), freedWorkspace.getProjectFolder());
+      otherPool.giveBack(freedWorkspace);
+      otherPool.giveBack(leasedByOtherPool);
+   }
+}
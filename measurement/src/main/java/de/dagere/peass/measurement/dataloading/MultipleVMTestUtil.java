@@ -19,7 +19,6 @@ import de.dagere.kopeme.datacollection.TimeDataCollector;
 import de.dagere.kopeme.datacollection.TimeDataCollectorNoGC;
 import de.dagere.kopeme.datacollection.tempfile.WrittenResultReader;
 import de.dagere.kopeme.datastorage.XMLDataLoader;
-import de.dagere.kopeme.datastorage.XMLDataStorer;
 import de.dagere.kopeme.generated.Kopemedata;
 import de.dagere.kopeme.generated.Result;
 import de.dagere.kopeme.generated.Result.Fulldata;
@@ -79,23 +78,14 @@ public class MultipleVMTestUtil {
    }
 
    /**
-    * Takes the given result and the given version and creates a file containing the aggregated result.
+    * Creates the aggregated result of one VM, as it is saved in the summary file.
     * 
-    * @param summaryResultFile
-    * @param oneRunData
-    * @param version
-    * @throws JAXBException
+    * @return The aggregated result, or null if the result contains no data
     */
-   public static void saveSummaryData(final File summaryResultFile, final File oneResultFile, final Result oneResult, final TestCase testcase, final String version,
-         final long currentChunkStart, final String datacollectorName)
-         throws JAXBException {
-      LOG.info("Writing to merged result file: {}", summaryResultFile);
-      final Kopemedata summaryData = initKopemeData(summaryResultFile, testcase);
-      Chunk summaryChunk = findChunk(currentChunkStart, summaryData, datacollectorName);
-      
+   public static Result createSummaryResult(final File oneResultFile, final Result oneResult, final String version, final String datacollectorName) {
+      final SummaryStatistics st;
       if (oneResult.getFulldata().getFileName() != null) {
-         SummaryStatistics st = getExternalFileStatistics(oneResultFile, datacollectorName, oneResult);
-         saveData(summaryResultFile, version, summaryData, summaryChunk, oneResult, st);
+         st = getExternalFileStatistics(oneResultFile, datacollectorName, oneResult);
       } else {
          final Result cleaned;
          if (oneResult.getWarmup() != 0) {
@@ -105,23 +95,17 @@ public class MultipleVMTestUtil {
          }
          final Fulldata realData = cleaned.getFulldata();
          if (realData != null && realData.getValue() != null && realData.getValue().size() > 0) {
-            final SummaryStatistics st = createStatistics(realData);
-            saveData(summaryResultFile, version, summaryData, summaryChunk, oneResult, st);
+            st = createStatistics(realData);
          } else {
             LOG.error("Fulldata of " + oneResultFile + " empty!");
+            return null;
          }
       }
-   }
-
-   private static void saveData(final File summaryResultFile, final String version, final Kopemedata summaryData, final Chunk summaryChunk, final Result oneResult,
-         final SummaryStatistics st) {
       final Result result = createResultFromStatistic(version, st, oneResult.getRepetitions());
       result.setDate(oneResult.getDate());
       result.setWarmup(oneResult.getWarmup());
       result.setParams(oneResult.getParams());
-
-      summaryChunk.getResult().add(result);
-      XMLDataStorer.storeData(summaryResultFile, summaryData);
+      return result;
    }
 
    private static SummaryStatistics getExternalFileStatistics(final File oneResultFile, final String dataCollectorName, final Result oneResult) {
@@ -11,9 +11,7 @@ import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import de.dagere.kopeme.datastorage.XMLDataLoader;
 import de.dagere.kopeme.generated.Result;
-import de.dagere.kopeme.generated.TestcaseType.Datacollector;
 import de.dagere.kopeme.generated.TestcaseType.Datacollector.Chunk;
 import de.dagere.peass.config.MeasurementConfig;
 import de.dagere.peass.dependency.analysis.data.TestCase;
@@ -34,17 +32,17 @@ public class ResultLoader {
 
    public void loadData(PeassFolders folders, final TestCase testcase, final long currentChunkStart) throws JAXBException {
       final File kopemeFile = folders.getSummaryFile(testcase);
-      final XMLDataLoader loader = new XMLDataLoader(kopemeFile);
-      if (loader.getFullData().getTestcases().getTestcase().size() > 0) {
-         final Datacollector dataCollector = loader.getFullData().getTestcases().getTestcase().get(0).getDatacollector().get(0);
-         final Chunk realChunk = MultipleVMTestUtil.findChunk(currentChunkStart, dataCollector);
-         loadChunk(realChunk);
-      }
+      final List<Result> chunkResults = SummaryFileWriter.readChunkResults(kopemeFile, testcase, currentChunkStart);
+      loadResults(chunkResults);
    }
 
    public void loadChunk(final Chunk realChunk) {
-      LOG.debug("Chunk size: {}", realChunk.getResult().size());
-      for (final Result result : realChunk.getResult()) {
+      loadResults(realChunk.getResult());
+   }
+
+   private void loadResults(final List<Result> chunkResults) {
+      LOG.debug("Chunk size: {}", chunkResults.size());
+      for (final Result result : chunkResults) {
          if (result.getIterations() + result.getWarmup() == config.getAllIterations() &&
                result.getRepetitions() == config.getRepetitions()) {
             if (result.getVersion().getGitversion().equals(config.getExecutionConfig().getVersionOld())) {
@@ -0,0 +1,174 @@
+package de.dagere.peass.measurement.dataloading;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.dagere.kopeme.generated.Result;
+import de.dagere.kopeme.generated.Result.Params;
+import de.dagere.kopeme.generated.Result.Params.Param;
+import de.dagere.kopeme.generated.Versioninfo;
+
+/**
+ * One line of the pending summary file written by {@link SummaryFileWriter}, i.e. the aggregated result of one VM together with the chunk it belongs to.
+ * 
+ * @author reichelt
+ *
+ */
+public class SummaryFileEntry {
+   private long chunkStart;
+   private String datacollector;
+   private String version;
+   private double value;
+   private double deviation;
+   private Double min;
+   private Double max;
+   private long iterations;
+   private long repetitions;
+   private long warmup;
+   private Long date;
+   private Map<String, String> params;
+
+   public SummaryFileEntry() {
+   }
+
+   public SummaryFileEntry(final long chunkStart, final String datacollector, final Result result) {
+      this.chunkStart = chunkStart;
+      this.datacollector = datacollector;
+      this.version = result.getVersion().getGitversion();
+      this.value = result.getValue();
+      this.deviation = result.getDeviation();
+      this.min = result.getMin();
+      this.max = result.getMax();
+      this.iterations = result.getIterations();
+      this.repetitions = result.getRepetitions();
+      this.warmup = result.getWarmup();
+      this.date = result.getDate();
+      if (result.getParams() != null) {
+         params = new LinkedHashMap<>();
+         for (Param param : result.getParams().getParam()) {
+            params.put(param.getKey(), param.getValue());
+         }
+      }
+   }
+
+   public Result toResult() {
+      final Result result = new Result();
+      result.setValue(value);
+      result.setDeviation(deviation);
+      result.setMin(min);
+      result.setMax(max);
+      result.setVersion(new Versioninfo());
+      result.getVersion().setGitversion(version);
+      result.setIterations(iterations);
+      result.setRepetitions(repetitions);
+      result.setWarmup(warmup);
+      result.setDate(date);
+      if (params != null) {
+         final Params resultParams = new Params();
+         for (Map.Entry<String, String> param : params.entrySet()) {
+            final Param resultParam = new Param();
+            resultParam.setKey(param.getKey());
+            resultParam.setValue(param.getValue());
+            resultParams.getParam().add(resultParam);
+         }
+         result.setParams(resultParams);
+      }
+      return result;
+   }
+
+   public long getChunkStart() {
+      return chunkStart;
+   }
+
+   public void setChunkStart(final long chunkStart) {
+      this.chunkStart = chunkStart;
+   }
+
+   public String getDatacollector() {
+      return datacollector;
+   }
+
+   public void setDatacollector(final String datacollector) {
+      this.datacollector = datacollector;
+   }
+
+   public String getVersion() {
+      return version;
+   }
+
+   public void setVersion(final String version) {
+      this.version = version;
+   }
+
+   public double getValue() {
+      return value;
+   }
+
+   public void setValue(final double value) {
+      this.value = value;
+   }
+
+   public double getDeviation() {
+      return deviation;
+   }
+
+   public void setDeviation(final double deviation) {
+      this.deviation = deviation;
+   }
+
+   public Double getMin() {
+      return min;
+   }
+
+   public void setMin(final Double min) {
+      this.min = min;
+   }
+
+   public Double getMax() {
+      return max;
+   }
+
+   public void setMax(final Double max) {
+      this.max = max;
+   }
+
+   public long getIterations() {
+      return iterations;
+   }
+
+   public void setIterations(final long iterations) {
+      this.iterations = iterations;
+   }
+
+   public long getRepetitions() {
+      return repetitions;
+   }
+
+   public void setRepetitions(final long repetitions) {
+      this.repetitions = repetitions;
+   }
+
+   public long getWarmup() {
+      return warmup;
+   }
+
+   public void setWarmup(final long warmup) {
+      this.warmup = warmup;
+   }
+
+   public Long getDate() {
+      return date;
+   }
+
+   public void setDate(final Long date) {
+      this.date = date;
+   }
+
+   public Map<String, String> getParams() {
+      return params;
+   }
+
+   public void setParams(final Map<String, String> params) {
+      this.params = params;
+   }
+}
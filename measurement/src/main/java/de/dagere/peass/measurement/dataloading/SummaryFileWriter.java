@@ -0,0 +1,212 @@
+package de.dagere.peass.measurement.dataloading;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import de.dagere.kopeme.datastorage.XMLDataStorer;
+import de.dagere.kopeme.generated.Kopemedata;
+import de.dagere.kopeme.generated.Result;
+import de.dagere.kopeme.generated.TestcaseType.Datacollector.Chunk;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.utils.Constants;
+
+/**
+ * Writes the summary file of one test incrementally. Instead of loading and rewriting the summary XML after every VM, the aggregated result of every VM is appended as one line
+ * to a pending file next to the summary file (summary file name + .pending), which takes constant time. When the writer is finished, the pending results are merged into the
+ * summary XML, which can afterwards be read by the KoPeMe XMLDataLoader as before.
+ *
+ * Every summary file has exactly one writer, which is obtained by {@link #getWriter(File, TestCase)}; only this writer is locked while appending, so measurements of different
+ * tests do not block each other. If the process was killed before finishing, the pending results are read again by the next writer of the same summary file.
+ *
+ * @author reichelt
+ *
+ */
+public class SummaryFileWriter {
+
+   private static final Logger LOG = LogManager.getLogger(SummaryFileWriter.class);
+
+   private static final ObjectWriter LINE_WRITER = Constants.OBJECTMAPPER.writer().without(SerializationFeature.INDENT_OUTPUT);
+
+   private static final Map<File, SummaryFileWriter> WRITERS = new ConcurrentHashMap<>();
+
+   private final File summaryFile;
+   private final File pendingFile;
+   private final TestCase testcase;
+   private final List<SummaryFileEntry> pendingEntries = new ArrayList<>();
+   private Kopemedata existingData;
+
+   SummaryFileWriter(final File summaryFile, final TestCase testcase) throws IOException {
+      this.summaryFile = summaryFile;
+      this.pendingFile = new File(summaryFile.getParentFile(), summaryFile.getName() + ".pending");
+      this.testcase = testcase;
+      readPendingEntries();
+   }
+
+   /**
+    * Returns the writer of the given summary file, creating it if it does not exist yet.
+    */
+   public static SummaryFileWriter getWriter(final File summaryFile, final TestCase testcase) {
+      return WRITERS.computeIfAbsent(summaryFile.getAbsoluteFile(), file -> {
+         try {
+            return new SummaryFileWriter(file, testcase);
+         } catch (IOException e) {
+            throw new RuntimeException("Could not read pending summary data of " + file, e);
+         }
+      });
+   }
+
+   /**
+    * Returns the results of the given chunk like {@link #getChunkResults(long)}; if no writer of the summary file exists, the results are read without creating a writer.
+    */
+   public static List<Result> readChunkResults(final File summaryFile, final TestCase testcase, final long chunkStart) throws JAXBException {
+      final SummaryFileWriter writer = WRITERS.get(summaryFile.getAbsoluteFile());
+      if (writer != null) {
+         return writer.getChunkResults(chunkStart);
+      }
+      try {
+         return new SummaryFileWriter(summaryFile.getAbsoluteFile(), testcase).getChunkResults(chunkStart);
+      } catch (IOException e) {
+         throw new RuntimeException("Could not read pending summary data of " + summaryFile, e);
+      }
+   }
+
+   /**
+    * Merges the pending results of the writers of the given test, including the writers of all its parameterizations, into their summary files and removes the writers; needs to
+    * be called after the measurement of the test is finished. Writers of other tests are not changed.
+    */
+   public static void finish(final TestCase testcase) throws JAXBException, IOException {
+      for (Map.Entry<File, SummaryFileWriter> entry : WRITERS.entrySet()) {
+         final TestCase writerTestcase = entry.getValue().testcase;
+         if (writerTestcase.getClazz().equals(testcase.getClazz()) && Objects.equals(writerTestcase.getMethod(), testcase.getMethod())
+               && Objects.equals(writerTestcase.getModule(), testcase.getModule())) {
+            entry.getValue().finish();
+            WRITERS.remove(entry.getKey(), entry.getValue());
+         }
+      }
+   }
+
+   /**
+    * Merges the pending results of all writers into their summary files and removes all writers.
+    */
+   public static void finishAll() throws JAXBException, IOException {
+      for (Iterator<SummaryFileWriter> iterator = WRITERS.values().iterator(); iterator.hasNext();) {
+         SummaryFileWriter writer = iterator.next();
+         writer.finish();
+         iterator.remove();
+      }
+   }
+
+   private void readPendingEntries() throws IOException {
+      if (!pendingFile.exists()) {
+         return;
+      }
+      try (BufferedReader reader = Files.newBufferedReader(pendingFile.toPath(), StandardCharsets.UTF_8)) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+               continue;
+            }
+            try {
+               pendingEntries.add(Constants.OBJECTMAPPER.readValue(line, SummaryFileEntry.class));
+            } catch (JsonProcessingException e) {
+               LOG.warn("Pending summary file {} contains incomplete entry, ignoring it: {}", pendingFile, e.getMessage());
+            }
+         }
+      }
+      LOG.info("Recovered {} results from {}", pendingEntries.size(), pendingFile);
+   }
+
+   /**
+    * Appends the aggregated result of one VM to the given chunk.
+    */
+   public synchronized void addResult(final long chunkStart, final String datacollectorName, final Result summaryResult) throws IOException {
+      final SummaryFileEntry entry = new SummaryFileEntry(chunkStart, datacollectorName, summaryResult);
+      if (!pendingFile.exists() && !pendingEntries.isEmpty()) {
+         LOG.warn("Pending file {} has been removed, dropping {} pending results", pendingFile, pendingEntries.size());
+         pendingEntries.clear();
+      }
+      if (!pendingFile.getParentFile().exists()) {
+         pendingFile.getParentFile().mkdirs();
+      }
+      final byte[] line = (LINE_WRITER.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+      try (FileOutputStream pendingStream = new FileOutputStream(pendingFile, true)) {
+         pendingStream.write(line);
+      }
+      pendingEntries.add(entry);
+   }
+
+   /**
+    * Returns all results of the given chunk, i.e. the results already contained in the summary file and the pending results.
+    */
+   public synchronized List<Result> getChunkResults(final long chunkStart) throws JAXBException {
+      final List<Result> results = new ArrayList<>();
+      if (summaryFile.exists()) {
+         if (existingData == null) {
+            existingData = MultipleVMTestUtil.initKopemeData(summaryFile, testcase);
+         }
+         if (existingData.getTestcases().getTestcase().get(0).getDatacollector().size() > 0) {
+            final Chunk existingChunk = MultipleVMTestUtil.findChunk(chunkStart, existingData.getTestcases().getTestcase().get(0).getDatacollector().get(0));
+            if (existingChunk != null) {
+               results.addAll(existingChunk.getResult());
+            }
+         }
+      }
+      for (SummaryFileEntry entry : pendingEntries) {
+         if (entry.getChunkStart() == chunkStart) {
+            results.add(entry.toResult());
+         }
+      }
+      return results;
+   }
+
+   /**
+    * Merges the pending results into the summary file and removes the pending file afterwards. The summary file is written to a temporary file first, so a crash leaves either
+    * the old or the new summary file and the pending file in place.
+    */
+   public synchronized void finish() throws JAXBException, IOException {
+      if (!pendingFile.exists() && !pendingEntries.isEmpty()) {
+         LOG.warn("Pending file {} has been removed, dropping {} pending results", pendingFile, pendingEntries.size());
+         pendingEntries.clear();
+      }
+      if (pendingEntries.isEmpty()) {
+         Files.deleteIfExists(pendingFile.toPath());
+         return;
+      }
+      LOG.info("Writing {} results to summary file {}", pendingEntries.size(), summaryFile);
+      final Kopemedata summaryData = MultipleVMTestUtil.initKopemeData(summaryFile, testcase);
+      for (SummaryFileEntry entry : pendingEntries) {
+         final Chunk chunk = MultipleVMTestUtil.findChunk(entry.getChunkStart(), summaryData, entry.getDatacollector());
+         chunk.getResult().add(entry.toResult());
+      }
+      final File tempFile = new File(summaryFile.getParentFile(), summaryFile.getName() + ".tmp");
+      XMLDataStorer.storeData(tempFile, summaryData);
+      Files.move(tempFile.toPath(), summaryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      Files.deleteIfExists(pendingFile.toPath());
+      pendingEntries.clear();
+      existingData = null;
+   }
+
+   public File getPendingFile() {
+      return pendingFile;
+   }
+}
@@ -15,6 +15,7 @@ import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.execution.utils.EnvironmentVariables;
 import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.measurement.dataloading.ResultLoader;
+import de.dagere.peass.measurement.dataloading.SummaryFileWriter;
 import de.dagere.peass.measurement.dependencyprocessors.helper.EarlyBreakDecider;
 import de.dagere.peass.measurement.dependencyprocessors.helper.ProgressWriter;
 
@@ -43,26 +44,33 @@ public class AdaptiveTester extends DependencyTester {
    protected void evaluateWithAdaption(final TestCase testcase, final File logFolder, final ProgressWriter writer)
          throws IOException, InterruptedException, JAXBException, XmlPullParserException {
       currentChunkStart = System.currentTimeMillis();
-      for (finishedVMs = 0; finishedVMs < configuration.getVms(); finishedVMs++) {
-         long comparisonStart = System.currentTimeMillis();
-         runOneComparison(logFolder, testcase, finishedVMs);
-
-         final boolean savelyDecidable = checkIsDecidable(testcase, finishedVMs);
-
-         if (savelyDecidable) {
-            LOG.debug("Savely decidable - finishing testing");
-            break;
-         }
-
-         final boolean shouldBreak = updateExecutions(testcase, finishedVMs);
-         if (shouldBreak) {
-            LOG.debug("Too few executions possible - finishing testing.");
-            break;
-         }
-         long durationInSeconds = (System.currentTimeMillis() - comparisonStart)/1000;
-         writer.write(durationInSeconds, finishedVMs);
+      int concurrentVMPairs;
+      try {
+         for (finishedVMs = 0; finishedVMs < configuration.getVms(); finishedVMs += concurrentVMPairs) {
+            long comparisonStart = System.currentTimeMillis();
+            concurrentVMPairs = getConcurrentVMPairs(finishedVMs);
+            runOneComparison(logFolder, testcase, finishedVMs);
+
+            final int lastVMID = finishedVMs + concurrentVMPairs - 1;
+            final boolean savelyDecidable = checkIsDecidable(testcase, lastVMID);
+
+            if (savelyDecidable) {
+               LOG.debug("Savely decidable - finishing testing");
+               break;
+            }
+
+            final boolean shouldBreak = updateExecutions(testcase, finishedVMs, lastVMID);
+            if (shouldBreak) {
+               LOG.debug("Too few executions possible - finishing testing.");
+               break;
+            }
+            long durationInSeconds = (System.currentTimeMillis() - comparisonStart)/1000;
+            writer.write(durationInSeconds, finishedVMs);
          
-         betweenVMCooldown();
+            betweenVMCooldown();
+         }
+      } finally {
+         SummaryFileWriter.finish(testcase);
       }
    }
 
@@ -2,6 +2,9 @@ package de.dagere.peass.measurement.dependencyprocessors;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.bind.JAXBException;
@@ -23,6 +26,8 @@ import de.dagere.peass.execution.utils.TestExecutor;
 import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.measurement.cleaning.Cleaner;
 import de.dagere.peass.measurement.dataloading.DataReader;
+import de.dagere.peass.measurement.dataloading.SummaryFileWriter;
+import de.dagere.peass.measurement.dependencyprocessors.helper.CpuSetAssigner;
 import de.dagere.peass.measurement.dependencyprocessors.helper.ProgressWriter;
 import de.dagere.peass.measurement.organize.FolderDeterminer;
 import de.dagere.peass.measurement.organize.ResultOrganizer;
@@ -43,7 +48,7 @@ public class DependencyTester implements KiekerResultHandler {
    protected final PeassFolders folders;
    protected final MeasurementConfig configuration;
    protected final EnvironmentVariables env;
-   private ResultOrganizer currentOrganizer;
+   private List<ResultOrganizer> currentOrganizers = new LinkedList<>();
    protected long currentChunkStart = 0;
 
    public DependencyTester(final PeassFolders folders, final MeasurementConfig measurementConfig, final EnvironmentVariables env) throws IOException {
@@ -78,21 +83,27 @@ public class DependencyTester implements KiekerResultHandler {
    private void evaluateSimple(final TestCase testcase, final File logFolder, final ProgressWriter writer)
          throws IOException, InterruptedException, JAXBException, XmlPullParserException {
       currentChunkStart = System.currentTimeMillis();
-      for (int finishedVMs = 0; finishedVMs < configuration.getVms(); finishedVMs++) {
-         long comparisonStart = System.currentTimeMillis();
+      int concurrentVMPairs;
+      try {
+         for (int finishedVMs = 0; finishedVMs < configuration.getVms(); finishedVMs += concurrentVMPairs) {
+            long comparisonStart = System.currentTimeMillis();
+
+            concurrentVMPairs = getConcurrentVMPairs(finishedVMs);
+            runOneComparison(logFolder, testcase, finishedVMs);
+
+            final boolean shouldBreak = updateExecutions(testcase, finishedVMs, finishedVMs + concurrentVMPairs - 1);
+            if (shouldBreak) {
+               LOG.debug("Too less executions possible - finishing testing.");
+               break;
+            }
 
-         runOneComparison(logFolder, testcase, finishedVMs);
+            long durationInSeconds = (System.currentTimeMillis() - comparisonStart) / 1000;
+            writer.write(durationInSeconds, finishedVMs);
 
-         final boolean shouldBreak = updateExecutions(testcase, finishedVMs);
-         if (shouldBreak) {
-            LOG.debug("Too less executions possible - finishing testing.");
-            break;
+            betweenVMCooldown();
          }
-
-         long durationInSeconds = (System.currentTimeMillis() - comparisonStart) / 1000;
-         writer.write(durationInSeconds, finishedVMs);
-
-         betweenVMCooldown();
+      } finally {
+         SummaryFileWriter.finish(testcase);
       }
    }
 
@@ -103,13 +114,19 @@ public class DependencyTester implements KiekerResultHandler {
       Thread.sleep(configuration.getWaitTimeBetweenVMs());
    }
 
-   boolean updateExecutions(final TestCase testcase, final int vmid) throws JAXBException {
+   /**
+    * Checks the results of all VMs from firstVMID to lastVMID, i.e. of all VM pairs of the last comparison, and reduces the executions if one of them did not succeed.
+    */
+   boolean updateExecutions(final TestCase testcase, final int firstVMID, final int lastVMID) throws JAXBException {
       boolean shouldBreak = false;
-      final Result versionOldResult = getLastResult(configuration.getExecutionConfig().getVersionOld(), testcase, vmid);
-      final Result versionNewResult = getLastResult(configuration.getExecutionConfig().getVersion(), testcase, vmid);
-      if (vmid < 40) {
-         int reducedIterations = Math.min(shouldReduce(configuration.getExecutionConfig().getVersionOld(), versionOldResult),
-               shouldReduce(configuration.getExecutionConfig().getVersion(), versionNewResult));
+      if (lastVMID < 40) {
+         int reducedIterations = configuration.getIterations();
+         for (int vmid = firstVMID; vmid <= lastVMID; vmid++) {
+            final Result versionOldResult = getLastResult(configuration.getExecutionConfig().getVersionOld(), testcase, vmid);
+            final Result versionNewResult = getLastResult(configuration.getExecutionConfig().getVersion(), testcase, vmid);
+            reducedIterations = Math.min(reducedIterations, Math.min(shouldReduce(configuration.getExecutionConfig().getVersionOld(), versionOldResult),
+                  shouldReduce(configuration.getExecutionConfig().getVersion(), versionNewResult)));
+         }
          if (reducedIterations != configuration.getIterations()) {
             LOG.error("Should originally run {} iterations, but did not succeed - reducing to {}", configuration.getIterations(), reducedIterations);
             // final int lessIterations = testTransformer.getConfig().getIterations() / 5;
@@ -157,7 +174,7 @@ public class DependencyTester implements KiekerResultHandler {
    }
 
    public Result getLastResult(final String version, final TestCase testcase, final int vmid) throws JAXBException {
-      final File resultFile = getCurrentOrganizer().getResultFile(testcase, vmid, version);
+      final File resultFile = folders.getResultFile(testcase, vmid, version, configuration.getExecutionConfig().getVersion());
       if (resultFile.exists()) {
          final Kopemedata data = new XMLDataLoader(resultFile).getFullData();
          final Result lastResult = data.getTestcases().getTestcase().get(0).getDatacollector().get(0).getResult().get(0);
@@ -169,7 +186,7 @@ public class DependencyTester implements KiekerResultHandler {
    }
 
    public void postEvaluate() {
-      if (currentOrganizer != null) {
+      if (!currentOrganizers.isEmpty()) {
          final File cleanFolder = folders.getNativeCleanFolder();
          if (!cleanFolder.exists()) {
             cleanFolder.mkdirs();
@@ -205,50 +222,83 @@ public class DependencyTester implements KiekerResultHandler {
       return versions;
    }
 
+   /**
+    * Runs the given count of VM pairs concurrently, each VM in its own project copy from the workspace pool. The VM pair with index i gets the VM id vmid + i, so the results are organized
+    * like the results of sequential runs. To avoid that one version is systematically favored, the start order of the versions and (if pinning is activated) the CPU sets are
+    * interleaved between VM pairs.
+    */
    private void runParallel(final File logFolder, final TestCase testcase, final int vmid, final String[] versions) throws InterruptedException, IOException {
-      final ResultOrganizerParallel organizer = new ResultOrganizerParallel(folders, configuration.getExecutionConfig().getVersion(), currentChunkStart,
-            configuration.isUseKieker(),
-            configuration.isSaveAll(), testcase,
-            configuration.getAllIterations());
-      currentOrganizer = organizer;
-      final ParallelExecutionRunnable[] runnables = new ParallelExecutionRunnable[2];
-      for (int i = 0; i < 2; i++) {
-         final String version = versions[i];
-         runnables[i] = new ParallelExecutionRunnable(organizer, version, testcase, vmid, logFolder, this);
+      final int pairs = getConcurrentVMPairs(vmid);
+      final CpuSetAssigner cpuSets = configuration.isPinToCpuSets() ? new CpuSetAssigner(pairs * 2) : null;
+      final ParallelExecutionRunnable[] runnables = new ParallelExecutionRunnable[pairs * 2];
+      final List<ResultOrganizer> organizers = new LinkedList<>();
+      for (int pair = 0; pair < pairs; pair++) {
+         final int pairVMID = vmid + pair;
+         final ResultOrganizerParallel organizer = new ResultOrganizerParallel(folders, configuration.getExecutionConfig().getVersion(), currentChunkStart,
+               configuration.isUseKieker(),
+               configuration.isSaveAll(), testcase,
+               configuration.getAllIterations());
+         organizers.add(organizer);
+         for (int i = 0; i < 2; i++) {
+            final String version = versions[pairVMID % 2 == 0 ? i : 1 - i];
+            final int runnableIndex = pair * 2 + i;
+            final EnvironmentVariables runnableEnv = new EnvironmentVariables(env);
+            if (cpuSets != null) {
+               runnableEnv.setCpuSet(cpuSets.getCpuSet(runnableIndex));
+            }
+            runnables[runnableIndex] = new ParallelExecutionRunnable(organizer, version, testcase, pairVMID, logFolder, this, runnableEnv);
+         }
       }
+      currentOrganizers = organizers;
       runParallel(runnables);
    }
 
+   /**
+    * Returns how many VM pairs are executed by one call of runOneComparison starting with the given VM id; this is 1 for sequential execution and at most the configured count
+    * of parallel VM pairs for parallel execution.
+    */
+   protected int getConcurrentVMPairs(final int vmid) {
+      if (configuration.getMeasurementStrategy().equals(MeasurementStrategy.PARALLEL)) {
+         return Math.max(1, Math.min(configuration.getParallelVMPairs(), configuration.getVms() - vmid));
+      } else {
+         return 1;
+      }
+   }
+
    public void runParallel(final ParallelExecutionRunnable[] runnables) throws InterruptedException {
-      Thread[] threads = new Thread[2];
-      for (int i = 0; i < 2; i++) {
+      Thread[] threads = new Thread[runnables.length];
+      for (int i = 0; i < runnables.length; i++) {
          threads[i] = new Thread(runnables[i]);
          threads[i].start();
       }
-      for (int i = 0; i < 2; i++) {
+      for (int i = 0; i < runnables.length; i++) {
          threads[i].join();
       }
    }
 
    private void runSequential(final File logFolder, final TestCase testcase, final int vmid, final String versions[])
          throws IOException, InterruptedException, JAXBException, XmlPullParserException {
-      currentOrganizer = new ResultOrganizer(folders, configuration.getExecutionConfig().getVersion(), currentChunkStart, configuration.isUseKieker(), configuration.isSaveAll(),
-            testcase, configuration.getAllIterations());
+      final ResultOrganizer organizer = new ResultOrganizer(folders, configuration.getExecutionConfig().getVersion(), currentChunkStart, configuration.isUseKieker(),
+            configuration.isSaveAll(), testcase, configuration.getAllIterations());
+      currentOrganizers = Collections.singletonList(organizer);
       for (String version : versions) {
          runOnce(testcase, version, vmid, logFolder);
       }
    }
 
+   /**
+    * Runs one VM of the given version in the project folder, using the organizer of the current sequential comparison.
+    */
    public void runOnce(final TestCase testcase, final String version, final int vmid, final File logFolder)
          throws IOException, InterruptedException, JAXBException, XmlPullParserException {
-      final TestExecutor testExecutor = getExecutor(folders, version);
-      final OnceRunner runner = new OnceRunner(folders, testExecutor, getCurrentOrganizer(), this);
+      final TestExecutor testExecutor = getExecutor(folders, version, env);
+      final OnceRunner runner = new OnceRunner(folders, testExecutor, currentOrganizers.get(0), this);
       runner.runOnce(testcase, version, vmid, logFolder);
    }
 
-   protected synchronized TestExecutor getExecutor(final PeassFolders currentFolders, final String version) {
+   protected synchronized TestExecutor getExecutor(final PeassFolders currentFolders, final String version, final EnvironmentVariables executionEnv) {
       TestTransformer transformer = ExecutorCreator.createTestTransformer(currentFolders, configuration.getExecutionConfig(), configuration);
-      final TestExecutor testExecutor = ExecutorCreator.createExecutor(currentFolders, transformer, env);
+      final TestExecutor testExecutor = ExecutorCreator.createExecutor(currentFolders, transformer, executionEnv);
       return testExecutor;
    }
 
@@ -258,7 +308,7 @@ public class DependencyTester implements KiekerResultHandler {
     * @param folder
     */
    @Override
-   public void handleKiekerResults(final String version, final File folder) {
+   public void handleKiekerResults(final ResultOrganizer organizer, final String version, final File folder) {
 
    }
 
@@ -271,8 +321,23 @@ public class DependencyTester implements KiekerResultHandler {
       return false;
    }
 
-   public ResultOrganizer getCurrentOrganizer() {
-      return currentOrganizer;
+   /**
+    * Returns the organizers of all VM pairs of the last comparison.
+    */
+   public List<ResultOrganizer> getCurrentOrganizers() {
+      return currentOrganizers;
+   }
+
+   /**
+    * Returns whether the measurements of all VM pairs of the last comparison succeeded.
+    */
+   public boolean isCurrentSuccess() {
+      for (ResultOrganizer organizer : currentOrganizers) {
+         if (!organizer.isSuccess()) {
+            return false;
+         }
+      }
+      return true;
    }
 
    public PeassFolders getFolders() {
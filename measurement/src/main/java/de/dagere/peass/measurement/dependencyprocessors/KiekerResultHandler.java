@@ -2,12 +2,15 @@ package de.dagere.peass.measurement.dependencyprocessors;
 
 import java.io.File;
 
+import de.dagere.peass.measurement.organize.ResultOrganizer;
+
 public interface KiekerResultHandler{
    
    /**
     * This method can be overriden in order to handle kieker results before they are compressed
     * 
+    * @param organizer Organizer of the VM whose results are contained in the folder
     * @param folder
     */
-   void handleKiekerResults(final String version, final File folder);
+   void handleKiekerResults(final ResultOrganizer organizer, final String version, final File folder);
 }
\ No newline at end of file
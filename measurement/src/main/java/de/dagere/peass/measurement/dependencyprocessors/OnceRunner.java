@@ -44,7 +44,10 @@ public class OnceRunner {
       if (vcs.equals(VersionControlSystem.SVN)) {
          throw new RuntimeException("SVN not supported currently.");
       } else {
-         GitUtils.goToTag(version, folders.getProjectFolder());
+         // VMs alternate between both versions, so the build output of every version is kept for its next VM
+         final boolean buildOutputRestored = GitUtils.switchVersion(version, folders.getProjectFolder());
+         testExecutor.setBuildOutputRestored(buildOutputRestored);
+         testExecutor.setVersion(version);
       }
 
       final File vmidFolder = initVMFolder(version, vmid, logFolder);
@@ -57,7 +60,7 @@ public class OnceRunner {
       testExecutor.executeTest(testcase, vmidFolder, outerTimeout);
 
       LOG.debug("Handling Kieker results");
-      resultHandler.handleKiekerResults(version, currentOrganizer.getTempResultsFolder(version));
+      resultHandler.handleKiekerResults(currentOrganizer, version, currentOrganizer.getTempResultsFolder(version));
 
       LOG.info("Organizing result paths");
       currentOrganizer.saveResultFiles(version, vmid);
@@ -8,6 +8,7 @@ import javax.xml.bind.JAXBException;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.execution.utils.EnvironmentVariables;
 import de.dagere.peass.execution.utils.TestExecutor;
 import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.measurement.organize.ResultOrganizerParallel;
@@ -20,31 +21,48 @@ public class ParallelExecutionRunnable implements Runnable {
    private final int vmid;
    private final File logFolder;
    private final DependencyTester tester;
-   private final PeassFolders temporaryFolders;
+   private final EnvironmentVariables env;
    
-   public ParallelExecutionRunnable(final ResultOrganizerParallel organizer, final String version, final TestCase testcase, final int vmid, final File logFolder, final DependencyTester tester) throws IOException, InterruptedException {
+   public ParallelExecutionRunnable(final ResultOrganizerParallel organizer, final String version, final TestCase testcase, final int vmid, final File logFolder, final DependencyTester tester) {
+      this(organizer, version, testcase, vmid, logFolder, tester, tester.env);
+   }
+
+   public ParallelExecutionRunnable(final ResultOrganizerParallel organizer, final String version, final TestCase testcase, final int vmid, final File logFolder,
+         final DependencyTester tester, final EnvironmentVariables env) {
       this.organizer = organizer;
       this.version = version;
       this.testcase = testcase;
       this.vmid = vmid;
       this.logFolder = logFolder;
       this.tester = tester;
-      temporaryFolders = cloneProjectFolder();
+      this.env = env;
    }
 
+   /**
+    * Leases the project copy only when the VM is started, so no copy stays leased if creating the runnables of the other VMs fails.
+    */
    @Override
    public void run() {
+      final PeassFolders temporaryFolders;
+      try {
+         temporaryFolders = cloneProjectFolder();
+      } catch (IOException | InterruptedException e) {
+         e.printStackTrace();
+         return;
+      }
       try {
-         final TestExecutor testExecutor = tester.getExecutor(temporaryFolders, version);
+         final TestExecutor testExecutor = tester.getExecutor(temporaryFolders, version, env);
          final OnceRunner runner = new OnceRunner(temporaryFolders, testExecutor, organizer, tester);
          runner.runOnce(testcase, version, vmid, logFolder);
       } catch (IOException | InterruptedException | JAXBException | XmlPullParserException e) {
          e.printStackTrace();
+      } finally {
+         tester.getFolders().getWorkspacePool().giveBack(temporaryFolders);
       }
    }
 
    private PeassFolders cloneProjectFolder() throws IOException, InterruptedException {
-      PeassFolders temporaryFolders = tester.getFolders().getTempFolder("parallel_" + version);
+      PeassFolders temporaryFolders = tester.getFolders().getWorkspacePool().lease(version);
       organizer.addVersionFolders(version, temporaryFolders);
       return temporaryFolders;
    }
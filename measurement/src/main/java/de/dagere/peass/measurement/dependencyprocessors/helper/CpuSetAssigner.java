@@ -0,0 +1,36 @@
+package de.dagere.peass.measurement.dependencyprocessors.helper;
+
+/**
+ * Splits the available CPUs into disjoint CPU sets, one for each concurrently executed VM, so concurrently executed VMs do not compete for the same cores.
+ *
+ * @author reichelt
+ *
+ */
+public class CpuSetAssigner {
+
+   private final int cpusPerVM;
+
+   public CpuSetAssigner(final int concurrentVMs) {
+      this(concurrentVMs, Runtime.getRuntime().availableProcessors());
+   }
+
+   public CpuSetAssigner(final int concurrentVMs, final int availableCpus) {
+      this.cpusPerVM = availableCpus / concurrentVMs;
+   }
+
+   /**
+    * Returns the CPU set of the given VM in taskset list format (e.g. 4-7), or null if there are less CPUs than concurrent VMs
+    */
+   public String getCpuSet(final int vmIndex) {
+      if (cpusPerVM == 0) {
+         return null;
+      }
+      final int firstCpu = vmIndex * cpusPerVM;
+      final int lastCpu = firstCpu + cpusPerVM - 1;
+      return firstCpu == lastCpu ? Integer.toString(firstCpu) : firstCpu + "-" + lastCpu;
+   }
+
+   public int getCpusPerVM() {
+      return cpusPerVM;
+   }
+}
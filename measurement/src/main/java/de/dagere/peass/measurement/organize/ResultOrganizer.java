@@ -4,9 +4,11 @@ import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.bind.JAXBException;
 
@@ -26,6 +28,7 @@ import de.dagere.kopeme.generated.TestcaseType.Datacollector;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.measurement.dataloading.MultipleVMTestUtil;
+import de.dagere.peass.measurement.dataloading.SummaryFileWriter;
 
 public class ResultOrganizer {
 
@@ -39,7 +42,8 @@ public class ResultOrganizer {
 
    private final boolean saveAll;
    protected final TestCase testcase;
-   private boolean success = true;
+   // Written by the threads of all VMs of the test
+   private final AtomicBoolean success = new AtomicBoolean(true);
    private final int expectedIterations;
    private final KiekerFileCompressor compressor = new KiekerFileCompressor();
 
@@ -64,12 +68,13 @@ public class ResultOrganizer {
     */
    public boolean testSuccess(final String version) {
       final File folder = getTempResultsFolder(version);
+      boolean vmSuccess;
       if (folder != null) {
          final String methodname = testcase.getMethodWithParams();
          final File oneResultFile = new File(folder, methodname + ".xml");
          try {
             if (!oneResultFile.exists()) {
-               success = false;
+               vmSuccess = false;
                LOG.error("Result file {} does not exist - probably timeout", oneResultFile);
             } else {
                LOG.debug("Reading: {}", oneResultFile);
@@ -79,60 +84,68 @@ public class ResultOrganizer {
                if (testcaseList.size() > 0) {
                   Result result = oneResultData.getTestcases().getTestcase().get(0).getDatacollector().get(0).getResult().get(0);
                   if (result.getIterations() == expectedIterations) {
-                     success = true;
+                     vmSuccess = true;
                   } else {
-                     success = false;
+                     vmSuccess = false;
                      LOG.error("Wrong execution count: {} Expected: {}", result.getIterations(), expectedIterations);
                   }
                } else {
                   LOG.error("Testcase not found in XML");
-                  success = false;
+                  vmSuccess = false;
                }
             }
          } catch (JAXBException e) {
             e.printStackTrace();
-            success = false;
+            vmSuccess = false;
          }
       } else {
          LOG.error("Folder {} does not exist", folder);
-         success = false;
+         vmSuccess = false;
       }
-      return success;
+      success.set(vmSuccess);
+      return vmSuccess;
    }
 
    public void saveResultFiles(final String version, final int vmid)
          throws JAXBException, IOException {
-      // Saving and merging result files should not be executed in parallel, therefore, this needs to be synchronized over the class (not the instance)
-      synchronized (ResultOrganizer.class) {
-         final File folder = getTempResultsFolder(version);
-         if (folder != null) {
-            final String methodname = testcase.getMethodWithParams();
-            final File oneResultFile = new File(folder, methodname + ".xml");
-            if (!oneResultFile.exists()) {
-               LOG.debug("File {} does not exist.", oneResultFile.getAbsolutePath());
-               success = false;
-            } else {
-               LOG.debug("Reading: {}", oneResultFile);
-               final XMLDataLoader xdl = new XMLDataLoader(oneResultFile);
-               final Kopemedata oneResultData = xdl.getFullData();
-               final List<TestcaseType> testcaseList = oneResultData.getTestcases().getTestcase();
-               if (testcaseList.size() > 0) {
-                  saveResults(version, vmid, oneResultFile, oneResultData, testcaseList);
-
-                  if (isUseKieker) {
-                     File destFolder = folders.getFullResultFolder(testcase, mainVersion, version);
-                     saveKiekerFiles(folder, destFolder);
-                  }
-               } else {
-                  LOG.error("No data - measurement failed?");
-                  success = false;
+      final File folder = getTempResultsFolder(version);
+      if (folder != null) {
+         final String methodname = testcase.getMethodWithParams();
+         final File oneResultFile = new File(folder, methodname + ".xml");
+         if (!oneResultFile.exists()) {
+            LOG.debug("File {} does not exist.", oneResultFile.getAbsolutePath());
+            success.set(false);
+         } else {
+            LOG.debug("Reading: {}", oneResultFile);
+            final XMLDataLoader xdl = new XMLDataLoader(oneResultFile);
+            final Kopemedata oneResultData = xdl.getFullData();
+            final List<TestcaseType> testcaseList = oneResultData.getTestcases().getTestcase();
+            if (testcaseList.size() > 0) {
+               saveResults(version, vmid, oneResultFile, oneResultData, testcaseList);
+               saveTelemetryFile(version, vmid);
+
+               if (isUseKieker) {
+                  File destFolder = folders.getFullResultFolder(testcase, mainVersion, version);
+                  saveKiekerFiles(folder, destFolder);
                }
+            } else {
+               LOG.error("No data - measurement failed?");
+               success.set(false);
             }
-            for (final File file : folder.listFiles()) {
-               FileUtils.forceDelete(file);
-            }
+         }
+         for (final File file : folder.listFiles()) {
+            FileUtils.forceDelete(file);
          }
       }
+      Files.deleteIfExists(folders.getTempTelemetryFile().toPath());
+   }
+
+   private void saveTelemetryFile(final String version, final int vmid) throws IOException {
+      final File telemetryFile = folders.getTempTelemetryFile();
+      if (telemetryFile.exists()) {
+         final File destFile = folders.getTelemetryFile(testcase, vmid, version, mainVersion);
+         Files.move(telemetryFile.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
    }
 
    public File getTempResultsFolder(final String version) {
@@ -188,13 +201,20 @@ public class ResultOrganizer {
       fulldata.setFileName(destFileName);
    }
 
-   public void saveSummaryFile(final String version, final Datacollector timeDataCollector, final File oneResultFile) throws JAXBException {
+   /**
+    * Appends the aggregated results to the summary files; they are written to the summary XML when {@link SummaryFileWriter#finish(TestCase)} is called.
+    */
+   public void saveSummaryFile(final String version, final Datacollector timeDataCollector, final File oneResultFile) throws IOException {
       for (Result result : timeDataCollector.getResult()) {
          String paramString = ParamNameHelper.paramsToString(result.getParams());
          TestCase concreteTestcase = new TestCase(testcase.getClazz(), testcase.getMethod(), testcase.getModule(), paramString);
 
          final File summaryResultFile = folders.getSummaryFile(concreteTestcase);
-         MultipleVMTestUtil.saveSummaryData(summaryResultFile, oneResultFile, result, concreteTestcase, version, currentChunkStart, timeDataCollector.getName());
+         LOG.info("Writing to merged result file: {}", summaryResultFile);
+         final Result summaryResult = MultipleVMTestUtil.createSummaryResult(oneResultFile, result, version, timeDataCollector.getName());
+         if (summaryResult != null) {
+            SummaryFileWriter.getWriter(summaryResultFile, concreteTestcase).addResult(currentChunkStart, timeDataCollector.getName(), summaryResult);
+         }
       }
    }
 
@@ -228,6 +248,6 @@ public class ResultOrganizer {
    }
 
    public boolean isSuccess() {
-      return success;
+      return success.get();
    }
 }
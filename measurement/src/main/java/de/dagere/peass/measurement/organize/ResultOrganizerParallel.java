@@ -2,8 +2,8 @@ package de.dagere.peass.measurement.organize;
 
 import java.io.File;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,7 +15,8 @@ public class ResultOrganizerParallel extends ResultOrganizer {
    
    private static final Logger LOG = LogManager.getLogger(ResultOrganizerParallel.class);
 
-   private final Map<String, PeassFolders> sourceFolders = new HashMap<>();
+   // Filled by the runnables of both versions, which lease their folders concurrently
+   private final Map<String, PeassFolders> sourceFolders = new ConcurrentHashMap<>();
    
    public ResultOrganizerParallel(final PeassFolders folders, final String currentVersion, final long currentChunkStart, final boolean isUseKieker, final boolean saveAll, final TestCase test,
          final int expectedIterations) {
@@ -35,6 +36,10 @@ public class ResultOrganizerParallel extends ResultOrganizer {
       PeassFolders currentFolders = sourceFolders.get(version);
       LOG.info("Searching method: {} Version: {} Existing versions: {}", testcase, version, sourceFolders.keySet());
       LOG.info("Instance: " + System.identityHashCode(this));
+      if (currentFolders == null) {
+         LOG.error("No project folder has been leased for version {}", version);
+         return null;
+      }
       final Collection<File> folderCandidates = currentFolders.findTempClazzFolder(testcase);
       if (folderCandidates.size() != 1) {
          LOG.error("Folder with name {} is existing {} times.", testcase.getClazz(), folderCandidates.size());
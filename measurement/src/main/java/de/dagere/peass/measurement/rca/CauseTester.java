@@ -25,6 +25,7 @@ import de.dagere.peass.folders.PeassFolders;
 import de.dagere.peass.measurement.dependencyprocessors.AdaptiveTester;
 import de.dagere.peass.measurement.dependencyprocessors.helper.EarlyBreakDecider;
 import de.dagere.peass.measurement.dependencyprocessors.helper.ProgressWriter;
+import de.dagere.peass.measurement.organize.ResultOrganizer;
 import de.dagere.peass.measurement.rca.data.CallTreeNode;
 import de.dagere.peass.measurement.rca.data.CauseSearchData;
 import de.dagere.peass.measurement.rca.kieker.KiekerResultReader;
@@ -61,7 +62,7 @@ public class CauseTester extends AdaptiveTester {
          throws IOException, XmlPullParserException, InterruptedException, ViewNotFoundException, AnalysisConfigurationException, JAXBException {
       includedNodes = prepareNodes(nodes);
       evaluate(causeConfig.getTestCase());
-      if (!getCurrentOrganizer().isSuccess()) {
+      if (!isCurrentSuccess()) {
          boolean shouldBreak = reduceExecutions(false, configuration.getIterations() / 2);
          configuration.setIterations(configuration.getIterations() / 2);
          if (shouldBreak) {
@@ -97,8 +98,8 @@ public class CauseTester extends AdaptiveTester {
    }
 
    @Override
-   protected synchronized TestExecutor getExecutor(final PeassFolders temporaryFolders, final String version) {
-      final TestExecutor testExecutor = super.getExecutor(temporaryFolders, version);
+   protected synchronized TestExecutor getExecutor(final PeassFolders temporaryFolders, final String version, final EnvironmentVariables executionEnv) {
+      final TestExecutor testExecutor = super.getExecutor(temporaryFolders, version, executionEnv);
       TestTransformer testTransformer = testExecutor.getTestTransformer();
       testTransformer.setIgnoreEOIs(causeConfig.isIgnoreEOIs());
       generatePatternSet(version);
@@ -157,8 +158,8 @@ public class CauseTester extends AdaptiveTester {
    }
 
    @Override
-   public void handleKiekerResults(final String version, final File versionResultFolder) {
-      if (getCurrentOrganizer().testSuccess(version)) {
+   public void handleKiekerResults(final ResultOrganizer organizer, final String version, final File versionResultFolder) {
+      if (organizer.testSuccess(version)) {
          LOG.info("Did succeed in measurement - analyse values");
          
          boolean isOtherVersion = version.equals(configuration.getExecutionConfig().getVersion());
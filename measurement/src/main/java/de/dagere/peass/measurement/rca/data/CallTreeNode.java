@@ -87,7 +87,7 @@ public class CallTreeNode extends BasicNode {
       return parent;
    }
 
-   public void addMeasurement(final String version, final Long duration) {
+   public void addMeasurement(final String version, final long duration) {
       checkDataAddPossible(version);
       LOG.debug("Adding measurement: {} Call: {}", version, call);
       CallTreeStatistics callTreeStatistics = data.get(version);
@@ -4,7 +4,6 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
-import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 
 /**
  * CallTreeResult for analyzing a log line by line
@@ -14,7 +13,7 @@ public class CallTreeResult implements OneVMResult {
 
    private final int warmup;
    private int measured = 0;
-   private final SummaryStatistics statistics = new SummaryStatistics();
+   private final StreamingStatistics statistics = new StreamingStatistics();
 
    public CallTreeResult(final int warmup) {
       this.warmup = warmup;
@@ -24,7 +23,7 @@ public class CallTreeResult implements OneVMResult {
       return statistics.getMean();
    }
 
-   public void addValue(final Long value) {
+   public void addValue(final long value) {
       measured++;
       if (measured > warmup) {
          statistics.addValue(value);
@@ -24,7 +24,7 @@ public class CallTreeStatistics {
     * rather use addAggregatedMeasurement
     * @param duration   duration of one iteration (usually in microseconds)
     */
-   public void addMeasurement(final Long duration) {
+   public void addMeasurement(final long duration) {
       final CallTreeResult current = (CallTreeResult) results.get(results.size() - 1);
       current.addValue(duration);
    }
@@ -0,0 +1,65 @@
+package de.dagere.peass.measurement.rca.data;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of primitive durations, for analyses that need every single duration of a VM; storing them as list of boxed Long values takes several times more heap.
+ * 
+ * @author reichelt
+ *
+ */
+public class DurationColumn {
+
+   private static final int INITIAL_CAPACITY = 16;
+
+   private long[] values = new long[INITIAL_CAPACITY];
+   private int size = 0;
+
+   public void add(final long duration) {
+      if (size == values.length) {
+         values = Arrays.copyOf(values, values.length * 2);
+      }
+      values[size++] = duration;
+   }
+
+   public long get(final int index) {
+      if (index >= size) {
+         throw new IndexOutOfBoundsException("Index: " + index + " Size: " + size);
+      }
+      return values[index];
+   }
+
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Returns the average of the values from index 0 (inclusive) to end (exclusive)
+    */
+   public double getAverage(final int end) {
+      checkEnd(end);
+      long sum = 0;
+      for (int i = 0; i < end; i++) {
+         sum += values[i];
+      }
+      return (double) sum / end;
+   }
+
+   /**
+    * Returns the values from index 0 (inclusive) to end (exclusive) as double array
+    */
+   public double[] toDoubleArray(final int end) {
+      checkEnd(end);
+      final double[] result = new double[end];
+      for (int i = 0; i < end; i++) {
+         result[i] = values[i];
+      }
+      return result;
+   }
+
+   private void checkEnd(final int end) {
+      if (end > size) {
+         throw new IndexOutOfBoundsException("End: " + end + " Size: " + size);
+      }
+   }
+}
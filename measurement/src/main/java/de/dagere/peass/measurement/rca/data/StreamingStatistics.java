@@ -0,0 +1,95 @@
+package de.dagere.peass.measurement.rca.data;
+
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import de.dagere.peass.utils.SummaryStatisticsSerializer;
+
+/**
+ * Statistics of the durations of one node in one VM, computed while the values are added (Welford's algorithm). In contrast to {@link
+ * org.apache.commons.math3.stat.descriptive.SummaryStatistics}, only the moments needed for {@link StatisticalSummary} are updated, so no logarithm, square sum or boxed value is
+ * computed per call. The update formulas are the same as in SummaryStatistics, so the results are equal, and the serialization is the same as for SummaryStatistics.
+ * 
+ * @author reichelt
+ *
+ */
+@JsonSerialize(using = SummaryStatisticsSerializer.class)
+public class StreamingStatistics implements StatisticalSummary {
+
+   private long n = 0;
+   private double mean = Double.NaN;
+   private double secondMoment = Double.NaN;
+   private double sum = 0;
+   private double min = Double.NaN;
+   private double max = Double.NaN;
+
+   public void addValue(final double value) {
+      if (n == 0) {
+         mean = 0.0;
+         secondMoment = 0.0;
+      }
+      n++;
+      final double deviation = value - mean;
+      final double normalizedDeviation = deviation / n;
+      mean += normalizedDeviation;
+      secondMoment += ((double) n - 1) * deviation * normalizedDeviation;
+      sum += value;
+      if (value < min || Double.isNaN(min)) {
+         min = value;
+      }
+      if (value > max || Double.isNaN(max)) {
+         max = value;
+      }
+   }
+
+   @Override
+   public double getMean() {
+      return mean;
+   }
+
+   @Override
+   public double getVariance() {
+      if (n == 0) {
+         return Double.NaN;
+      } else if (n == 1) {
+         return 0.0;
+      } else {
+         return secondMoment / (n - 1.0);
+      }
+   }
+
+   @Override
+   public double getStandardDeviation() {
+      if (n > 0) {
+         return n > 1 ? Math.sqrt(getVariance()) : 0.0;
+      } else {
+         return Double.NaN;
+      }
+   }
+
+   @Override
+   public double getMax() {
+      return max;
+   }
+
+   @Override
+   public double getMin() {
+      return min;
+   }
+
+   @Override
+   public long getN() {
+      return n;
+   }
+
+   @Override
+   public double getSum() {
+      return sum;
+   }
+
+   @Override
+   public String toString() {
+      return "StreamingStatistics n: " + n + " mean: " + mean + " standard deviation: " + getStandardDeviation() + " min: " + min + " max: " + max;
+   }
+}
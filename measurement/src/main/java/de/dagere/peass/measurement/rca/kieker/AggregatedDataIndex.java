@@ -0,0 +1,53 @@
+package de.dagere.peass.measurement.rca.kieker;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+
+import de.dagere.kopeme.kieker.aggregateddata.AggregatedData;
+import de.dagere.kopeme.kieker.aggregateddata.AggregatedDataNode;
+
+/**
+ * Index of the aggregated data of one Kieker result folder by Kieker pattern and by execution order index, built in one pass over the data, so every node of the tree can be
+ * looked up without scanning all measured operations.
+ * 
+ * @author reichelt
+ *
+ */
+class AggregatedDataIndex {
+
+   private final Map<String, List<StatisticalSummary>> valuesByCall = new HashMap<>();
+   private final Map<String, Map<Integer, List<StatisticalSummary>>> valuesByCallAndEoi = new HashMap<>();
+
+   public AggregatedDataIndex(final Map<AggregatedDataNode, AggregatedData> fullDataMap) {
+      for (final Map.Entry<AggregatedDataNode, AggregatedData> entry : fullDataMap.entrySet()) {
+         final String kiekerCall = KiekerPatternConverter.getKiekerPattern(entry.getKey().getCall());
+         final List<StatisticalSummary> callValues = valuesByCall.computeIfAbsent(kiekerCall, call -> new LinkedList<>());
+         final List<StatisticalSummary> positionValues = valuesByCallAndEoi.computeIfAbsent(kiekerCall, call -> new HashMap<>())
+               .computeIfAbsent(entry.getKey().getEoi(), eoi -> new LinkedList<>());
+         for (final StatisticalSummary dataSlice : entry.getValue().getStatistic().values()) {
+            callValues.add(dataSlice);
+            positionValues.add(dataSlice);
+         }
+      }
+   }
+
+   /**
+    * Returns the values of all measured operations with the given call, or null if the call was not measured
+    */
+   public List<StatisticalSummary> getValues(final String kiekerCall) {
+      return valuesByCall.get(kiekerCall);
+   }
+
+   /**
+    * Returns the values of all measured operations with the given call and execution order index, or null if the call was not measured at this position
+    */
+   public List<StatisticalSummary> getValues(final String kiekerCall, final int eoi) {
+      final Map<Integer, List<StatisticalSummary>> positions = valuesByCallAndEoi.getOrDefault(kiekerCall, Collections.emptyMap());
+      return positions.get(eoi);
+   }
+}
@@ -3,15 +3,27 @@ package de.dagere.peass.measurement.rca.kieker;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 
+import de.dagere.peass.config.ExecutionConfig;
 import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.dependency.traces.TraceHashes;
 import de.dagere.peass.dependencyprocessors.ViewNotFoundException;
 import de.dagere.peass.execution.utils.EnvironmentVariables;
 import de.dagere.peass.folders.CauseSearchFolders;
@@ -25,6 +37,8 @@ public class BothTreeReader {
 
    private static final Logger LOG = LogManager.getLogger(BothTreeReader.class);
 
+   private static final String CONFIG_FILE_ENDING = ".config";
+
    private CallTreeNode rootPredecessor;
    private CallTreeNode rootVersion;
 
@@ -74,20 +88,122 @@ public class BothTreeReader {
       } else {
          determineTrees();
          LOG.info("Writing to cache");
-         Constants.OBJECTMAPPER.writeValue(potentialCacheFileOld, rootPredecessor);
-         Constants.OBJECTMAPPER.writeValue(potentialCacheFile, rootVersion);
+         writeTree(potentialCacheFileOld, rootPredecessor);
+         writeTree(potentialCacheFile, rootVersion);
       }
    }
 
+   /**
+    * Writes the tree to the cache together with the hash of the settings it has been built with, so it is only reused by analyses with equal settings.
+    */
+   private void writeTree(final File cacheFile, final CallTreeNode root) throws IOException {
+      Constants.OBJECTMAPPER.writeValue(cacheFile, root);
+      FileUtils.writeStringToFile(getConfigFile(cacheFile), getTreeConfigHash(), StandardCharsets.UTF_8);
+   }
+
+   private File getConfigFile(final File cacheFile) {
+      return new File(cacheFile.getParentFile(), cacheFile.getName() + CONFIG_FILE_ENDING);
+   }
+
+   /**
+    * Returns the hash of all settings that are used for building a tree; the versions are excluded, so trees of different version pairs have the same hash if they have been built
+    * with equal settings.
+    */
+   private String getTreeConfigHash() throws JsonProcessingException {
+      final ExecutionConfig executionConfig = new ExecutionConfig(config.getExecutionConfig());
+      executionConfig.setVersion(null);
+      executionConfig.setVersionOld(null);
+      final String settings = Constants.OBJECTMAPPER.writeValueAsString(executionConfig) + "\n"
+            + Constants.OBJECTMAPPER.writeValueAsString(config.getKiekerConfig()) + "\n"
+            + "ignoreEOIs=" + causeSearchConfig.isIgnoreEOIs();
+      return TraceHashes.hashLines(settings);
+   }
+
+   /**
+    * Determines both trees; a tree that has already been determined as current tree of an earlier version pair with equal settings is read from that cache file, all other trees
+    * are determined concurrently, each in its own temporary project clone.
+    */
    private void determineTrees() throws InterruptedException, IOException, FileNotFoundException, XmlPullParserException, ViewNotFoundException, AnalysisConfigurationException {
-      final TreeReader resultsManager = TreeReaderFactory.createTreeReader(folders, config.getExecutionConfig().getVersionOld(), config, causeSearchConfig.isIgnoreEOIs(), env);
-      rootPredecessor = resultsManager.getTree(causeSearchConfig.getTestCase(), config.getExecutionConfig().getVersionOld());
+      final String versionOld = config.getExecutionConfig().getVersionOld();
+      final String version = config.getExecutionConfig().getVersion();
+      final TestCase testcase = causeSearchConfig.getTestCase();
 
-      final TreeReader resultsManagerPrevious = TreeReaderFactory.createTreeReader(folders, config.getExecutionConfig().getVersion(), config, causeSearchConfig.isIgnoreEOIs(), env);
-      rootVersion = resultsManagerPrevious.getTree(causeSearchConfig.getTestCase(), config.getExecutionConfig().getVersion());
+      final CallTreeNode cachedPredecessor = readTreeOfVersion(versionOld, testcase);
+      if (cachedPredecessor != null) {
+         LOG.info("Reusing tree of {} from earlier analysis", versionOld);
+         rootPredecessor = cachedPredecessor;
+         final FutureTask<CallTreeNode> versionTree = new FutureTask<>(prepareTreeDetermination(version, testcase));
+         versionTree.run();
+         rootVersion = getTree(versionTree);
+      } else {
+         // Clones are created before starting the threads, so the source repository is not accessed concurrently
+         final Callable<CallTreeNode> predecessorDetermination = prepareTreeDetermination(versionOld, testcase);
+         final Callable<CallTreeNode> versionDetermination = prepareTreeDetermination(version, testcase);
+
+         final ExecutorService service = Executors.newFixedThreadPool(2);
+         try {
+            final Future<CallTreeNode> predecessorTree = service.submit(predecessorDetermination);
+            final Future<CallTreeNode> versionTree = service.submit(versionDetermination);
+            rootPredecessor = getTree(predecessorTree);
+            rootVersion = getTree(versionTree);
+         } finally {
+            // If one determination failed, the other one is interrupted instead of running in the background
+            service.shutdownNow();
+         }
+      }
       LOG.info("Traces equal: {}", TreeUtil.areTracesEqual(rootPredecessor, rootVersion));
    }
 
+   /**
+    * Prepares the project clone of the given version and returns the determination of its tree, which may be executed in another thread.
+    */
+   protected Callable<CallTreeNode> prepareTreeDetermination(final String treeVersion, final TestCase testcase) throws InterruptedException, IOException {
+      final TreeReader reader = TreeReaderFactory.createTreeReader(folders, treeVersion, config, causeSearchConfig.isIgnoreEOIs(), env);
+      return () -> reader.getTree(testcase, treeVersion);
+   }
+
+   private CallTreeNode readTreeOfVersion(final String treeVersion, final TestCase testcase) throws IOException {
+      final File cacheFile = new File(folders.getTreeCacheFolder(treeVersion, testcase), treeVersion);
+      final File configFile = getConfigFile(cacheFile);
+      if (cacheFile.exists() && configFile.exists()) {
+         final String cachedConfigHash = FileUtils.readFileToString(configFile, StandardCharsets.UTF_8);
+         if (!cachedConfigHash.equals(getTreeConfigHash())) {
+            LOG.info("Tree of {} has been built with other settings, it is determined again", treeVersion);
+            return null;
+         }
+         final CallTreeNode root = Constants.OBJECTMAPPER.readValue(cacheFile, CallTreeNode.class);
+         root.setConfig(config);
+         setConfig(root);
+         return root;
+      } else {
+         return null;
+      }
+   }
+
+   private CallTreeNode getTree(final Future<CallTreeNode> tree)
+         throws InterruptedException, IOException, XmlPullParserException, ViewNotFoundException, AnalysisConfigurationException {
+      try {
+         return tree.get();
+      } catch (ExecutionException e) {
+         final Throwable cause = e.getCause();
+         if (cause instanceof IOException) {
+            throw (IOException) cause;
+         } else if (cause instanceof XmlPullParserException) {
+            throw (XmlPullParserException) cause;
+         } else if (cause instanceof ViewNotFoundException) {
+            throw (ViewNotFoundException) cause;
+         } else if (cause instanceof AnalysisConfigurationException) {
+            throw (AnalysisConfigurationException) cause;
+         } else if (cause instanceof InterruptedException) {
+            throw (InterruptedException) cause;
+         } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+         } else {
+            throw new RuntimeException(cause);
+         }
+      }
+   }
+
    public CallTreeNode getRootPredecessor() {
       return rootPredecessor;
    }
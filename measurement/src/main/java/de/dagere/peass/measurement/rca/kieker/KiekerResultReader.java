@@ -6,7 +6,6 @@ import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.apache.commons.io.filefilter.OrFileFilter;
@@ -79,52 +78,30 @@ public class KiekerResultReader {
       if (fullDataMap.isEmpty()) {
          LOG.warn("No data were measured - a measurement error occured");
       } else {
+         final AggregatedDataIndex index = new AggregatedDataIndex(fullDataMap);
          for (final CallTreeNode node : includedNodes) {
-            readNode(fullDataMap, node);
+            readNode(index, fullDataMap.size(), node);
          }
       }
    }
 
-   private void readNode(final Map<AggregatedDataNode, AggregatedData> fullDataMap, final CallTreeNode node) {
-      boolean nodeFound = false;
+   private void readNode(final AggregatedDataIndex index, final int measuredMethods, final CallTreeNode node) {
       final CallTreeNode examinedNode = otherVersion ? node.getOtherVersionNode() : node;
       final String nodeCall = KiekerPatternConverter.fixParameters(examinedNode.getKiekerPattern());
-      final List<StatisticalSummary> values = new LinkedList<>();
-      for (final Entry<AggregatedDataNode, AggregatedData> entry : fullDataMap.entrySet()) {
-         if (isSameNode(examinedNode, nodeCall, entry.getKey())) {
-            for (final StatisticalSummary dataSlice : entry.getValue().getStatistic().values()) {
-               values.add(dataSlice);
-            }
-            nodeFound = true;
-         }
+      final List<StatisticalSummary> indexedValues;
+      if (considerNodePosition) {
+         LOG.trace("EOI: {}", examinedNode.getEoi(version));
+         indexedValues = index.getValues(nodeCall, examinedNode.getEoi(version));
+      } else {
+         indexedValues = index.getValues(nodeCall);
       }
 
-      if (nodeFound) {
+      if (indexedValues != null) {
+         final List<StatisticalSummary> values = new LinkedList<>(indexedValues);
          LOG.debug("Setting measurement: {} {} {}", version, nodeCall, values.size());
-         // System.out.println(StatisticUtil.getMean(values) + " ");
          node.addAggregatedMeasurement(version, values);
       } else {
-         LOG.warn("Node {} ({}) did not find measurement values, measured methods: {}", nodeCall, node.getOtherVersionNode(), fullDataMap.entrySet().size());
-      }
-   }
-
-   private boolean isSameNode(final CallTreeNode node, final String nodeCall, final AggregatedDataNode measuredNode) {
-      final String kiekerCall = KiekerPatternConverter.getKiekerPattern(measuredNode.getCall());
-      LOG.trace("Node: {} Kieker: {} Equal: {}", nodeCall, kiekerCall, nodeCall.equals(kiekerCall));
-      if (nodeCall.equals(kiekerCall)) {
-         LOG.trace("EOI: {} vs {}", node.getEoi(version), measuredNode.getEoi());
-         if (considerNodePosition) {
-            final int eoi = node.getEoi(version);
-            if (measuredNode.getEoi() == eoi) {
-               return true;
-            } else {
-               return false;
-            }
-         } else {
-            return true;
-         }
-      } else {
-         return false;
+         LOG.warn("Node {} ({}) did not find measurement values, measured methods: {}", nodeCall, node.getOtherVersionNode(), measuredMethods);
       }
    }
 
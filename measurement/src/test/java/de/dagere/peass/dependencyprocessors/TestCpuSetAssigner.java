@@ -0,0 +1,31 @@
+package de.dagere.peass.dependencyprocessors;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.measurement.dependencyprocessors.helper.CpuSetAssigner;
+
+public class TestCpuSetAssigner {
+
+   @Test
+   public void testDisjointSets() {
+      CpuSetAssigner assigner = new CpuSetAssigner(4, 16);
+      Assert.assertEquals(4, assigner.getCpusPerVM());
+      Assert.assertEquals("0-3", assigner.getCpuSet(0));
+      Assert.assertEquals("4-7", assigner.getCpuSet(1));
+      Assert.assertEquals("12-15", assigner.getCpuSet(3));
+   }
+
+   @Test
+   public void testOneCpuPerVM() {
+      CpuSetAssigner assigner = new CpuSetAssigner(4, 6);
+      Assert.assertEquals("0", assigner.getCpuSet(0));
+      Assert.assertEquals("3", assigner.getCpuSet(3));
+   }
+
+   @Test
+   public void testTooFewCpus() {
+      CpuSetAssigner assigner = new CpuSetAssigner(4, 2);
+      Assert.assertNull(assigner.getCpuSet(0));
+   }
+}
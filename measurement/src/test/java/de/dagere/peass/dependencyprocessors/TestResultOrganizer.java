@@ -21,6 +21,7 @@ import de.dagere.kopeme.generated.TestcaseType.Datacollector;
 import de.dagere.peass.TestUtil;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.measurement.dataloading.SummaryFileWriter;
 import de.dagere.peass.measurement.organize.ResultOrganizer;
 import de.dagere.peass.measurement.rca.helper.TestConstants;
 
@@ -146,7 +147,8 @@ public class TestResultOrganizer {
       return versionFolder;
    }
 
-   private void testXMLFileExists() {
+   private void testXMLFileExists() throws JAXBException, IOException {
+      SummaryFileWriter.finishAll();
       final File expectedFile = folders.getSummaryFile(searchedTest);
       Assert.assertTrue(expectedFile.exists());
    }
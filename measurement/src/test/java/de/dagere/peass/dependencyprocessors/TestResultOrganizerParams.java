@@ -22,6 +22,7 @@ import de.dagere.kopeme.generated.Kopemedata;
 import de.dagere.kopeme.generated.Result;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.folders.PeassFolders;
+import de.dagere.peass.measurement.dataloading.SummaryFileWriter;
 import de.dagere.peass.measurement.organize.ResultOrganizer;
 
 public class TestResultOrganizerParams {
@@ -58,6 +59,7 @@ public class TestResultOrganizerParams {
          organizer.saveResultFiles(VERSION, i);
          organizer.saveResultFiles(VERSION_OLD, i);
       }
+      SummaryFileWriter.finishAll();
       
       File expectedResultFile1 = new File(TEMP_FULL_DIR, "calleeMethod(parameter-1).xml");
       File expectedResultFile2 = new File(TEMP_FULL_DIR, "calleeMethod(parameter-2).xml");
@@ -1,6 +1,7 @@
 package de.dagere.peass.measurement;
 
 import java.io.File;
+import java.io.IOException;
 
 import javax.xml.bind.JAXBException;
 
@@ -13,10 +14,12 @@ import de.dagere.kopeme.datacollection.TestResult;
 import de.dagere.kopeme.datacollection.TimeDataCollector;
 import de.dagere.kopeme.datastorage.XMLDataLoader;
 import de.dagere.kopeme.generated.Kopemedata;
+import de.dagere.kopeme.generated.Result;
 import de.dagere.kopeme.generated.TestcaseType;
 import de.dagere.peass.dependency.analysis.data.TestCase;
 import de.dagere.peass.dependencyprocessors.DummyKoPeMeDataCreator;
 import de.dagere.peass.measurement.dataloading.MultipleVMTestUtil;
+import de.dagere.peass.measurement.dataloading.SummaryFileWriter;
 
 public class TestSummaryFileSaving {
    
@@ -33,33 +36,33 @@ public class TestSummaryFileSaving {
    }
    
    @Test
-   public void testSummaryFileSaving() throws JAXBException {
+   public void testSummaryFileSaving() throws JAXBException, IOException {
       DummyKoPeMeDataCreator.initDummyTestfile(testFolder, TestResult.BOUNDARY_SAVE_FILE  / 2, testcase);
       
       TestcaseType oneRunData = loadTestcase();
       
       final File resultFile = new File(testFolder, "result.xml");
       
-      MultipleVMTestUtil.saveSummaryData(resultFile, oneResultFile, oneRunData.getDatacollector().get(0).getResult().get(0), testcase, "1", 0, TimeDataCollector.class.getName());
+      saveSummaryData(resultFile, oneRunData, testcase);
       
       Assert.assertTrue(resultFile.exists());
    }
    
    @Test
-   public void testSummaryFileSavingExternalFile() throws JAXBException {
+   public void testSummaryFileSavingExternalFile() throws JAXBException, IOException {
       DummyKoPeMeDataCreator.initDummyTestfile(testFolder, TestResult.BOUNDARY_SAVE_FILE * 2, testcase);
       
       TestcaseType oneRunData = loadTestcase();
       
       final File resultFile = new File(testFolder, "result.xml");
       
-      MultipleVMTestUtil.saveSummaryData(resultFile, oneResultFile, oneRunData.getDatacollector().get(0).getResult().get(0), testcase, "1", 0, TimeDataCollector.class.getName());
+      saveSummaryData(resultFile, oneRunData, testcase);
       
       Assert.assertTrue(resultFile.exists());
    }
    
    @Test
-   public void testSummaryFileSavingWithModule() throws JAXBException {
+   public void testSummaryFileSavingWithModule() throws JAXBException, IOException {
       TestCase testcase = new TestCase("myModule§myPackage.Test#test");
       DummyKoPeMeDataCreator.initDummyTestfile(testFolder, TestResult.BOUNDARY_SAVE_FILE * 2, testcase);
       
@@ -67,7 +70,7 @@ public class TestSummaryFileSaving {
       
       final File resultFile = new File(testFolder, "result.xml");
       
-      MultipleVMTestUtil.saveSummaryData(resultFile, oneResultFile, oneRunData.getDatacollector().get(0).getResult().get(0), testcase, "1", 0, TimeDataCollector.class.getName());
+      saveSummaryData(resultFile, oneRunData, testcase);
       
       Assert.assertTrue(resultFile.exists());
       
@@ -76,6 +79,12 @@ public class TestSummaryFileSaving {
       
    }
 
+   private void saveSummaryData(final File resultFile, final TestcaseType oneRunData, final TestCase testcase) throws JAXBException, IOException {
+      final Result summaryResult = MultipleVMTestUtil.createSummaryResult(oneResultFile, oneRunData.getDatacollector().get(0).getResult().get(0), "1", TimeDataCollector.class.getName());
+      SummaryFileWriter.getWriter(resultFile, testcase).addResult(0, TimeDataCollector.class.getName(), summaryResult);
+      SummaryFileWriter.finish(testcase);
+   }
+
    private TestcaseType loadTestcase() throws JAXBException {
       final XMLDataLoader loader = new XMLDataLoader(oneResultFile);
       loader.readFulldataValues();
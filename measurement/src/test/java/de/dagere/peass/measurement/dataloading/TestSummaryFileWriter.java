@@ -0,0 +1,118 @@
+package de.dagere.peass.measurement.dataloading;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import javax.xml.bind.JAXBException;
+
+import org.aspectj.util.FileUtil;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.kopeme.datacollection.TimeDataCollector;
+import de.dagere.kopeme.datastorage.XMLDataLoader;
+import de.dagere.kopeme.generated.Kopemedata;
+import de.dagere.kopeme.generated.Result;
+import de.dagere.kopeme.generated.TestcaseType.Datacollector;
+import de.dagere.kopeme.generated.Versioninfo;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+
+public class TestSummaryFileWriter {
+
+   private static final File testFolder = new File("target/current_summary");
+   private static final TestCase testcase = new TestCase("Test#test");
+   private static final File summaryFile = new File(testFolder, "Test_test.xml");
+
+   @BeforeEach
+   public void cleanup() throws JAXBException, IOException {
+      SummaryFileWriter.finishAll();
+      FileUtil.deleteContents(testFolder);
+      if (!testFolder.exists()) {
+         testFolder.mkdirs();
+      }
+   }
+
+   @Test
+   public void testAppendAndFinish() throws JAXBException, IOException {
+      SummaryFileWriter writer = SummaryFileWriter.getWriter(summaryFile, testcase);
+      writer.addResult(5, TimeDataCollector.class.getName(), createResult("1", 100));
+      writer.addResult(5, TimeDataCollector.class.getName(), createResult("2", 110));
+      writer.addResult(6, TimeDataCollector.class.getName(), createResult("1", 120));
+
+      Assert.assertFalse(summaryFile.exists());
+      Assert.assertTrue(writer.getPendingFile().exists());
+      Assert.assertEquals(2, writer.getChunkResults(5).size());
+
+      SummaryFileWriter.finishAll();
+
+      Assert.assertFalse(writer.getPendingFile().exists());
+      Kopemedata data = XMLDataLoader.loadData(summaryFile);
+      Assert.assertEquals("Test", data.getTestcases().getClazz());
+      Datacollector collector = data.getTestcases().getTestcase().get(0).getDatacollector().get(0);
+      Assert.assertEquals(TimeDataCollector.class.getName(), collector.getName());
+      Assert.assertEquals(2, collector.getChunk().size());
+      Assert.assertEquals(110, collector.getChunk().get(0).getResult().get(1).getValue(), 0.01);
+      Assert.assertEquals("2", collector.getChunk().get(0).getResult().get(1).getVersion().getGitversion());
+   }
+
+   @Test
+   public void testExistingSummary() throws JAXBException, IOException {
+      SummaryFileWriter writer = SummaryFileWriter.getWriter(summaryFile, testcase);
+      writer.addResult(5, TimeDataCollector.class.getName(), createResult("1", 100));
+      SummaryFileWriter.finishAll();
+
+      SummaryFileWriter nextWriter = SummaryFileWriter.getWriter(summaryFile, testcase);
+      nextWriter.addResult(5, TimeDataCollector.class.getName(), createResult("2", 110));
+      List<Result> chunkResults = nextWriter.getChunkResults(5);
+      Assert.assertEquals(2, chunkResults.size());
+
+      SummaryFileWriter.finishAll();
+      Kopemedata data = XMLDataLoader.loadData(summaryFile);
+      Assert.assertEquals(2, data.getTestcases().getTestcase().get(0).getDatacollector().get(0).getChunk().get(0).getResult().size());
+   }
+
+   @Test
+   public void testFinishOnlyCurrentTest() throws JAXBException, IOException {
+      final TestCase otherTestcase = new TestCase("Test#otherTest");
+      final File otherSummaryFile = new File(testFolder, "Test_otherTest.xml");
+      SummaryFileWriter.getWriter(summaryFile, testcase).addResult(5, TimeDataCollector.class.getName(), createResult("1", 100));
+      SummaryFileWriter otherWriter = SummaryFileWriter.getWriter(otherSummaryFile, otherTestcase);
+      otherWriter.addResult(5, TimeDataCollector.class.getName(), createResult("1", 120));
+
+      SummaryFileWriter.finish(testcase);
+
+      Assert.assertTrue(summaryFile.exists());
+      Assert.assertFalse(otherSummaryFile.exists());
+      Assert.assertTrue(otherWriter.getPendingFile().exists());
+      Assert.assertEquals(1, SummaryFileWriter.readChunkResults(summaryFile, testcase, 5).size());
+      Assert.assertEquals(120, SummaryFileWriter.readChunkResults(otherSummaryFile, otherTestcase, 5).get(0).getValue(), 0.01);
+
+      SummaryFileWriter.finish(otherTestcase);
+      Assert.assertTrue(otherSummaryFile.exists());
+      Assert.assertFalse(otherWriter.getPendingFile().exists());
+   }
+
+   @Test
+   public void testRecovery() throws JAXBException, IOException {
+      SummaryFileWriter writer = SummaryFileWriter.getWriter(summaryFile, testcase);
+      writer.addResult(5, TimeDataCollector.class.getName(), createResult("1", 100));
+
+      // Simulates a restart: a new writer is created, while the pending file is still present
+      SummaryFileWriter recoveredWriter = new SummaryFileWriter(summaryFile.getAbsoluteFile(), testcase);
+      Assert.assertEquals(1, recoveredWriter.getChunkResults(5).size());
+      Assert.assertEquals(100, recoveredWriter.getChunkResults(5).get(0).getValue(), 0.01);
+   }
+
+   private static Result createResult(final String version, final double value) {
+      Result result = new Result();
+      result.setValue(value);
+      result.setDeviation(1);
+      result.setIterations(10);
+      result.setRepetitions(1);
+      result.setVersion(new Versioninfo());
+      result.getVersion().setGitversion(version);
+      return result;
+   }
+}
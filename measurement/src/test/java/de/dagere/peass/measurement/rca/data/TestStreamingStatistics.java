@@ -0,0 +1,61 @@
+package de.dagere.peass.measurement.rca.data;
+
+import java.util.Random;
+
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import de.dagere.peass.utils.Constants;
+
+public class TestStreamingStatistics {
+
+   @Test
+   public void testEqualToSummaryStatistics() throws JsonProcessingException {
+      StreamingStatistics streaming = new StreamingStatistics();
+      SummaryStatistics summary = new SummaryStatistics();
+      Random random = new Random(42);
+      for (int i = 0; i < 10000; i++) {
+         long value = 1000 + random.nextInt(50000);
+         streaming.addValue(value);
+         summary.addValue(value);
+      }
+
+      Assert.assertEquals(summary.getN(), streaming.getN());
+      Assert.assertEquals(summary.getMean(), streaming.getMean(), 0.0);
+      Assert.assertEquals(summary.getVariance(), streaming.getVariance(), 0.0);
+      Assert.assertEquals(summary.getStandardDeviation(), streaming.getStandardDeviation(), 0.0);
+      Assert.assertEquals(summary.getMin(), streaming.getMin(), 0.0);
+      Assert.assertEquals(summary.getMax(), streaming.getMax(), 0.0);
+      Assert.assertEquals(summary.getSum(), streaming.getSum(), 0.0);
+
+      Assert.assertEquals(Constants.OBJECTMAPPER.writeValueAsString(summary), Constants.OBJECTMAPPER.writeValueAsString(streaming));
+   }
+
+   @Test
+   public void testFewValues() throws JsonProcessingException {
+      StreamingStatistics streaming = new StreamingStatistics();
+      Assert.assertTrue(Double.isNaN(streaming.getMean()));
+      Assert.assertTrue(Double.isNaN(streaming.getStandardDeviation()));
+      Assert.assertEquals(Constants.OBJECTMAPPER.writeValueAsString(new SummaryStatistics()), Constants.OBJECTMAPPER.writeValueAsString(streaming));
+
+      streaming.addValue(15);
+      Assert.assertEquals(15, streaming.getMean(), 0.0);
+      Assert.assertEquals(0, streaming.getStandardDeviation(), 0.0);
+      Assert.assertEquals(15, streaming.getMin(), 0.0);
+   }
+
+   @Test
+   public void testDurationColumn() {
+      DurationColumn column = new DurationColumn();
+      for (int i = 1; i <= 100; i++) {
+         column.add(i);
+      }
+      Assert.assertEquals(100, column.size());
+      Assert.assertEquals(50, column.get(49));
+      Assert.assertEquals(5.5, column.getAverage(10), 0.0);
+      Assert.assertEquals(10, column.toDoubleArray(10)[9], 0.0);
+   }
+}
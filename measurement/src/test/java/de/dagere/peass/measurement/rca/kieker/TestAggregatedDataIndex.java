@@ -0,0 +1,48 @@
+package de.dagere.peass.measurement.rca.kieker;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummaryValues;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.kopeme.kieker.aggregateddata.AggregatedData;
+import de.dagere.kopeme.kieker.aggregateddata.AggregatedDataNode;
+
+public class TestAggregatedDataIndex {
+
+   private static final String CALL = "public void de.peass.C0_0.method0()";
+
+   @Test
+   public void testLookup() {
+      Map<AggregatedDataNode, AggregatedData> fullDataMap = new LinkedHashMap<>();
+      fullDataMap.put(new AggregatedDataNode(1, 1, CALL), buildData(10, 11));
+      fullDataMap.put(new AggregatedDataNode(3, 1, CALL), buildData(20));
+      fullDataMap.put(new AggregatedDataNode(2, 1, "public void de.peass.C0_0.otherMethod()"), buildData(30));
+
+      AggregatedDataIndex index = new AggregatedDataIndex(fullDataMap);
+
+      List<StatisticalSummary> allPositions = index.getValues(CALL);
+      Assert.assertEquals(3, allPositions.size());
+      Assert.assertEquals(10, allPositions.get(0).getMean(), 0.0);
+
+      List<StatisticalSummary> secondPosition = index.getValues(CALL, 3);
+      Assert.assertEquals(1, secondPosition.size());
+      Assert.assertEquals(20, secondPosition.get(0).getMean(), 0.0);
+
+      Assert.assertNull(index.getValues(CALL, 2));
+      Assert.assertNull(index.getValues("public void de.peass.C0_0.notMeasured()"));
+   }
+
+   private AggregatedData buildData(final double... means) {
+      Map<Long, StatisticalSummary> statistic = new LinkedHashMap<>();
+      long time = 0;
+      for (double mean : means) {
+         statistic.put(time++, new StatisticalSummaryValues(mean, 0, 1, mean, mean, mean));
+      }
+      return new AggregatedData(0, statistic);
+   }
+}
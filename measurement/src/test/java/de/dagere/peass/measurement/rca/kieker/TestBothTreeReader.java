@@ -0,0 +1,148 @@
+package de.dagere.peass.measurement.rca.kieker;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.dagere.peass.config.MeasurementConfig;
+import de.dagere.peass.dependency.analysis.data.TestCase;
+import de.dagere.peass.execution.utils.EnvironmentVariables;
+import de.dagere.peass.folders.CauseSearchFolders;
+import de.dagere.peass.measurement.rca.CauseSearcherConfig;
+import de.dagere.peass.measurement.rca.RCAStrategy;
+import de.dagere.peass.measurement.rca.data.CallTreeNode;
+import de.dagere.peass.measurement.rca.treeanalysis.TreeUtil;
+
+public class TestBothTreeReader {
+
+   private static final File BASE_FOLDER = new File("target", "bothTreeReader");
+   private static final File PROJECT_FOLDER = new File(BASE_FOLDER, "project");
+   private static final TestCase TESTCASE = new TestCase("Test#test");
+
+   private CauseSearchFolders folders;
+
+   @BeforeEach
+   public void cleanFolders() throws IOException {
+      FileUtils.deleteDirectory(BASE_FOLDER);
+      PROJECT_FOLDER.mkdirs();
+      folders = new CauseSearchFolders(PROJECT_FOLDER);
+   }
+
+   @Test
+   public void testConcurrentTreesEqualSequentialTrees() throws Exception {
+      final MeasurementConfig config = new MeasurementConfig(2, "000002", "000001");
+      final CountDownLatch bothStarted = new CountDownLatch(2);
+      final BothTreeReader reader = new BothTreeReader(getCauseConfig(true), config, folders, new EnvironmentVariables()) {
+         @Override
+         protected Callable<CallTreeNode> prepareTreeDetermination(final String treeVersion, final TestCase testcase) {
+            return () -> {
+               bothStarted.countDown();
+               // Only returns if both trees are determined at the same time
+               Assert.assertTrue(bothStarted.await(10, TimeUnit.SECONDS));
+               return buildTree(treeVersion, config);
+            };
+         }
+      };
+
+      reader.readTrees();
+
+      Assert.assertTrue(TreeUtil.areTracesEqual(buildTree("000001", config), reader.getRootPredecessor()));
+      Assert.assertTrue(TreeUtil.areTracesEqual(buildTree("000002", config), reader.getRootVersion()));
+      Assert.assertFalse(TreeUtil.areTracesEqual(reader.getRootPredecessor(), reader.getRootVersion()));
+      Assert.assertTrue(reader.potentialCacheFile.exists());
+      Assert.assertTrue(reader.potentialCacheFileOld.exists());
+   }
+
+   @Test
+   public void testFailureInterruptsOtherDetermination() throws Exception {
+      final MeasurementConfig config = new MeasurementConfig(2, "000002", "000001");
+      final CountDownLatch versionStarted = new CountDownLatch(1);
+      final CountDownLatch versionInterrupted = new CountDownLatch(1);
+      final BothTreeReader reader = new BothTreeReader(getCauseConfig(true), config, folders, new EnvironmentVariables()) {
+         @Override
+         protected Callable<CallTreeNode> prepareTreeDetermination(final String treeVersion, final TestCase testcase) {
+            if (treeVersion.equals("000001")) {
+               return () -> {
+                  versionStarted.await(10, TimeUnit.SECONDS);
+                  throw new RuntimeException("Tree of predecessor failed");
+               };
+            } else {
+               return () -> {
+                  versionStarted.countDown();
+                  try {
+                     new CountDownLatch(1).await();
+                  } catch (InterruptedException e) {
+                     versionInterrupted.countDown();
+                  }
+                  return null;
+               };
+            }
+         }
+      };
+
+      try {
+         reader.readTrees();
+         Assert.fail("Failure of the predecessor tree should be thrown");
+      } catch (RuntimeException e) {
+         Assert.assertEquals("Tree of predecessor failed", e.getMessage());
+      }
+      Assert.assertTrue(versionInterrupted.await(10, TimeUnit.SECONDS));
+      Assert.assertFalse(reader.potentialCacheFile.exists());
+   }
+
+   @Test
+   public void testPredecessorTreeReusedOnlyWithEqualSettings() throws Exception {
+      final List<String> determinedVersions = new CopyOnWriteArrayList<>();
+      readTrees("000002", "000001", true, determinedVersions);
+      MatcherAssert.assertThat(determinedVersions, Matchers.containsInAnyOrder("000001", "000002"));
+
+      determinedVersions.clear();
+      final BothTreeReader reusingReader = readTrees("000003", "000002", true, determinedVersions);
+      MatcherAssert.assertThat(determinedVersions, Matchers.contains("000003"));
+      Assert.assertTrue(TreeUtil.areTracesEqual(buildTree("000002", new MeasurementConfig(2)), reusingReader.getRootPredecessor()));
+
+      determinedVersions.clear();
+      readTrees("000004", "000002", false, determinedVersions);
+      MatcherAssert.assertThat(determinedVersions, Matchers.containsInAnyOrder("000002", "000004"));
+   }
+
+   private BothTreeReader readTrees(final String version, final String versionOld, final boolean ignoreEOIs, final List<String> determinedVersions) throws Exception {
+      final MeasurementConfig config = new MeasurementConfig(2, version, versionOld);
+      final BothTreeReader reader = new BothTreeReader(getCauseConfig(ignoreEOIs), config, folders, new EnvironmentVariables()) {
+         @Override
+         protected Callable<CallTreeNode> prepareTreeDetermination(final String treeVersion, final TestCase testcase) {
+            determinedVersions.add(treeVersion);
+            return () -> buildTree(treeVersion, config);
+         }
+      };
+      reader.readTrees();
+      return reader;
+   }
+
+   private CauseSearcherConfig getCauseConfig(final boolean ignoreEOIs) {
+      return new CauseSearcherConfig(TESTCASE, false, 0.1, false, ignoreEOIs, RCAStrategy.COMPLETE, 1);
+   }
+
+   /**
+    * Builds a tree whose structure depends on the version, so trees of different versions can be distinguished.
+    */
+   private static CallTreeNode buildTree(final String version, final MeasurementConfig config) {
+      final CallTreeNode root = new CallTreeNode("Test#test", "public void Test.test()", "public void Test.test()", config);
+      final int calls = Integer.parseInt(version);
+      for (int i = 0; i < calls; i++) {
+         root.appendChild("ClassA#method" + i, "public void ClassA.method" + i + "()", "public void ClassA.method" + i + "()");
+      }
+      return root;
+   }
+}
@@ -42,11 +42,10 @@ public class JmhTestExecutor extends TestExecutor {
       prepareKiekerSource();
       new PomPreparer(testTransformer, getModules(), folders).preparePom();
 
-      String[] basicParameters = new String[] { env.fetchMavenCall(),
-            "--batch-mode",
+      String[] basicParameters = env.fetchMavenCommand("--batch-mode",
             "clean", "package",
             "-DskipTests",
-            "-Dmaven.test.skip.exec" };
+            "-Dmaven.test.skip.exec");
       String[] withMavendefaults = CommandConcatenator.concatenateCommandArrays(basicParameters, CommandConcatenator.mavenCheckDeactivation);
       String[] withPl = MavenTestExecutor.addMavenPl(testTransformer.getConfig().getExecutionConfig(), withMavendefaults);
 